@@ -0,0 +1,173 @@
+package com.guild.benchmark;
+
+import com.guild.GuildPlugin;
+import com.guild.core.config.ConfigManager;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.performance.BlockingCallMonitor;
+import com.guild.core.performance.MetricsRegistry;
+import com.guild.core.permissions.PermissionManager;
+import com.guild.services.GuildService;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 基准测试环境 - 在服务器之外用模拟的插件对象组装真实的数据库与服务，数据库文件位于临时目录（SQLite 或 H2）
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+
+    final GuildPlugin plugin;
+    final DatabaseManager databaseManager;
+    final GuildService guildService;
+    final PermissionManager permissionManager;
+    final MetricsRegistry metricsRegistry;
+    private final Path dataFolder;
+
+    private BenchmarkEnvironment(Path dataFolder, String backend, int poolSize) {
+        this.dataFolder = dataFolder;
+
+        Logger logger = Logger.getLogger("GuildBenchmark");
+        logger.setLevel(Level.WARNING);
+        YamlConfiguration mainConfig = new YamlConfiguration();
+        mainConfig.set("performance.blocking-calls.enabled", false);
+        mainConfig.set("performance.metrics.dump.enabled", false);
+
+        plugin = mock(GuildPlugin.class);
+        ConfigManager configManager = mock(ConfigManager.class);
+        when(configManager.getMainConfig()).thenReturn(mainConfig);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getDataFolder()).thenReturn(dataFolder.toFile());
+        LogService.init(plugin);
+
+        BlockingCallMonitor blockingCallMonitor = new BlockingCallMonitor(plugin);
+        blockingCallMonitor.reloadFromConfig();
+        when(plugin.getBlockingCallMonitor()).thenReturn(blockingCallMonitor);
+        metricsRegistry = new MetricsRegistry(plugin);
+        metricsRegistry.reloadFromConfig();
+        when(plugin.getMetricsRegistry()).thenReturn(metricsRegistry);
+
+        YamlConfiguration databaseConfig = new YamlConfiguration();
+        databaseConfig.set("type", backend);
+        databaseConfig.set("sqlite.file", "benchmark.db");
+        databaseConfig.set("connection-pool.maximum-pool-size", poolSize);
+        databaseConfig.set("h2.mode", "file");
+        databaseConfig.set("h2.file", "benchmark-h2");
+        databaseConfig.set("h2.pool-size", poolSize);
+        databaseConfig.set("slow-query.enabled", false);
+        databaseManager = new DatabaseManager(plugin);
+        databaseManager.initialize(databaseConfig);
+        when(plugin.getDatabaseManager()).thenReturn(databaseManager);
+
+        guildService = new GuildService(plugin);
+        when(plugin.getGuildService()).thenReturn(guildService);
+        permissionManager = new PermissionManager(plugin);
+        when(plugin.getPermissionManager()).thenReturn(permissionManager);
+    }
+
+    /**
+     * 创建环境并写入 guilds 个工会，每个工会 membersPerGuild 名成员（首位为会长）
+     */
+    static BenchmarkEnvironment create(int guilds, int membersPerGuild) throws IOException {
+        return create("sqlite", 2, guilds, membersPerGuild);
+    }
+
+    /**
+     * 在指定数据库类型（sqlite 或 h2）及连接池大小下创建环境并写入初始数据
+     */
+    static BenchmarkEnvironment create(String backend, int poolSize, int guilds, int membersPerGuild) throws IOException {
+        BenchmarkEnvironment environment = new BenchmarkEnvironment(Files.createTempDirectory("guild-benchmark"), backend, poolSize);
+        environment.awaitSchema();
+        environment.seed(guilds, membersPerGuild);
+        return environment;
+    }
+
+    /**
+     * 第 guild 个工会的第 member 名成员的 UUID（固定值，保证每次运行数据相同）
+     */
+    static UUID memberUuid(int guild, int member) {
+        return new UUID(guild, member);
+    }
+
+    /**
+     * SQLite 下经济等列由启动后的异步补列任务添加，等待其完成后再写入数据
+     */
+    private void awaitSchema() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try (Connection conn = databaseManager.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT balance, level, max_members, frozen FROM guilds LIMIT 1").close();
+                return;
+            } catch (SQLException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("等待数据表补列超时", e);
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        }
+    }
+
+    /**
+     * 按顺序写入工会（自增 id 即为 1..guilds）及其成员
+     */
+    private void seed(int guilds, int membersPerGuild) {
+        long now = System.currentTimeMillis();
+        databaseManager.executeWriteAsync(conn -> {
+            try (PreparedStatement guildStmt = conn.prepareStatement(
+                    "INSERT INTO guilds (name, tag, description, leader_uuid, leader_name, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement memberStmt = conn.prepareStatement(
+                         "INSERT INTO guild_members (guild_id, player_uuid, player_name, role, joined_at) VALUES (?, ?, ?, ?, ?)")) {
+                for (int guild = 1; guild <= guilds; guild++) {
+                    guildStmt.setString(1, "Guild" + guild);
+                    guildStmt.setString(2, "G" + guild);
+                    guildStmt.setString(3, "Benchmark guild " + guild);
+                    guildStmt.setString(4, memberUuid(guild, 0).toString());
+                    guildStmt.setString(5, "Leader" + guild);
+                    guildStmt.setLong(6, now);
+                    guildStmt.setLong(7, now);
+                    guildStmt.addBatch();
+
+                    for (int member = 0; member < membersPerGuild; member++) {
+                        memberStmt.setInt(1, guild);
+                        memberStmt.setString(2, memberUuid(guild, member).toString());
+                        memberStmt.setString(3, "Player" + guild + "_" + member);
+                        memberStmt.setString(4, member == 0 ? "LEADER" : "MEMBER");
+                        memberStmt.setLong(5, now);
+                        memberStmt.addBatch();
+                    }
+                }
+                guildStmt.executeBatch();
+                memberStmt.executeBatch();
+            }
+            return null;
+        }).join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        databaseManager.close();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
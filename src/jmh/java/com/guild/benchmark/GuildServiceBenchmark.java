@@ -0,0 +1,77 @@
+package com.guild.benchmark;
+
+import com.guild.models.Guild;
+import com.guild.models.GuildMember;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GuildService 读取路径：单个玩家的工会查询，以及整表查询时的行映射开销（SQLite 文件数据库）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuildServiceBenchmark {
+
+    @Param({"1000"})
+    private int guilds;
+
+    @Param({"10"})
+    private int membersPerGuild;
+
+    private BenchmarkEnvironment environment;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        environment = BenchmarkEnvironment.create(guilds, membersPerGuild);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    private UUID randomMember() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return BenchmarkEnvironment.memberUuid(random.nextInt(1, guilds + 1), random.nextInt(membersPerGuild));
+    }
+
+    @Benchmark
+    public Guild getPlayerGuildAsync() {
+        return environment.guildService.getPlayerGuildAsync(randomMember()).join();
+    }
+
+    @Benchmark
+    public List<GuildMember> getGuildMembersAsync() {
+        return environment.guildService.getGuildMembersAsync(ThreadLocalRandom.current().nextInt(1, guilds + 1)).join();
+    }
+
+    /**
+     * 映射全部工会行：主要衡量按列索引映射的开销
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Guild> getAllGuildsAsync() {
+        return environment.guildService.getAllGuildsAsync().join();
+    }
+}
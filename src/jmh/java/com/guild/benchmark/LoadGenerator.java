@@ -0,0 +1,240 @@
+package com.guild.benchmark;
+
+import com.guild.core.performance.LatencyHistogram;
+import com.guild.core.performance.MetricsRegistry;
+import com.guild.models.GuildLog;
+import com.guild.models.GuildMember;
+import com.guild.models.GuildRelation;
+import com.guild.services.GuildService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无头负载生成器 - 以虚拟线程模拟大量玩家，按配置的操作比例直接调用 GuildService，
+ * 输出每种操作的吞吐量、延迟分位数、错误率，以及服务层记录的排队与取连接耗时
+ * <p>
+ * 运行: mvn -P benchmark test-compile exec:exec@load-test -Dload.args="--backend h2 --players 5000 --duration 120"
+ * <p>
+ * 参数（均可省略）:
+ * --backend sqlite|h2, --pool-size 10, --players 2000, --guilds 200, --members 10,
+ * --duration 60, --warmup 10（秒）, --think-ms 100（每个玩家两次操作之间的间隔）,
+ * --mix create=2,join=8,deposit=15,log=15,lookup=55,relation=5
+ */
+public final class LoadGenerator {
+
+    private final String backend;
+    private final int poolSize;
+    private final int players;
+    private final int guilds;
+    private final int membersPerGuild;
+    private final long durationSeconds;
+    private final long warmupSeconds;
+    private final long thinkMillis;
+    private final Map<Operation, Integer> mix = new LinkedHashMap<>();
+    private final Map<Operation, OperationStats> stats = new LinkedHashMap<>();
+    // 新建工会与新玩家的序号，保证名称与 UUID 不重复
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadGenerator(Map<String, String> options) {
+        backend = options.getOrDefault("backend", "sqlite").toLowerCase(Locale.ROOT);
+        poolSize = Integer.parseInt(options.getOrDefault("pool-size", "10"));
+        players = Integer.parseInt(options.getOrDefault("players", "2000"));
+        guilds = Integer.parseInt(options.getOrDefault("guilds", "200"));
+        membersPerGuild = Integer.parseInt(options.getOrDefault("members", "10"));
+        durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "100"));
+
+        for (String entry : options.getOrDefault("mix", "create=2,join=8,deposit=15,log=15,lookup=55,relation=5").split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new LoadGenerator(options).run();
+        // 数据库与插件内部的非守护线程不影响退出
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        System.out.printf("初始化 %s 数据库（连接池 %d）并写入 %d 个工会...%n", backend, poolSize, guilds);
+        try (BenchmarkEnvironment environment = BenchmarkEnvironment.create(backend, poolSize, guilds, membersPerGuild);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int i = 0; i < players; i++) {
+                clients.submit(() -> client(environment.guildService));
+            }
+
+            System.out.printf("%d 个玩家已启动，预热 %d 秒，测量 %d 秒%n", players, warmupSeconds, durationSeconds);
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            environment.metricsRegistry.reset();
+            recording = true;
+            long startedAt = System.nanoTime();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            recording = false;
+            double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+            running = false;
+
+            report(elapsedSeconds, environment.metricsRegistry);
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * 单个玩家：按比例随机选择操作，同步等待结果后思考一段时间
+     */
+    private void client(GuildService guildService) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // 错开各玩家的起始时间
+        sleep(random.nextLong(Math.max(1, thinkMillis)));
+        while (running) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            long start = System.nanoTime();
+            try {
+                boolean success = execute(guildService, operation, random).join();
+                record(operation, System.nanoTime() - start, success, false);
+            } catch (Exception e) {
+                record(operation, System.nanoTime() - start, false, true);
+            }
+            sleep(thinkMillis);
+        }
+    }
+
+    private Operation pick(int roll) {
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.LOOKUP;
+    }
+
+    private CompletableFuture<Boolean> execute(GuildService guildService, Operation operation, ThreadLocalRandom random) {
+        int guildId = random.nextInt(1, guilds + 1);
+        switch (operation) {
+            case CREATE: {
+                long id = sequence.incrementAndGet();
+                return guildService.createGuildAsync("LT" + id, "T" + id, "负载测试工会", new UUID(-1, id), "LoadLeader" + id);
+            }
+            case JOIN: {
+                long id = sequence.incrementAndGet();
+                return guildService.addGuildMemberAsync(guildId, new UUID(-2, id), "LoadPlayer" + id, GuildMember.Role.MEMBER);
+            }
+            case DEPOSIT: {
+                int amount = random.nextInt(1, 1000);
+                return guildService.getGuildByIdAsync(guildId).thenCompose(guild -> guild == null
+                        ? CompletableFuture.completedFuture(false)
+                        : guildService.updateGuildBalanceAsync(guildId, guild.getBalance() + amount));
+            }
+            case LOG:
+                return guildService.logGuildActionAsync(guildId, "Guild" + guildId, BenchmarkEnvironment.memberUuid(guildId, 0).toString(),
+                        "Leader" + guildId, GuildLog.LogType.MEMBER_JOINED, "负载测试", "load-test");
+            case RELATION: {
+                int otherId = guildId % guilds + 1;
+                return guildService.createGuildRelationAsync(guildId, otherId, "Guild" + guildId, "Guild" + otherId,
+                        GuildRelation.RelationType.ALLY, BenchmarkEnvironment.memberUuid(guildId, 0), "Leader" + guildId);
+            }
+            case LOOKUP:
+            default:
+                return guildService.getPlayerGuildAsync(BenchmarkEnvironment.memberUuid(guildId, random.nextInt(membersPerGuild)))
+                        .thenApply(guild -> guild != null);
+        }
+    }
+
+    private void record(Operation operation, long nanos, boolean success, boolean error) {
+        if (!recording) {
+            return;
+        }
+        OperationStats operationStats = stats.get(operation);
+        operationStats.latency.record(nanos);
+        if (error) {
+            operationStats.errors.increment();
+        } else if (!success) {
+            operationStats.rejected.increment();
+        }
+    }
+
+    private void report(double elapsedSeconds, MetricsRegistry metricsRegistry) {
+        System.out.printf("%n=== 客户端视角（%s，%d 名玩家，%.1f 秒） ===%n", backend, players, elapsedSeconds);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s %10s%n",
+                "操作", "次数", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "失败率", "错误率");
+        long total = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            long count = operationStats.latency.getCount();
+            total += count;
+            if (count == 0) {
+                continue;
+            }
+            System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %9.2f%% %9.2f%%%n",
+                    entry.getKey().name().toLowerCase(Locale.ROOT), count, count / elapsedSeconds,
+                    operationStats.latency.getPercentileMillis(0.50), operationStats.latency.getPercentileMillis(0.99),
+                    operationStats.latency.getPercentileMillis(0.999),
+                    100.0 * operationStats.rejected.sum() / count, 100.0 * operationStats.errors.sum() / count);
+        }
+        System.out.printf("总吞吐量: %.1f ops/s%n", total / elapsedSeconds);
+
+        System.out.printf("%n=== 服务层视角（GuildService 操作） ===%n");
+        System.out.printf("%-32s %10s %12s %12s %12s %12s %8s%n",
+                "操作", "次数", "排队p99(ms)", "取连接p50", "取连接p99", "执行p99(ms)", "错误");
+        List<Map.Entry<String, MetricsRegistry.OperationMetrics>> entries = new ArrayList<>(metricsRegistry.getOperations().entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().getCount(), a.getValue().getCount()));
+        for (Map.Entry<String, MetricsRegistry.OperationMetrics> entry : entries) {
+            MetricsRegistry.OperationMetrics metrics = entry.getValue();
+            System.out.printf("%-32s %10d %12.2f %12.2f %12.2f %12.2f %8d%n",
+                    entry.getKey(), metrics.getCount(), metrics.getQueueWait().getPercentileMillis(0.99),
+                    metrics.getAcquire().getPercentileMillis(0.50), metrics.getAcquire().getPercentileMillis(0.99),
+                    metrics.getExecution().getPercentileMillis(0.99), metrics.getErrors());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private enum Operation {
+        CREATE,
+        JOIN,
+        DEPOSIT,
+        LOG,
+        LOOKUP,
+        RELATION
+    }
+
+    /**
+     * 单种操作的客户端统计：失败为业务返回 false（如重复加入），错误为抛出异常
+     */
+    private static final class OperationStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,72 @@
+package com.guild.benchmark;
+
+import com.guild.core.permissions.GuildPermission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限检查：成员索引命中时的内置权限判断，以及索引失效后重新解析（含一次数据库查询）
+ * <p>
+ * PermissionManager#hasPermission 先询问 Bukkit 权限系统，服务器之外无法构造真实玩家，
+ * 这里测量其后的内置权限路径：节点查找 + 掩码解析 + 位判断。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionBenchmark {
+
+    private BenchmarkEnvironment environment;
+    private UUID leader;
+    private UUID member;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        environment = BenchmarkEnvironment.create(100, 10);
+        leader = BenchmarkEnvironment.memberUuid(1, 0);
+        member = BenchmarkEnvironment.memberUuid(1, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public boolean cachedLeaderCheck() {
+        return check(leader, "guild.delete");
+    }
+
+    @Benchmark
+    public boolean cachedMemberCheck() {
+        return check(member, "guild.invite");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean checkAfterInvalidation() {
+        environment.permissionManager.updatePlayerPermissions(member);
+        return check(member, "guild.invite");
+    }
+
+    private boolean check(UUID playerUuid, String node) {
+        GuildPermission permission = GuildPermission.fromNode(node);
+        return permission != null && permission.isGranted(environment.permissionManager.getPermissionMask(playerUuid));
+    }
+}
@@ -0,0 +1,64 @@
+package com.guild.benchmark;
+
+import com.guild.core.utils.ColorUtils;
+import com.guild.core.utils.PlaceholderUtils;
+import com.guild.models.Guild;
+import com.guild.util.FormatUtil;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文本处理热点：GUI 与消息渲染中的占位符替换、颜色代码与可点击消息解析
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextFormattingBenchmark {
+
+    private static final String GUI_LORE = "&7工会: &e{guild_name} &7[{guild_tag}] &7会长: &f{leader_name} "
+            + "&7等级: &a{guild_level} &7资金: &6{guild_balance_formatted} &7创建于 {guild_created_date}";
+    private static final String MESSAGE = "&a工会 &e[示例工会] &a已创建！ [点击查看信息](run:/guild info) &7或 "
+            + "[访问主页](url:https://example.com) &#55FF55渐变文本";
+
+    private Guild guild;
+
+    @Setup
+    public void setup() {
+        guild = new Guild("示例工会", "EX", "基准测试工会", new UUID(1, 0), "Leader");
+        guild.setId(1);
+        guild.setCreatedAtMillis(System.currentTimeMillis());
+        guild.setLevel(3);
+        guild.setBalance(12345.67);
+        guild.setMaxMembers(20);
+    }
+
+    @Benchmark
+    public String replaceGuildPlaceholders() {
+        return PlaceholderUtils.replaceGuildPlaceholders(GUI_LORE, guild, null);
+    }
+
+    @Benchmark
+    public Component formatUtilParse() {
+        return FormatUtil.parse(MESSAGE);
+    }
+
+    @Benchmark
+    public String colorize() {
+        return ColorUtils.colorize(MESSAGE);
+    }
+}
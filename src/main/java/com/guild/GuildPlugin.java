@@ -4,15 +4,24 @@ import com.guild.commands.GuildAdminCommand;
 import com.guild.commands.GuildCommand;
 import com.guild.core.ServiceContainer;
 import com.guild.core.config.ConfigManager;
+import com.guild.core.database.BackupManager;
 import com.guild.core.database.DatabaseManager;
 import com.guild.core.economy.EconomyManager;
 import com.guild.core.events.EventBus;
 import com.guild.core.gui.GUIManager;
+import com.guild.core.performance.BlockingCallMonitor;
+import com.guild.core.performance.MetricsRegistry;
 import com.guild.core.permissions.PermissionManager;
 import com.guild.core.placeholder.PlaceholderManager;
 import com.guild.core.utils.ServerUtils;
 import com.guild.listeners.GuildListener;
 import com.guild.listeners.PlayerListener;
+import com.guild.services.ApplicationInboxService;
+import com.guild.services.GuildBulkOperationService;
+import com.guild.services.GuildExpiryService;
+import com.guild.services.GuildLogRetentionService;
+import com.guild.services.GuildRankService;
+import com.guild.services.PendingInvitationCache;
 import com.guild.services.GuildService;
 import com.guild.util.LogService;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -25,12 +34,21 @@ public class GuildPlugin extends JavaPlugin {
     private ServiceContainer serviceContainer;
     private ConfigManager configManager;
     private DatabaseManager databaseManager;
+    private BackupManager backupManager;
     private EventBus eventBus;
     private GUIManager guiManager;
     private PlaceholderManager placeholderManager;
     private PermissionManager permissionManager;
     private EconomyManager economyManager;
     private GuildService guildService;
+    private GuildRankService guildRankService;
+    private GuildLogRetentionService guildLogRetentionService;
+    private GuildExpiryService guildExpiryService;
+    private ApplicationInboxService applicationInboxService;
+    private PendingInvitationCache pendingInvitationCache;
+    private GuildBulkOperationService guildBulkOperationService;
+    private BlockingCallMonitor blockingCallMonitor;
+    private MetricsRegistry metricsRegistry;
 
     public static GuildPlugin getInstance() {
         return instance;
@@ -60,20 +78,48 @@ public class GuildPlugin extends JavaPlugin {
         }
 
         try {
+            long enableStartedAt = System.nanoTime();
+
             // 初始化服务容器
             serviceContainer = new ServiceContainer();
 
             // 初始化配置管理器
+            long phaseStartedAt = System.nanoTime();
             configManager = new ConfigManager(this);
             serviceContainer.register(ConfigManager.class, configManager);
+            LogService.configure(configManager.getMainConfig());
+            logPhase("配置加载", phaseStartedAt);
+
+            // 构建各组件（仅创建对象，耗时操作放到服务启动阶段）
+            phaseStartedAt = System.nanoTime();
+
+            // 初始化阻塞调用监控器
+            blockingCallMonitor = new BlockingCallMonitor(this);
+            serviceContainer.register(BlockingCallMonitor.class, blockingCallMonitor,
+                    ServiceContainer.ServiceLifecycle.of(blockingCallMonitor::start, () -> {
+                    }), ConfigManager.class);
 
             // 初始化数据库管理器
             databaseManager = new DatabaseManager(this);
-            serviceContainer.register(DatabaseManager.class, databaseManager);
+            serviceContainer.register(DatabaseManager.class, databaseManager,
+                    ServiceContainer.ServiceLifecycle.of(databaseManager::initialize, databaseManager::close), ConfigManager.class);
+
+            // 初始化操作指标注册表（依赖数据库：导出时记录数据库类型，关闭时导出最后一次快照）
+            metricsRegistry = new MetricsRegistry(this);
+            serviceContainer.register(MetricsRegistry.class, metricsRegistry,
+                    ServiceContainer.ServiceLifecycle.of(metricsRegistry::start, metricsRegistry::stop), DatabaseManager.class);
+
+            // 初始化数据库备份管理器
+            backupManager = new BackupManager(this, databaseManager);
+            serviceContainer.register(BackupManager.class, backupManager,
+                    ServiceContainer.ServiceLifecycle.of(backupManager::start, () -> {
+                    }), DatabaseManager.class);
 
-            // 初始化事件总线
+            // 初始化事件总线（依赖数据库：关闭时先投递完剩余事件再关闭数据库）
             eventBus = new EventBus();
-            serviceContainer.register(EventBus.class, eventBus);
+            serviceContainer.register(EventBus.class, eventBus,
+                    ServiceContainer.ServiceLifecycle.of(() -> {
+                    }, eventBus::shutdown), DatabaseManager.class);
 
             // 初始化GUI管理器
             guiManager = new GUIManager(this);
@@ -95,19 +141,52 @@ public class GuildPlugin extends JavaPlugin {
             guildService = new GuildService(this);
             serviceContainer.register(GuildService.class, guildService);
 
+            // 注册工会职级服务
+            guildRankService = new GuildRankService(this);
+            serviceContainer.register(GuildRankService.class, guildRankService);
+
+            // 注册工会日志保留服务（依赖数据库：先于数据库停止）
+            guildLogRetentionService = new GuildLogRetentionService(this);
+            serviceContainer.register(GuildLogRetentionService.class, guildLogRetentionService,
+                    ServiceContainer.ServiceLifecycle.of(guildLogRetentionService::start, guildLogRetentionService::stop), DatabaseManager.class);
+
+            // 注册工会到期服务（启动时从数据库加载待过期的邀请与关系）
+            guildExpiryService = new GuildExpiryService(this);
+            serviceContainer.register(GuildExpiryService.class, guildExpiryService,
+                    ServiceContainer.ServiceLifecycle.of(guildExpiryService::start, guildExpiryService::stop), DatabaseManager.class, EventBus.class);
+
+            // 注册申请收件箱服务（启动时统计各工会的待处理申请数）
+            applicationInboxService = new ApplicationInboxService(this);
+            serviceContainer.register(ApplicationInboxService.class, applicationInboxService,
+                    ServiceContainer.ServiceLifecycle.of(applicationInboxService::start, applicationInboxService::stop), DatabaseManager.class, EventBus.class);
+
+            // 注册待处理邀请缓存（启动时加载未过期的邀请，接受邀请时无需查询数据库）
+            pendingInvitationCache = new PendingInvitationCache(this);
+            serviceContainer.register(PendingInvitationCache.class, pendingInvitationCache,
+                    ServiceContainer.ServiceLifecycle.of(pendingInvitationCache::start, pendingInvitationCache::stop), DatabaseManager.class, EventBus.class);
+
+            // 注册批量管理操作服务（停止时取消正在运行的操作）
+            guildBulkOperationService = new GuildBulkOperationService(this);
+            serviceContainer.register(GuildBulkOperationService.class, guildBulkOperationService,
+                    ServiceContainer.ServiceLifecycle.of(guildBulkOperationService::start, guildBulkOperationService::stop), DatabaseManager.class, EventBus.class);
+
             // 设置PlaceholderManager的GuildService引用
             placeholderManager.setGuildService(guildService);
+            logPhase("组件构建", phaseStartedAt);
 
-            // 注册命令
-            registerCommands();
+            // 启动服务（数据库初始化等按依赖并行执行）
+            phaseStartedAt = System.nanoTime();
+            serviceContainer.startAll().join();
+            logPhase("服务启动", phaseStartedAt);
 
-            // 注册监听器
+            // 注册命令、监听器、占位符及GUI（需在主线程执行）
+            phaseStartedAt = System.nanoTime();
+            registerCommands();
             registerListeners();
-
-            // 启动服务
             startServices();
+            logPhase("主线程注册", phaseStartedAt);
 
-            logger.info("工会插件启动成功！");
+            logger.info("工会插件启动成功！总耗时 " + (System.nanoTime() - enableStartedAt) / 1_000_000 + "ms");
 
         } catch (Exception e) {
             logger.severe("工会插件启动失败: " + e.getMessage());
@@ -116,6 +195,13 @@ public class GuildPlugin extends JavaPlugin {
         }
     }
 
+    /**
+     * 输出启动阶段耗时
+     */
+    private void logPhase(String phase, long startedAt) {
+        LogService.info("启动阶段 [" + phase + "] 耗时 " + (System.nanoTime() - startedAt) / 1_000_000 + "ms");
+    }
+
     @Override
     public void onDisable() {
         Logger logger = getLogger();
@@ -127,22 +213,20 @@ public class GuildPlugin extends JavaPlugin {
                 guiManager.closeAllGUIs();
             }
 
-            // 关闭服务
+            // 关闭服务（按依赖逆序停止：事件总线、数据库等）
             if (serviceContainer != null) {
                 serviceContainer.shutdown();
             }
 
-            // 关闭数据库
-            if (databaseManager != null) {
-                databaseManager.close();
-            }
-
             logger.info("工会插件已关闭");
 
         } catch (Exception e) {
             logger.severe("关闭工会插件时发生错误: " + e.getMessage());
             e.printStackTrace();
         }
+
+        // 最后关闭文件日志，保证关闭过程中的日志也被写入
+        LogService.shutdown();
     }
 
     private void registerCommands() {
@@ -161,9 +245,6 @@ public class GuildPlugin extends JavaPlugin {
     }
 
     private void startServices() {
-        // 启动数据库连接
-        databaseManager.initialize();
-
         // 注册占位符
         placeholderManager.registerPlaceholders();
 
@@ -183,6 +264,10 @@ public class GuildPlugin extends JavaPlugin {
         return databaseManager;
     }
 
+    public BackupManager getBackupManager() {
+        return backupManager;
+    }
+
     public EventBus getEventBus() {
         return eventBus;
     }
@@ -206,4 +291,36 @@ public class GuildPlugin extends JavaPlugin {
     public GuildService getGuildService() {
         return guildService;
     }
+
+    public GuildRankService getGuildRankService() {
+        return guildRankService;
+    }
+
+    public GuildLogRetentionService getGuildLogRetentionService() {
+        return guildLogRetentionService;
+    }
+
+    public GuildExpiryService getGuildExpiryService() {
+        return guildExpiryService;
+    }
+
+    public ApplicationInboxService getApplicationInboxService() {
+        return applicationInboxService;
+    }
+
+    public PendingInvitationCache getPendingInvitationCache() {
+        return pendingInvitationCache;
+    }
+
+    public GuildBulkOperationService getGuildBulkOperationService() {
+        return guildBulkOperationService;
+    }
+
+    public BlockingCallMonitor getBlockingCallMonitor() {
+        return blockingCallMonitor;
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
 }
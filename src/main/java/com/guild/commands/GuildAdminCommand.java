@@ -1,12 +1,20 @@
 package com.guild.commands;
 
 import com.guild.GuildPlugin;
+import com.guild.core.database.BackupManager;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.database.SqliteWriteQueue;
+import com.guild.core.events.EventBus;
+import com.guild.core.performance.MetricsRegistry;
 import com.guild.core.utils.CompatibleScheduler;
 import com.guild.gui.AdminGuildGUI;
 import com.guild.gui.ConfirmDeleteGuildGUI;
 import com.guild.gui.RelationManagementGUI;
 import com.guild.models.Guild;
 import com.guild.models.GuildRelation;
+import com.guild.services.GuildBulkOperationService;
+import com.guild.services.GuildBulkOperationService.BulkProgress;
+import com.guild.services.GuildBulkOperationService.GuildSnapshot;
 import com.guild.util.LogService;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -15,11 +23,13 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 import static com.guild.util.FormatUtil.sendMessage;
 
@@ -80,6 +90,18 @@ public class GuildAdminCommand implements CommandExecutor, TabCompleter {
             case "reload":
                 handleReload(sender);
                 break;
+            case "perf":
+                handlePerf(sender, args);
+                break;
+            case "metrics":
+                handleMetrics(sender, args);
+                break;
+            case "backup":
+                handleBackup(sender, args);
+                break;
+            case "bulk":
+                handleBulk(sender, args);
+                break;
             case "test":
                 handleTest(sender, args);
                 break;
@@ -103,7 +125,7 @@ public class GuildAdminCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("list", "info", "delete", "freeze", "unfreeze", "transfer", "economy", "relation", "reload", "help"));
+            completions.addAll(Arrays.asList("list", "info", "delete", "freeze", "unfreeze", "transfer", "economy", "relation", "reload", "perf", "metrics", "backup", "bulk", "help"));
         } else if (args.length == 2) {
             switch (args[0].toLowerCase()) {
                 case "info":
@@ -122,6 +144,18 @@ public class GuildAdminCommand implements CommandExecutor, TabCompleter {
                 case "relation":
                     completions.addAll(Arrays.asList("list", "create", "delete", "gui"));
                     break;
+                case "perf":
+                    completions.add("reset");
+                    break;
+                case "metrics":
+                    completions.addAll(Arrays.asList("reset", "dump"));
+                    break;
+                case "backup":
+                    completions.addAll(Arrays.asList("now", "list", "restore"));
+                    break;
+                case "bulk":
+                    completions.addAll(Arrays.asList("freeze", "unfreeze", "delete", "reset-balance", "status", "cancel"));
+                    break;
             }
         } else if (args.length == 3) {
             switch (args[0].toLowerCase()) {
@@ -134,6 +168,18 @@ public class GuildAdminCommand implements CommandExecutor, TabCompleter {
                 case "economy":
                     completions.addAll(Arrays.asList("set", "add", "remove", "info"));
                     break;
+                case "bulk":
+                    if (!"status".equalsIgnoreCase(args[1]) && !"cancel".equalsIgnoreCase(args[1])) {
+                        completions.addAll(Arrays.asList("all", "inactive", "members", "frozen", "unfrozen"));
+                    }
+                    break;
+                case "backup":
+                    if ("restore".equalsIgnoreCase(args[1])) {
+                        for (File file : plugin.getBackupManager().listBackups()) {
+                            completions.add(file.getName());
+                        }
+                    }
+                    break;
                 case "relation":
                     if ("create".equals(args[1])) {
                         // 第3个参数是第一个工会名称，获取所有工会名称
@@ -583,14 +629,222 @@ public class GuildAdminCommand implements CommandExecutor, TabCompleter {
     private void handleReload(CommandSender sender) {
         try {
             plugin.getConfigManager().reloadAllConfigs();
+            LogService.configure(plugin.getConfigManager().getMainConfig());
             // 重新加载权限矩阵并清空权限缓存
             plugin.getPermissionManager().reloadFromConfig();
+            plugin.getPermissionManager().warmOnlinePlayers();
+            plugin.getBlockingCallMonitor().reloadFromConfig();
             sendMessage(sender, "&a配置已重新加载！");
         } catch (Exception e) {
             sendMessage(sender, "&c重新加载配置失败: " + e.getMessage());
         }
     }
 
+    private void handleMetrics(CommandSender sender, String[] args) {
+        MetricsRegistry metricsRegistry = plugin.getMetricsRegistry();
+        if (args.length > 1 && "reset".equalsIgnoreCase(args[1])) {
+            metricsRegistry.reset();
+            sendMessage(sender, "&a操作指标已重置！");
+            return;
+        }
+        if (args.length > 1 && "dump".equalsIgnoreCase(args[1])) {
+            CompatibleScheduler.runTaskAsync(plugin, metricsRegistry::dump);
+            sendMessage(sender, "&a正在导出操作指标到插件数据目录...");
+            return;
+        }
+
+        for (String line : metricsRegistry.buildReport()) {
+            sendMessage(sender, line);
+        }
+    }
+
+    private void handlePerf(CommandSender sender, String[] args) {
+        if (args.length > 1 && "reset".equalsIgnoreCase(args[1])) {
+            plugin.getBlockingCallMonitor().reset();
+            sendMessage(sender, "&a阻塞调用统计已重置！");
+            return;
+        }
+
+        for (String line : plugin.getBlockingCallMonitor().buildReport()) {
+            sendMessage(sender, line);
+        }
+
+        EventBus eventBus = plugin.getEventBus();
+        sendMessage(sender, String.format("&6事件总线: &7已发布 &f%d &7待投递 &f%d &7失败 &f%d &7平均延迟 &f%.2f&7ms 最长 &f%.2f&7ms",
+                eventBus.getPublishedCount(), eventBus.getPendingCount(), eventBus.getFailedCount(),
+                eventBus.getAverageDispatchMillis(), eventBus.getMaxDispatchMillis()));
+
+        SqliteWriteQueue writeQueue = plugin.getDatabaseManager().getWriteQueue();
+        if (writeQueue != null) {
+            sendMessage(sender, String.format("&6SQLite 写队列: &7排队 &f%d &7平均批大小 &f%.1f",
+                    writeQueue.getQueueSize(), writeQueue.getAverageBatchSize()));
+        }
+        if (plugin.getDatabaseManager().getDatabaseType() == DatabaseManager.DatabaseType.MYSQL) {
+            sendMessage(sender, "&6只读副本: " + (plugin.getDatabaseManager().isReplicaActive() ? "&a使用中" : "&7未启用或已回退到主库"));
+        }
+        if (LogService.getDroppedCount() > 0) {
+            sendMessage(sender, "&6文件日志: &c因缓冲区满丢弃 &f" + LogService.getDroppedCount() + " &c条");
+        }
+    }
+
+    private void handleBackup(CommandSender sender, String[] args) {
+        BackupManager backupManager = plugin.getBackupManager();
+        String action = args.length > 1 ? args[1].toLowerCase() : "list";
+        switch (action) {
+            case "now":
+                sendMessage(sender, "&e正在备份数据库...");
+                backupManager.backupAsync().whenComplete((file, throwable) -> {
+                    if (throwable != null) {
+                        sendMessage(sender, "&c备份失败: " + throwable.getCause().getMessage());
+                    } else {
+                        sendMessage(sender, "&a备份完成: &f" + file.getName() + " &7(" + file.length() / 1024 + "KB)");
+                    }
+                });
+                break;
+            case "list":
+                List<File> backups = backupManager.listBackups();
+                if (backups.isEmpty()) {
+                    sendMessage(sender, "&7暂无备份文件");
+                    return;
+                }
+                sendMessage(sender, "&6=== 数据库备份 (" + backups.size() + ") ===");
+                for (File file : backups) {
+                    sendMessage(sender, "&e" + file.getName() + " &7" + file.length() / 1024 + "KB");
+                }
+                break;
+            case "restore":
+                if (args.length < 3) {
+                    sendMessage(sender, "&c用法: /guildadmin backup restore <文件名> confirm");
+                    return;
+                }
+                if (args.length < 4 || !"confirm".equalsIgnoreCase(args[3])) {
+                    sendMessage(sender, "&c恢复将清空当前全部工会数据并替换为备份内容！");
+                    sendMessage(sender, "&e确认请执行: /guildadmin backup restore " + args[2] + " confirm");
+                    return;
+                }
+                sendMessage(sender, "&e正在从备份恢复数据...");
+                backupManager.restoreAsync(args[2]).whenComplete((restored, throwable) -> {
+                    if (throwable != null) {
+                        Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                        LogService.error("从备份恢复数据失败: ", cause);
+                        sendMessage(sender, "&c恢复失败: " + cause.getMessage());
+                    } else {
+                        sendMessage(sender, "&a已恢复 &f" + restored + " &a行数据，缓存已重新加载");
+                    }
+                });
+                break;
+            default:
+                sendMessage(sender, "&c用法: /guildadmin backup <now|list|restore>");
+                break;
+        }
+    }
+
+    private void handleBulk(CommandSender sender, String[] args) {
+        GuildBulkOperationService bulkService = plugin.getGuildBulkOperationService();
+        String action = args.length > 1 ? args[1].toLowerCase() : "";
+        switch (action) {
+            case "status":
+                BulkProgress current = bulkService.getCurrentProgress();
+                sendMessage(sender, current != null ? formatBulkProgress(current) : "&7当前没有正在运行的批量操作");
+                return;
+            case "cancel":
+                sendMessage(sender, bulkService.cancel() ? "&e已请求取消，当前批次提交后停止" : "&7当前没有正在运行的批量操作");
+                return;
+            case "freeze":
+            case "unfreeze":
+            case "delete":
+            case "reset-balance":
+                break;
+            default:
+                sendBulkUsage(sender);
+                return;
+        }
+        if (args.length < 3) {
+            sendBulkUsage(sender);
+            return;
+        }
+
+        // 解析筛选条件
+        Predicate<GuildSnapshot> filter;
+        int confirmIndex = 3;
+        switch (args[2].toLowerCase()) {
+            case "all":
+                filter = GuildBulkOperationService.all();
+                break;
+            case "frozen":
+                filter = GuildBulkOperationService.frozen(true);
+                break;
+            case "unfrozen":
+                filter = GuildBulkOperationService.frozen(false);
+                break;
+            case "inactive":
+            case "members":
+                if (args.length < 4) {
+                    sendBulkUsage(sender);
+                    return;
+                }
+                int value;
+                try {
+                    value = Integer.parseInt(args[3]);
+                } catch (NumberFormatException e) {
+                    sendMessage(sender, "&c数值格式错误！");
+                    return;
+                }
+                filter = "inactive".equalsIgnoreCase(args[2])
+                        ? GuildBulkOperationService.inactiveFor(value)
+                        : GuildBulkOperationService.membersAtMost(value);
+                confirmIndex = 4;
+                break;
+            default:
+                sendBulkUsage(sender);
+                return;
+        }
+
+        // 未确认时只统计匹配数
+        boolean confirm = args.length > confirmIndex && "confirm".equalsIgnoreCase(args[confirmIndex]);
+        GuildBulkOperationService.ChunkWriter writer = null;
+        if (confirm) {
+            writer = switch (action) {
+                case "freeze" -> bulkService.setFrozen(true);
+                case "unfreeze" -> bulkService.setFrozen(false);
+                case "delete" -> bulkService.delete();
+                default -> bulkService.setBalance(0);
+            };
+        }
+
+        sendMessage(sender, confirm ? "&e开始批量操作 " + action + "，可使用 /guildadmin bulk cancel 取消" : "&7正在统计符合条件的工会...");
+        String confirmCommand = "/guildadmin " + String.join(" ", Arrays.copyOfRange(args, 0, confirmIndex)) + " confirm";
+        bulkService.runAsync(action, filter, writer, progress -> sendMessage(sender, formatBulkProgress(progress)))
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+                        sendMessage(sender, "&c" + cause.getMessage());
+                    } else if (!confirm) {
+                        sendMessage(sender, "&e共 &f" + result.matched() + " &e个工会符合条件，确认执行请输入: &f" + confirmCommand);
+                    }
+                });
+    }
+
+    private String formatBulkProgress(BulkProgress progress) {
+        String state;
+        if (!progress.finished()) {
+            state = "&7进行中";
+        } else if (progress.cancelled()) {
+            state = "&e已取消（已提交的批次保留）";
+        } else if (progress.failed()) {
+            state = "&c中途失败（已提交的批次保留）";
+        } else {
+            state = "&a完成";
+        }
+        return String.format("&6[批量操作 %s] %s &7扫描 &f%d &7匹配 &f%d &7已处理 &f%d",
+                progress.operation(), state, progress.scanned(), progress.matched(), progress.applied());
+    }
+
+    private void sendBulkUsage(CommandSender sender) {
+        sendMessage(sender, "&c用法: /guildadmin bulk <freeze|unfreeze|delete|reset-balance> <all|frozen|unfrozen|inactive <天数>|members <人数>> [confirm]");
+        sendMessage(sender, "&c      /guildadmin bulk <status|cancel>");
+    }
+
     private void handleTest(CommandSender sender, String[] args) {
         if (args.length < 2) {
             sendMessage(sender, "&c用法: /guildadmin test <test-type>");
@@ -716,6 +970,10 @@ public class GuildAdminCommand implements CommandExecutor, TabCompleter {
         sendMessage(sender, "&e/guildadmin economy <工会> <操作> <金额> &7- 管理工会经济");
         sendMessage(sender, "&e/guildadmin relation <操作> &7- 管理工会关系");
         sendMessage(sender, "&e/guildadmin reload &7- 重新加载配置");
+        sendMessage(sender, "&e/guildadmin perf [reset] &7- 查看阻塞调用报告");
+        sendMessage(sender, "&e/guildadmin metrics [reset|dump] &7- 查看数据库操作指标");
+        sendMessage(sender, "&e/guildadmin backup <now|list|restore> &7- 备份或恢复数据库");
+        sendMessage(sender, "&e/guildadmin bulk <操作> <条件> [confirm] &7- 按条件批量冻结、解冻、删除工会或重置资金");
         sendMessage(sender, "&e/guildadmin help &7- 显示帮助信息");
     }
 }
@@ -1,1803 +1,2124 @@
-package com.guild.commands;
-
-import com.guild.GuildPlugin;
-import com.guild.core.utils.ColorUtils;
-import com.guild.core.utils.CompatibleScheduler;
-import com.guild.core.utils.ServerUtils;
-import com.guild.gui.ConfirmDeleteGuildGUI;
-import com.guild.gui.MainGuildGUI;
-import com.guild.models.Guild;
-import com.guild.models.GuildMember;
-import com.guild.models.GuildRelation;
-import com.guild.services.GuildService;
-import com.guild.util.InviteMessageUtils;
-import org.bukkit.Bukkit;
-import org.bukkit.command.Command;
-import org.bukkit.command.CommandExecutor;
-import org.bukkit.command.CommandSender;
-import org.bukkit.command.TabCompleter;
-import org.bukkit.entity.Player;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-
-import static com.guild.util.FormatUtil.sendMessage;
-
-/**
- * 工会主命令
- */
-public class GuildCommand implements CommandExecutor, TabCompleter {
-
-    private final GuildPlugin plugin;
-
-    public GuildCommand(GuildPlugin plugin) {
-        this.plugin = plugin;
-    }
-
-    @Override
-    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        if (!(sender instanceof Player player)) {
-            sendMessage(sender, plugin.getConfigManager().getMessagesConfig().getString("general.player-only", "&c此命令只能由玩家执行！"));
-            return true;
-        }
-
-        if (args.length == 0) {
-            // 打开主GUI
-            MainGuildGUI mainGuildGUI = new MainGuildGUI(plugin);
-            plugin.getGuiManager().openGUI(player, mainGuildGUI);
-            return true;
-        }
-
-        switch (args[0].toLowerCase()) {
-            case "create":
-                handleCreate(player, args);
-                break;
-            case "info":
-                handleInfo(player);
-                break;
-            case "members":
-                handleMembers(player);
-                break;
-            case "invite":
-                handleInvite(player, args);
-                break;
-            case "kick":
-                handleKick(player, args);
-                break;
-            case "promote":
-                handlePromote(player, args);
-                break;
-            case "demote":
-                handleDemote(player, args);
-                break;
-            case "accept":
-                handleAccept(player, args);
-                break;
-            case "decline":
-                handleDecline(player, args);
-                break;
-            case "leave":
-                handleLeave(player);
-                break;
-            case "delete":
-                if (args.length >= 2) {
-                    if (args[1].equalsIgnoreCase("confirm")) {
-                        handleDeleteConfirm(player);
-                    } else if (args[1].equalsIgnoreCase("cancel")) {
-                        handleDeleteCancel(player);
-                    } else {
-                        handleDelete(player);
-                    }
-                } else {
-                    handleDelete(player);
-                }
-                break;
-            case "sethome":
-                handleSetHome(player);
-                break;
-            case "home":
-                handleHome(player);
-                break;
-            case "relation":
-                handleRelation(player, args);
-                break;
-            case "economy":
-                handleEconomy(player, args);
-                break;
-            case "deposit":
-                handleDeposit(player, args);
-                break;
-            case "withdraw":
-                handleWithdraw(player, args);
-                break;
-            case "transfer":
-                handleTransfer(player, args);
-                break;
-            case "logs":
-                handleLogs(player, args);
-                break;
-            case "placeholder":
-                handlePlaceholder(player, args);
-                break;
-            case "time":
-                handleTime(player);
-                break;
-            case "help":
-                handleHelp(player);
-                break;
-            default:
-                sendMessage(player, plugin.getConfigManager().getMessagesConfig().getString("general.unknown-command", "&c未知命令！使用 /guild help 查看帮助。"));
-                break;
-        }
-
-        return true;
-    }
-
-    @Override
-    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        List<String> completions = new ArrayList<>();
-
-        if (args.length == 1) {
-            List<String> subCommands = Arrays.asList(
-                    "create", "info", "members", "invite", "kick", "promote", "demote", "accept", "decline", "leave", "delete", "sethome", "home", "relation", "economy", "deposit", "withdraw", "transfer", "logs", "placeholder", "time", "help"
-            );
-
-            for (String subCommand : subCommands) {
-                if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
-                    completions.add(subCommand);
-                }
-            }
-        } else if (args.length == 2) {
-            String subCommand = args[0].toLowerCase();
-
-            switch (subCommand) {
-                case "relation":
-                    List<String> relationSubCommands = Arrays.asList("list", "create", "delete", "accept", "reject");
-                    for (String cmd : relationSubCommands) {
-                        if (cmd.toLowerCase().startsWith(args[1].toLowerCase())) {
-                            completions.add(cmd);
-                        }
-                    }
-                    break;
-                case "economy":
-                    List<String> economySubCommands = Arrays.asList("info", "deposit", "withdraw", "transfer");
-                    for (String cmd : economySubCommands) {
-                        if (cmd.toLowerCase().startsWith(args[1].toLowerCase())) {
-                            completions.add(cmd);
-                        }
-                    }
-                    break;
-                case "invite":
-                case "kick":
-                case "promote":
-                case "demote":
-                    // 获取在线玩家列表
-                    for (Player player : Bukkit.getOnlinePlayers()) {
-                        if (player.getName().toLowerCase().startsWith(args[1].toLowerCase())) {
-                            completions.add(player.getName());
-                        }
-                    }
-                    break;
-            }
-        } else if (args.length == 3) {
-            String subCommand = args[0].toLowerCase();
-            String subSubCommand = args[1].toLowerCase();
-
-            if (subCommand.equals("relation") && subSubCommand.equals("create")) {
-                // 为创建关系提供简单的补全提示
-                // 由于异步操作的限制，这里只提供基本的提示
-                List<String> suggestions = Arrays.asList("目标工会名称");
-                for (String suggestion : suggestions) {
-                    if (suggestion.toLowerCase().startsWith(args[2].toLowerCase())) {
-                        completions.add(suggestion);
-                    }
-                }
-            } else if (subCommand.equals("relation") && (subSubCommand.equals("delete") || subSubCommand.equals("accept") || subSubCommand.equals("reject"))) {
-                // 为关系操作提供简单的补全提示
-                // 由于异步操作的限制，这里只提供基本的提示
-                List<String> suggestions = Arrays.asList("工会名称");
-                for (String suggestion : suggestions) {
-                    if (suggestion.toLowerCase().startsWith(args[2].toLowerCase())) {
-                        completions.add(suggestion);
-                    }
-                }
-            } else if (subCommand.equals("transfer")) {
-                // 为转账提供简单的补全提示
-                // 由于异步操作的限制，这里只提供基本的提示
-                List<String> suggestions = Arrays.asList("目标工会名称");
-                for (String suggestion : suggestions) {
-                    if (suggestion.toLowerCase().startsWith(args[2].toLowerCase())) {
-                        completions.add(suggestion);
-                    }
-                }
-            }
-        } else if (args.length == 4) {
-            String subCommand = args[0].toLowerCase();
-            String subSubCommand = args[1].toLowerCase();
-
-            if (subCommand.equals("relation") && subSubCommand.equals("create")) {
-                // 关系类型补全
-                List<String> relationTypes = Arrays.asList("ally", "enemy", "war", "truce", "neutral");
-                for (String type : relationTypes) {
-                    if (type.toLowerCase().startsWith(args[3].toLowerCase())) {
-                        completions.add(type);
-                    }
-                }
-            } else if (subCommand.equals("deposit") || subCommand.equals("withdraw") ||
-                    (subCommand.equals("transfer") && args.length == 4)) {
-                // 金额建议（这里只提供一些常用金额）
-                List<String> amounts = Arrays.asList("100", "500", "1000", "5000", "10000");
-                for (String amount : amounts) {
-                    if (amount.startsWith(args[3])) {
-                        completions.add(amount);
-                    }
-                }
-            }
-        }
-
-        return completions;
-    }
-
-    /**
-     * 处理创建工会命令
-     */
-    private void handleCreate(Player player, String[] args) {
-        // 检查权限
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.create")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.usage", "&e用法: /guild create <工会名称> [标签] [描述]");
-            sendMessage(player, message);
-            return;
-        }
-
-        String name = args[1];
-        String tag = args.length > 2 ? args[2] : null;
-        String description = args.length > 3 ? String.join(" ", Arrays.copyOfRange(args, 3, args.length)) : null;
-
-        // 验证输入
-        if (name.length() < 3 || name.length() > 20) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.name-too-short", "&c工会名称太短！最少需要 3 个字符。");
-            sendMessage(player, message.replace("{min}", "3"));
-            return;
-        }
-
-        if (tag != null && (tag.length() < 2 || tag.length() > 6)) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.tag-too-long", "&c工会标签太长！最多只能有 6 个字符。");
-            sendMessage(player, message.replace("{max}", "6"));
-            return;
-        }
-
-        if (description != null && description.length() > 100) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.description-too-long", "&c工会描述不能超过100个字符！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查经济系统
-        double creationCost = plugin.getConfigManager().getConfig("config.yml").getDouble("guild.creation-cost", 5000.0);
-        if (!plugin.getEconomyManager().isVaultAvailable()) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.economy-not-available", "&c经济系统不可用，无法创建工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (!plugin.getEconomyManager().hasBalance(player, creationCost)) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.insufficient-funds", "&c您的余额不足！创建工会需要 &e{amount}！")
-                    .replace("{amount}", plugin.getEconomyManager().format(creationCost));
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 扣除创建费用
-        if (!plugin.getEconomyManager().withdraw(player, creationCost)) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("create.payment-failed", "&c扣除创建费用失败！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 创建工会 (异步)
-        guildService.createGuildAsync(name, tag, description, player.getUniqueId(), player.getName())
-                .thenAcceptAsync(success -> {
-                    if (success) {
-                        // 去除名称中的颜色代码，避免影响提示消息颜色
-                        String cleanName = ColorUtils.stripColor(name);
-                        String cleanTag = tag != null ? ColorUtils.stripColor(tag) : null;
-                        String cleanDescription = description != null ? ColorUtils.stripColor(description) : null;
-
-                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("create.success", "&a工会 {name} 创建成功！");
-                        sendMessage(player, successMessage.replace("{name}", cleanName));
-
-                        String costMessage = plugin.getConfigManager().getMessagesConfig().getString("create.cost-info", "&e创建费用: {amount}")
-                                .replace("{amount}", plugin.getEconomyManager().format(creationCost));
-                        sendMessage(player, costMessage);
-
-                        String nameMessage = plugin.getConfigManager().getMessagesConfig().getString("create.name-info", "&e工会名称: {name}");
-                        sendMessage(player, nameMessage.replace("{name}", cleanName));
-
-                        if (cleanTag != null) {
-                            String tagMessage = plugin.getConfigManager().getMessagesConfig().getString("create.tag-info", "&e工会标签: [{tag}]");
-                            sendMessage(player, tagMessage.replace("{tag}", cleanTag));
-                        }
-
-                        if (cleanDescription != null) {
-                            String descMessage = plugin.getConfigManager().getMessagesConfig().getString("create.description-info", "&e工会描述: {description}");
-                            sendMessage(player, descMessage.replace("{description}", cleanDescription));
-                        }
-                    } else {
-                        // 退款
-                        plugin.getEconomyManager().deposit(player, creationCost);
-                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("create.failed", "&c工会创建失败！可能的原因：");
-                        sendMessage(player, failMessage);
-
-                        String reason1 = plugin.getConfigManager().getMessagesConfig().getString("create.failed-reason-1", "&c- 工会名称或标签已存在");
-                        String reason2 = plugin.getConfigManager().getMessagesConfig().getString("create.failed-reason-2", "&c- 您已经加入了其他工会");
-                        sendMessage(player, reason1);
-                        sendMessage(player, reason2);
-                    }
-                }, runnable -> CompatibleScheduler.runTask(plugin, runnable));
-    }
-
-    /**
-     * 处理工会信息命令
-     */
-    private void handleInfo(Player player) {
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildMember member = guildService.getGuildMember(player.getUniqueId());
-        int memberCount = guildService.getGuildMemberCount(guild.getId());
-
-        String header = plugin.getConfigManager().getMessagesConfig().getString("info.title", "&6=== 工会信息 ===");
-        sendMessage(player, header);
-
-        String nameMessage = plugin.getConfigManager().getMessagesConfig().getString("info.name", "&e名称: &f{name}");
-        sendMessage(player, nameMessage.replace("{name}", guild.getName()));
-
-        if (guild.getTag() != null && !guild.getTag().isEmpty()) {
-            String tagMessage = plugin.getConfigManager().getMessagesConfig().getString("info.tag", "&e标签: &f{tag}");
-            sendMessage(player, tagMessage.replace("{tag}", guild.getTag()));
-        }
-        if (guild.getDescription() != null && !guild.getDescription().isEmpty()) {
-            String descMessage = plugin.getConfigManager().getMessagesConfig().getString("info.description", "&e描述: &f{description}");
-            sendMessage(player, descMessage.replace("{description}", guild.getDescription()));
-        }
-
-        String leaderMessage = plugin.getConfigManager().getMessagesConfig().getString("info.leader", "&e会长: &f{leader}");
-        sendMessage(player, leaderMessage.replace("{leader}", guild.getLeaderName()));
-
-        String membersMessage = plugin.getConfigManager().getMessagesConfig().getString("info.members", "&e成员数量: &f{count}/{max}");
-        sendMessage(player, membersMessage
-                .replace("{count}", String.valueOf(memberCount))
-                .replace("{max}", String.valueOf(guild.getMaxMembers())));
-
-        String roleMessage = plugin.getConfigManager().getMessagesConfig().getString("info.role", "&e您的角色: &f{role}");
-        sendMessage(player, roleMessage.replace("{role}", member.getRole().getDisplayName()));
-
-        // 统一使用 TimeProvider 的现实时间格式
-        java.time.format.DateTimeFormatter TF = com.guild.core.time.TimeProvider.FULL_FORMATTER;
-        String createdMessage = plugin.getConfigManager().getMessagesConfig().getString("info.created", "&e创建时间: &f{date}");
-        String createdFormatted = guild.getCreatedAt() != null ? guild.getCreatedAt().format(TF) : "未知";
-        sendMessage(player, createdMessage.replace("{date}", createdFormatted));
-    }
-
-    /**
-     * 处理工会成员命令
-     */
-    private void handleMembers(Player player) {
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        List<GuildMember> members = guildService.getGuildMembers(guild.getId());
-        if (members.isEmpty()) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("members.no-members", "&c工会中没有成员！");
-            sendMessage(player, message);
-            return;
-        }
-
-        String title = plugin.getConfigManager().getMessagesConfig().getString("members.title", "&6=== 工会成员 ===");
-        sendMessage(player, title);
-
-        for (GuildMember member : members) {
-            String status = "";
-            Player onlinePlayer = Bukkit.getPlayer(member.getPlayerUuid());
-            if (onlinePlayer != null) {
-                status = "&a[在线]";
-            } else {
-                status = "&7[离线]";
-            }
-
-            String memberFormat = plugin.getConfigManager().getMessagesConfig().getString("members.member-format", "&e{role} {name} &7- {status}");
-            String memberMessage = memberFormat
-                    .replace("{role}", member.getRole().getDisplayName())
-                    .replace("{name}", member.getPlayerName())
-                    .replace("{status}", status);
-            sendMessage(player, memberMessage);
-        }
-
-        String totalMessage = plugin.getConfigManager().getMessagesConfig().getString("members.total", "&e总计: {count} 人");
-        sendMessage(player, totalMessage.replace("{count}", String.valueOf(members.size())));
-    }
-
-    /**
-     * 处理邀请命令
-     */
-    private void handleInvite(Player player, String[] args) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.invite")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.no-permission", "&c您没有权限邀请玩家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.usage", "&e用法: /guild invite <玩家名称>");
-            sendMessage(player, message);
-            return;
-        }
-
-        String targetPlayerName = args[1];
-        Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
-        if (targetPlayer == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.player-not-found", "&c玩家 {player} 不在线！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查邀请者是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查邀请权限（配置驱动）
-        if (!plugin.getPermissionManager().canInviteMembers(player)) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.no-permission", "&c您没有权限邀请玩家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查目标玩家是否已有工会
-        if (guildService.getPlayerGuild(targetPlayer.getUniqueId()) != null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.already-in-guild", "&c玩家 {player} 已经加入了其他工会！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查是否邀请自己
-        if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.cannot-invite-self", "&c您不能邀请自己！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 发送邀请 (异步)
-        guildService.sendInvitationAsync(guild.getId(), player.getUniqueId(), player.getName(), targetPlayer.getUniqueId(), targetPlayerName)
-                .thenAcceptAsync(success -> {
-                    if (success) {
-                        // 使用统一工具格式化消息
-                        sendMessage(player, InviteMessageUtils.formatInviteSent(plugin, player, targetPlayer));
-                        sendMessage(targetPlayer, InviteMessageUtils.formatInviteTitle(plugin));
-                        sendMessage(targetPlayer, InviteMessageUtils.formatInviteReceived(plugin, player, guild));
-
-                        if (guild.getTag() != null && !guild.getTag().isEmpty()) {
-                            String tagMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.guild-tag", "&e工会标签: [{tag}]");
-                            sendMessage(player, tagMessage.replace("{tag}", guild.getTag()));
-                        }
-
-                        sendMessage(targetPlayer, builder ->
-                                builder
-                                        .runCommand("&a[同意]", "/guild accept " + player.getName(), "&a点击同意 {player}"
-                                                .replace("{player}", player.getName()))
-                                        .space(2)
-                                        .runCommand("&c[拒绝]", "/guild decline " + player.getName(), "&c点击拒绝 {player}"
-                                                .replace("{player}", player.getName()))
-                        );
-                    } else {
-                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.already-invited", "&c{player} 已经收到了邀请！");
-                        sendMessage(player, failMessage.replace("{player}", targetPlayerName));
-                    }
-                }, runnable -> CompatibleScheduler.runTask(plugin, runnable));
-    }
-
-    /**
-     * 处理踢出命令
-     */
-    private void handleKick(Player player, String[] args) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.kick")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.no-permission", "&c您没有权限踢出玩家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.usage", "&e用法: /guild kick <玩家名称>");
-            sendMessage(player, message);
-            return;
-        }
-
-        String targetPlayerName = args[1];
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查踢出者是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查踢人权限（配置驱动）
-        if (!plugin.getPermissionManager().canKickMembers(player)) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.no-permission", "&c您没有权限踢出玩家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 查找目标玩家
-        Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
-        if (targetPlayer == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.player-not-found", "&c玩家 {player} 不在线！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查目标玩家是否在同一工会
-        GuildMember targetMember = guildService.getGuildMember(targetPlayer.getUniqueId());
-        if (targetMember == null || targetMember.getGuildId() != guild.getId()) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.not-in-guild", "&c玩家 {player} 不在您的工会中！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查是否踢出自己
-        if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.cannot-kick-self", "&c您不能踢出自己！使用 /guild leave 离开工会。");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查是否踢出会长
-        if (targetMember.getRole() == GuildMember.Role.LEADER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.cannot-kick-leader", "&c您不能踢出工会会长！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 执行踢出操作
-        boolean success = guildService.removeGuildMember(targetPlayer.getUniqueId(), player.getUniqueId());
-        if (success) {
-            String successMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.success", "&a已将 {player} 踢出工会！");
-            sendMessage(player, successMessage.replace("{player}", targetPlayerName));
-
-            String kickedMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.kicked", "&c您已被踢出工会 {guild}！");
-            sendMessage(targetPlayer, kickedMessage.replace("{guild}", guild.getName()));
-        } else {
-            String failMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.failed", "&c踢出玩家失败！");
-            sendMessage(player, failMessage);
-        }
-    }
-
-    /**
-     * 处理离开工会命令
-     */
-    private void handleLeave(Player player) {
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查玩家是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildMember member = guildService.getGuildMember(player.getUniqueId());
-        if (member == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("leave.member-error", "&c工会成员信息错误！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查是否是会长
-        if (member.getRole() == GuildMember.Role.LEADER) {
-            String message1 = plugin.getConfigManager().getMessagesConfig().getString("leave.leader-cannot-leave", "&c工会会长不能离开工会！");
-            String message2 = plugin.getConfigManager().getMessagesConfig().getString("leave.use-delete", "&c如果您想解散工会，请使用 /guild delete 命令。");
-            sendMessage(player, message1);
-            sendMessage(player, message2);
-            return;
-        }
-
-        // 执行离开操作
-        boolean success = guildService.removeGuildMember(player.getUniqueId(), player.getUniqueId());
-        if (success) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("leave.success-with-guild", "&a您已成功离开工会: {guild}");
-            sendMessage(player, message.replace("{guild}", guild.getName()));
-        } else {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("leave.failed", "&c离开工会失败！");
-            sendMessage(player, message);
-        }
-    }
-
-    /**
-     * 处理删除工会命令（打开确认 GUI）
-     */
-    private void handleDelete(Player player) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.delete")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("delete.no-permission", "&c您没有权限删除工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查玩家是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查是否是会长
-        GuildMember member = guildService.getGuildMember(player.getUniqueId());
-        if (member == null || member.getRole() != GuildMember.Role.LEADER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("delete.leader-only", "&c只有工会会长才能删除工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 打开确认删除GUI
-        plugin.getGuiManager().openGUI(player, new ConfirmDeleteGuildGUI(plugin, guild));
-    }
-
-    private void handleDeleteConfirm(Player player) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.delete")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("delete.no-permission", "&c您没有权限删除工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildMember member = guildService.getGuildMember(player.getUniqueId());
-        if (member == null || member.getRole() != GuildMember.Role.LEADER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("delete.leader-only", "&c只有工会会长才能删除工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        plugin.getGuildService().deleteGuildAsync(guild.getId(), player.getUniqueId()).thenAccept(success -> {
-            CompatibleScheduler.runTask(plugin, () -> {
-                if (success) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("delete.success", "&a工会已被删除！");
-                    sendMessage(player, message.replace("{guild}", guild.getName()));
-                } else {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("delete.failed", "&c删除工会失败！");
-                    sendMessage(player, message);
-                }
-            });
-        });
-    }
-
-    private void handleDeleteCancel(Player player) {
-        String message = plugin.getConfigManager().getMessagesConfig().getString("delete.canceled", "&a已取消删除工会！");
-        sendMessage(player, message);
-    }
-
-    /**
-     * 处理设置工会家命令
-     */
-    private void handleSetHome(Player player) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.sethome")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查玩家是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查是否是会长
-        if (!guildService.isGuildLeader(player.getUniqueId())) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("sethome.only-leader", "&c只有工会会长才能设置工会家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 设置工会家 (异步)
-        guildService.setGuildHomeAsync(guild.getId(), player.getLocation(), player.getUniqueId())
-                .thenAcceptAsync(success -> {
-                    if (success) {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("sethome.success", "&a工会家设置成功！");
-                        sendMessage(player, message);
-                    } else {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("sethome.failed", "&c设置工会家失败！");
-                        sendMessage(player, message);
-                    }
-                }, runnable -> CompatibleScheduler.runTask(plugin, runnable));
-    }
-
-    /**
-     * 处理传送到工会家命令（使用 Folia 兼容传送）
-     */
-    private void handleHome(Player player) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.home")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！");
-            sendMessage(player, message);
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查玩家是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 获取工会家位置 (异步)
-        guildService.getGuildHomeAsync(guild.getId())
-                .thenAcceptAsync(homeLocation -> {
-                    if (homeLocation == null) {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("home.not-set", "&c工会家尚未设置！");
-                        sendMessage(player, message);
-                        return;
-                    }
-
-                    // Folia 兼容安全传送
-                    player.teleportAsync(homeLocation);
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("home.success", "&a已传送到工会家！");
-                    sendMessage(player, message);
-                }, runnable -> CompatibleScheduler.runTask(plugin, runnable));
-    }
-
-    /**
-     * 处理提升成员命令
-     */
-    private void handlePromote(Player player, String[] args) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.promote")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.no-permission", "&c您没有权限提升玩家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.usage", "&e用法: /guild promote <玩家>");
-            sendMessage(player, message);
-            return;
-        }
-
-        String targetPlayerName = args[1];
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查提升者是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 已通过节点校验，按配置驱动，不再强制"仅会长"
-
-        // 查找目标玩家
-        Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
-        if (targetPlayer == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.player-not-found", "&c玩家 {player} 不在线！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查目标玩家是否在同一工会
-        GuildMember targetMember = guildService.getGuildMember(targetPlayer.getUniqueId());
-        if (targetMember == null || targetMember.getGuildId() != guild.getId()) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.not-in-guild", "&c玩家 {player} 不在您的工会中！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查是否提升自己
-        if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.cannot-promote-self", "&c您不能提升自己！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查当前角色
-        GuildMember.Role currentRole = targetMember.getRole();
-        GuildMember.Role newRole = null;
-
-        if (currentRole == GuildMember.Role.MEMBER) {
-            newRole = GuildMember.Role.OFFICER;
-        } else if (currentRole == GuildMember.Role.OFFICER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.already-highest", "&c玩家 {player} 已经是最高职位！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        if (newRole != null) {
-            // 执行提升操作
-            boolean success = guildService.updateMemberRole(targetPlayer.getUniqueId(), newRole, player.getUniqueId());
-            if (success) {
-                String successMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.success", "&a已将 {player} 提升为 {role}！");
-                sendMessage(player, successMessage
-                        .replace("{player}", targetPlayerName)
-                        .replace("{role}", newRole.getDisplayName()));
-
-                String promotedMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.success", "&a您已被提升为 {role}！");
-                sendMessage(targetPlayer, promotedMessage.replace("{role}", newRole.getDisplayName()));
-            } else {
-                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.cannot-promote", "&c无法提升该玩家！");
-                sendMessage(player, failMessage);
-            }
-        }
-    }
-
-    /**
-     * 处理降级成员命令
-     */
-    private void handleDemote(Player player, String[] args) {
-        if (!plugin.getPermissionManager().hasPermission(player, "guild.demote")) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.no-permission", "&c您没有权限降级玩家！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.usage", "&e用法: /guild demote <玩家>");
-            sendMessage(player, message);
-            return;
-        }
-
-        String targetPlayerName = args[1];
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查降级者是否有工会
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 已通过节点校验，按配置驱动，不再强制"仅会长"
-
-        // 查找目标玩家
-        Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
-        if (targetPlayer == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.player-not-found", "&c玩家 {player} 不在线！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查目标玩家是否在同一工会
-        GuildMember targetMember = guildService.getGuildMember(targetPlayer.getUniqueId());
-        if (targetMember == null || targetMember.getGuildId() != guild.getId()) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.not-in-guild", "&c玩家 {player} 不在您的工会中！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        // 检查是否降级自己
-        if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.cannot-demote-self", "&c您不能降级自己！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查是否降级会长
-        if (targetMember.getRole() == GuildMember.Role.LEADER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.cannot-demote-leader", "&c不能降级工会会长！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查当前角色
-        GuildMember.Role currentRole = targetMember.getRole();
-        GuildMember.Role newRole = null;
-
-        if (currentRole == GuildMember.Role.OFFICER) {
-            newRole = GuildMember.Role.MEMBER;
-        } else if (currentRole == GuildMember.Role.MEMBER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.already-lowest", "&c玩家 {player} 已经是最低职位！");
-            sendMessage(player, message.replace("{player}", targetPlayerName));
-            return;
-        }
-
-        if (newRole != null) {
-            // 执行降级操作
-            boolean success = guildService.updateMemberRole(targetPlayer.getUniqueId(), newRole, player.getUniqueId());
-            if (success) {
-                String successMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.success", "&a已将 {player} 降级为 {role}！");
-                sendMessage(player, successMessage
-                        .replace("{player}", targetPlayerName)
-                        .replace("{role}", newRole.getDisplayName()));
-
-                String demotedMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.success", "&a您已被降级为 {role}！");
-                sendMessage(targetPlayer, demotedMessage.replace("{role}", newRole.getDisplayName()));
-            } else {
-                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.cannot-demote", "&c无法降级该玩家！");
-                sendMessage(player, failMessage);
-            }
-        }
-    }
-
-    /**
-     * 处理接受邀请命令
-     */
-    private void handleAccept(Player player, String[] args) {
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.accept-command", "&e输入 &a/guild accept {inviter} &e接受邀请");
-            sendMessage(player, message);
-            return;
-        }
-
-        String inviterName = args[1];
-        Player inviter = Bukkit.getPlayer(inviterName);
-        if (inviter == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.player-not-found", "&c玩家 {player} 不在线！");
-            sendMessage(player, message.replace("{player}", inviterName));
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 先检查邀请是否存在
-        guildService.getPendingInvitationAsync(player.getUniqueId(), inviter.getUniqueId()).thenAccept(invitation -> {
-            if (invitation == null) {
-                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或不存在！");
-                CompatibleScheduler.runTask(plugin, () -> sendMessage(player, failMessage));
-                return;
-            }
-
-            // 获取工会信息
-            guildService.getGuildByIdAsync(invitation.getGuildId()).thenAccept(guild -> {
-                if (guild == null) {
-                    String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或工会不存在！");
-                    CompatibleScheduler.runTask(plugin, () -> sendMessage(player, failMessage));
-                    return;
-                }
-
-                // 处理邀请
-                guildService.processInvitationAsync(player.getUniqueId(), inviter.getUniqueId(), true).thenAccept(success -> {
-                    CompatibleScheduler.runTask(plugin, () -> {
-                        if (success) {
-                            // 去除工会名称中的颜色代码
-                            String cleanGuildName = ColorUtils.stripColor(guild.getName());
-                            String successMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.accepted", "&a您已接受 {guild} 的邀请！")
-                                    .replace("{guild}", cleanGuildName);
-                            sendMessage(player, successMessage);
-
-                            String inviterMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.accepted-by-inviter", "&a{player} 已接受您的邀请！");
-                            if (inviter.isOnline()) {
-                                sendMessage(inviter, inviterMessage.replace("{player}", player.getName()));
-                            }
-                        } else {
-                            String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期！");
-                            sendMessage(player, failMessage);
-                        }
-                    });
-                });
-            });
-        });
-    }
-
-    /**
-     * 处理拒绝邀请命令
-     */
-    private void handleDecline(Player player, String[] args) {
-        if (args.length < 2) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.decline-command", "&e输入 &c/guild decline {inviter} &e拒绝邀请");
-            sendMessage(player, message);
-            return;
-        }
-
-        String inviterName = args[1];
-        Player inviter = Bukkit.getPlayer(inviterName);
-        if (inviter == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.player-not-found", "&c玩家 {player} 不在线！");
-            sendMessage(player, message.replace("{player}", inviterName));
-            return;
-        }
-
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 先检查邀请是否存在
-        guildService.getPendingInvitationAsync(player.getUniqueId(), inviter.getUniqueId()).thenAccept(invitation -> {
-            if (invitation == null) {
-                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或不存在！");
-                CompatibleScheduler.runTask(plugin, () -> sendMessage(player, failMessage));
-                return;
-            }
-
-            // 获取工会信息
-            guildService.getGuildByIdAsync(invitation.getGuildId()).thenAccept(guild -> {
-                if (guild == null) {
-                    String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或工会不存在！");
-                    CompatibleScheduler.runTask(plugin, () -> sendMessage(player, failMessage));
-                    return;
-                }
-
-                // 处理邀请
-                guildService.processInvitationAsync(player.getUniqueId(), inviter.getUniqueId(), false).thenAccept(success -> {
-                    CompatibleScheduler.runTask(plugin, () -> {
-                        if (success) {
-                            // 去除工会名称中的颜色代码
-                            String cleanGuildName = ColorUtils.stripColor(guild.getName());
-                            String successMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.declined", "&c您已拒绝 {guild} 的邀请！")
-                                    .replace("{guild}", cleanGuildName);
-                            sendMessage(player, successMessage);
-
-                            String inviterMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.declined-by-inviter", "&c{player} 已拒绝您的邀请！");
-                            if (inviter.isOnline()) {
-                                sendMessage(inviter, inviterMessage.replace("{player}", player.getName()));
-                            }
-                        } else {
-                            String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期！");
-                            sendMessage(player, failMessage);
-                        }
-                    });
-                });
-            });
-        });
-    }
-
-    /**
-     * 处理帮助命令
-     */
-    private void handleHelp(Player player) {
-        String title = plugin.getConfigManager().getMessagesConfig().getString("help.title", "&6=== 工会系统帮助 ===");
-        sendMessage(player, title);
-
-        String mainMenu = plugin.getConfigManager().getMessagesConfig().getString("help.main-menu", "&e/guild &7- 打开工会主界面");
-        sendMessage(player, mainMenu);
-
-        String create = plugin.getConfigManager().getMessagesConfig().getString("help.create", "&e/guild create <名称> [标签] [描述] &7- 创建工会");
-        sendMessage(player, create);
-
-        String info = plugin.getConfigManager().getMessagesConfig().getString("help.info", "&e/guild info &7- 查看工会信息");
-        sendMessage(player, info);
-
-        String members = plugin.getConfigManager().getMessagesConfig().getString("help.members", "&e/guild members &7- 查看工会成员");
-        sendMessage(player, members);
-
-        String invite = plugin.getConfigManager().getMessagesConfig().getString("help.invite", "&e/guild invite <玩家> &7- 邀请玩家加入工会");
-        sendMessage(player, invite);
-
-        String kick = plugin.getConfigManager().getMessagesConfig().getString("help.kick", "&e/guild kick <玩家> &7- 踢出工会成员");
-        sendMessage(player, kick);
-
-        String promote = plugin.getConfigManager().getMessagesConfig().getString("help.promote", "&e/guild promote <玩家> &7- 提升工会成员");
-        sendMessage(player, promote);
-
-        String demote = plugin.getConfigManager().getMessagesConfig().getString("help.demote", "&e/guild demote <玩家> &7- 降级工会成员");
-        sendMessage(player, demote);
-
-        String accept = plugin.getConfigManager().getMessagesConfig().getString("help.accept", "&e/guild accept <邀请者> &7- 接受工会邀请");
-        sendMessage(player, accept);
-
-        String decline = plugin.getConfigManager().getMessagesConfig().getString("help.decline", "&e/guild decline <邀请者> &7- 拒绝工会邀请");
-        sendMessage(player, decline);
-
-        String leave = plugin.getConfigManager().getMessagesConfig().getString("help.leave", "&e/guild leave &7- 离开工会");
-        sendMessage(player, leave);
-
-        String delete = plugin.getConfigManager().getMessagesConfig().getString("help.delete", "&e/guild delete &7- 删除工会");
-        sendMessage(player, delete);
-
-        String sethome = plugin.getConfigManager().getMessagesConfig().getString("help.sethome", "&e/guild sethome &7- 设置工会家");
-        sendMessage(player, sethome);
-
-        String home = plugin.getConfigManager().getMessagesConfig().getString("help.home", "&e/guild home &7- 传送到工会家");
-        sendMessage(player, home);
-
-        String help = plugin.getConfigManager().getMessagesConfig().getString("help.help", "&e/guild help &7- 显示此帮助信息");
-        sendMessage(player, help);
-
-        String relation = "&e/guild relation &7- 管理工会关系";
-        sendMessage(player, relation);
-
-        String economy = "&e/guild economy &7- 管理工会经济";
-        sendMessage(player, economy);
-
-        String deposit = "&e/guild deposit <金额> &7- 向工会存入资金";
-        sendMessage(player, deposit);
-
-        String withdraw = "&e/guild withdraw <金额> &7- 从工会取出资金";
-        sendMessage(player, withdraw);
-
-        String transfer = "&e/guild transfer <工会> <金额> &7- 向其他工会转账";
-        sendMessage(player, transfer);
-
-        String logs = "&e/guild logs &7- 查看工会操作日志";
-        sendMessage(player, logs);
-    }
-
-    /**
-     * 处理工会关系命令
-     */
-    private void handleRelation(Player player, String[] args) {
-        // 获取玩家工会
-        Guild guild = plugin.getGuildService().getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.no-guild", "&c您还没有加入工会！");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 检查权限（只有会长可以管理关系）
-        GuildMember member = plugin.getGuildService().getGuildMember(player.getUniqueId());
-        if (member == null || member.getRole() != GuildMember.Role.LEADER) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.only-leader", "&c只有工会会长才能管理工会关系！");
-            sendMessage(player, message);
-            return;
-        }
-
-        if (args.length == 1) {
-            // 显示关系管理帮助
-            showRelationHelp(player);
-            return;
-        }
-
-        switch (args[1].toLowerCase()) {
-            case "list":
-                handleRelationList(player, guild);
-                break;
-            case "create":
-                if (args.length < 4) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("relation.create-usage", "&e用法: /guild relation create <目标工会> <关系类型>");
-                    sendMessage(player, message);
-                    return;
-                }
-                handleRelationCreate(player, guild, args[2], args[3]);
-                break;
-            case "delete":
-                if (args.length < 3) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("relation.delete-usage", "&e用法: /guild relation delete <目标工会>");
-                    sendMessage(player, message);
-                    return;
-                }
-                handleRelationDelete(player, guild, args[2]);
-                break;
-            case "accept":
-                if (args.length < 3) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("relation.accept-usage", "&e用法: /guild relation accept <目标工会>");
-                    sendMessage(player, message);
-                    return;
-                }
-                handleRelationAccept(player, guild, args[2]);
-                break;
-            case "reject":
-                if (args.length < 3) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("relation.reject-usage", "&e用法: /guild relation reject <目标工会>");
-                    sendMessage(player, message);
-                    return;
-                }
-                handleRelationReject(player, guild, args[2]);
-                break;
-            default:
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.unknown-subcommand", "&c未知的子命令！使用 /guild relation 查看帮助。");
-                sendMessage(player, message);
-                break;
-        }
-    }
-
-    /**
-     * 显示关系管理帮助
-     */
-    private void showRelationHelp(Player player) {
-        String title = plugin.getConfigManager().getMessagesConfig().getString("relation.help-title", "&6=== 工会关系管理 ===");
-        sendMessage(player, title);
-
-        String list = plugin.getConfigManager().getMessagesConfig().getString("relation.help-list", "&e/guild relation list &7- 查看所有关系");
-        sendMessage(player, list);
-
-        String create = plugin.getConfigManager().getMessagesConfig().getString("relation.help-create", "&e/guild relation create <工会> <类型> &7- 创建关系");
-        sendMessage(player, create);
-
-        String delete = plugin.getConfigManager().getMessagesConfig().getString("relation.help-delete", "&e/guild relation delete <工会> &7- 删除关系");
-        sendMessage(player, delete);
-
-        String accept = plugin.getConfigManager().getMessagesConfig().getString("relation.help-accept", "&e/guild relation accept <工会> &7- 接受关系请求");
-        sendMessage(player, accept);
-
-        String reject = plugin.getConfigManager().getMessagesConfig().getString("relation.help-reject", "&e/guild relation reject <工会> &7- 拒绝关系请求");
-        sendMessage(player, reject);
-
-        String types = plugin.getConfigManager().getMessagesConfig().getString("relation.help-types", "&7关系类型: &eally(盟友), enemy(敌对), war(开战), truce(停战), neutral(中立)");
-        sendMessage(player, types);
-    }
-
-    /**
-     * 处理关系列表
-     */
-    private void handleRelationList(Player player, Guild guild) {
-        plugin.getGuildService().getGuildRelationsAsync(guild.getId()).thenAccept(relations -> {
-            if (relations == null || relations.isEmpty()) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.no-relations", "&7您的工会还没有任何关系。");
-                sendMessage(player, message);
-                return;
-            }
-
-            String title = plugin.getConfigManager().getMessagesConfig().getString("relation.list-title", "&6=== 工会关系列表 ===");
-            sendMessage(player, title);
-
-            for (GuildRelation relation : relations) {
-                String otherGuildName = relation.getOtherGuildName(guild.getId());
-                String status = relation.getStatus().name();
-                String type = relation.getType().name();
-
-                String relationInfo = plugin.getConfigManager().getMessagesConfig().getString("relation.list-format", "&e{other_guild} &7- {type} ({status})")
-                        .replace("{other_guild}", otherGuildName)
-                        .replace("{type}", type)
-                        .replace("{status}", status);
-                sendMessage(player, relationInfo);
-            }
-        });
-    }
-
-    /**
-     * 处理创建关系
-     */
-    private void handleRelationCreate(Player player, Guild guild, String targetGuildName, String relationTypeStr) {
-        // 验证关系类型
-        GuildRelation.RelationType relationType;
-        try {
-            relationType = GuildRelation.RelationType.valueOf(relationTypeStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.invalid-type", "&c无效的关系类型！有效类型: ally, enemy, war, truce, neutral");
-            sendMessage(player, message);
-            return;
-        }
-
-        // 获取目标工会
-        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
-            if (targetGuild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
-                        .replace("{guild}", targetGuildName);
-                sendMessage(player, message);
-                return;
-            }
-
-            if (targetGuild.getId() == guild.getId()) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.cannot-relation-self", "&c不能与自己建立关系！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 创建关系
-            plugin.getGuildService().createGuildRelationAsync(guild.getId(), targetGuild.getId(), guild.getName(), targetGuild.getName(), relationType, player.getUniqueId(), player.getName())
-                    .thenAccept(success -> {
-                        if (success) {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.create-success", "&a已向 {guild} 发送 {type} 关系请求！")
-                                    .replace("{guild}", targetGuildName)
-                                    .replace("{type}", relationType.name());
-                            sendMessage(player, message);
-                        } else {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.create-failed", "&c创建关系失败！可能已经存在关系。");
-                            sendMessage(player, message);
-                        }
-                    });
-        });
-    }
-
-    /**
-     * 处理删除关系
-     */
-    private void handleRelationDelete(Player player, Guild guild, String targetGuildName) {
-        // 获取目标工会
-        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
-            if (targetGuild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
-                        .replace("{guild}", targetGuildName);
-                sendMessage(player, message);
-                return;
-            }
-
-            // 获取关系然后删除
-            plugin.getGuildService().getGuildRelationAsync(guild.getId(), targetGuild.getId())
-                    .thenCompose(relation -> {
-                        if (relation == null) {
-                            return CompletableFuture.completedFuture(false);
-                        }
-                        return plugin.getGuildService().deleteGuildRelationAsync(relation.getId());
-                    })
-                    .thenAccept(success -> {
-                        if (success) {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.delete-success", "&a已删除与 {guild} 的关系！")
-                                    .replace("{guild}", targetGuildName);
-                            sendMessage(player, message);
-                        } else {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.delete-failed", "&c删除关系失败！可能关系不存在。");
-                            sendMessage(player, message);
-                        }
-                    });
-        });
-    }
-
-    /**
-     * 处理接受关系
-     */
-    private void handleRelationAccept(Player player, Guild guild, String targetGuildName) {
-        // 获取目标工会
-        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
-            if (targetGuild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
-                        .replace("{guild}", targetGuildName);
-                sendMessage(player, message);
-                return;
-            }
-
-            // 获取关系然后接受
-            plugin.getGuildService().getGuildRelationAsync(guild.getId(), targetGuild.getId())
-                    .thenCompose(relation -> {
-                        if (relation == null) {
-                            return CompletableFuture.completedFuture(false);
-                        }
-                        return plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.ACTIVE);
-                    })
-                    .thenAccept(success -> {
-                        if (success) {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.accept-success", "&a已接受 {guild} 的关系请求！")
-                                    .replace("{guild}", targetGuildName);
-                            sendMessage(player, message);
-                        } else {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.accept-failed", "&c接受关系失败！可能没有待处理的关系请求。");
-                            sendMessage(player, message);
-                        }
-                    });
-        });
-    }
-
-    /**
-     * 处理拒绝关系
-     */
-    private void handleRelationReject(Player player, Guild guild, String targetGuildName) {
-        // 获取目标工会
-        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
-            if (targetGuild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
-                        .replace("{guild}", targetGuildName);
-                sendMessage(player, message);
-                return;
-            }
-
-            // 获取关系然后拒绝
-            plugin.getGuildService().getGuildRelationAsync(guild.getId(), targetGuild.getId())
-                    .thenCompose(relation -> {
-                        if (relation == null) {
-                            return CompletableFuture.completedFuture(false);
-                        }
-                        return plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.CANCELLED);
-                    })
-                    .thenAccept(success -> {
-                        if (success) {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.reject-success", "&c已拒绝 {guild} 的关系请求！")
-                                    .replace("{guild}", targetGuildName);
-                            sendMessage(player, message);
-                        } else {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.reject-failed", "&c拒绝关系失败！可能没有待处理的关系请求。");
-                            sendMessage(player, message);
-                        }
-                    });
-        });
-    }
-
-    /**
-     * 处理工会经济命令
-     */
-    private void handleEconomy(Player player, String[] args) {
-        // 获取玩家工会
-        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
-            if (guild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 显示工会经济信息
-            String message = plugin.getConfigManager().getMessagesConfig().getString("economy.info", "&6工会经济信息");
-            sendMessage(player, message);
-
-            String balanceMessage = plugin.getConfigManager().getMessagesConfig().getString("economy.balance", "&7当前资金: &e{balance}")
-                    .replace("{balance}", plugin.getEconomyManager().format(guild.getBalance()));
-            sendMessage(player, balanceMessage);
-
-            String levelMessage = plugin.getConfigManager().getMessagesConfig().getString("economy.level", "&7当前等级: &e{level}")
-                    .replace("{level}", String.valueOf(guild.getLevel()));
-            sendMessage(player, levelMessage);
-
-            String maxMembersMessage = plugin.getConfigManager().getMessagesConfig().getString("economy.max-members", "&7最大成员: &e{max_members}")
-                    .replace("{max_members}", String.valueOf(guild.getMaxMembers()));
-            sendMessage(player, maxMembersMessage);
-        });
-    }
-
-    /**
-     * 处理存款命令
-     */
-    private void handleDeposit(Player player, String[] args) {
-        if (args.length < 2) {
-            sendMessage(player, "&c用法: /guild deposit <金额>");
-            return;
-        }
-
-        double amount;
-        try {
-            amount = Double.parseDouble(args[1]);
-        } catch (NumberFormatException e) {
-            sendMessage(player, "&c金额格式错误！");
-            return;
-        }
-
-        if (amount <= 0) {
-            sendMessage(player, "&c金额必须大于0！");
-            return;
-        }
-
-        // 获取玩家工会
-        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
-            if (guild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 检查玩家余额
-            if (!plugin.getEconomyManager().hasBalance(player, amount)) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.insufficient-balance", "&c您的余额不足！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 执行存款
-            plugin.getEconomyManager().withdraw(player, amount);
-            plugin.getGuildService().updateGuildBalanceAsync(guild.getId(), guild.getBalance() + amount).thenAccept(success -> {
-                if (success) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.deposit-success", "&a成功向工会存款 &e{amount}！")
-                            .replace("{amount}", plugin.getEconomyManager().format(amount));
-                    sendMessage(player, message);
-                } else {
-                    // 退款
-                    plugin.getEconomyManager().deposit(player, amount);
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.deposit-failed", "&c存款失败！");
-                    sendMessage(player, message);
-                }
-            });
-        });
-    }
-
-    /**
-     * 处理取款命令
-     */
-    private void handleWithdraw(Player player, String[] args) {
-        if (args.length < 2) {
-            sendMessage(player, "&c用法: /guild withdraw <金额>");
-            return;
-        }
-
-        double amount;
-        try {
-            amount = Double.parseDouble(args[1]);
-        } catch (NumberFormatException e) {
-            sendMessage(player, "&c金额格式错误！");
-            return;
-        }
-
-        if (amount <= 0) {
-            sendMessage(player, "&c金额必须大于0！");
-            return;
-        }
-
-        // 获取玩家工会
-        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
-            if (guild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 检查工会余额
-            if (guild.getBalance() < amount) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.guild-insufficient-balance", "&c工会余额不足！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 检查权限（只有会长可以取款）
-            plugin.getGuildService().getGuildMemberAsync(guild.getId(), player.getUniqueId()).thenAccept(member -> {
-                if (member == null || member.getRole() != GuildMember.Role.LEADER) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.leader-only", "&c只有工会会长才能取款！");
-                    sendMessage(player, message);
-                    return;
-                }
-
-                // 执行取款
-                plugin.getGuildService().updateGuildBalanceAsync(guild.getId(), guild.getBalance() - amount).thenAccept(success -> {
-                    if (success) {
-                        plugin.getEconomyManager().deposit(player, amount);
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.withdraw-success", "&a成功从工会取款 &e{amount}！")
-                                .replace("{amount}", plugin.getEconomyManager().format(amount));
-                        sendMessage(player, message);
-                    } else {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.withdraw-failed", "&c取款失败！");
-                        sendMessage(player, message);
-                    }
-                });
-            });
-        });
-    }
-
-    /**
-     * 处理转账命令
-     */
-    private void handleTransfer(Player player, String[] args) {
-        if (args.length < 3) {
-            sendMessage(player, "&c用法: /guild transfer <工会> <金额>");
-            return;
-        }
-
-        String targetGuildName = args[1];
-        double amount;
-        try {
-            amount = Double.parseDouble(args[2]);
-        } catch (NumberFormatException e) {
-            sendMessage(player, "&c金额格式错误！");
-            return;
-        }
-
-        if (amount <= 0) {
-            sendMessage(player, "&c金额必须大于0！");
-            return;
-        }
-
-        // 获取玩家工会
-        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(sourceGuild -> {
-            if (sourceGuild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 检查权限（只有会长可以转账）
-            plugin.getGuildService().getGuildMemberAsync(sourceGuild.getId(), player.getUniqueId()).thenAccept(member -> {
-                if (member == null || member.getRole() != GuildMember.Role.LEADER) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.leader-only", "&c只有工会会长才能转账！");
-                    sendMessage(player, message);
-                    return;
-                }
-
-                // 检查工会余额
-                if (sourceGuild.getBalance() < amount) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.guild-insufficient-balance", "&c工会余额不足！");
-                    sendMessage(player, message);
-                    return;
-                }
-
-                // 查找目标工会
-                plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
-                    if (targetGuild == null) {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.target-guild-not-found", "&c目标工会不存在！");
-                        sendMessage(player, message);
-                        return;
-                    }
-
-                    // 不能转账给自己
-                    if (sourceGuild.getId() == targetGuild.getId()) {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.cannot-transfer-to-self", "&c不能转账给自己的工会！");
-                        sendMessage(player, message);
-                        return;
-                    }
-
-                    // 执行转账
-                    plugin.getGuildService().updateGuildBalanceAsync(sourceGuild.getId(), sourceGuild.getBalance() - amount).thenAccept(success1 -> {
-                        if (success1) {
-                            plugin.getGuildService().updateGuildBalanceAsync(targetGuild.getId(), targetGuild.getBalance() + amount).thenAccept(success2 -> {
-                                if (success2) {
-                                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.transfer-success", "&a成功向工会 &e{target} &a转账 &e{amount}！")
-                                            .replace("{target}", targetGuildName)
-                                            .replace("{amount}", plugin.getEconomyManager().format(amount));
-                                    sendMessage(player, message);
-                                } else {
-                                    // 回滚
-                                    plugin.getGuildService().updateGuildBalanceAsync(sourceGuild.getId(), sourceGuild.getBalance() + amount);
-                                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.transfer-failed", "&c转账失败！");
-                                    sendMessage(player, message);
-                                }
-                            });
-                        } else {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("economy.transfer-failed", "&c转账失败！");
-                            sendMessage(player, message);
-                        }
-                    });
-                });
-            });
-        });
-    }
-
-    /**
-     * 处理日志查看命令
-     */
-    private void handleLogs(Player player, String[] args) {
-        // 获取玩家工会
-        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
-            if (guild == null) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-guild", "&c您还没有加入工会！");
-                sendMessage(player, message);
-                return;
-            }
-
-            // 检查权限
-            plugin.getGuildService().getGuildMemberAsync(guild.getId(), player.getUniqueId()).thenAccept(member -> {
-                if (member == null) {
-                    String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c权限不足！");
-                    sendMessage(player, message);
-                    return;
-                }
-
-                // 打开工会日志GUI
-                plugin.getGuiManager().openGUI(player, new com.guild.gui.GuildLogsGUI(plugin, guild, player));
-            });
-        });
-    }
-
-    /**
-     * 处理占位符测试命令
-     */
-    private void handlePlaceholder(Player player, String[] args) {
-        if (!GuildPlugin.getInstance().getPlaceholderManager().registerPlaceholders()) {
-            sendMessage(player, "PlaceholderAPI未安装, 此命令不可用!");
-            return;
-        }
-
-        if (!player.hasPermission("guild.admin")) {
-            sendMessage(player, plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！"));
-            return;
-        }
-
-        if (args.length < 2) {
-            sendMessage(player, "&c用法: /guild placeholder <变量名>");
-            sendMessage(player, "&e示例: /guild placeholder name");
-            sendMessage(player, "&e可用变量: name, tag, description, leader, membercount, role, hasguild, isleader, isofficer");
-            return;
-        }
-
-        String placeholder = "%guild_" + args[1] + "%";
-        String result = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, placeholder);
-
-        sendMessage(player, "&6=== PlaceholderAPI 测试 ===");
-        sendMessage(player, "&e变量: &f" + placeholder);
-        sendMessage(player, "&e结果: &f" + result);
-        sendMessage(player, "&6========================");
-    }
-
-    /**
-     * /guild time：显示现实系统时间与当前世界游戏内时间
-     */
-    private void handleTime(Player player) {
-        String title = plugin.getConfigManager().getMessagesConfig().getString("time.title", "&6=== 时间测试 ===");
-        String realNow = com.guild.core.time.TimeProvider.nowString();
-        // Minecraft 世界时间（白天循环 0-23999 ticks）
-        long ticks = player.getWorld().getTime() % 24000L;
-        int hours = (int) ((ticks / 1000L + 6) % 24); // 0 tick 对应 06:00
-        int minutes = (int) ((ticks % 1000L) * 60L / 1000L);
-        String gameTime = String.format("%02d:%02d", hours, minutes);
-        String ticksStr = String.valueOf(ticks);
-        sendMessage(player, title);
-        sendMessage(player, "&e现实时间: &f" + realNow);
-        sendMessage(player, "&e游戏时间: &f" + gameTime + " &7(" + ticksStr + " ticks)");
-    }
-}
+package com.guild.commands;
+
+import com.guild.GuildPlugin;
+import com.guild.core.permissions.GuildPermission;
+import com.guild.core.utils.ColorUtils;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.core.utils.ServerUtils;
+import com.guild.gui.ConfirmDeleteGuildGUI;
+import com.guild.gui.MainGuildGUI;
+import com.guild.models.Guild;
+import com.guild.models.GuildMember;
+import com.guild.models.GuildRank;
+import com.guild.models.GuildRelation;
+import com.guild.services.GuildRankService;
+import com.guild.services.GuildService;
+import com.guild.util.InviteMessageUtils;
+import com.guild.util.LogService;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import static com.guild.util.FormatUtil.sendMessage;
+
+/**
+ * 工会主命令
+ */
+public class GuildCommand implements CommandExecutor, TabCompleter {
+
+    private final GuildPlugin plugin;
+
+    public GuildCommand(GuildPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 命令执行上下文（异步解析得到的工会与成员信息）
+     */
+    private record CommandContext(GuildService guildService, Guild guild, GuildMember member) {
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player player)) {
+            sendMessage(sender, plugin.getConfigManager().getMessagesConfig().getString("general.player-only", "&c此命令只能由玩家执行！"));
+            return true;
+        }
+
+        if (args.length == 0) {
+            // 打开主GUI
+            MainGuildGUI mainGuildGUI = new MainGuildGUI(plugin);
+            plugin.getGuiManager().openGUI(player, mainGuildGUI);
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "create":
+                handleCreate(player, args);
+                break;
+            case "info":
+                handleInfo(player);
+                break;
+            case "members":
+                handleMembers(player);
+                break;
+            case "invite":
+                handleInvite(player, args);
+                break;
+            case "kick":
+                handleKick(player, args);
+                break;
+            case "promote":
+                handlePromote(player, args);
+                break;
+            case "demote":
+                handleDemote(player, args);
+                break;
+            case "accept":
+                handleAccept(player, args);
+                break;
+            case "decline":
+                handleDecline(player, args);
+                break;
+            case "leave":
+                handleLeave(player);
+                break;
+            case "delete":
+                if (args.length >= 2) {
+                    if (args[1].equalsIgnoreCase("confirm")) {
+                        handleDeleteConfirm(player);
+                    } else if (args[1].equalsIgnoreCase("cancel")) {
+                        handleDeleteCancel(player);
+                    } else {
+                        handleDelete(player);
+                    }
+                } else {
+                    handleDelete(player);
+                }
+                break;
+            case "sethome":
+                handleSetHome(player);
+                break;
+            case "home":
+                handleHome(player);
+                break;
+            case "relation":
+                handleRelation(player, args);
+                break;
+            case "economy":
+                handleEconomy(player, args);
+                break;
+            case "deposit":
+                handleDeposit(player, args);
+                break;
+            case "withdraw":
+                handleWithdraw(player, args);
+                break;
+            case "transfer":
+                handleTransfer(player, args);
+                break;
+            case "logs":
+                handleLogs(player, args);
+                break;
+            case "rank":
+                handleRank(player, args);
+                break;
+            case "placeholder":
+                handlePlaceholder(player, args);
+                break;
+            case "time":
+                handleTime(player);
+                break;
+            case "help":
+                handleHelp(player);
+                break;
+            default:
+                sendMessage(player, plugin.getConfigManager().getMessagesConfig().getString("general.unknown-command", "&c未知命令！使用 /guild help 查看帮助。"));
+                break;
+        }
+
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+
+        if (args.length == 1) {
+            List<String> subCommands = Arrays.asList(
+                    "create", "info", "members", "invite", "kick", "promote", "demote", "accept", "decline", "leave", "delete", "sethome", "home", "relation", "economy", "deposit", "withdraw", "transfer", "logs", "rank", "placeholder", "time", "help"
+            );
+
+            for (String subCommand : subCommands) {
+                if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
+                    completions.add(subCommand);
+                }
+            }
+        } else if (args.length == 2) {
+            String subCommand = args[0].toLowerCase();
+
+            switch (subCommand) {
+                case "relation":
+                    List<String> relationSubCommands = Arrays.asList("list", "create", "delete", "accept", "reject");
+                    for (String cmd : relationSubCommands) {
+                        if (cmd.toLowerCase().startsWith(args[1].toLowerCase())) {
+                            completions.add(cmd);
+                        }
+                    }
+                    break;
+                case "rank":
+                    List<String> rankSubCommands = Arrays.asList("list", "create", "delete", "perms", "set");
+                    for (String cmd : rankSubCommands) {
+                        if (cmd.toLowerCase().startsWith(args[1].toLowerCase())) {
+                            completions.add(cmd);
+                        }
+                    }
+                    break;
+                case "economy":
+                    List<String> economySubCommands = Arrays.asList("info", "deposit", "withdraw", "transfer");
+                    for (String cmd : economySubCommands) {
+                        if (cmd.toLowerCase().startsWith(args[1].toLowerCase())) {
+                            completions.add(cmd);
+                        }
+                    }
+                    break;
+                case "invite":
+                case "kick":
+                case "promote":
+                case "demote":
+                    // 获取在线玩家列表
+                    for (Player player : Bukkit.getOnlinePlayers()) {
+                        if (player.getName().toLowerCase().startsWith(args[1].toLowerCase())) {
+                            completions.add(player.getName());
+                        }
+                    }
+                    break;
+            }
+        } else if (args.length == 3) {
+            String subCommand = args[0].toLowerCase();
+            String subSubCommand = args[1].toLowerCase();
+
+            if (subCommand.equals("relation") && subSubCommand.equals("create")) {
+                // 为创建关系提供简单的补全提示
+                // 由于异步操作的限制，这里只提供基本的提示
+                List<String> suggestions = Arrays.asList("目标工会名称");
+                for (String suggestion : suggestions) {
+                    if (suggestion.toLowerCase().startsWith(args[2].toLowerCase())) {
+                        completions.add(suggestion);
+                    }
+                }
+            } else if (subCommand.equals("relation") && (subSubCommand.equals("delete") || subSubCommand.equals("accept") || subSubCommand.equals("reject"))) {
+                // 为关系操作提供简单的补全提示
+                // 由于异步操作的限制，这里只提供基本的提示
+                List<String> suggestions = Arrays.asList("工会名称");
+                for (String suggestion : suggestions) {
+                    if (suggestion.toLowerCase().startsWith(args[2].toLowerCase())) {
+                        completions.add(suggestion);
+                    }
+                }
+            } else if (subCommand.equals("transfer")) {
+                // 为转账提供简单的补全提示
+                // 由于异步操作的限制，这里只提供基本的提示
+                List<String> suggestions = Arrays.asList("目标工会名称");
+                for (String suggestion : suggestions) {
+                    if (suggestion.toLowerCase().startsWith(args[2].toLowerCase())) {
+                        completions.add(suggestion);
+                    }
+                }
+            }
+        } else if (args.length == 4) {
+            String subCommand = args[0].toLowerCase();
+            String subSubCommand = args[1].toLowerCase();
+
+            if (subCommand.equals("relation") && subSubCommand.equals("create")) {
+                // 关系类型补全
+                List<String> relationTypes = Arrays.asList("ally", "enemy", "war", "truce", "neutral");
+                for (String type : relationTypes) {
+                    if (type.toLowerCase().startsWith(args[3].toLowerCase())) {
+                        completions.add(type);
+                    }
+                }
+            } else if (subCommand.equals("deposit") || subCommand.equals("withdraw") ||
+                    (subCommand.equals("transfer") && args.length == 4)) {
+                // 金额建议（这里只提供一些常用金额）
+                List<String> amounts = Arrays.asList("100", "500", "1000", "5000", "10000");
+                for (String amount : amounts) {
+                    if (amount.startsWith(args[3])) {
+                        completions.add(amount);
+                    }
+                }
+            }
+        }
+
+        return completions;
+    }
+
+    /**
+     * 异步解析命令上下文：并行查询玩家所在工会与成员信息，不阻塞主线程
+     */
+    private CompletableFuture<CommandContext> resolveContext(Player player, GuildService guildService) {
+        CompletableFuture<Guild> guildFuture = guildService.getPlayerGuildAsync(player.getUniqueId());
+        CompletableFuture<GuildMember> memberFuture = guildService.getGuildMemberAsync(player.getUniqueId());
+        return guildFuture.thenCombine(memberFuture, (guild, member) -> new CommandContext(guildService, guild, member));
+    }
+
+    /**
+     * 异步命令管线：解析上下文后在异步线程中执行校验与业务逻辑，
+     * 仅在发送消息或打开GUI时通过 {@link #runOnPlayer(Player, Runnable)} 切回玩家所在线程
+     */
+    private void executeAsync(Player player, Consumer<CommandContext> handler) {
+        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
+        if (guildService == null) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
+            sendMessage(player, message);
+            return;
+        }
+
+        resolveContext(player, guildService)
+                .thenAccept(handler)
+                .exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 在玩家所在实体调度器上执行任务（发送消息、打开GUI、传送等）
+     */
+    private void runOnPlayer(Player player, Runnable task) {
+        CompatibleScheduler.runTask(plugin, player, task);
+    }
+
+    /**
+     * 切回玩家线程发送消息
+     */
+    private void reply(Player player, String message) {
+        runOnPlayer(player, () -> sendMessage(player, message));
+    }
+
+    /**
+     * 异步链的异常处理：记录原始异常并回复通用错误消息
+     */
+    private <T> T replyError(Player player, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        LogService.error("执行工会命令时发生错误: ", cause);
+        String message = plugin.getConfigManager().getMessagesConfig().getString("general.error", "&c操作失败，请稍后重试！");
+        reply(player, message);
+        return null;
+    }
+
+    /**
+     * 处理创建工会命令
+     */
+    private void handleCreate(Player player, String[] args) {
+        executeAsync(player, context -> {
+            // 检查权限
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.create")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！");
+                reply(player, message);
+                return;
+            }
+
+            if (args.length < 2) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("create.usage", "&e用法: /guild create <工会名称> [标签] [描述]");
+                reply(player, message);
+                return;
+            }
+
+            String name = args[1];
+            String tag = args.length > 2 ? args[2] : null;
+            String description = args.length > 3 ? String.join(" ", Arrays.copyOfRange(args, 3, args.length)) : null;
+
+            // 验证输入
+            if (name.length() < 3 || name.length() > 20) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("create.name-too-short", "&c工会名称太短！最少需要 3 个字符。");
+                reply(player, message.replace("{min}", "3"));
+                return;
+            }
+
+            if (tag != null && (tag.length() < 2 || tag.length() > 6)) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("create.tag-too-long", "&c工会标签太长！最多只能有 6 个字符。");
+                reply(player, message.replace("{max}", "6"));
+                return;
+            }
+
+            if (description != null && description.length() > 100) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("create.description-too-long", "&c工会描述不能超过100个字符！");
+                reply(player, message);
+                return;
+            }
+
+            // 经济操作交给玩家线程执行
+            runOnPlayer(player, () -> createGuildWithPayment(player, context.guildService(), name, tag, description));
+        });
+    }
+
+    /**
+     * 扣除创建费用并异步创建工会（需在玩家线程调用）
+     */
+    private void createGuildWithPayment(Player player, GuildService guildService, String name, String tag, String description) {
+        // 检查经济系统
+        double creationCost = plugin.getConfigManager().getConfig("config.yml").getDouble("guild.creation-cost", 5000.0);
+        if (!plugin.getEconomyManager().isVaultAvailable()) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("create.economy-not-available", "&c经济系统不可用，无法创建工会！");
+            sendMessage(player, message);
+            return;
+        }
+
+        if (!plugin.getEconomyManager().hasBalance(player, creationCost)) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("create.insufficient-funds", "&c您的余额不足！创建工会需要 &e{amount}！")
+                    .replace("{amount}", plugin.getEconomyManager().format(creationCost));
+            sendMessage(player, message);
+            return;
+        }
+
+        // 扣除创建费用
+        if (!plugin.getEconomyManager().withdraw(player, creationCost)) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("create.payment-failed", "&c扣除创建费用失败！");
+            sendMessage(player, message);
+            return;
+        }
+
+        // 创建工会 (异步)
+        guildService.createGuildAsync(name, tag, description, player.getUniqueId(), player.getName())
+                .thenAcceptAsync(success -> {
+                    if (success) {
+                        // 去除名称中的颜色代码，避免影响提示消息颜色
+                        String cleanName = ColorUtils.stripColor(name);
+                        String cleanTag = tag != null ? ColorUtils.stripColor(tag) : null;
+                        String cleanDescription = description != null ? ColorUtils.stripColor(description) : null;
+
+                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("create.success", "&a工会 {name} 创建成功！");
+                        sendMessage(player, successMessage.replace("{name}", cleanName));
+
+                        String costMessage = plugin.getConfigManager().getMessagesConfig().getString("create.cost-info", "&e创建费用: {amount}")
+                                .replace("{amount}", plugin.getEconomyManager().format(creationCost));
+                        sendMessage(player, costMessage);
+
+                        String nameMessage = plugin.getConfigManager().getMessagesConfig().getString("create.name-info", "&e工会名称: {name}");
+                        sendMessage(player, nameMessage.replace("{name}", cleanName));
+
+                        if (cleanTag != null) {
+                            String tagMessage = plugin.getConfigManager().getMessagesConfig().getString("create.tag-info", "&e工会标签: [{tag}]");
+                            sendMessage(player, tagMessage.replace("{tag}", cleanTag));
+                        }
+
+                        if (cleanDescription != null) {
+                            String descMessage = plugin.getConfigManager().getMessagesConfig().getString("create.description-info", "&e工会描述: {description}");
+                            sendMessage(player, descMessage.replace("{description}", cleanDescription));
+                        }
+                    } else {
+                        // 退款
+                        plugin.getEconomyManager().deposit(player, creationCost);
+                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("create.failed", "&c工会创建失败！可能的原因：");
+                        sendMessage(player, failMessage);
+
+                        String reason1 = plugin.getConfigManager().getMessagesConfig().getString("create.failed-reason-1", "&c- 工会名称或标签已存在");
+                        String reason2 = plugin.getConfigManager().getMessagesConfig().getString("create.failed-reason-2", "&c- 您已经加入了其他工会");
+                        sendMessage(player, reason1);
+                        sendMessage(player, reason2);
+                    }
+                }, runnable -> runOnPlayer(player, runnable)).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理工会信息命令
+     */
+    private void handleInfo(Player player) {
+        executeAsync(player, context -> {
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            GuildMember member = context.member();
+            context.guildService().getGuildMemberCountAsync(guild.getId()).thenAccept(memberCount -> runOnPlayer(player, () -> {
+                String header = plugin.getConfigManager().getMessagesConfig().getString("info.title", "&6=== 工会信息 ===");
+                sendMessage(player, header);
+
+                String nameMessage = plugin.getConfigManager().getMessagesConfig().getString("info.name", "&e名称: &f{name}");
+                sendMessage(player, nameMessage.replace("{name}", guild.getName()));
+
+                if (guild.getTag() != null && !guild.getTag().isEmpty()) {
+                    String tagMessage = plugin.getConfigManager().getMessagesConfig().getString("info.tag", "&e标签: &f{tag}");
+                    sendMessage(player, tagMessage.replace("{tag}", guild.getTag()));
+                }
+                if (guild.getDescription() != null && !guild.getDescription().isEmpty()) {
+                    String descMessage = plugin.getConfigManager().getMessagesConfig().getString("info.description", "&e描述: &f{description}");
+                    sendMessage(player, descMessage.replace("{description}", guild.getDescription()));
+                }
+
+                String leaderMessage = plugin.getConfigManager().getMessagesConfig().getString("info.leader", "&e会长: &f{leader}");
+                sendMessage(player, leaderMessage.replace("{leader}", guild.getLeaderName()));
+
+                String membersMessage = plugin.getConfigManager().getMessagesConfig().getString("info.members", "&e成员数量: &f{count}/{max}");
+                sendMessage(player, membersMessage
+                        .replace("{count}", String.valueOf(memberCount))
+                        .replace("{max}", String.valueOf(guild.getMaxMembers())));
+
+                if (member != null) {
+                    String roleMessage = plugin.getConfigManager().getMessagesConfig().getString("info.role", "&e您的角色: &f{role}");
+                    sendMessage(player, roleMessage.replace("{role}", member.getRole().getDisplayName()));
+                }
+
+                // 统一使用 TimeProvider 的现实时间格式
+                java.time.format.DateTimeFormatter TF = com.guild.core.time.TimeProvider.FULL_FORMATTER;
+                String createdMessage = plugin.getConfigManager().getMessagesConfig().getString("info.created", "&e创建时间: &f{date}");
+                String createdFormatted = guild.getCreatedAt() != null ? guild.getCreatedAt().format(TF) : "未知";
+                sendMessage(player, createdMessage.replace("{date}", createdFormatted));
+            })).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理工会成员命令
+     */
+    private void handleMembers(Player player) {
+        executeAsync(player, context -> {
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            context.guildService().getGuildMembersAsync(guild.getId()).thenAccept(members -> runOnPlayer(player, () -> {
+                if (members.isEmpty()) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("members.no-members", "&c工会中没有成员！");
+                    sendMessage(player, message);
+                    return;
+                }
+
+                String title = plugin.getConfigManager().getMessagesConfig().getString("members.title", "&6=== 工会成员 ===");
+                sendMessage(player, title);
+
+                for (GuildMember member : members) {
+                    String status = "";
+                    Player onlinePlayer = Bukkit.getPlayer(member.getPlayerUuid());
+                    if (onlinePlayer != null) {
+                        status = "&a[在线]";
+                    } else {
+                        status = "&7[离线]";
+                    }
+
+                    String memberFormat = plugin.getConfigManager().getMessagesConfig().getString("members.member-format", "&e{role} {name} &7- {status}");
+                    String memberMessage = memberFormat
+                            .replace("{role}", member.getRole().getDisplayName())
+                            .replace("{name}", member.getPlayerName())
+                            .replace("{status}", status);
+                    sendMessage(player, memberMessage);
+                }
+
+                String totalMessage = plugin.getConfigManager().getMessagesConfig().getString("members.total", "&e总计: {count} 人");
+                sendMessage(player, totalMessage.replace("{count}", String.valueOf(members.size())));
+            })).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理邀请命令
+     */
+    private void handleInvite(Player player, String[] args) {
+        if (args.length < 2) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.usage", "&e用法: /guild invite <玩家名称>");
+            sendMessage(player, message);
+            return;
+        }
+
+        String targetPlayerName = args[1];
+        Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
+        if (targetPlayer == null) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("general.player-not-found", "&c玩家 {player} 不在线！");
+            sendMessage(player, message.replace("{player}", targetPlayerName));
+            return;
+        }
+
+        // 检查是否邀请自己
+        if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.cannot-invite-self", "&c您不能邀请自己！");
+            sendMessage(player, message);
+            return;
+        }
+
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.invite")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("invite.no-permission", "&c您没有权限邀请玩家！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查邀请者是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查邀请权限（配置驱动）
+            if (!plugin.getPermissionManager().canInviteMembers(player)) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("invite.no-permission", "&c您没有权限邀请玩家！");
+                reply(player, message);
+                return;
+            }
+
+            GuildService guildService = context.guildService();
+            // 检查目标玩家是否已有工会
+            guildService.getPlayerGuildAsync(targetPlayer.getUniqueId()).thenAccept(targetGuild -> {
+                if (targetGuild != null) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("invite.already-in-guild", "&c玩家 {player} 已经加入了其他工会！");
+                    reply(player, message.replace("{player}", targetPlayerName));
+                    return;
+                }
+
+                // 发送邀请 (异步)
+                guildService.sendInvitationAsync(guild.getId(), player.getUniqueId(), player.getName(), targetPlayer.getUniqueId(), targetPlayerName)
+                        .thenAcceptAsync(success -> {
+                            if (success) {
+                                // 使用统一工具格式化消息
+                                sendMessage(player, InviteMessageUtils.formatInviteSent(plugin, player, targetPlayer));
+                                sendMessage(targetPlayer, InviteMessageUtils.formatInviteTitle(plugin));
+                                sendMessage(targetPlayer, InviteMessageUtils.formatInviteReceived(plugin, player, guild));
+
+                                if (guild.getTag() != null && !guild.getTag().isEmpty()) {
+                                    String tagMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.guild-tag", "&e工会标签: [{tag}]");
+                                    sendMessage(player, tagMessage.replace("{tag}", guild.getTag()));
+                                }
+
+                                sendMessage(targetPlayer, builder ->
+                                        builder
+                                                .runCommand("&a[同意]", "/guild accept " + player.getName(), "&a点击同意 {player}"
+                                                        .replace("{player}", player.getName()))
+                                                .space(2)
+                                                .runCommand("&c[拒绝]", "/guild decline " + player.getName(), "&c点击拒绝 {player}"
+                                                        .replace("{player}", player.getName()))
+                                );
+                            } else {
+                                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.already-invited", "&c{player} 已经收到了邀请！");
+                                sendMessage(player, failMessage.replace("{player}", targetPlayerName));
+                            }
+                        }, runnable -> runOnPlayer(player, runnable)).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理踢出命令
+     */
+    private void handleKick(Player player, String[] args) {
+        if (args.length < 2) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("kick.usage", "&e用法: /guild kick <玩家名称>");
+            sendMessage(player, message);
+            return;
+        }
+
+        String targetPlayerName = args[1];
+
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.kick")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("kick.no-permission", "&c您没有权限踢出玩家！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查踢出者是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查踢人权限（配置驱动）
+            if (!plugin.getPermissionManager().canKickMembers(player)) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("kick.no-permission", "&c您没有权限踢出玩家！");
+                reply(player, message);
+                return;
+            }
+
+            // 查找目标玩家
+            Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
+            if (targetPlayer == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("kick.player-not-found", "&c玩家 {player} 不在线！");
+                reply(player, message.replace("{player}", targetPlayerName));
+                return;
+            }
+
+            // 检查是否踢出自己
+            if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("kick.cannot-kick-self", "&c您不能踢出自己！使用 /guild leave 离开工会。");
+                reply(player, message);
+                return;
+            }
+
+            GuildService guildService = context.guildService();
+            // 检查目标玩家是否在同一工会
+            guildService.getGuildMemberAsync(targetPlayer.getUniqueId()).thenAccept(targetMember -> {
+                if (targetMember == null || targetMember.getGuildId() != guild.getId()) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("kick.not-in-guild", "&c玩家 {player} 不在您的工会中！");
+                    reply(player, message.replace("{player}", targetPlayerName));
+                    return;
+                }
+
+                // 检查是否踢出会长
+                if (targetMember.getRole() == GuildMember.Role.LEADER) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("kick.cannot-kick-leader", "&c您不能踢出工会会长！");
+                    reply(player, message);
+                    return;
+                }
+
+                // 执行踢出操作
+                guildService.removeGuildMemberAsync(targetPlayer.getUniqueId(), player.getUniqueId()).thenAccept(success -> {
+                    if (success) {
+                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.success", "&a已将 {player} 踢出工会！");
+                        reply(player, successMessage.replace("{player}", targetPlayerName));
+
+                        String kickedMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.kicked", "&c您已被踢出工会 {guild}！");
+                        reply(targetPlayer, kickedMessage.replace("{guild}", guild.getName()));
+                    } else {
+                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.failed", "&c踢出玩家失败！");
+                        reply(player, failMessage);
+                    }
+                }).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理离开工会命令
+     */
+    private void handleLeave(Player player) {
+        executeAsync(player, context -> {
+            // 检查玩家是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            GuildMember member = context.member();
+            if (member == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("leave.member-error", "&c工会成员信息错误！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查是否是会长
+            if (member.getRole() == GuildMember.Role.LEADER) {
+                String message1 = plugin.getConfigManager().getMessagesConfig().getString("leave.leader-cannot-leave", "&c工会会长不能离开工会！");
+                String message2 = plugin.getConfigManager().getMessagesConfig().getString("leave.use-delete", "&c如果您想解散工会，请使用 /guild delete 命令。");
+                runOnPlayer(player, () -> {
+                    sendMessage(player, message1);
+                    sendMessage(player, message2);
+                });
+                return;
+            }
+
+            // 执行离开操作
+            context.guildService().removeGuildMemberAsync(player.getUniqueId(), player.getUniqueId()).thenAccept(success -> {
+                if (success) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("leave.success-with-guild", "&a您已成功离开工会: {guild}");
+                    reply(player, message.replace("{guild}", guild.getName()));
+                } else {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("leave.failed", "&c离开工会失败！");
+                    reply(player, message);
+                }
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理删除工会命令（打开确认 GUI）
+     */
+    private void handleDelete(Player player) {
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.delete")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("delete.no-permission", "&c您没有权限删除工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查玩家是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查是否是会长
+            GuildMember member = context.member();
+            if (member == null || member.getRole() != GuildMember.Role.LEADER) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("delete.leader-only", "&c只有工会会长才能删除工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 打开确认删除GUI
+            runOnPlayer(player, () -> plugin.getGuiManager().openGUI(player, new ConfirmDeleteGuildGUI(plugin, guild)));
+        });
+    }
+
+    private void handleDeleteConfirm(Player player) {
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.delete")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("delete.no-permission", "&c您没有权限删除工会！");
+                reply(player, message);
+                return;
+            }
+
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            GuildMember member = context.member();
+            if (member == null || member.getRole() != GuildMember.Role.LEADER) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("delete.leader-only", "&c只有工会会长才能删除工会！");
+                reply(player, message);
+                return;
+            }
+
+            context.guildService().deleteGuildAsync(guild.getId(), player.getUniqueId()).thenAccept(success -> {
+                if (success) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("delete.success", "&a工会已被删除！");
+                    reply(player, message.replace("{guild}", guild.getName()));
+                } else {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("delete.failed", "&c删除工会失败！");
+                    reply(player, message);
+                }
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    private void handleDeleteCancel(Player player) {
+        String message = plugin.getConfigManager().getMessagesConfig().getString("delete.canceled", "&a已取消删除工会！");
+        sendMessage(player, message);
+    }
+
+    /**
+     * 处理设置工会家命令
+     */
+    private void handleSetHome(Player player) {
+        // 位置需在玩家线程读取
+        org.bukkit.Location location = player.getLocation();
+
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.sethome")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查玩家是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查是否是会长
+            GuildMember member = context.member();
+            if (member == null || member.getRole() != GuildMember.Role.LEADER) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("sethome.only-leader", "&c只有工会会长才能设置工会家！");
+                reply(player, message);
+                return;
+            }
+
+            // 设置工会家 (异步)
+            context.guildService().setGuildHomeAsync(guild.getId(), location, player.getUniqueId()).thenAccept(success -> {
+                if (success) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("sethome.success", "&a工会家设置成功！");
+                    reply(player, message);
+                } else {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("sethome.failed", "&c设置工会家失败！");
+                    reply(player, message);
+                }
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理传送到工会家命令（使用 Folia 兼容传送）
+     */
+    private void handleHome(Player player) {
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.home")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查玩家是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 获取工会家位置 (异步)
+            context.guildService().getGuildHomeAsync(guild.getId())
+                    .thenAcceptAsync(homeLocation -> {
+                        if (homeLocation == null) {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("home.not-set", "&c工会家尚未设置！");
+                            sendMessage(player, message);
+                            return;
+                        }
+
+                        // Folia 兼容安全传送
+                        player.teleportAsync(homeLocation);
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("home.success", "&a已传送到工会家！");
+                        sendMessage(player, message);
+                    }, runnable -> runOnPlayer(player, runnable)).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理提升成员命令
+     */
+    private void handlePromote(Player player, String[] args) {
+        if (args.length < 2) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.usage", "&e用法: /guild promote <玩家>");
+            sendMessage(player, message);
+            return;
+        }
+
+        String targetPlayerName = args[1];
+
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.promote")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.no-permission", "&c您没有权限提升玩家！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查提升者是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 已通过节点校验，按配置驱动，不再强制"仅会长"
+
+            // 查找目标玩家
+            Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
+            if (targetPlayer == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.player-not-found", "&c玩家 {player} 不在线！");
+                reply(player, message.replace("{player}", targetPlayerName));
+                return;
+            }
+
+            // 检查是否提升自己
+            if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.cannot-promote-self", "&c您不能提升自己！");
+                reply(player, message);
+                return;
+            }
+
+            GuildService guildService = context.guildService();
+            // 检查目标玩家是否在同一工会
+            guildService.getGuildMemberAsync(targetPlayer.getUniqueId()).thenAccept(targetMember -> {
+                if (targetMember == null || targetMember.getGuildId() != guild.getId()) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.not-in-guild", "&c玩家 {player} 不在您的工会中！");
+                    reply(player, message.replace("{player}", targetPlayerName));
+                    return;
+                }
+
+                // 检查当前角色
+                GuildMember.Role currentRole = targetMember.getRole();
+                if (currentRole == GuildMember.Role.OFFICER) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.already-highest", "&c玩家 {player} 已经是最高职位！");
+                    reply(player, message.replace("{player}", targetPlayerName));
+                    return;
+                }
+                if (currentRole != GuildMember.Role.MEMBER) {
+                    return;
+                }
+
+                GuildMember.Role newRole = GuildMember.Role.OFFICER;
+                // 执行提升操作
+                guildService.updateMemberRoleAsync(targetPlayer.getUniqueId(), newRole, player.getUniqueId()).thenAccept(success -> {
+                    if (success) {
+                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.success", "&a已将 {player} 提升为 {role}！");
+                        reply(player, successMessage
+                                .replace("{player}", targetPlayerName)
+                                .replace("{role}", newRole.getDisplayName()));
+
+                        String promotedMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.success", "&a您已被提升为 {role}！");
+                        reply(targetPlayer, promotedMessage.replace("{role}", newRole.getDisplayName()));
+                    } else {
+                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.promote.cannot-promote", "&c无法提升该玩家！");
+                        reply(player, failMessage);
+                    }
+                }).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理降级成员命令
+     */
+    private void handleDemote(Player player, String[] args) {
+        if (args.length < 2) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.usage", "&e用法: /guild demote <玩家>");
+            sendMessage(player, message);
+            return;
+        }
+
+        String targetPlayerName = args[1];
+
+        executeAsync(player, context -> {
+            if (!plugin.getPermissionManager().hasPermission(player, "guild.demote")) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.no-permission", "&c您没有权限降级玩家！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查降级者是否有工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 已通过节点校验，按配置驱动，不再强制"仅会长"
+
+            // 查找目标玩家
+            Player targetPlayer = Bukkit.getPlayer(targetPlayerName);
+            if (targetPlayer == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.player-not-found", "&c玩家 {player} 不在线！");
+                reply(player, message.replace("{player}", targetPlayerName));
+                return;
+            }
+
+            // 检查是否降级自己
+            if (targetPlayer.getUniqueId().equals(player.getUniqueId())) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.cannot-demote-self", "&c您不能降级自己！");
+                reply(player, message);
+                return;
+            }
+
+            GuildService guildService = context.guildService();
+            // 检查目标玩家是否在同一工会
+            guildService.getGuildMemberAsync(targetPlayer.getUniqueId()).thenAccept(targetMember -> {
+                if (targetMember == null || targetMember.getGuildId() != guild.getId()) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.not-in-guild", "&c玩家 {player} 不在您的工会中！");
+                    reply(player, message.replace("{player}", targetPlayerName));
+                    return;
+                }
+
+                // 检查是否降级会长
+                if (targetMember.getRole() == GuildMember.Role.LEADER) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.cannot-demote-leader", "&c不能降级工会会长！");
+                    reply(player, message);
+                    return;
+                }
+
+                // 检查当前角色
+                if (targetMember.getRole() == GuildMember.Role.MEMBER) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.already-lowest", "&c玩家 {player} 已经是最低职位！");
+                    reply(player, message.replace("{player}", targetPlayerName));
+                    return;
+                }
+
+                GuildMember.Role newRole = GuildMember.Role.MEMBER;
+                // 执行降级操作
+                guildService.updateMemberRoleAsync(targetPlayer.getUniqueId(), newRole, player.getUniqueId()).thenAccept(success -> {
+                    if (success) {
+                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.success", "&a已将 {player} 降级为 {role}！");
+                        reply(player, successMessage
+                                .replace("{player}", targetPlayerName)
+                                .replace("{role}", newRole.getDisplayName()));
+
+                        String demotedMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.success", "&a您已被降级为 {role}！");
+                        reply(targetPlayer, demotedMessage.replace("{role}", newRole.getDisplayName()));
+                    } else {
+                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("permissions.demote.cannot-demote", "&c无法降级该玩家！");
+                        reply(player, failMessage);
+                    }
+                }).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        });
+    }
+
+    /**
+     * 处理接受邀请命令
+     */
+    private void handleAccept(Player player, String[] args) {
+        if (args.length < 2) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.accept-command", "&e输入 &a/guild accept {inviter} &e接受邀请");
+            sendMessage(player, message);
+            return;
+        }
+
+        String inviterName = args[1];
+        Player inviter = Bukkit.getPlayer(inviterName);
+        if (inviter == null) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("general.player-not-found", "&c玩家 {player} 不在线！");
+            sendMessage(player, message.replace("{player}", inviterName));
+            return;
+        }
+
+        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
+        if (guildService == null) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
+            sendMessage(player, message);
+            return;
+        }
+
+        // 先检查邀请是否存在
+        guildService.getPendingInvitationAsync(player.getUniqueId(), inviter.getUniqueId()).thenAccept(invitation -> {
+            if (invitation == null) {
+                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或不存在！");
+                reply(player, failMessage);
+                return;
+            }
+
+            // 获取工会信息
+            guildService.getGuildByIdAsync(invitation.getGuildId()).thenAccept(guild -> {
+                if (guild == null) {
+                    String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或工会不存在！");
+                    reply(player, failMessage);
+                    return;
+                }
+
+                // 处理邀请
+                guildService.processInvitationAsync(player.getUniqueId(), inviter.getUniqueId(), true).thenAccept(success -> {
+                    if (success) {
+                        // 去除工会名称中的颜色代码
+                        String cleanGuildName = ColorUtils.stripColor(guild.getName());
+                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.accepted", "&a您已接受 {guild} 的邀请！")
+                                .replace("{guild}", cleanGuildName);
+                        reply(player, successMessage);
+
+                        String inviterMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.accepted-by-inviter", "&a{player} 已接受您的邀请！");
+                        if (inviter.isOnline()) {
+                            reply(inviter, inviterMessage.replace("{player}", player.getName()));
+                        }
+                    } else {
+                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期！");
+                        reply(player, failMessage);
+                    }
+                }).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理拒绝邀请命令
+     */
+    private void handleDecline(Player player, String[] args) {
+        if (args.length < 2) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.decline-command", "&e输入 &c/guild decline {inviter} &e拒绝邀请");
+            sendMessage(player, message);
+            return;
+        }
+
+        String inviterName = args[1];
+        Player inviter = Bukkit.getPlayer(inviterName);
+        if (inviter == null) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("general.player-not-found", "&c玩家 {player} 不在线！");
+            sendMessage(player, message.replace("{player}", inviterName));
+            return;
+        }
+
+        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
+        if (guildService == null) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("general.service-error", "&c工会服务未初始化！");
+            sendMessage(player, message);
+            return;
+        }
+
+        // 先检查邀请是否存在
+        guildService.getPendingInvitationAsync(player.getUniqueId(), inviter.getUniqueId()).thenAccept(invitation -> {
+            if (invitation == null) {
+                String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或不存在！");
+                reply(player, failMessage);
+                return;
+            }
+
+            // 获取工会信息
+            guildService.getGuildByIdAsync(invitation.getGuildId()).thenAccept(guild -> {
+                if (guild == null) {
+                    String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期或工会不存在！");
+                    reply(player, failMessage);
+                    return;
+                }
+
+                // 处理邀请
+                guildService.processInvitationAsync(player.getUniqueId(), inviter.getUniqueId(), false).thenAccept(success -> {
+                    if (success) {
+                        // 去除工会名称中的颜色代码
+                        String cleanGuildName = ColorUtils.stripColor(guild.getName());
+                        String successMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.declined", "&c您已拒绝 {guild} 的邀请！")
+                                .replace("{guild}", cleanGuildName);
+                        reply(player, successMessage);
+
+                        String inviterMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.declined-by-inviter", "&c{player} 已拒绝您的邀请！");
+                        if (inviter.isOnline()) {
+                            reply(inviter, inviterMessage.replace("{player}", player.getName()));
+                        }
+                    } else {
+                        String failMessage = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期！");
+                        reply(player, failMessage);
+                    }
+                }).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理帮助命令
+     */
+    private void handleHelp(Player player) {
+        String title = plugin.getConfigManager().getMessagesConfig().getString("help.title", "&6=== 工会系统帮助 ===");
+        sendMessage(player, title);
+
+        String mainMenu = plugin.getConfigManager().getMessagesConfig().getString("help.main-menu", "&e/guild &7- 打开工会主界面");
+        sendMessage(player, mainMenu);
+
+        String create = plugin.getConfigManager().getMessagesConfig().getString("help.create", "&e/guild create <名称> [标签] [描述] &7- 创建工会");
+        sendMessage(player, create);
+
+        String info = plugin.getConfigManager().getMessagesConfig().getString("help.info", "&e/guild info &7- 查看工会信息");
+        sendMessage(player, info);
+
+        String members = plugin.getConfigManager().getMessagesConfig().getString("help.members", "&e/guild members &7- 查看工会成员");
+        sendMessage(player, members);
+
+        String invite = plugin.getConfigManager().getMessagesConfig().getString("help.invite", "&e/guild invite <玩家> &7- 邀请玩家加入工会");
+        sendMessage(player, invite);
+
+        String kick = plugin.getConfigManager().getMessagesConfig().getString("help.kick", "&e/guild kick <玩家> &7- 踢出工会成员");
+        sendMessage(player, kick);
+
+        String promote = plugin.getConfigManager().getMessagesConfig().getString("help.promote", "&e/guild promote <玩家> &7- 提升工会成员");
+        sendMessage(player, promote);
+
+        String demote = plugin.getConfigManager().getMessagesConfig().getString("help.demote", "&e/guild demote <玩家> &7- 降级工会成员");
+        sendMessage(player, demote);
+
+        String accept = plugin.getConfigManager().getMessagesConfig().getString("help.accept", "&e/guild accept <邀请者> &7- 接受工会邀请");
+        sendMessage(player, accept);
+
+        String decline = plugin.getConfigManager().getMessagesConfig().getString("help.decline", "&e/guild decline <邀请者> &7- 拒绝工会邀请");
+        sendMessage(player, decline);
+
+        String leave = plugin.getConfigManager().getMessagesConfig().getString("help.leave", "&e/guild leave &7- 离开工会");
+        sendMessage(player, leave);
+
+        String delete = plugin.getConfigManager().getMessagesConfig().getString("help.delete", "&e/guild delete &7- 删除工会");
+        sendMessage(player, delete);
+
+        String sethome = plugin.getConfigManager().getMessagesConfig().getString("help.sethome", "&e/guild sethome &7- 设置工会家");
+        sendMessage(player, sethome);
+
+        String home = plugin.getConfigManager().getMessagesConfig().getString("help.home", "&e/guild home &7- 传送到工会家");
+        sendMessage(player, home);
+
+        String help = plugin.getConfigManager().getMessagesConfig().getString("help.help", "&e/guild help &7- 显示此帮助信息");
+        sendMessage(player, help);
+
+        String relation = "&e/guild relation &7- 管理工会关系";
+        sendMessage(player, relation);
+
+        String economy = "&e/guild economy &7- 管理工会经济";
+        sendMessage(player, economy);
+
+        String deposit = "&e/guild deposit <金额> &7- 向工会存入资金";
+        sendMessage(player, deposit);
+
+        String withdraw = "&e/guild withdraw <金额> &7- 从工会取出资金";
+        sendMessage(player, withdraw);
+
+        String transfer = "&e/guild transfer <工会> <金额> &7- 向其他工会转账";
+        sendMessage(player, transfer);
+
+        String logs = "&e/guild logs &7- 查看工会操作日志";
+        sendMessage(player, logs);
+
+        String rank = plugin.getConfigManager().getMessagesConfig().getString("help.rank", "&e/guild rank &7- 管理工会职级");
+        sendMessage(player, rank);
+    }
+
+    /**
+     * 处理工会职级命令
+     */
+    private void handleRank(Player player, String[] args) {
+        executeAsync(player, context -> {
+            Guild guild = context.guild();
+            GuildMember member = context.member();
+            if (guild == null || member == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("info.no-guild", "&c您还没有加入任何工会！");
+                reply(player, message);
+                return;
+            }
+
+            GuildRankService rankService = plugin.getGuildRankService();
+            String sub = args.length > 1 ? args[1].toLowerCase() : "list";
+            switch (sub) {
+                case "list":
+                    handleRankList(player, rankService, guild);
+                    break;
+                case "create":
+                case "delete":
+                case "perms":
+                    // 职级定义仅会长可管理
+                    if (member.getRole() != GuildMember.Role.LEADER) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("rank.only-leader", "&c只有工会会长才能管理职级！");
+                        reply(player, message);
+                        return;
+                    }
+                    if (sub.equals("create")) {
+                        handleRankCreate(player, rankService, guild, args);
+                    } else if (sub.equals("delete")) {
+                        handleRankDelete(player, rankService, guild, args);
+                    } else {
+                        handleRankPerms(player, rankService, guild, args);
+                    }
+                    break;
+                case "set":
+                    handleRankSet(player, context, rankService, args);
+                    break;
+                default:
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("rank.usage", "&e用法: /guild rank <list|create|delete|perms|set>");
+                    reply(player, message);
+                    break;
+            }
+        });
+    }
+
+    /**
+     * 列出工会职级
+     */
+    private void handleRankList(Player player, GuildRankService rankService, Guild guild) {
+        rankService.getGuildRanksAsync(guild.getId()).thenAccept(ranks -> {
+            if (ranks.isEmpty()) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.no-ranks", "&7您的工会还没有自定义职级。");
+                reply(player, message);
+                return;
+            }
+
+            String title = plugin.getConfigManager().getMessagesConfig().getString("rank.list-title", "&6=== 工会职级 ===");
+            String entry = plugin.getConfigManager().getMessagesConfig().getString("rank.list-entry", "&e{name} &7优先级 &f{priority} &7权限: &f{permissions}");
+            List<String> lines = new ArrayList<>();
+            lines.add(title);
+            for (GuildRank rank : ranks) {
+                lines.add(entry
+                        .replace("{name}", rank.getName())
+                        .replace("{priority}", String.valueOf(rank.getPriority()))
+                        .replace("{permissions}", formatPermissionMask(rank.getPermissions())));
+            }
+            runOnPlayer(player, () -> lines.forEach(line -> sendMessage(player, line)));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 创建职级：/guild rank create <名称> <优先级> [权限,...]
+     */
+    private void handleRankCreate(Player player, GuildRankService rankService, Guild guild, String[] args) {
+        if (args.length < 4) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("rank.create-usage", "&e用法: /guild rank create <名称> <优先级> [权限,...]");
+            reply(player, message);
+            return;
+        }
+
+        String rankName = args[2];
+        int priority;
+        try {
+            priority = Integer.parseInt(args[3]);
+        } catch (NumberFormatException e) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("rank.invalid-priority", "&c优先级必须是整数！");
+            reply(player, message);
+            return;
+        }
+        Long mask = parsePermissionMask(player, args.length > 4 ? args[4] : "none");
+        if (mask == null) {
+            return;
+        }
+
+        rankService.createRankAsync(guild.getId(), rankName, priority, mask).thenAccept(rank -> {
+            String key = rank != null ? "rank.create-success" : "rank.create-failed";
+            String fallback = rank != null ? "&a已创建职级 {rank}！" : "&c创建职级失败，名称可能已存在！";
+            reply(player, plugin.getConfigManager().getMessagesConfig().getString(key, fallback).replace("{rank}", rankName));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 删除职级：/guild rank delete <名称>
+     */
+    private void handleRankDelete(Player player, GuildRankService rankService, Guild guild, String[] args) {
+        if (args.length < 3) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("rank.delete-usage", "&e用法: /guild rank delete <名称>");
+            reply(player, message);
+            return;
+        }
+
+        String rankName = args[2];
+        rankService.getRankByNameAsync(guild.getId(), rankName).thenAccept(rank -> {
+            if (rank == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.not-found", "&c职级 {rank} 不存在！");
+                reply(player, message.replace("{rank}", rankName));
+                return;
+            }
+            rankService.deleteRankAsync(guild.getId(), rank.getId()).thenAccept(success -> {
+                String key = success ? "rank.delete-success" : "rank.delete-failed";
+                String fallback = success ? "&a已删除职级 {rank}！" : "&c删除职级失败！";
+                reply(player, plugin.getConfigManager().getMessagesConfig().getString(key, fallback).replace("{rank}", rank.getName()));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 修改职级权限：/guild rank perms <名称> <权限,...|none>
+     */
+    private void handleRankPerms(Player player, GuildRankService rankService, Guild guild, String[] args) {
+        if (args.length < 4) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("rank.perms-usage", "&e用法: /guild rank perms <名称> <权限,...|none>");
+            reply(player, message);
+            return;
+        }
+
+        String rankName = args[2];
+        Long mask = parsePermissionMask(player, args[3]);
+        if (mask == null) {
+            return;
+        }
+
+        rankService.getRankByNameAsync(guild.getId(), rankName).thenAccept(rank -> {
+            if (rank == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.not-found", "&c职级 {rank} 不存在！");
+                reply(player, message.replace("{rank}", rankName));
+                return;
+            }
+            rankService.updateRankPermissionsAsync(guild.getId(), rank.getId(), mask).thenAccept(success -> {
+                String key = success ? "rank.perms-success" : "rank.perms-failed";
+                String fallback = success ? "&a已更新职级 {rank} 的权限！" : "&c更新职级权限失败！";
+                reply(player, plugin.getConfigManager().getMessagesConfig().getString(key, fallback).replace("{rank}", rank.getName()));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 调整成员职级：/guild rank set <玩家> <职级|none>
+     */
+    private void handleRankSet(Player player, CommandContext context, GuildRankService rankService, String[] args) {
+        if (!plugin.getPermissionManager().hasPermission(player, "guild.promote")) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("rank.no-permission", "&c您没有权限调整成员职级！");
+            reply(player, message);
+            return;
+        }
+        if (args.length < 4) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("rank.set-usage", "&e用法: /guild rank set <玩家> <职级|none>");
+            reply(player, message);
+            return;
+        }
+
+        Guild guild = context.guild();
+        String targetName = args[2];
+        String rankName = args[3];
+        boolean clear = rankName.equalsIgnoreCase("none");
+
+        context.guildService().getGuildMembersAsync(guild.getId()).thenCombine(rankService.getGuildRanksAsync(guild.getId()), (members, ranks) -> {
+            GuildMember target = members.stream()
+                    .filter(m -> m.getPlayerName().equalsIgnoreCase(targetName))
+                    .findFirst()
+                    .orElse(null);
+            if (target == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.player-not-in-guild", "&c玩家 {player} 不在您的工会中！");
+                reply(player, message.replace("{player}", targetName));
+                return null;
+            }
+            if (target.getRole() == GuildMember.Role.LEADER) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.cannot-rank-leader", "&c不能为工会会长设置职级！");
+                reply(player, message);
+                return null;
+            }
+            GuildRank rank = clear ? null : ranks.stream()
+                    .filter(r -> r.getName().equalsIgnoreCase(rankName))
+                    .findFirst()
+                    .orElse(null);
+            if (!clear && rank == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.not-found", "&c职级 {rank} 不存在！");
+                reply(player, message.replace("{rank}", rankName));
+                return null;
+            }
+
+            // 非会长只能调整地位低于自己的成员，且授予的职级须低于自身职级、不超出自身权限
+            GuildMember assigner = context.member();
+            if (assigner.getRole() != GuildMember.Role.LEADER) {
+                int assignerPriority = rankPriority(ranks, assigner);
+                boolean targetBelow = target.getRole().ordinal() > assigner.getRole().ordinal()
+                        || (target.getRole() == assigner.getRole() && rankPriority(ranks, target) < assignerPriority);
+                boolean rankBelow = rank == null || (rank.getPriority() < assignerPriority
+                        && (rank.getPermissions() & ~plugin.getPermissionManager().getPermissionMask(player.getUniqueId())) == 0);
+                if (!targetBelow || !rankBelow) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("rank.insufficient-rank", "&c您只能为地位低于自己的成员设置低于自己职级的职级！");
+                    reply(player, message);
+                    return null;
+                }
+            }
+
+            rankService.setMemberRankAsync(guild.getId(), target.getPlayerUuid(), clear ? 0 : rank.getId()).thenAccept(success -> {
+                String message;
+                if (!success) {
+                    message = plugin.getConfigManager().getMessagesConfig().getString("rank.set-failed", "&c设置职级失败！");
+                } else if (clear) {
+                    message = plugin.getConfigManager().getMessagesConfig().getString("rank.set-cleared", "&a已取消 {player} 的职级！");
+                } else {
+                    message = plugin.getConfigManager().getMessagesConfig().getString("rank.set-success", "&a已将 {player} 的职级设置为 {rank}！")
+                            .replace("{rank}", rank.getName());
+                }
+                reply(player, message.replace("{player}", target.getPlayerName()));
+            }).exceptionally(throwable -> replyError(player, throwable));
+            return null;
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 成员所持职级的优先级，未分配职级时为最低
+     */
+    private static int rankPriority(List<GuildRank> ranks, GuildMember member) {
+        if (member.getRankId() <= 0) {
+            return Integer.MIN_VALUE;
+        }
+        return ranks.stream()
+                .filter(rank -> rank.getId() == member.getRankId())
+                .mapToInt(GuildRank::getPriority)
+                .findFirst()
+                .orElse(Integer.MIN_VALUE);
+    }
+
+    /**
+     * 解析逗号分隔的权限列表为权限掩码，遇到未知权限时提示并返回 null
+     */
+    private Long parsePermissionMask(Player player, String input) {
+        if (input.equalsIgnoreCase("none")) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String name : input.split(",")) {
+            GuildPermission permission;
+            try {
+                permission = GuildPermission.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("rank.invalid-permission", "&c未知的权限: {permission}");
+                reply(player, message.replace("{permission}", name));
+                reply(player, plugin.getConfigManager().getMessagesConfig().getString("rank.permission-list", "&7可用权限: &ecreate, invite, kick, promote, demote, delete"));
+                return null;
+            }
+            mask |= permission.getBit();
+        }
+        return mask;
+    }
+
+    /**
+     * 将权限掩码格式化为可读的权限列表
+     */
+    private String formatPermissionMask(long mask) {
+        List<String> names = new ArrayList<>();
+        for (GuildPermission permission : GuildPermission.values()) {
+            if (permission.isGranted(mask)) {
+                names.add(permission.name().toLowerCase());
+            }
+        }
+        return names.isEmpty() ? "none" : String.join(", ", names);
+    }
+
+    /**
+     * 处理工会关系命令
+     */
+    private void handleRelation(Player player, String[] args) {
+        executeAsync(player, context -> {
+            // 获取玩家工会
+            Guild guild = context.guild();
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.no-guild", "&c您还没有加入工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查权限（只有会长可以管理关系）
+            GuildMember member = context.member();
+            if (member == null || member.getRole() != GuildMember.Role.LEADER) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.only-leader", "&c只有工会会长才能管理工会关系！");
+                reply(player, message);
+                return;
+            }
+
+            if (args.length == 1) {
+                // 显示关系管理帮助
+                runOnPlayer(player, () -> showRelationHelp(player));
+                return;
+            }
+
+            switch (args[1].toLowerCase()) {
+                case "list":
+                    handleRelationList(player, guild);
+                    break;
+                case "create":
+                    if (args.length < 4) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("relation.create-usage", "&e用法: /guild relation create <目标工会> <关系类型>");
+                        reply(player, message);
+                        return;
+                    }
+                    handleRelationCreate(player, guild, args[2], args[3]);
+                    break;
+                case "delete":
+                    if (args.length < 3) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("relation.delete-usage", "&e用法: /guild relation delete <目标工会>");
+                        reply(player, message);
+                        return;
+                    }
+                    handleRelationDelete(player, guild, args[2]);
+                    break;
+                case "accept":
+                    if (args.length < 3) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("relation.accept-usage", "&e用法: /guild relation accept <目标工会>");
+                        reply(player, message);
+                        return;
+                    }
+                    handleRelationAccept(player, guild, args[2]);
+                    break;
+                case "reject":
+                    if (args.length < 3) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("relation.reject-usage", "&e用法: /guild relation reject <目标工会>");
+                        reply(player, message);
+                        return;
+                    }
+                    handleRelationReject(player, guild, args[2]);
+                    break;
+                default:
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("relation.unknown-subcommand", "&c未知的子命令！使用 /guild relation 查看帮助。");
+                    reply(player, message);
+                    break;
+            }
+        });
+    }
+
+    /**
+     * 显示关系管理帮助
+     */
+    private void showRelationHelp(Player player) {
+        String title = plugin.getConfigManager().getMessagesConfig().getString("relation.help-title", "&6=== 工会关系管理 ===");
+        sendMessage(player, title);
+
+        String list = plugin.getConfigManager().getMessagesConfig().getString("relation.help-list", "&e/guild relation list &7- 查看所有关系");
+        sendMessage(player, list);
+
+        String create = plugin.getConfigManager().getMessagesConfig().getString("relation.help-create", "&e/guild relation create <工会> <类型> &7- 创建关系");
+        sendMessage(player, create);
+
+        String delete = plugin.getConfigManager().getMessagesConfig().getString("relation.help-delete", "&e/guild relation delete <工会> &7- 删除关系");
+        sendMessage(player, delete);
+
+        String accept = plugin.getConfigManager().getMessagesConfig().getString("relation.help-accept", "&e/guild relation accept <工会> &7- 接受关系请求");
+        sendMessage(player, accept);
+
+        String reject = plugin.getConfigManager().getMessagesConfig().getString("relation.help-reject", "&e/guild relation reject <工会> &7- 拒绝关系请求");
+        sendMessage(player, reject);
+
+        String types = plugin.getConfigManager().getMessagesConfig().getString("relation.help-types", "&7关系类型: &eally(盟友), enemy(敌对), war(开战), truce(停战), neutral(中立)");
+        sendMessage(player, types);
+    }
+
+    /**
+     * 处理关系列表
+     */
+    private void handleRelationList(Player player, Guild guild) {
+        plugin.getGuildService().getGuildRelationsAsync(guild.getId()).thenAccept(relations -> {
+            if (relations == null || relations.isEmpty()) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.no-relations", "&7您的工会还没有任何关系。");
+                reply(player, message);
+                return;
+            }
+
+            String title = plugin.getConfigManager().getMessagesConfig().getString("relation.list-title", "&6=== 工会关系列表 ===");
+            reply(player, title);
+
+            for (GuildRelation relation : relations) {
+                String otherGuildName = relation.getOtherGuildName(guild.getId());
+                String status = relation.getStatus().name();
+                String type = relation.getType().name();
+
+                String relationInfo = plugin.getConfigManager().getMessagesConfig().getString("relation.list-format", "&e{other_guild} &7- {type} ({status})")
+                        .replace("{other_guild}", otherGuildName)
+                        .replace("{type}", type)
+                        .replace("{status}", status);
+                reply(player, relationInfo);
+            }
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理创建关系
+     */
+    private void handleRelationCreate(Player player, Guild guild, String targetGuildName, String relationTypeStr) {
+        // 验证关系类型
+        GuildRelation.RelationType relationType;
+        try {
+            relationType = GuildRelation.RelationType.valueOf(relationTypeStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.invalid-type", "&c无效的关系类型！有效类型: ally, enemy, war, truce, neutral");
+            reply(player, message);
+            return;
+        }
+
+        // 获取目标工会
+        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
+            if (targetGuild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
+                        .replace("{guild}", targetGuildName);
+                reply(player, message);
+                return;
+            }
+
+            if (targetGuild.getId() == guild.getId()) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.cannot-relation-self", "&c不能与自己建立关系！");
+                reply(player, message);
+                return;
+            }
+
+            // 创建关系
+            plugin.getGuildService().createGuildRelationAsync(guild.getId(), targetGuild.getId(), guild.getName(), targetGuild.getName(), relationType, player.getUniqueId(), player.getName())
+                    .thenAccept(success -> {
+                        if (success) {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.create-success", "&a已向 {guild} 发送 {type} 关系请求！")
+                                    .replace("{guild}", targetGuildName)
+                                    .replace("{type}", relationType.name());
+                            reply(player, message);
+                        } else {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.create-failed", "&c创建关系失败！可能已经存在关系。");
+                            reply(player, message);
+                        }
+                    }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理删除关系
+     */
+    private void handleRelationDelete(Player player, Guild guild, String targetGuildName) {
+        // 获取目标工会
+        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
+            if (targetGuild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
+                        .replace("{guild}", targetGuildName);
+                reply(player, message);
+                return;
+            }
+
+            // 获取关系然后删除
+            plugin.getGuildService().getGuildRelationAsync(guild.getId(), targetGuild.getId())
+                    .thenCompose(relation -> {
+                        if (relation == null) {
+                            return CompletableFuture.completedFuture(false);
+                        }
+                        return plugin.getGuildService().deleteGuildRelationAsync(relation.getId());
+                    })
+                    .thenAccept(success -> {
+                        if (success) {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.delete-success", "&a已删除与 {guild} 的关系！")
+                                    .replace("{guild}", targetGuildName);
+                            reply(player, message);
+                        } else {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.delete-failed", "&c删除关系失败！可能关系不存在。");
+                            reply(player, message);
+                        }
+                    }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理接受关系
+     */
+    private void handleRelationAccept(Player player, Guild guild, String targetGuildName) {
+        // 获取目标工会
+        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
+            if (targetGuild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
+                        .replace("{guild}", targetGuildName);
+                reply(player, message);
+                return;
+            }
+
+            // 获取关系然后接受
+            plugin.getGuildService().getGuildRelationAsync(guild.getId(), targetGuild.getId())
+                    .thenCompose(relation -> {
+                        if (relation == null) {
+                            return CompletableFuture.completedFuture(false);
+                        }
+                        return plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.ACTIVE);
+                    })
+                    .thenAccept(success -> {
+                        if (success) {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.accept-success", "&a已接受 {guild} 的关系请求！")
+                                    .replace("{guild}", targetGuildName);
+                            reply(player, message);
+                        } else {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.accept-failed", "&c接受关系失败！可能没有待处理的关系请求。");
+                            reply(player, message);
+                        }
+                    }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理拒绝关系
+     */
+    private void handleRelationReject(Player player, Guild guild, String targetGuildName) {
+        // 获取目标工会
+        plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
+            if (targetGuild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("relation.target-not-found", "&c目标工会 {guild} 不存在！")
+                        .replace("{guild}", targetGuildName);
+                reply(player, message);
+                return;
+            }
+
+            // 获取关系然后拒绝
+            plugin.getGuildService().getGuildRelationAsync(guild.getId(), targetGuild.getId())
+                    .thenCompose(relation -> {
+                        if (relation == null) {
+                            return CompletableFuture.completedFuture(false);
+                        }
+                        return plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.CANCELLED);
+                    })
+                    .thenAccept(success -> {
+                        if (success) {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.reject-success", "&c已拒绝 {guild} 的关系请求！")
+                                    .replace("{guild}", targetGuildName);
+                            reply(player, message);
+                        } else {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("relation.reject-failed", "&c拒绝关系失败！可能没有待处理的关系请求。");
+                            reply(player, message);
+                        }
+                    }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理工会经济命令
+     */
+    private void handleEconomy(Player player, String[] args) {
+        // 获取玩家工会
+        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 显示工会经济信息
+            String message = plugin.getConfigManager().getMessagesConfig().getString("economy.info", "&6工会经济信息");
+            reply(player, message);
+
+            String balanceMessage = plugin.getConfigManager().getMessagesConfig().getString("economy.balance", "&7当前资金: &e{balance}")
+                    .replace("{balance}", plugin.getEconomyManager().format(guild.getBalance()));
+            reply(player, balanceMessage);
+
+            String levelMessage = plugin.getConfigManager().getMessagesConfig().getString("economy.level", "&7当前等级: &e{level}")
+                    .replace("{level}", String.valueOf(guild.getLevel()));
+            reply(player, levelMessage);
+
+            String maxMembersMessage = plugin.getConfigManager().getMessagesConfig().getString("economy.max-members", "&7最大成员: &e{max_members}")
+                    .replace("{max_members}", String.valueOf(guild.getMaxMembers()));
+            reply(player, maxMembersMessage);
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理存款命令
+     */
+    private void handleDeposit(Player player, String[] args) {
+        if (args.length < 2) {
+            sendMessage(player, "&c用法: /guild deposit <金额>");
+            return;
+        }
+
+        double amount;
+        try {
+            amount = Double.parseDouble(args[1]);
+        } catch (NumberFormatException e) {
+            sendMessage(player, "&c金额格式错误！");
+            return;
+        }
+
+        if (amount <= 0) {
+            sendMessage(player, "&c金额必须大于0！");
+            return;
+        }
+
+        // 获取玩家工会
+        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 经济操作需在玩家线程执行
+            runOnPlayer(player, () -> {
+                // 检查玩家余额
+                if (!plugin.getEconomyManager().hasBalance(player, amount)) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.insufficient-balance", "&c您的余额不足！");
+                    sendMessage(player, message);
+                    return;
+                }
+
+                // 执行存款
+                plugin.getEconomyManager().withdraw(player, amount);
+                plugin.getGuildService().updateGuildBalanceAsync(guild.getId(), guild.getBalance() + amount).thenAcceptAsync(success -> {
+                    if (success) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.deposit-success", "&a成功向工会存款 &e{amount}！")
+                                .replace("{amount}", plugin.getEconomyManager().format(amount));
+                        sendMessage(player, message);
+                    } else {
+                        // 退款
+                        plugin.getEconomyManager().deposit(player, amount);
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.deposit-failed", "&c存款失败！");
+                        sendMessage(player, message);
+                    }
+                }, runnable -> runOnPlayer(player, runnable)).exceptionally(throwable -> replyError(player, throwable));
+            });
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理取款命令
+     */
+    private void handleWithdraw(Player player, String[] args) {
+        if (args.length < 2) {
+            sendMessage(player, "&c用法: /guild withdraw <金额>");
+            return;
+        }
+
+        double amount;
+        try {
+            amount = Double.parseDouble(args[1]);
+        } catch (NumberFormatException e) {
+            sendMessage(player, "&c金额格式错误！");
+            return;
+        }
+
+        if (amount <= 0) {
+            sendMessage(player, "&c金额必须大于0！");
+            return;
+        }
+
+        // 获取玩家工会
+        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查工会余额
+            if (guild.getBalance() < amount) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.guild-insufficient-balance", "&c工会余额不足！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查权限（只有会长可以取款）
+            plugin.getGuildService().getGuildMemberAsync(guild.getId(), player.getUniqueId()).thenAccept(member -> {
+                if (member == null || member.getRole() != GuildMember.Role.LEADER) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.leader-only", "&c只有工会会长才能取款！");
+                    reply(player, message);
+                    return;
+                }
+
+                // 执行取款
+                plugin.getGuildService().updateGuildBalanceAsync(guild.getId(), guild.getBalance() - amount).thenAcceptAsync(success -> {
+                    if (success) {
+                        plugin.getEconomyManager().deposit(player, amount);
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.withdraw-success", "&a成功从工会取款 &e{amount}！")
+                                .replace("{amount}", plugin.getEconomyManager().format(amount));
+                        sendMessage(player, message);
+                    } else {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.withdraw-failed", "&c取款失败！");
+                        sendMessage(player, message);
+                    }
+                }, runnable -> runOnPlayer(player, runnable)).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理转账命令
+     */
+    private void handleTransfer(Player player, String[] args) {
+        if (args.length < 3) {
+            sendMessage(player, "&c用法: /guild transfer <工会> <金额>");
+            return;
+        }
+
+        String targetGuildName = args[1];
+        double amount;
+        try {
+            amount = Double.parseDouble(args[2]);
+        } catch (NumberFormatException e) {
+            sendMessage(player, "&c金额格式错误！");
+            return;
+        }
+
+        if (amount <= 0) {
+            sendMessage(player, "&c金额必须大于0！");
+            return;
+        }
+
+        // 获取玩家工会
+        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(sourceGuild -> {
+            if (sourceGuild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.no-guild", "&c您还没有加入工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查权限（只有会长可以转账）
+            plugin.getGuildService().getGuildMemberAsync(sourceGuild.getId(), player.getUniqueId()).thenAccept(member -> {
+                if (member == null || member.getRole() != GuildMember.Role.LEADER) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.leader-only", "&c只有工会会长才能转账！");
+                    reply(player, message);
+                    return;
+                }
+
+                // 检查工会余额
+                if (sourceGuild.getBalance() < amount) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.guild-insufficient-balance", "&c工会余额不足！");
+                    reply(player, message);
+                    return;
+                }
+
+                // 查找目标工会
+                plugin.getGuildService().getGuildByNameAsync(targetGuildName).thenAccept(targetGuild -> {
+                    if (targetGuild == null) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.target-guild-not-found", "&c目标工会不存在！");
+                        reply(player, message);
+                        return;
+                    }
+
+                    // 不能转账给自己
+                    if (sourceGuild.getId() == targetGuild.getId()) {
+                        String message = plugin.getConfigManager().getMessagesConfig().getString("economy.cannot-transfer-to-self", "&c不能转账给自己的工会！");
+                        reply(player, message);
+                        return;
+                    }
+
+                    // 执行转账
+                    plugin.getGuildService().updateGuildBalanceAsync(sourceGuild.getId(), sourceGuild.getBalance() - amount).thenAccept(success1 -> {
+                        if (success1) {
+                            plugin.getGuildService().updateGuildBalanceAsync(targetGuild.getId(), targetGuild.getBalance() + amount).thenAccept(success2 -> {
+                                if (success2) {
+                                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.transfer-success", "&a成功向工会 &e{target} &a转账 &e{amount}！")
+                                            .replace("{target}", targetGuildName)
+                                            .replace("{amount}", plugin.getEconomyManager().format(amount));
+                                    reply(player, message);
+                                } else {
+                                    // 回滚
+                                    plugin.getGuildService().updateGuildBalanceAsync(sourceGuild.getId(), sourceGuild.getBalance() + amount);
+                                    String message = plugin.getConfigManager().getMessagesConfig().getString("economy.transfer-failed", "&c转账失败！");
+                                    reply(player, message);
+                                }
+                            }).exceptionally(throwable -> replyError(player, throwable));
+                        } else {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("economy.transfer-failed", "&c转账失败！");
+                            reply(player, message);
+                        }
+                    }).exceptionally(throwable -> replyError(player, throwable));
+                }).exceptionally(throwable -> replyError(player, throwable));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理日志查看命令
+     */
+    private void handleLogs(Player player, String[] args) {
+        // 获取玩家工会
+        plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(guild -> {
+            if (guild == null) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-guild", "&c您还没有加入工会！");
+                reply(player, message);
+                return;
+            }
+
+            // 检查权限
+            plugin.getGuildService().getGuildMemberAsync(guild.getId(), player.getUniqueId()).thenAccept(member -> {
+                if (member == null) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c权限不足！");
+                    reply(player, message);
+                    return;
+                }
+
+                // 打开工会日志GUI
+                runOnPlayer(player, () -> plugin.getGuiManager().openGUI(player, new com.guild.gui.GuildLogsGUI(plugin, guild, player)));
+            }).exceptionally(throwable -> replyError(player, throwable));
+        }).exceptionally(throwable -> replyError(player, throwable));
+    }
+
+    /**
+     * 处理占位符测试命令
+     */
+    private void handlePlaceholder(Player player, String[] args) {
+        if (!GuildPlugin.getInstance().getPlaceholderManager().registerPlaceholders()) {
+            sendMessage(player, "PlaceholderAPI未安装, 此命令不可用!");
+            return;
+        }
+
+        if (!player.hasPermission("guild.admin")) {
+            sendMessage(player, plugin.getConfigManager().getMessagesConfig().getString("general.no-permission", "&c您没有权限执行此操作！"));
+            return;
+        }
+
+        if (args.length < 2) {
+            sendMessage(player, "&c用法: /guild placeholder <变量名>");
+            sendMessage(player, "&e示例: /guild placeholder name");
+            sendMessage(player, "&e可用变量: name, tag, description, leader, membercount, role, hasguild, isleader, isofficer");
+            return;
+        }
+
+        String placeholder = "%guild_" + args[1] + "%";
+        String result = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, placeholder);
+
+        sendMessage(player, "&6=== PlaceholderAPI 测试 ===");
+        sendMessage(player, "&e变量: &f" + placeholder);
+        sendMessage(player, "&e结果: &f" + result);
+        sendMessage(player, "&6========================");
+    }
+
+    /**
+     * /guild time：显示现实系统时间与当前世界游戏内时间
+     */
+    private void handleTime(Player player) {
+        String title = plugin.getConfigManager().getMessagesConfig().getString("time.title", "&6=== 时间测试 ===");
+        String realNow = com.guild.core.time.TimeProvider.nowString();
+        // Minecraft 世界时间（白天循环 0-23999 ticks）
+        long ticks = player.getWorld().getTime() % 24000L;
+        int hours = (int) ((ticks / 1000L + 6) % 24); // 0 tick 对应 06:00
+        int minutes = (int) ((ticks % 1000L) * 60L / 1000L);
+        String gameTime = String.format("%02d:%02d", hours, minutes);
+        String ticksStr = String.valueOf(ticks);
+        sendMessage(player, title);
+        sendMessage(player, "&e现实时间: &f" + realNow);
+        sendMessage(player, "&e游戏时间: &f" + gameTime + " &7(" + ticksStr + " ticks)");
+    }
+}
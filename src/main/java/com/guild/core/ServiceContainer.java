@@ -2,17 +2,24 @@ package com.guild.core;
 
 import com.guild.util.LogService;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 服务容器 - 管理所有服务的生命周期和依赖注入
  */
 public class ServiceContainer {
 
-    private final Map<Class<?>, Object> services = new HashMap<>();
-    private final Map<Class<?>, ServiceLifecycle> lifecycles = new HashMap<>();
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+    // 按注册顺序保存生命周期与依赖，保证启动/停止顺序可预测
+    private final Map<Class<?>, ServiceLifecycle> lifecycles = new LinkedHashMap<>();
+    private final Map<Class<?>, List<Class<?>>> dependencies = new LinkedHashMap<>();
 
     /**
      * 注册服务
@@ -26,8 +33,16 @@ public class ServiceContainer {
      * 注册带生命周期的服务
      */
     public <T> void register(Class<T> serviceClass, T service, ServiceLifecycle lifecycle) {
+        register(serviceClass, service, lifecycle, new Class<?>[0]);
+    }
+
+    /**
+     * 注册带生命周期及依赖的服务（依赖的服务先启动、后停止）
+     */
+    public <T> void register(Class<T> serviceClass, T service, ServiceLifecycle lifecycle, Class<?>... dependsOn) {
         services.put(serviceClass, service);
         lifecycles.put(serviceClass, lifecycle);
+        dependencies.put(serviceClass, List.of(dependsOn));
         LogService.info("注册服务: " + serviceClass.getSimpleName() + " (带生命周期)");
     }
 
@@ -51,39 +66,105 @@ public class ServiceContainer {
     }
 
     /**
-     * 启动所有服务
+     * 启动所有服务：按依赖拓扑启动，互不依赖的服务并行启动
      */
     public CompletableFuture<Void> startAll() {
-        return CompletableFuture.runAsync(() -> {
-            LogService.info("正在启动所有服务...");
-            for (Map.Entry<Class<?>, ServiceLifecycle> entry : lifecycles.entrySet()) {
+        List<Class<?>> order;
+        try {
+            order = resolveStartOrder();
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        LogService.info("正在启动所有服务...");
+        long startedAt = System.nanoTime();
+        Map<Class<?>, CompletableFuture<Void>> started = new HashMap<>();
+        for (Class<?> serviceClass : order) {
+            CompletableFuture<?>[] prerequisites = dependencies.get(serviceClass).stream()
+                    .map(started::get)
+                    .filter(future -> future != null)
+                    .toArray(CompletableFuture[]::new);
+
+            ServiceLifecycle lifecycle = lifecycles.get(serviceClass);
+            started.put(serviceClass, CompletableFuture.allOf(prerequisites).thenRunAsync(() -> {
+                long serviceStartedAt = System.nanoTime();
                 try {
-                    entry.getValue().start();
-                    LogService.info("服务启动成功: " + entry.getKey().getSimpleName());
+                    lifecycle.start();
                 } catch (Exception e) {
-                    LogService.error("服务启动失败: " + entry.getKey().getSimpleName() + " - ", e);
+                    LogService.error("服务启动失败: " + serviceClass.getSimpleName() + " - ", e);
+                    throw new ServiceStartException("服务启动失败: " + serviceClass.getSimpleName(), e);
                 }
-            }
-        });
+                LogService.info("服务启动成功: " + serviceClass.getSimpleName() + " (" + elapsedMillis(serviceStartedAt) + "ms)");
+            }));
+        }
+
+        return CompletableFuture.allOf(started.values().toArray(new CompletableFuture[0]))
+                .thenRun(() -> LogService.info("所有服务启动完成，耗时 " + elapsedMillis(startedAt) + "ms"));
     }
 
     /**
-     * 停止所有服务
+     * 停止所有服务：按启动顺序的逆序依次停止
      */
     public CompletableFuture<Void> stopAll() {
         return CompletableFuture.runAsync(() -> {
             LogService.info("正在停止所有服务...");
-            for (Map.Entry<Class<?>, ServiceLifecycle> entry : lifecycles.entrySet()) {
+            List<Class<?>> order;
+            try {
+                order = new ArrayList<>(resolveStartOrder());
+            } catch (IllegalStateException e) {
+                order = new ArrayList<>(lifecycles.keySet());
+            }
+            Collections.reverse(order);
+
+            for (Class<?> serviceClass : order) {
+                long stoppedAt = System.nanoTime();
                 try {
-                    entry.getValue().stop();
-                    LogService.info("服务停止成功: " + entry.getKey().getSimpleName());
+                    lifecycles.get(serviceClass).stop();
+                    LogService.info("服务停止成功: " + serviceClass.getSimpleName() + " (" + elapsedMillis(stoppedAt) + "ms)");
                 } catch (Exception e) {
-                    LogService.error("服务停止失败: " + entry.getKey().getSimpleName() + " - ", e);
+                    LogService.error("服务停止失败: " + serviceClass.getSimpleName() + " - ", e);
                 }
             }
         });
     }
 
+    /**
+     * 计算启动顺序（拓扑排序），存在循环依赖时抛出异常
+     */
+    private List<Class<?>> resolveStartOrder() {
+        List<Class<?>> order = new ArrayList<>();
+        Map<Class<?>, Boolean> visiting = new HashMap<>();
+        for (Class<?> serviceClass : lifecycles.keySet()) {
+            visit(serviceClass, visiting, order);
+        }
+        return order;
+    }
+
+    private void visit(Class<?> serviceClass, Map<Class<?>, Boolean> visiting, List<Class<?>> order) {
+        Boolean state = visiting.get(serviceClass);
+        if (Boolean.FALSE.equals(state)) {
+            return;
+        }
+        if (Boolean.TRUE.equals(state)) {
+            throw new IllegalStateException("检测到服务循环依赖: " + serviceClass.getSimpleName());
+        }
+
+        visiting.put(serviceClass, true);
+        for (Class<?> dependency : dependencies.getOrDefault(serviceClass, List.of())) {
+            if (lifecycles.containsKey(dependency)) {
+                visit(dependency, visiting, order);
+            } else if (!services.containsKey(dependency)) {
+                throw new IllegalStateException("服务 " + serviceClass.getSimpleName() + " 依赖的服务未注册: " + dependency.getSimpleName());
+            }
+        }
+        visiting.put(serviceClass, false);
+        order.add(serviceClass);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
     /**
      * 关闭服务容器
      */
@@ -92,6 +173,7 @@ public class ServiceContainer {
             stopAll().get();
             services.clear();
             lifecycles.clear();
+            dependencies.clear();
             LogService.info("服务容器已关闭");
         } catch (Exception e) {
             LogService.error("关闭服务容器时发生错误: ", e);
@@ -105,6 +187,31 @@ public class ServiceContainer {
         void start() throws Exception;
 
         void stop() throws Exception;
+
+        /**
+         * 由启动与停止动作构建生命周期
+         */
+        static ServiceLifecycle of(Action start, Action stop) {
+            return new ServiceLifecycle() {
+                @Override
+                public void start() throws Exception {
+                    start.run();
+                }
+
+                @Override
+                public void stop() throws Exception {
+                    stop.run();
+                }
+            };
+        }
+    }
+
+    /**
+     * 生命周期动作
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
     }
 
     /**
@@ -115,4 +222,13 @@ public class ServiceContainer {
             super(message);
         }
     }
+
+    /**
+     * 服务启动异常
+     */
+    public static class ServiceStartException extends RuntimeException {
+        public ServiceStartException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
@@ -7,8 +7,10 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 配置管理器 - 管理插件的所有配置文件
@@ -16,8 +18,11 @@ import java.util.Map;
 public class ConfigManager {
 
     private final GuildPlugin plugin;
-    private final Map<String, FileConfiguration> configs = new HashMap<>();
-    private final Map<String, File> configFiles = new HashMap<>();
+    // 主配置、消息、GUI、数据库配置文件
+    private static final List<String> CONFIG_FILES = List.of("config.yml", "messages.yml", "gui.yml", "database.yml");
+
+    private final Map<String, FileConfiguration> configs = new ConcurrentHashMap<>();
+    private final Map<String, File> configFiles = new ConcurrentHashMap<>();
 
     public ConfigManager(GuildPlugin plugin) {
         this.plugin = plugin;
@@ -28,17 +33,14 @@ public class ConfigManager {
      * 加载所有配置文件
      */
     private void loadConfigs() {
-        // 主配置文件
-        loadConfig("config.yml");
-
-        // 消息配置文件
-        loadConfig("messages.yml");
+        long startedAt = System.nanoTime();
 
-        // GUI配置文件
-        loadConfig("gui.yml");
+        // 配置文件互不依赖，并行解析
+        CompletableFuture.allOf(CONFIG_FILES.stream()
+                .map(fileName -> CompletableFuture.runAsync(() -> loadConfig(fileName)))
+                .toArray(CompletableFuture[]::new)).join();
 
-        // 数据库配置文件
-        loadConfig("database.yml");
+        LogService.info("配置文件加载完成，耗时 " + (System.nanoTime() - startedAt) / 1_000_000 + "ms");
     }
 
     /**
@@ -130,8 +132,7 @@ public class ConfigManager {
      * 重新加载所有配置文件
      */
     public void reloadAllConfigs() {
-        configs.clear();
-        configFiles.clear();
+        // 直接覆盖旧配置，避免重载期间读取到空配置
         loadConfigs();
         LogService.info("重新加载所有配置文件");
     }
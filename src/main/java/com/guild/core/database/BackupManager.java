@@ -0,0 +1,573 @@
+package com.guild.core.database;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.guild.GuildPlugin;
+import com.guild.core.permissions.PermissionManager;
+import com.guild.core.time.TimeProvider;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.services.ApplicationInboxService;
+import com.guild.services.GuildExpiryService;
+import com.guild.services.GuildRankService;
+import com.guild.services.GuildService;
+import com.guild.services.PendingInvitationCache;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 数据库备份管理器 - 定期在线备份（SQLite 使用 VACUUM INTO，MySQL/H2 流式导出为 gzip 压缩的 NDJSON），
+ * 按保留天数清理旧备份，并支持从备份恢复
+ */
+public class BackupManager {
+
+    private static final String FILE_PREFIX = "guild-";
+    private static final String SQLITE_SUFFIX = ".db";
+    private static final String DUMP_SUFFIX = ".ndjson.gz";
+    // 按外键依赖排列：恢复时按此顺序插入，按逆序清空
+    private static final List<String> TABLES = List.of(
+            "guilds", "guild_members", "guild_applications", "guild_invites", "guild_relations",
+            "guild_economy", "guild_contributions", "guild_logs", "guild_ranks");
+    private static final Gson GSON = new Gson();
+    // 时间列迁移为毫秒时间戳之前的备份中的文本时间，如 2024-01-01 12:00:00 或 2024-01-01T12:00:00.0
+    private static final DateTimeFormatter LEGACY_TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd[ ]['T']HH:mm[:ss]")
+            .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd()
+            .toFormatter();
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 同一时间只允许一个备份或恢复任务
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private boolean enabled;
+    private long intervalHours = 24;
+    private int retentionDays = 7;
+    private File backupDirectory;
+    private DateTimeFormatter fileNameFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private int throttleRows = 5000;
+    private long throttlePauseMs = 50;
+
+    public BackupManager(GuildPlugin plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * 从配置文件加载备份参数
+     */
+    public void reloadFromConfig() {
+        FileConfiguration config = plugin.getConfigManager().getDatabaseConfig();
+        enabled = config.getBoolean("backup.enabled", false);
+        intervalHours = Math.max(1, config.getLong("backup.interval", 24));
+        retentionDays = Math.max(1, config.getInt("backup.retention-days", 7));
+        backupDirectory = new File(plugin.getDataFolder(), config.getString("backup.path", "backups/"));
+        try {
+            fileNameFormatter = DateTimeFormatter.ofPattern(config.getString("backup.format", "yyyy-MM-dd_HH-mm-ss"));
+        } catch (IllegalArgumentException e) {
+            LogService.warning("备份文件名格式无效，使用默认格式: " + e.getMessage());
+            fileNameFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+        }
+        throttleRows = Math.max(1, config.getInt("backup.throttle.rows-per-pause", 5000));
+        throttlePauseMs = Math.max(0, config.getLong("backup.throttle.pause-ms", 50));
+    }
+
+    /**
+     * 启动定期备份任务（未启用时不调度）
+     */
+    public void start() {
+        reloadFromConfig();
+        if (!enabled) {
+            return;
+        }
+        long periodSeconds = TimeUnit.HOURS.toSeconds(intervalHours);
+        CompatibleScheduler.runTaskTimerAsync(plugin, this::runScheduledBackup, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        LogService.info("数据库自动备份已启用: 每 " + intervalHours + " 小时一次，保留 " + retentionDays + " 天");
+    }
+
+    private void runScheduledBackup() {
+        try {
+            backup();
+        } catch (Exception e) {
+            LogService.error("自动备份数据库失败: ", e);
+        }
+    }
+
+    /**
+     * 立即备份并清理过期备份，返回备份文件 (异步)
+     */
+    public CompletableFuture<File> backupAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return backup();
+            } catch (Exception e) {
+                throw new IllegalStateException("备份数据库失败: " + e.getMessage(), e);
+            }
+        }, runnable -> CompatibleScheduler.runTaskAsync(plugin, runnable));
+    }
+
+    private File backup() throws SQLException, IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("已有备份或恢复任务正在运行");
+        }
+        try {
+            if (!backupDirectory.exists() && !backupDirectory.mkdirs()) {
+                throw new IOException("无法创建备份目录: " + backupDirectory);
+            }
+
+            long startedAt = System.nanoTime();
+            String baseName = FILE_PREFIX + TimeProvider.nowLocalDateTime().format(fileNameFormatter);
+            File target;
+            if (databaseManager.getDatabaseType() == DatabaseManager.DatabaseType.SQLITE) {
+                target = new File(backupDirectory, baseName + SQLITE_SUFFIX);
+                backupSQLite(target);
+            } else {
+                target = new File(backupDirectory, baseName + DUMP_SUFFIX);
+                dumpTables(target);
+            }
+
+            LogService.info("数据库备份完成: " + target.getName() + " (" + target.length() / 1024 + "KB, "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + "ms)");
+            deleteExpiredBackups();
+            return target;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * SQLite 在线备份：VACUUM INTO 在读事务中生成一致的紧凑副本，WAL 模式下不阻塞写入
+     */
+    private void backupSQLite(File target) throws SQLException {
+        try (Connection conn = databaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("VACUUM INTO '" + target.getAbsolutePath().replace("'", "''") + "'");
+        }
+    }
+
+    /**
+     * 流式导出全部表：每行一条 {"table": 表名, "row": 行数据}，在一个可重复读事务中读取以保证一致性
+     */
+    private void dumpTables(File target) throws SQLException, IOException {
+        boolean mysql = databaseManager.getDatabaseType() == DatabaseManager.DatabaseType.MYSQL;
+        try (Connection conn = databaseManager.getReadConnection();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(new FileOutputStream(target)), StandardCharsets.UTF_8))) {
+
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                long rows = 0;
+                for (String table : TABLES) {
+                    try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM " + table,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        // MySQL 驱动仅在 fetchSize 为 Integer.MIN_VALUE 时逐行流式读取
+                        stmt.setFetchSize(mysql ? Integer.MIN_VALUE : 1000);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            ResultSetMetaData meta = rs.getMetaData();
+                            while (rs.next()) {
+                                JsonObject line = new JsonObject();
+                                line.addProperty("table", table);
+                                line.add("row", toJson(rs, meta));
+                                writer.write(GSON.toJson(line));
+                                writer.write('\n');
+                                if (++rows % throttleRows == 0) {
+                                    pause();
+                                }
+                            }
+                        }
+                    }
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException | IOException e) {
+            if (target.exists() && !target.delete()) {
+                LogService.warning("无法删除不完整的备份文件: " + target.getName());
+            }
+            throw e;
+        }
+    }
+
+    private JsonObject toJson(ResultSet rs, ResultSetMetaData meta) throws SQLException {
+        JsonObject row = new JsonObject();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            Object value = rs.getObject(i);
+            String column = meta.getColumnLabel(i).toLowerCase(Locale.ROOT);
+            if (value instanceof Number number) {
+                row.addProperty(column, number);
+            } else if (value instanceof Boolean bool) {
+                row.addProperty(column, bool);
+            } else if (value != null) {
+                row.addProperty(column, value.toString());
+            }
+        }
+        return row;
+    }
+
+    private void pause() {
+        if (throttlePauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttlePauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 删除超过保留天数的备份文件
+     */
+    private void deleteExpiredBackups() {
+        long threshold = TimeProvider.nowMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        for (File file : listBackups()) {
+            if (file.lastModified() < threshold) {
+                if (file.delete()) {
+                    LogService.info("已删除过期备份: " + file.getName());
+                } else {
+                    LogService.warning("无法删除过期备份: " + file.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * 列出备份文件（最新的在前）
+     */
+    public List<File> listBackups() {
+        File[] files = backupDirectory != null ? backupDirectory.listFiles((dir, name) -> name.startsWith(FILE_PREFIX)
+                && (name.endsWith(SQLITE_SUFFIX) || name.endsWith(DUMP_SUFFIX))) : null;
+        if (files == null) {
+            return List.of();
+        }
+        List<File> backups = new ArrayList<>(Arrays.asList(files));
+        backups.sort(Comparator.comparingLong(File::lastModified).reversed());
+        return backups;
+    }
+
+    /**
+     * 从备份恢复：清空全部工会数据表后写入备份中的数据，并重新加载内存中的缓存，返回恢复的行数 (异步)。
+     * SQLite 备份（.db）与导出文件（.ndjson.gz）均可恢复到当前使用的任意数据库
+     */
+    public CompletableFuture<Integer> restoreAsync(String fileName) {
+        File file = new File(backupDirectory, fileName);
+        if (!file.isFile() || !file.getParentFile().equals(backupDirectory)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("备份文件不存在: " + fileName));
+        }
+        if (!running.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("已有备份或恢复任务正在运行"));
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, List<Map<String, Object>>> rows;
+            try {
+                rows = fileName.endsWith(SQLITE_SUFFIX) ? readSQLiteBackup(file) : readDump(file);
+            } catch (SQLException | IOException e) {
+                throw new IllegalStateException("读取备份文件失败: " + e.getMessage(), e);
+            }
+            // 在清空数据表之前换算，无法识别的备份不会改动当前数据
+            normalizeTimestamps(rows);
+            dropDuplicateInvitations(rows);
+            return rows;
+        }, runnable -> CompatibleScheduler.runTaskAsync(plugin, runnable))
+                // 自增序列重置是 DDL，H2 执行时会隐式提交，因此放在数据事务提交之后单独执行，
+                // 数据写入失败时整体回滚，不会留下只恢复了一部分的数据库
+                .thenCompose(rows -> databaseManager.executeWriteAsync(conn -> restoreRows(conn, rows))
+                        .thenApplyAsync(restored -> {
+                            resetIdentities(rows);
+                            reloadCaches();
+                            return restored;
+                        }, runnable -> CompatibleScheduler.runTaskAsync(plugin, runnable)))
+                .whenComplete((restored, throwable) -> {
+                    running.set(false);
+                    if (throwable == null) {
+                        LogService.info("已从备份 " + fileName + " 恢复 " + restored + " 行数据");
+                    }
+                });
+    }
+
+    /**
+     * 读取 SQLite 备份文件中的全部行
+     */
+    private Map<String, List<Map<String, Object>>> readSQLiteBackup(File file) throws SQLException {
+        Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath())) {
+            for (String table : TABLES) {
+                List<Map<String, Object>> tableRows = new ArrayList<>();
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT * FROM " + table)) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    while (rs.next()) {
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            row.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), rs.getObject(i));
+                        }
+                        tableRows.add(row);
+                    }
+                } catch (SQLException e) {
+                    // 较旧的备份可能缺少后来新增的表
+                    LogService.warning("备份中缺少数据表 " + table + "，已跳过");
+                }
+                rows.put(table, tableRows);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 读取导出文件中的全部行
+     */
+    private Map<String, List<Map<String, Object>>> readDump(File file) throws IOException {
+        Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                String table = entry.get("table").getAsString();
+                if (!TABLES.contains(table)) {
+                    continue;
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (Map.Entry<String, JsonElement> column : entry.getAsJsonObject("row").entrySet()) {
+                    row.put(column.getKey(), fromJson(column.getValue()));
+                }
+                rows.computeIfAbsent(table, key -> new ArrayList<>()).add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 旧版本备份中的时间列为文本，按服务器本地时间换算为毫秒时间戳（与启动时的时间列迁移一致）
+     */
+    private void normalizeTimestamps(Map<String, List<Map<String, Object>>> rows) {
+        int converted = 0;
+        for (Map.Entry<String, List<Map<String, Object>>> entry : rows.entrySet()) {
+            String table = entry.getKey();
+            for (Map<String, Object> row : entry.getValue()) {
+                for (Map.Entry<String, Object> column : row.entrySet()) {
+                    if (column.getValue() instanceof String text && DatabaseManager.isTimestampColumn(table, column.getKey())) {
+                        column.setValue(parseTimestamp(table, column.getKey(), text));
+                        converted++;
+                    }
+                }
+            }
+        }
+        if (converted > 0) {
+            LogService.info("备份中的 " + converted + " 个文本时间值已换算为毫秒时间戳");
+        }
+    }
+
+    /**
+     * 旧版本备份中同一工会对同一玩家可能有多行邀请，与启动时建唯一索引一致，只保留 id 最大的一行
+     */
+    private void dropDuplicateInvitations(Map<String, List<Map<String, Object>>> rows) {
+        List<Map<String, Object>> invitations = rows.get("guild_invites");
+        if (invitations == null || invitations.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, Object>> latest = new LinkedHashMap<>();
+        for (Map<String, Object> row : invitations) {
+            latest.merge(row.get("guild_id") + ":" + row.get("player_uuid"), row,
+                    (kept, candidate) -> rowId(candidate) > rowId(kept) ? candidate : kept);
+        }
+        if (latest.size() < invitations.size()) {
+            LogService.info("备份中的 " + (invitations.size() - latest.size()) + " 条重复邀请已忽略");
+            rows.put("guild_invites", new ArrayList<>(latest.values()));
+        }
+    }
+
+    private static long rowId(Map<String, Object> row) {
+        return row.get("id") instanceof Number id ? id.longValue() : Long.MIN_VALUE;
+    }
+
+    private static Long parseTimestamp(String table, String column, String text) {
+        String value = text.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ignored) {
+            // 不是数字，按文本时间解析
+        }
+        try {
+            return TimeProvider.toEpochMillis(LocalDateTime.parse(value, LEGACY_TIMESTAMP));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("备份中的时间值无法识别: " + table + "." + column + " = " + text, e);
+        }
+    }
+
+    private Object fromJson(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return null;
+        }
+        JsonPrimitive primitive = value.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            String text = primitive.getAsString();
+            return text.contains(".") || text.contains("e") || text.contains("E")
+                    ? (Object) primitive.getAsDouble()
+                    : (Object) primitive.getAsLong();
+        }
+        return primitive.getAsString();
+    }
+
+    /**
+     * 在一个写事务中清空数据表并写入备份数据（仅写入当前表结构中存在的列）
+     */
+    private int restoreRows(Connection conn, Map<String, List<Map<String, Object>>> rows) throws SQLException {
+        List<String> reversed = new ArrayList<>(TABLES);
+        Collections.reverse(reversed);
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : reversed) {
+                stmt.executeUpdate("DELETE FROM " + table);
+            }
+        }
+
+        int restored = 0;
+        for (String table : TABLES) {
+            List<Map<String, Object>> tableRows = rows.getOrDefault(table, List.of());
+            if (tableRows.isEmpty()) {
+                continue;
+            }
+
+            Set<String> liveColumns = new LinkedHashSet<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+                ResultSetMetaData meta = rs.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    liveColumns.add(meta.getColumnLabel(i).toLowerCase(Locale.ROOT));
+                }
+            }
+            // 导出文件省略值为 NULL 的列，因此取全部行的列名并集
+            Set<String> backupColumns = new LinkedHashSet<>();
+            tableRows.forEach(row -> backupColumns.addAll(row.keySet()));
+            liveColumns.retainAll(backupColumns);
+            List<String> columns = new ArrayList<>(liveColumns);
+
+            String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Map<String, Object> row : tableRows) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        stmt.setObject(i + 1, row.get(columns.get(i)));
+                    }
+                    stmt.addBatch();
+                }
+                for (int count : stmt.executeBatch()) {
+                    restored += Math.max(count, 0);
+                }
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * H2 的自增列不会随显式写入的 id 前移，需要在数据事务提交后手动重置。
+     * 此时数据已经恢复，重置失败只记录错误，不影响恢复结果
+     */
+    private void resetIdentities(Map<String, List<Map<String, Object>>> rows) {
+        if (databaseManager.getDatabaseType() != DatabaseManager.DatabaseType.H2) {
+            return;
+        }
+
+        Map<String, Long> maxIds = new HashMap<>();
+        rows.forEach((table, tableRows) -> tableRows.forEach(row -> {
+            if (row.get("id") instanceof Number id) {
+                maxIds.merge(table, id.longValue(), Math::max);
+            }
+        }));
+        try (Connection conn = databaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                Long maxId = maxIds.get(table);
+                if (maxId != null) {
+                    stmt.executeUpdate("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+                }
+            }
+        } catch (SQLException e) {
+            LogService.error("恢复备份后重置自增序列失败: ", e);
+        }
+    }
+
+    /**
+     * 恢复后重新加载内存中的缓存，使其与恢复后的数据一致
+     */
+    private void reloadCaches() {
+        GuildService guildService = plugin.getGuildService();
+        if (guildService != null) {
+            guildService.invalidateReads();
+        }
+        GuildRankService rankService = plugin.getGuildRankService();
+        if (rankService != null) {
+            rankService.invalidateAll();
+        }
+        PendingInvitationCache invitationCache = plugin.getPendingInvitationCache();
+        if (invitationCache != null) {
+            invitationCache.reload();
+        }
+        ApplicationInboxService inboxService = plugin.getApplicationInboxService();
+        if (inboxService != null) {
+            inboxService.reload();
+        }
+        GuildExpiryService expiryService = plugin.getGuildExpiryService();
+        if (expiryService != null) {
+            expiryService.reload();
+        }
+        // 职级缓存清空后再重建权限索引
+        PermissionManager permissionManager = plugin.getPermissionManager();
+        if (permissionManager != null) {
+            permissionManager.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.guild.core.database;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 结果集列结构 - 一次性解析列名到列索引的映射，缺失的列索引为 0
+ */
+public final class ColumnLayout {
+
+    private final Map<String, Integer> indexes;
+
+    private ColumnLayout(Map<String, Integer> indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * 从结果集元数据解析列结构（列名统一转为小写，兼容返回大写列名的驱动）
+     */
+    public static ColumnLayout of(ResultSetMetaData meta) throws SQLException {
+        int count = meta.getColumnCount();
+        Map<String, Integer> indexes = new HashMap<>(count * 2);
+        for (int i = 1; i <= count; i++) {
+            indexes.putIfAbsent(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new ColumnLayout(indexes);
+    }
+
+    /**
+     * 获取列索引（从1开始），列不存在时返回 0
+     */
+    public int indexOf(String column) {
+        return indexes.getOrDefault(column, 0);
+    }
+}
@@ -1,16 +1,28 @@
 package com.guild.core.database;
 
 import com.guild.GuildPlugin;
+import com.guild.core.performance.MetricsRegistry;
+import com.guild.core.performance.OperationTimer;
 import com.guild.util.LogService;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 数据库管理器 - 管理数据库连接和操作
@@ -20,6 +32,17 @@ public class DatabaseManager {
     private final GuildPlugin plugin;
     private HikariDataSource dataSource;
     private DatabaseType databaseType;
+    // SQLite 单写线程队列（未启用或使用MySQL时为 null）
+    private SqliteWriteQueue writeQueue;
+    // 慢查询日志：代理连接以记录超过阈值的语句（初始化前为 null，不代理）
+    private SlowQueryLog slowQueryLog;
+    // MySQL 只读副本连接池（未配置时为 null）
+    private HikariDataSource replicaDataSource;
+    // 副本不可用时暂停使用副本的截止时间（System.nanoTime）
+    private volatile long replicaRetryAt;
+    private long replicaRetryIntervalNanos;
+    // 连接池写事务中登记的提交后回调
+    private final ThreadLocal<List<Runnable>> pendingAfterCommit = new ThreadLocal<>();
 
     public DatabaseManager(GuildPlugin plugin) {
         this.plugin = plugin;
@@ -29,13 +52,22 @@ public class DatabaseManager {
      * 初始化数据库连接
      */
     public void initialize() {
-        FileConfiguration config = plugin.getConfigManager().getDatabaseConfig();
+        initialize(plugin.getConfigManager().getDatabaseConfig());
+    }
+
+    /**
+     * 使用指定配置初始化数据库连接（便于脱离服务器配置文件独立启动）
+     */
+    public void initialize(FileConfiguration config) {
         // 兼容两种结构：root 与 database. 前缀
         String type = config.getString("type", config.getString("database.type", "sqlite")).toLowerCase();
+        slowQueryLog = new SlowQueryLog(plugin, config, this);
 
         try {
             if ("mysql".equals(type)) {
                 initializeMySQL(config);
+            } else if ("h2".equals(type)) {
+                initializeH2(config);
             } else {
                 initializeSQLite(config);
             }
@@ -75,6 +107,41 @@ public class DatabaseManager {
         hikariConfig.setMaxLifetime(config.getLong("mysql.max-lifetime", config.getLong("database.mysql.max-lifetime", 1800000)));
 
         dataSource = new HikariDataSource(hikariConfig);
+
+        if (config.getBoolean("mysql.replica.enabled", false)) {
+            initializeMySQLReplica(config, database, params);
+        }
+    }
+
+    /**
+     * 初始化MySQL只读副本连接池（未配置的项沿用主库配置），副本不可用时不影响启动
+     */
+    private void initializeMySQLReplica(FileConfiguration config, String primaryDatabase, String params) {
+        HikariConfig replicaConfig = new HikariConfig();
+        String host = config.getString("mysql.replica.host", "localhost");
+        int port = config.getInt("mysql.replica.port", 3306);
+        String database = config.getString("mysql.replica.database", primaryDatabase);
+        replicaConfig.setJdbcUrl("jdbc:mysql://" + host + ":" + port + "/" + database + params);
+        replicaConfig.setPoolName("Guild-Replica");
+        replicaConfig.setReadOnly(true);
+
+        replicaConfig.setUsername(config.getString("mysql.replica.username", config.getString("mysql.username", "root")));
+        replicaConfig.setPassword(config.getString("mysql.replica.password", config.getString("mysql.password", "")));
+        replicaConfig.setMaximumPoolSize(config.getInt("mysql.replica.pool-size", config.getInt("mysql.pool-size", 10)));
+        replicaConfig.setMinimumIdle(config.getInt("mysql.replica.min-idle", config.getInt("mysql.min-idle", 5)));
+        replicaConfig.setConnectionTimeout(config.getLong("mysql.replica.connection-timeout", 5000));
+        replicaConfig.setIdleTimeout(config.getLong("mysql.idle-timeout", 600000));
+        replicaConfig.setMaxLifetime(config.getLong("mysql.max-lifetime", 1800000));
+        // 启动时连不上副本也不阻止插件启动，读取会回退到主库
+        replicaConfig.setInitializationFailTimeout(-1);
+        replicaRetryIntervalNanos = TimeUnit.SECONDS.toNanos(config.getLong("mysql.replica.retry-interval-seconds", 30));
+
+        try {
+            replicaDataSource = new HikariDataSource(replicaConfig);
+            LogService.info("MySQL只读副本已启用: " + host + ":" + port + "/" + database);
+        } catch (Exception e) {
+            LogService.error("初始化MySQL只读副本失败，读取将使用主库: ", e);
+        }
     }
 
     /**
@@ -118,6 +185,73 @@ public class DatabaseManager {
         hikariConfig.setConnectionInitSql(initSql.toString());
 
         dataSource = new HikariDataSource(hikariConfig);
+
+        // 写操作经由单一连接串行执行并按批提交，避免多个连接争抢写锁
+        if (config.getBoolean("sqlite.write-queue.enabled", true)) {
+            String jdbcUrl = "jdbc:sqlite:" + dbPath;
+            String pragmas = initSql.toString();
+            int maxBatchSize = config.getInt("sqlite.write-queue.max-batch-size", 64);
+            long maxBatchDelayMs = config.getLong("sqlite.write-queue.max-batch-delay-ms", 5);
+            writeQueue = new SqliteWriteQueue(() -> wrap(openSQLiteConnection(jdbcUrl, pragmas)), maxBatchSize, maxBatchDelayMs);
+            writeQueue.start();
+        }
+    }
+
+    /**
+     * 初始化H2嵌入式连接（内存或文件模式），用于基准测试与集成测试
+     */
+    private void initializeH2(FileConfiguration config) {
+        databaseType = DatabaseType.H2;
+
+        try {
+            Class.forName("org.h2.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("未找到H2驱动(org.h2.Driver)，请将 h2 加入类路径后再使用 h2 数据库类型", e);
+        }
+
+        String mode = config.getString("h2.mode", "memory");
+        String jdbcUrl;
+        if ("file".equalsIgnoreCase(mode)) {
+            String fileName = config.getString("h2.file", "guild-h2");
+            jdbcUrl = "jdbc:h2:file:" + new java.io.File(plugin.getDataFolder(), fileName).getAbsolutePath();
+        } else {
+            // 内存库在最后一个连接关闭前一直保留
+            jdbcUrl = "jdbc:h2:mem:" + config.getString("h2.name", "guild") + ";DB_CLOSE_DELAY=-1";
+        }
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(jdbcUrl);
+        hikariConfig.setDriverClassName("org.h2.Driver");
+        hikariConfig.setPoolName("Guild-H2");
+        int maxPool = config.getInt("h2.pool-size", 10);
+        hikariConfig.setMaximumPoolSize(Math.max(1, maxPool));
+        long connTimeout = config.getLong("connection-pool.connection-timeout", 10000);
+        hikariConfig.setConnectionTimeout(connTimeout);
+
+        dataSource = new HikariDataSource(hikariConfig);
+        LogService.info("H2数据库已启用: " + jdbcUrl);
+    }
+
+    /**
+     * 按慢查询日志配置包装连接
+     */
+    private Connection wrap(Connection connection) {
+        return slowQueryLog != null ? slowQueryLog.wrap(connection) : connection;
+    }
+
+    /**
+     * 打开SQLite专用写连接并应用与连接池相同的PRAGMA设置
+     */
+    private Connection openSQLiteConnection(String jdbcUrl, String pragmas) throws SQLException {
+        Connection conn = DriverManager.getConnection(jdbcUrl);
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : pragmas.split(";")) {
+                if (!pragma.isBlank()) {
+                    stmt.execute(pragma);
+                }
+            }
+        }
+        return conn;
     }
 
     /**
@@ -126,10 +260,21 @@ public class DatabaseManager {
     private void createTables() {
         if (databaseType == DatabaseType.SQLITE) {
             createSQLiteTables();
+        } else if (databaseType == DatabaseType.H2) {
+            // H2 建表语句已包含全部列，无需补列
+            createH2Tables();
+            createIndexes();
+            LogService.info("数据表创建完成");
+            return;
         } else {
             createMySQLTables();
         }
 
+        // 时间列迁移需在服务读写前完成，因此同步执行
+        migrateTimestampColumns();
+        // 唯一索引决定 upsert 的行为，同样需在服务读写前建好
+        createIndexes();
+
         // 异步检查并添加缺失的列，避免阻塞启动
         CompletableFuture.runAsync(() -> {
             try {
@@ -162,8 +307,8 @@ public class DatabaseManager {
                         home_z REAL,
                         home_yaw REAL,
                         home_pitch REAL,
-                        created_at TEXT DEFAULT (datetime('now','localtime')),
-                        updated_at TEXT DEFAULT (datetime('now','localtime'))
+                        created_at INTEGER,
+                        updated_at INTEGER
                     )
                 """);
 
@@ -175,7 +320,8 @@ public class DatabaseManager {
                         player_uuid TEXT NOT NULL,
                         player_name TEXT NOT NULL,
                         role TEXT DEFAULT 'MEMBER',
-                        joined_at TEXT DEFAULT (datetime('now','localtime')),
+                        rank_id INTEGER,
+                        joined_at INTEGER,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE,
                         UNIQUE(guild_id, player_uuid)
                     )
@@ -190,7 +336,7 @@ public class DatabaseManager {
                         player_name TEXT NOT NULL,
                         message TEXT,
                         status TEXT DEFAULT 'PENDING',
-                        created_at TEXT DEFAULT (datetime('now','localtime')),
+                        created_at INTEGER,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -205,8 +351,8 @@ public class DatabaseManager {
                         inviter_uuid TEXT NOT NULL,
                         inviter_name TEXT NOT NULL,
                         status TEXT DEFAULT 'PENDING',
-                        expires_at TEXT,
-                        created_at TEXT DEFAULT (datetime('now','localtime')),
+                        expires_at INTEGER,
+                        created_at INTEGER,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -223,9 +369,9 @@ public class DatabaseManager {
                         status TEXT DEFAULT 'PENDING',
                         initiator_uuid TEXT NOT NULL,
                         initiator_name TEXT NOT NULL,
-                        created_at TEXT DEFAULT (datetime('now','localtime')),
-                        updated_at TEXT DEFAULT (datetime('now','localtime')),
-                        expires_at TEXT,
+                        created_at INTEGER,
+                        updated_at INTEGER,
+                        expires_at INTEGER,
                         FOREIGN KEY (guild1_id) REFERENCES guilds(id) ON DELETE CASCADE,
                         FOREIGN KEY (guild2_id) REFERENCES guilds(id) ON DELETE CASCADE,
                         UNIQUE(guild1_id, guild2_id)
@@ -242,7 +388,7 @@ public class DatabaseManager {
                         experience REAL DEFAULT 0.0,
                         max_experience REAL DEFAULT 5000.0,
                         max_members INTEGER DEFAULT 6,
-                        last_updated TEXT DEFAULT (datetime('now','localtime')),
+                        last_updated INTEGER,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -257,7 +403,7 @@ public class DatabaseManager {
                         amount REAL NOT NULL,
                         contribution_type TEXT NOT NULL,
                         description TEXT,
-                        created_at TEXT DEFAULT (datetime('now','localtime')),
+                        created_at INTEGER,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -273,10 +419,24 @@ public class DatabaseManager {
                         log_type TEXT NOT NULL,
                         description TEXT NOT NULL,
                         details TEXT,
-                        created_at TEXT DEFAULT (datetime('now','localtime')),
+                        created_at INTEGER,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
+
+        // 工会职级表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_ranks (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        guild_id INTEGER NOT NULL,
+                        name TEXT NOT NULL,
+                        priority INTEGER DEFAULT 0,
+                        permissions INTEGER DEFAULT 0,
+                        created_at INTEGER,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE,
+                        UNIQUE(guild_id, name)
+                    )
+                """);
     }
 
     /**
@@ -298,8 +458,8 @@ public class DatabaseManager {
                         home_z DOUBLE,
                         home_yaw FLOAT,
                         home_pitch FLOAT,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+                        created_at BIGINT,
+                        updated_at BIGINT
                     )
                 """);
 
@@ -311,7 +471,8 @@ public class DatabaseManager {
                         player_uuid VARCHAR(36) NOT NULL,
                         player_name VARCHAR(16) NOT NULL,
                         role VARCHAR(20) DEFAULT 'MEMBER',
-                        joined_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        rank_id INT,
+                        joined_at BIGINT,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE,
                         UNIQUE KEY unique_guild_player (guild_id, player_uuid)
                     )
@@ -326,7 +487,7 @@ public class DatabaseManager {
                         player_name VARCHAR(16) NOT NULL,
                         message TEXT,
                         status VARCHAR(20) DEFAULT 'PENDING',
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        created_at BIGINT,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -341,8 +502,8 @@ public class DatabaseManager {
                         inviter_uuid VARCHAR(36) NOT NULL,
                         inviter_name VARCHAR(16) NOT NULL,
                         status VARCHAR(20) DEFAULT 'PENDING',
-                        expires_at TIMESTAMP NULL,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        expires_at BIGINT NULL,
+                        created_at BIGINT,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -359,9 +520,9 @@ public class DatabaseManager {
                         status VARCHAR(20) DEFAULT 'PENDING',
                         initiator_uuid VARCHAR(36) NOT NULL,
                         initiator_name VARCHAR(16) NOT NULL,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                        expires_at TIMESTAMP NULL,
+                        created_at BIGINT,
+                        updated_at BIGINT,
+                        expires_at BIGINT NULL,
                         FOREIGN KEY (guild1_id) REFERENCES guilds(id) ON DELETE CASCADE,
                         FOREIGN KEY (guild2_id) REFERENCES guilds(id) ON DELETE CASCADE,
                         UNIQUE KEY unique_guild_relation (guild1_id, guild2_id)
@@ -378,7 +539,7 @@ public class DatabaseManager {
                         experience DOUBLE DEFAULT 0.0,
                         max_experience DOUBLE DEFAULT 5000.0,
                         max_members INT DEFAULT 6,
-                        last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        last_updated BIGINT,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -393,7 +554,7 @@ public class DatabaseManager {
                         amount DOUBLE NOT NULL,
                         contribution_type VARCHAR(20) NOT NULL,
                         description TEXT,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        created_at BIGINT,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
@@ -409,10 +570,179 @@ public class DatabaseManager {
                         log_type VARCHAR(50) NOT NULL,
                         description TEXT NOT NULL,
                         details TEXT,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        created_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
+                    )
+                """);
+
+        // 工会职级表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_ranks (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        name VARCHAR(32) NOT NULL,
+                        priority INT DEFAULT 0,
+                        permissions BIGINT DEFAULT 0,
+                        created_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE,
+                        UNIQUE KEY unique_guild_rank (guild_id, name)
+                    )
+                """);
+    }
+
+    /**
+     * 创建H2数据表（一次性包含全部列）
+     */
+    private void createH2Tables() {
+        // 工会表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guilds (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(50) UNIQUE NOT NULL,
+                        tag VARCHAR(10) UNIQUE,
+                        description VARCHAR(1024),
+                        leader_uuid VARCHAR(36) NOT NULL,
+                        leader_name VARCHAR(16) NOT NULL,
+                        home_world VARCHAR(100),
+                        home_x DOUBLE,
+                        home_y DOUBLE,
+                        home_z DOUBLE,
+                        home_yaw FLOAT,
+                        home_pitch FLOAT,
+                        balance DOUBLE DEFAULT 0.0,
+                        level INT DEFAULT 1,
+                        max_members INT DEFAULT 6,
+                        frozen BOOLEAN DEFAULT FALSE,
+                        created_at BIGINT,
+                        updated_at BIGINT
+                    )
+                """);
+
+        // 工会成员表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_members (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        player_uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(16) NOT NULL,
+                        role VARCHAR(20) DEFAULT 'MEMBER',
+                        rank_id INT,
+                        joined_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE,
+                        UNIQUE (guild_id, player_uuid)
+                    )
+                """);
+
+        // 工会申请表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_applications (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        player_uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(16) NOT NULL,
+                        message VARCHAR(1024),
+                        status VARCHAR(20) DEFAULT 'PENDING',
+                        created_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
+                    )
+                """);
+
+        // 工会邀请表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_invites (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        player_uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(16) NOT NULL,
+                        inviter_uuid VARCHAR(36) NOT NULL,
+                        inviter_name VARCHAR(16) NOT NULL,
+                        status VARCHAR(20) DEFAULT 'PENDING',
+                        expires_at BIGINT NULL,
+                        created_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
+                    )
+                """);
+
+        // 工会关系表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_relations (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild1_id INT NOT NULL,
+                        guild2_id INT NOT NULL,
+                        guild1_name VARCHAR(50) NOT NULL,
+                        guild2_name VARCHAR(50) NOT NULL,
+                        relation_type VARCHAR(20) NOT NULL,
+                        status VARCHAR(20) DEFAULT 'PENDING',
+                        initiator_uuid VARCHAR(36) NOT NULL,
+                        initiator_name VARCHAR(16) NOT NULL,
+                        created_at BIGINT,
+                        updated_at BIGINT,
+                        expires_at BIGINT NULL,
+                        FOREIGN KEY (guild1_id) REFERENCES guilds(id) ON DELETE CASCADE,
+                        FOREIGN KEY (guild2_id) REFERENCES guilds(id) ON DELETE CASCADE,
+                        UNIQUE (guild1_id, guild2_id)
+                    )
+                """);
+
+        // 工会经济表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_economy (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL UNIQUE,
+                        balance DOUBLE DEFAULT 0.0,
+                        level INT DEFAULT 1,
+                        experience DOUBLE DEFAULT 0.0,
+                        max_experience DOUBLE DEFAULT 5000.0,
+                        max_members INT DEFAULT 6,
+                        last_updated BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
+                    )
+                """);
+
+        // 工会贡献记录表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_contributions (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        player_uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(16) NOT NULL,
+                        amount DOUBLE NOT NULL,
+                        contribution_type VARCHAR(20) NOT NULL,
+                        description VARCHAR(1024),
+                        created_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
+                    )
+                """);
+
+        // 工会日志表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_logs (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        guild_name VARCHAR(50) NOT NULL,
+                        player_uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(16) NOT NULL,
+                        log_type VARCHAR(50) NOT NULL,
+                        description VARCHAR(1024) NOT NULL,
+                        details VARCHAR(4096),
+                        created_at BIGINT,
                         FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE
                     )
                 """);
+
+        // 工会职级表
+        executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS guild_ranks (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        guild_id INT NOT NULL,
+                        name VARCHAR(32) NOT NULL,
+                        priority INT DEFAULT 0,
+                        permissions BIGINT DEFAULT 0,
+                        created_at BIGINT,
+                        FOREIGN KEY (guild_id) REFERENCES guilds(id) ON DELETE CASCADE,
+                        UNIQUE (guild_id, name)
+                    )
+                """);
     }
 
     /**
@@ -422,7 +752,44 @@ public class DatabaseManager {
         if (dataSource == null) {
             throw new SQLException("数据库连接未初始化");
         }
-        return dataSource.getConnection();
+        return acquire(dataSource);
+    }
+
+    /**
+     * 从连接池取连接，并为当前线程正在执行的操作记录取连接耗时
+     */
+    private Connection acquire(HikariDataSource source) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return wrap(source.getConnection());
+        } finally {
+            OperationTimer.recordAcquire(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 获取只读连接：配置了副本且副本健康时使用副本，否则回退到主库。
+     * 仅用于可容忍复制延迟的读取，写后立即读取的路径应使用 {@link #getConnection()}
+     */
+    public Connection getReadConnection() throws SQLException {
+        HikariDataSource replica = replicaDataSource;
+        if (replica != null && System.nanoTime() >= replicaRetryAt) {
+            try {
+                return acquire(replica);
+            } catch (SQLException e) {
+                replicaRetryAt = System.nanoTime() + replicaRetryIntervalNanos;
+                LogService.warning("只读副本不可用，" + TimeUnit.NANOSECONDS.toSeconds(replicaRetryIntervalNanos)
+                        + " 秒内读取回退到主库: " + e.getMessage());
+            }
+        }
+        return getConnection();
+    }
+
+    /**
+     * 只读副本当前是否可用
+     */
+    public boolean isReplicaActive() {
+        return replicaDataSource != null && System.nanoTime() >= replicaRetryAt;
     }
 
     /**
@@ -448,7 +815,109 @@ public class DatabaseManager {
      * 异步执行更新操作
      */
     public CompletableFuture<Integer> executeUpdateAsync(String sql, Object... params) {
-        return CompletableFuture.supplyAsync(() -> executeUpdate(sql, params));
+        return executeWriteAsync(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                return stmt.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * 异步执行写操作：SQLite 下进入单写线程队列按批提交，
+     * 其它数据库在连接池连接上以独立事务执行；返回的 Future 在事务提交后完成
+     */
+    public <T> CompletableFuture<T> executeWriteAsync(SqlWork<T> work) {
+        return executeWriteAsync(null, work);
+    }
+
+    /**
+     * 异步执行写操作，并按操作名记录排队、取连接、执行耗时与错误次数
+     */
+    public <T> CompletableFuture<T> executeWriteAsync(String operation, SqlWork<T> work) {
+        OperationTimer timer = startTimer(operation);
+        if (writeQueue != null) {
+            // 写线程持有唯一连接，没有取连接耗时
+            return writeQueue.submit(conn -> {
+                timer.enter();
+                boolean thrown = true;
+                try {
+                    T result = work.execute(conn);
+                    thrown = false;
+                    return result;
+                } finally {
+                    timer.exit(thrown);
+                }
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            List<Runnable> actions = new ArrayList<>();
+            T result;
+            timer.enter();
+            boolean thrown = true;
+            try (Connection conn = getConnection()) {
+                conn.setAutoCommit(false);
+                pendingAfterCommit.set(actions);
+                try {
+                    result = work.execute(conn);
+                    conn.commit();
+                    thrown = false;
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    pendingAfterCommit.remove();
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            } finally {
+                timer.exit(thrown);
+            }
+            actions.forEach(Runnable::run);
+            return result;
+        });
+    }
+
+    /**
+     * 异步执行读操作，并按操作名记录排队、取连接、执行耗时与错误次数
+     */
+    public <T> CompletableFuture<T> supplyAsync(String operation, Supplier<T> task) {
+        OperationTimer timer = startTimer(operation);
+        return CompletableFuture.supplyAsync(() -> {
+            timer.enter();
+            boolean thrown = true;
+            try {
+                T result = task.get();
+                thrown = false;
+                return result;
+            } finally {
+                timer.exit(thrown);
+            }
+        });
+    }
+
+    private OperationTimer startTimer(String operation) {
+        MetricsRegistry metrics = plugin.getMetricsRegistry();
+        return metrics != null ? metrics.startTimer(operation) : OperationTimer.disabled();
+    }
+
+    /**
+     * 在当前写事务提交后执行回调（事件发布、缓存失效等），不在写事务中时立即执行
+     */
+    public void afterCommit(Runnable action) {
+        if (writeQueue != null) {
+            writeQueue.afterCommit(action);
+            return;
+        }
+        List<Runnable> actions = pendingAfterCommit.get();
+        if (actions != null) {
+            actions.add(action);
+        } else {
+            action.run();
+        }
     }
 
     /**
@@ -475,10 +944,27 @@ public class DatabaseManager {
      * 关闭数据库连接
      */
     public void close() {
+        if (writeQueue != null) {
+            writeQueue.shutdown();
+            writeQueue = null;
+        }
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             LogService.info("数据库连接已关闭");
         }
+        if (slowQueryLog != null) {
+            slowQueryLog.close();
+        }
+    }
+
+    /**
+     * 获取SQLite写队列（未启用时返回 null）
+     */
+    public SqliteWriteQueue getWriteQueue() {
+        return writeQueue;
     }
 
     /**
@@ -489,8 +975,177 @@ public class DatabaseManager {
     }
 
     /**
-     * 数据库类型枚举
+     * 需要以毫秒时间戳存储的时间列（表名, 列名）
+     */
+    private static final String[][] TIMESTAMP_COLUMNS = {
+            {"guilds", "created_at"}, {"guilds", "updated_at"},
+            {"guild_members", "joined_at"},
+            {"guild_applications", "created_at"},
+            {"guild_invites", "created_at"}, {"guild_invites", "expires_at"},
+            {"guild_relations", "created_at"}, {"guild_relations", "updated_at"}, {"guild_relations", "expires_at"},
+            {"guild_economy", "last_updated"},
+            {"guild_contributions", "created_at"},
+            {"guild_logs", "created_at"},
+            {"guild_ranks", "created_at"}
+    };
+
+    /**
+     * 是否为以毫秒时间戳存储的时间列
+     */
+    static boolean isTimestampColumn(String table, String column) {
+        for (String[] timestampColumn : TIMESTAMP_COLUMNS) {
+            if (timestampColumn[0].equals(table) && timestampColumn[1].equals(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将旧版本以文本/TIMESTAMP 存储的时间列迁移为毫秒时间戳（已迁移的列自动跳过）
+     */
+    private void migrateTimestampColumns() {
+        try (Connection conn = getConnection()) {
+            int migrated = 0;
+            for (String[] column : TIMESTAMP_COLUMNS) {
+                if (migrateTimestampColumn(conn, column[0], column[1])) {
+                    migrated++;
+                }
+            }
+            if (migrated > 0) {
+                LogService.info("已将 " + migrated + " 个时间列迁移为毫秒时间戳");
+            }
+        } catch (SQLException e) {
+            LogService.error("迁移时间列时发生错误: ", e);
+            throw new IllegalStateException("时间列迁移失败", e);
+        }
+    }
+
+    /**
+     * 迁移单个时间列：新增整数列并换算旧值，删除旧列后改回原列名。
+     * MySQL 的 DDL 会隐式提交，事务无法保护整个过程，因此每一步都可重复执行，
+     * 中断后根据原列与临时列的现状从断点继续
      */
+    private boolean migrateTimestampColumn(Connection conn, String table, String column) throws SQLException {
+        String tempColumn = column + "_ms";
+        Integer type = getColumnType(conn, table, column);
+        boolean tempExists = getColumnType(conn, table, tempColumn) != null;
+        boolean converted = type == null || type == Types.BIGINT || type == Types.INTEGER;
+        if (converted && !tempExists) {
+            return false;
+        }
+
+        String convert = databaseType == DatabaseType.SQLITE
+                // 旧值为服务器本地时间字符串，'utc' 修饰符将其换算为 UTC
+                ? "CAST(strftime('%s', " + column + ", 'utc') AS INTEGER) * 1000"
+                : "UNIX_TIMESTAMP(" + column + ") * 1000";
+
+        // SQLite 的 DDL 可在事务中回滚，整列迁移一次提交
+        boolean transactional = databaseType == DatabaseType.SQLITE;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(!transactional);
+        try (Statement stmt = conn.createStatement()) {
+            if (type == null) {
+                // 上次迁移在删除旧列后中断，只差改名
+                LogService.info("继续未完成的时间列迁移: " + table + "." + column);
+            } else if (!converted) {
+                if (!tempExists) {
+                    stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + tempColumn
+                            + (databaseType == DatabaseType.SQLITE ? " INTEGER" : " BIGINT NULL"));
+                }
+                // 按旧列整体重算，重复执行结果相同
+                stmt.executeUpdate("UPDATE " + table + " SET " + tempColumn + " = " + convert + " WHERE " + column + " IS NOT NULL");
+                stmt.executeUpdate("ALTER TABLE " + table + " DROP COLUMN " + column);
+            } else {
+                // 原列已是整数列，临时列为残留
+                stmt.executeUpdate("ALTER TABLE " + table + " DROP COLUMN " + tempColumn);
+                if (transactional) {
+                    conn.commit();
+                }
+                return false;
+            }
+            stmt.executeUpdate("ALTER TABLE " + table + " RENAME COLUMN " + tempColumn + " TO " + column);
+            if (transactional) {
+                conn.commit();
+            }
+            LogService.info("时间列迁移完成: " + table + "." + column);
+            return true;
+        } catch (SQLException e) {
+            if (transactional) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * 建表后按需补建的索引
+     */
+    private record IndexDefinition(String name, String table, String columns, boolean unique) {
+    }
+
+    private static final List<IndexDefinition> INDEXES = List.of(
+            // 每个工会对同一玩家只保留一行邀请，再次邀请时原地刷新为待处理
+            new IndexDefinition("uk_guild_invites_target", "guild_invites", "guild_id, player_uuid", true),
+            // 批量操作按工会取最新日志时间（最近活跃时间）
+            new IndexDefinition("idx_guild_logs_guild_time", "guild_logs", "guild_id, created_at", false)
+    );
+
+    /**
+     * 创建缺失的索引。唯一索引创建前先删除旧版本留下的重复行，每组只保留 id 最大的一行
+     */
+    private void createIndexes() {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (IndexDefinition index : INDEXES) {
+                if (indexExists(conn, index.table(), index.name())) {
+                    continue;
+                }
+                if (index.unique()) {
+                    // MySQL 不允许在子查询中直接引用被删除的表，多包一层派生表
+                    int removed = stmt.executeUpdate("DELETE FROM " + index.table() + " WHERE id NOT IN (SELECT id FROM (SELECT MAX(id) AS id FROM "
+                            + index.table() + " GROUP BY " + index.columns() + ") latest)");
+                    if (removed > 0) {
+                        LogService.info("已删除 " + index.table() + " 中 " + removed + " 条重复记录");
+                    }
+                }
+                stmt.executeUpdate("CREATE " + (index.unique() ? "UNIQUE " : "") + "INDEX " + index.name()
+                        + " ON " + index.table() + " (" + index.columns() + ")");
+                LogService.info("已创建索引: " + index.name());
+            }
+        } catch (SQLException e) {
+            LogService.error("创建索引时发生错误: ", e);
+            throw new IllegalStateException("索引创建失败", e);
+        }
+    }
+
+    /**
+     * 索引是否已存在（H2 以大写保存未加引号的标识符）
+     */
+    private boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        String tableName = meta.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, tableName, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取列的 JDBC 类型，列不存在时返回 null
+     */
+    private Integer getColumnType(Connection conn, String table, String column) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            return rs.next() ? rs.getInt("DATA_TYPE") : null;
+        }
+    }
+
     /**
      * 检查并添加缺失的列
      */
@@ -515,7 +1170,7 @@ public class DatabaseManager {
             conn.setAutoCommit(false); // 开启事务以提高性能
 
             // 检查guilds表是否有home相关列
-            try (ResultSet rs = conn.getMetaData().getColumns(null, null, "guilds", "home_world")) {
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "guilds", "home_world")) {
                 if (!rs.next()) {
                     // 添加home相关列
                     try (PreparedStatement stmt = conn.prepareStatement("ALTER TABLE guilds ADD COLUMN home_world TEXT")) {
@@ -541,7 +1196,7 @@ public class DatabaseManager {
             }
 
             // 检查guilds表是否有economy相关列
-            try (ResultSet rs = conn.getMetaData().getColumns(null, null, "guilds", "balance")) {
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "guilds", "balance")) {
                 if (!rs.next()) {
                     // 添加economy相关列
                     try (PreparedStatement stmt = conn.prepareStatement("ALTER TABLE guilds ADD COLUMN balance REAL DEFAULT 0.0")) {
@@ -560,6 +1215,16 @@ public class DatabaseManager {
                 }
             }
 
+            // 检查guild_members表是否有职级列
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "guild_members", "rank_id")) {
+                if (!rs.next()) {
+                    try (PreparedStatement stmt = conn.prepareStatement("ALTER TABLE guild_members ADD COLUMN rank_id INTEGER")) {
+                        stmt.executeUpdate();
+                    }
+                    LogService.info("已为guild_members表添加rank_id列");
+                }
+            }
+
             conn.commit(); // 提交事务
         } catch (SQLException e) {
             LogService.error("检查SQLite列时发生错误: ", e);
@@ -574,7 +1239,7 @@ public class DatabaseManager {
             conn.setAutoCommit(false); // 开启事务以提高性能
 
             // 检查guilds表是否有home相关列
-            try (ResultSet rs = conn.getMetaData().getColumns(null, null, "guilds", "home_world")) {
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "guilds", "home_world")) {
                 if (!rs.next()) {
                     // 添加home相关列
                     try (PreparedStatement stmt = conn.prepareStatement("ALTER TABLE guilds ADD COLUMN home_world VARCHAR(100)")) {
@@ -600,7 +1265,7 @@ public class DatabaseManager {
             }
 
             // 检查guilds表是否有economy相关列
-            try (ResultSet rs = conn.getMetaData().getColumns(null, null, "guilds", "balance")) {
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "guilds", "balance")) {
                 if (!rs.next()) {
                     // 添加economy相关列
                     try (PreparedStatement stmt = conn.prepareStatement("ALTER TABLE guilds ADD COLUMN balance DOUBLE DEFAULT 0.0")) {
@@ -619,13 +1284,26 @@ public class DatabaseManager {
                 }
             }
 
+            // 检查guild_members表是否有职级列
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "guild_members", "rank_id")) {
+                if (!rs.next()) {
+                    try (PreparedStatement stmt = conn.prepareStatement("ALTER TABLE guild_members ADD COLUMN rank_id INT")) {
+                        stmt.executeUpdate();
+                    }
+                    LogService.info("已为guild_members表添加rank_id列");
+                }
+            }
+
             conn.commit(); // 提交事务
         } catch (SQLException e) {
             LogService.error("检查MySQL列时发生错误: ", e);
         }
     }
 
+    /**
+     * 数据库类型枚举
+     */
     public enum DatabaseType {
-        MYSQL, SQLITE
+        MYSQL, SQLITE, H2
     }
 }
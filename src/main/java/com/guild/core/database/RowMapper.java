@@ -0,0 +1,24 @@
+package com.guild.core.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 行映射器 - 将结果集当前行转换为对象
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+
+    /**
+     * 按索引读取毫秒时间戳列，列不存在（索引为0）或为 NULL 时返回 0
+     */
+    static long getMillis(ResultSet rs, int index) throws SQLException {
+        if (index == 0) {
+            return 0;
+        }
+        long millis = rs.getLong(index);
+        return rs.wasNull() ? 0 : millis;
+    }
+}
@@ -0,0 +1,64 @@
+package com.guild.core.database;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 按查询缓存的行映射器 - 每条 SQL 只解析一次列结构，之后逐行按索引读取
+ */
+public final class ShapedRowMapper<T> {
+
+    private final Function<ColumnLayout, RowMapper<T>> binder;
+    // SQL -> 已绑定列索引的映射器
+    private final Map<String, Binding<T>> bound = new ConcurrentHashMap<>();
+
+    /**
+     * @param binder 根据列结构解析所需列索引，并返回按索引读取的映射器
+     */
+    public ShapedRowMapper(Function<ColumnLayout, RowMapper<T>> binder) {
+        this.binder = binder;
+    }
+
+    /**
+     * 获取与查询匹配的映射器。
+     * SELECT * 的列数会在启动后的补列任务完成时变化，列数不同时重新解析列结构
+     */
+    public RowMapper<T> resolve(String sql, ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+        Binding<T> binding = bound.get(sql);
+        if (binding == null || binding.columnCount() != columnCount) {
+            binding = new Binding<>(columnCount, binder.apply(ColumnLayout.of(meta)));
+            bound.put(sql, binding);
+        }
+        return binding.mapper();
+    }
+
+    /**
+     * 映射结果集当前行
+     */
+    public T mapRow(String sql, ResultSet rs) throws SQLException {
+        return resolve(sql, rs).map(rs);
+    }
+
+    /**
+     * 映射结果集剩余全部行（列结构只解析一次）
+     */
+    public List<T> mapAll(String sql, ResultSet rs) throws SQLException {
+        RowMapper<T> mapper = resolve(sql, rs);
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(mapper.map(rs));
+        }
+        return rows;
+    }
+
+    private record Binding<T>(int columnCount, RowMapper<T> mapper) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.guild.core.database;
+
+import com.guild.GuildPlugin;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.util.AsyncFileAppender;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢查询日志 - 代理连接上创建的语句，执行超过阈值时记录 SQL、参数个数、耗时与调用方法；
+ * 可选地为每条不同的慢语句执行一次 EXPLAIN，并写入单独的滚动文件。
+ * 代理会让每次 JDBC 调用多一次反射，默认关闭，仅在排查问题时开启
+ */
+public class SlowQueryLog {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch");
+    private static final Set<String> EXPLAINABLE = Set.of("SELECT", "UPDATE", "DELETE", "INSERT");
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 已输出执行计划的 SQL，每条只分析一次
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    // 执行计划写入器，未启用 EXPLAIN 或创建失败时为 null
+    private final AsyncFileAppender planAppender;
+
+    public SlowQueryLog(GuildPlugin plugin, FileConfiguration config, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.enabled = config.getBoolean("slow-query.enabled", false);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getLong("slow-query.threshold-ms", 200)));
+        this.planAppender = enabled && config.getBoolean("slow-query.explain.enabled", false) ? createPlanAppender(config) : null;
+    }
+
+    private AsyncFileAppender createPlanAppender(FileConfiguration config) {
+        File planFile = new File(plugin.getDataFolder(), config.getString("slow-query.explain.file", "logs/slow-query-plans.log"));
+        long maxFileBytes = Math.max(16, config.getLong("slow-query.explain.max-file-size-kb", 1024)) * 1024;
+        // 配置的历史文件数不含当前文件
+        int maxFiles = Math.max(1, config.getInt("slow-query.explain.max-files", 3)) + 1;
+        try {
+            return new AsyncFileAppender(planFile.toPath(), maxFileBytes, maxFiles, 256);
+        } catch (IOException e) {
+            LogService.warning("无法创建慢查询执行计划文件，已禁用 EXPLAIN: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 关闭执行计划写入器，写完缓冲区中的剩余内容
+     */
+    public void close() {
+        if (planAppender != null) {
+            planAppender.close();
+        }
+    }
+
+    /**
+     * 包装连接（未启用时原样返回）
+     */
+    public Connection wrap(Connection connection) {
+        if (!enabled || connection == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 记录慢语句；首次出现时按配置在异步线程中获取执行计划，不占用发起查询的线程（如 SQLite 写线程）
+     */
+    private void report(String sql, Map<Integer, Object> parameters, long elapsedNanos) {
+        String caller = resolveCaller();
+        LogService.warning(String.format("慢查询 %.2fms (参数 %d 个, 调用方 %s): %s",
+                elapsedNanos / 1_000_000.0, parameters.size(), caller, sql));
+
+        AsyncFileAppender appender = planAppender;
+        if (appender != null && explained.add(sql) && isExplainable(sql)) {
+            Map<Integer, Object> boundParameters = new TreeMap<>(parameters);
+            CompatibleScheduler.runTaskAsync(plugin, () -> {
+                try {
+                    String plan = explain(sql, boundParameters);
+                    appender.append("PLAN", String.format("%s %.2fms %s%n%s%n%s",
+                            databaseManager.getDatabaseType(), elapsedNanos / 1_000_000.0, caller, sql, plan), null);
+                } catch (SQLException e) {
+                    LogService.warning("获取慢查询执行计划失败: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    private boolean isExplainable(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return EXPLAINABLE.contains(trimmed.substring(0, end).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * 在读连接上以相同参数执行 EXPLAIN，返回文本形式的计划
+     */
+    private String explain(String sql, Map<Integer, Object> parameters) throws SQLException {
+        String prefix = databaseManager.getDatabaseType() == DatabaseManager.DatabaseType.SQLITE ? "EXPLAIN QUERY PLAN " : "EXPLAIN ";
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = databaseManager.getReadConnection();
+             PreparedStatement stmt = connection.prepareStatement(prefix + sql)) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                stmt.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        if (i > 1) {
+                            plan.append(" | ");
+                        }
+                        plan.append(meta.getColumnLabel(i)).append('=').append(rs.getObject(i));
+                    }
+                    plan.append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * 定位发起查询的插件方法（跳过 JDBC、连接池、代理及本类的栈帧）
+     */
+    private String resolveCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> {
+                    String className = frame.getClassName();
+                    return className.startsWith(GuildPlugin.class.getPackageName())
+                            && !className.startsWith(SlowQueryLog.class.getName())
+                            && !className.contains(".hikari.");
+                })
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                    return simpleName + "#" + cleanMethodName(frame.getMethodName()) + ":" + frame.getLineNumber();
+                })
+                .orElse("未知"));
+    }
+
+    /**
+     * lambda$getGuildByIdAsync$12 -> getGuildByIdAsync
+     */
+    private static String cleanMethodName(String methodName) {
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', 7);
+            return end > 7 ? methodName.substring(7, end) : methodName.substring(7);
+        }
+        return methodName;
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryLog.invoke(connection, method, args);
+            Class<?> type = method.getReturnType();
+            // 仅代理 Statement 与 PreparedStatement，CallableStatement 原样返回
+            if (result instanceof Statement statement && (type == Statement.class || type == PreparedStatement.class)) {
+                String sql = type == PreparedStatement.class && args != null && args[0] instanceof String text ? text : null;
+                return Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        // 最近一次绑定的参数（按参数序号）
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+
+            if (!EXECUTE_METHODS.contains(name)) {
+                return SlowQueryLog.invoke(statement, method, args);
+            }
+
+            long start = System.nanoTime();
+            try {
+                return SlowQueryLog.invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                if (elapsed >= thresholdNanos && sql != null) {
+                    report(sql, parameters, elapsed);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.guild.core.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 在给定连接上执行的数据库操作（连接由调用方管理，操作内不得关闭连接或提交事务）
+ */
+@FunctionalInterface
+public interface SqlWork<T> {
+
+    T execute(Connection conn) throws SQLException;
+}
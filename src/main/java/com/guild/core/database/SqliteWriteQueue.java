@@ -0,0 +1,272 @@
+package com.guild.core.database;
+
+import com.guild.util.LogService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQLite 单写线程队列 - 所有写操作经由一个专用连接串行执行，
+ * 并将队列中累积的操作（最多 maxBatchSize 条或等待 maxBatchDelayMs 毫秒）合并到一个事务中提交
+ */
+public class SqliteWriteQueue {
+
+    private final ConnectionFactory connectionFactory;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final BlockingQueue<WriteTask<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    // 当前批次中登记的提交后回调（仅写线程访问）
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+
+    private final LongAdder committedBatches = new LongAdder();
+    private final LongAdder committedTasks = new LongAdder();
+    private final LongAdder failedTasks = new LongAdder();
+
+    // 提交与关闭共用的锁：关闭后不会再有任务进入队列
+    private final Object submitLock = new Object();
+    private volatile boolean running = true;
+    private Connection connection;
+
+    public SqliteWriteQueue(ConnectionFactory connectionFactory, int maxBatchSize, long maxBatchDelayMs) {
+        this.connectionFactory = connectionFactory;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxBatchDelayMs));
+        this.writerThread = new Thread(this::runLoop, "Guild-SQLite-Writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    /**
+     * 启动写线程
+     */
+    public void start() {
+        writerThread.start();
+        LogService.info("SQLite 写队列已启动 (批大小 " + maxBatchSize + ", 最长等待 "
+                + TimeUnit.NANOSECONDS.toMillis(maxBatchDelayNanos) + "ms)");
+    }
+
+    /**
+     * 提交写操作，所在批次提交成功后完成返回的 Future
+     */
+    public <T> CompletableFuture<T> submit(SqlWork<T> work) {
+        // 写线程内嵌套提交的操作直接并入当前批次执行，避免自我等待
+        if (Thread.currentThread() == writerThread) {
+            try {
+                return CompletableFuture.completedFuture(work.execute(connection));
+            } catch (SQLException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        WriteTask<T> task = new WriteTask<>(work);
+        synchronized (submitLock) {
+            if (running) {
+                queue.add(task);
+                return task.future;
+            }
+        }
+        task.future.completeExceptionally(new RejectedExecutionException("SQLite 写队列已关闭"));
+        return task.future;
+    }
+
+    /**
+     * 在当前批次提交后执行回调；不在写线程内调用时立即执行
+     */
+    public void afterCommit(Runnable action) {
+        if (Thread.currentThread() == writerThread) {
+            afterCommitActions.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private void runLoop() {
+        List<WriteTask<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                WriteTask<?> first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                executeBatch(batch);
+            } catch (InterruptedException e) {
+                // 关闭时中断等待，继续处理剩余任务
+            } catch (Throwable t) {
+                LogService.error("SQLite 写队列处理批次时发生错误: ", t);
+                batch.forEach(task -> task.future.completeExceptionally(t));
+            } finally {
+                batch.clear();
+                afterCommitActions.clear();
+            }
+        }
+        // 兜底：写线程退出后仍留在队列中的任务直接失败，避免调用方永久等待
+        WriteTask<?> remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.future.completeExceptionally(new RejectedExecutionException("SQLite 写队列已关闭"));
+        }
+        closeConnection();
+    }
+
+    /**
+     * 在最长等待时间内继续收集任务，直到达到批大小
+     */
+    private void collectBatch(List<WriteTask<?>> batch) {
+        long deadline = System.nanoTime() + maxBatchDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            WriteTask<?> next;
+            try {
+                next = remaining > 0 && running ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            } catch (InterruptedException e) {
+                // 关闭时不再等待，立即提交已收集的任务
+                next = queue.poll();
+            }
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void executeBatch(List<WriteTask<?>> batch) throws SQLException {
+        Connection conn = ensureConnection();
+        conn.setAutoCommit(false);
+        List<Object> results = new ArrayList<>(batch.size());
+        List<Throwable> errors = new ArrayList<>(batch.size());
+        try {
+            for (WriteTask<?> task : batch) {
+                // 每个操作使用独立保存点，单个失败不影响同批次其它操作
+                Savepoint savepoint = conn.setSavepoint();
+                int pendingActions = afterCommitActions.size();
+                try {
+                    results.add(task.work.execute(conn));
+                    errors.add(null);
+                    conn.releaseSavepoint(savepoint);
+                } catch (Exception e) {
+                    conn.rollback(savepoint);
+                    afterCommitActions.subList(pendingActions, afterCommitActions.size()).clear();
+                    results.add(null);
+                    errors.add(e);
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+
+        committedBatches.increment();
+        for (Runnable action : afterCommitActions) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                LogService.error("执行提交后回调时发生错误: ", e);
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (errors.get(i) != null) {
+                failedTasks.increment();
+                batch.get(i).future.completeExceptionally(errors.get(i));
+            } else {
+                committedTasks.increment();
+                batch.get(i).completeWith(results.get(i));
+            }
+        }
+    }
+
+    private Connection ensureConnection() throws SQLException {
+        if (connection == null || connection.isClosed() || !connection.isValid(1)) {
+            closeConnection();
+            connection = connectionFactory.open();
+        }
+        return connection;
+    }
+
+    private void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            LogService.error("回滚 SQLite 写事务失败: ", e);
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * 停止接收新任务，等待队列中的写操作全部提交
+     */
+    public void shutdown() {
+        synchronized (submitLock) {
+            running = false;
+        }
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            LogService.warning("SQLite 写队列关闭超时，仍有 " + queue.size() + " 个写操作未提交");
+        }
+        LogService.info("SQLite 写队列已关闭 (批次 " + committedBatches.sum() + ", 写操作 " + committedTasks.sum()
+                + ", 失败 " + failedTasks.sum() + ")");
+    }
+
+    /**
+     * 获取等待写入的操作数量
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * 获取平均每批提交的写操作数
+     */
+    public double getAverageBatchSize() {
+        long batches = committedBatches.sum();
+        return batches == 0 ? 0 : (double) (committedTasks.sum() + failedTasks.sum()) / batches;
+    }
+
+    /**
+     * 写连接工厂
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final class WriteTask<T> {
+        private final SqlWork<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private WriteTask(SqlWork<T> work) {
+            this.work = work;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void completeWith(Object result) {
+            future.complete((T) result);
+        }
+    }
+}
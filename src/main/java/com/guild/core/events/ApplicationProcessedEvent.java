@@ -0,0 +1,12 @@
+package com.guild.core.events;
+
+import com.guild.models.GuildApplication;
+
+import java.util.UUID;
+
+/**
+ * 入会申请处理事件（接受或拒绝）
+ */
+public record ApplicationProcessedEvent(int guildId, int applicationId, UUID playerUuid, String playerName,
+                                        GuildApplication.ApplicationStatus status) implements GuildEvent {
+}
@@ -0,0 +1,9 @@
+package com.guild.core.events;
+
+import java.util.UUID;
+
+/**
+ * 入会申请提交事件
+ */
+public record ApplicationSubmittedEvent(int guildId, UUID playerUuid, String playerName) implements GuildEvent {
+}
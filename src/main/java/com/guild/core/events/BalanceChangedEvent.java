@@ -0,0 +1,7 @@
+package com.guild.core.events;
+
+/**
+ * 工会资金变更事件
+ */
+public record BalanceChangedEvent(int guildId, double oldBalance, double newBalance) implements GuildEvent {
+}
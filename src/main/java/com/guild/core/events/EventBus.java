@@ -2,8 +2,22 @@ package com.guild.core.events;
 
 import com.guild.util.LogService;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
@@ -12,60 +26,191 @@ import java.util.function.Consumer;
 public class EventBus {
 
     private final ConcurrentHashMap<Class<?>, CopyOnWriteArrayList<Consumer<?>>> listeners = new ConcurrentHashMap<>();
+    // 事件类型 -> 需要通知的监听器（包含父类与接口上的监听器）
+    private final ConcurrentHashMap<Class<?>, List<Consumer<?>>> dispatchCache = new ConcurrentHashMap<>();
+    // 订阅变更与缓存填充共用的锁，保证缓存不会遗漏新注册的监听器
+    private final Object subscriptionLock = new Object();
+    // 工会ID -> 该工会最后一个待投递事件，用于保证同一工会事件按发布顺序投递
+    private final ConcurrentHashMap<Integer, CompletableFuture<Void>> guildQueues = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    // 投递指标
+    private final LongAdder publishedEvents = new LongAdder();
+    private final LongAdder failedDeliveries = new LongAdder();
+    private final LongAdder totalDispatchNanos = new LongAdder();
+    private final AtomicLong maxDispatchNanos = new AtomicLong();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    public EventBus() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = Executors.newFixedThreadPool(threads, new EventThreadFactory());
+    }
 
     /**
      * 注册事件监听器
      */
-    @SuppressWarnings("unchecked")
     public <T> void subscribe(Class<T> eventType, Consumer<T> listener) {
-        listeners.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(listener);
+        synchronized (subscriptionLock) {
+            listeners.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(listener);
+            dispatchCache.clear();
+        }
         LogService.info("注册事件监听器: " + eventType.getSimpleName());
     }
 
     /**
      * 取消注册事件监听器
      */
-    @SuppressWarnings("unchecked")
     public <T> void unsubscribe(Class<T> eventType, Consumer<T> listener) {
         CopyOnWriteArrayList<Consumer<?>> eventListeners = listeners.get(eventType);
         if (eventListeners != null) {
-            eventListeners.remove(listener);
+            synchronized (subscriptionLock) {
+                eventListeners.remove(listener);
+                dispatchCache.clear();
+            }
             LogService.info("取消注册事件监听器: " + eventType.getSimpleName());
         }
     }
 
     /**
-     * 发布事件
+     * 发布事件（在当前线程同步投递，监听器可订阅事件的父类或接口）
      */
-    @SuppressWarnings("unchecked")
     public <T> void publish(T event) {
-        CopyOnWriteArrayList<Consumer<?>> eventListeners = listeners.get(event.getClass());
-        if (eventListeners != null) {
-            for (Consumer<?> listener : eventListeners) {
+        publishedEvents.increment();
+        dispatch(event, System.nanoTime());
+    }
+
+    /**
+     * 异步发布事件（由共享线程池投递）
+     */
+    public <T> void publishAsync(T event) {
+        publishedEvents.increment();
+        long publishedAt = System.nanoTime();
+        pendingEvents.incrementAndGet();
+        try {
+            executor.execute(() -> {
                 try {
-                    ((Consumer<T>) listener).accept(event);
-                } catch (Exception e) {
-                    LogService.error("事件监听器执行失败: ", e);
+                    dispatch(event, publishedAt);
+                } finally {
+                    pendingEvents.decrementAndGet();
                 }
+            });
+        } catch (Exception e) {
+            pendingEvents.decrementAndGet();
+            LogService.error("提交异步事件失败: ", e);
+        }
+    }
+
+    /**
+     * 按工会顺序异步发布事件：同一工会的事件按发布顺序依次投递，不同工会之间并行
+     */
+    public void publishOrdered(GuildEvent event) {
+        publishedEvents.increment();
+        long publishedAt = System.nanoTime();
+        pendingEvents.incrementAndGet();
+
+        CompletableFuture<Void> tail = guildQueues.compute(event.guildId(), (guildId, previous) -> {
+            // 前一个事件失败不影响后续事件的投递
+            CompletableFuture<Void> base = previous != null
+                    ? previous.exceptionally(throwable -> null)
+                    : CompletableFuture.completedFuture(null);
+            return base.thenRunAsync(() -> dispatch(event, publishedAt), executor);
+        });
+        tail.whenComplete((ignored, throwable) -> {
+            pendingEvents.decrementAndGet();
+            if (throwable != null) {
+                LogService.error("工会事件投递失败: ", throwable);
+            }
+            guildQueues.remove(event.guildId(), tail);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void dispatch(T event, long publishedAt) {
+        for (Consumer<?> listener : resolveListeners(event.getClass())) {
+            try {
+                ((Consumer<T>) listener).accept(event);
+            } catch (Exception e) {
+                failedDeliveries.increment();
+                LogService.error("事件监听器执行失败: ", e);
             }
         }
+        long elapsed = System.nanoTime() - publishedAt;
+        totalDispatchNanos.add(elapsed);
+        maxDispatchNanos.accumulateAndGet(elapsed, Math::max);
     }
 
     /**
-     * 异步发布事件
+     * 解析事件类型对应的监听器（结果按事件类型缓存，订阅变更时失效）
      */
-    public <T> void publishAsync(T event) {
-        new Thread(() -> publish(event)).start();
+    private List<Consumer<?>> resolveListeners(Class<?> eventClass) {
+        List<Consumer<?>> cached = dispatchCache.get(eventClass);
+        if (cached != null) {
+            return cached;
+        }
+        // 与订阅变更互斥，避免把变更前的监听器列表写入已清空的缓存
+        synchronized (subscriptionLock) {
+            return dispatchCache.computeIfAbsent(eventClass, type -> {
+                List<Consumer<?>> resolved = new ArrayList<>();
+                for (Class<?> candidate : collectTypes(type)) {
+                    CopyOnWriteArrayList<Consumer<?>> eventListeners = listeners.get(candidate);
+                    if (eventListeners != null) {
+                        resolved.addAll(eventListeners);
+                    }
+                }
+                return List.copyOf(resolved);
+            });
+        }
+    }
+
+    /**
+     * 收集事件类型自身、父类及其实现的全部接口
+     */
+    private static List<Class<?>> collectTypes(Class<?> eventClass) {
+        List<Class<?>> types = new ArrayList<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(eventClass);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            types.add(type);
+            if (type.getSuperclass() != null) {
+                queue.add(type.getSuperclass());
+            }
+            queue.addAll(List.of(type.getInterfaces()));
+        }
+        return types;
     }
 
     /**
      * 清除所有监听器
      */
     public void clear() {
-        listeners.clear();
+        synchronized (subscriptionLock) {
+            listeners.clear();
+            dispatchCache.clear();
+        }
         LogService.info("清除所有事件监听器");
     }
 
+    /**
+     * 关闭事件线程池，等待已提交的事件投递完成
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                LogService.warning("事件总线关闭超时，仍有 " + pendingEvents.get() + " 个事件未投递");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * 获取监听器数量
      */
@@ -80,4 +225,54 @@ public class EventBus {
     public int getTotalListenerCount() {
         return listeners.values().stream().mapToInt(CopyOnWriteArrayList::size).sum();
     }
+
+    /**
+     * 获取已发布事件总数
+     */
+    public long getPublishedCount() {
+        return publishedEvents.sum();
+    }
+
+    /**
+     * 获取监听器执行失败次数
+     */
+    public long getFailedCount() {
+        return failedDeliveries.sum();
+    }
+
+    /**
+     * 获取等待投递的事件数量
+     */
+    public int getPendingCount() {
+        return pendingEvents.get();
+    }
+
+    /**
+     * 获取平均投递延迟（从发布到全部监听器执行完毕，毫秒）
+     */
+    public double getAverageDispatchMillis() {
+        long published = publishedEvents.sum();
+        return published == 0 ? 0 : totalDispatchNanos.sum() / 1_000_000.0 / published;
+    }
+
+    /**
+     * 获取最大投递延迟（毫秒）
+     */
+    public double getMaxDispatchMillis() {
+        return maxDispatchNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * 事件线程工厂（守护线程，避免阻止服务器关闭）
+     */
+    private static class EventThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "Guild-EventBus-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
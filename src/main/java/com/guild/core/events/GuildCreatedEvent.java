@@ -0,0 +1,9 @@
+package com.guild.core.events;
+
+import java.util.UUID;
+
+/**
+ * 工会创建事件
+ */
+public record GuildCreatedEvent(int guildId, String guildName, String guildTag, UUID leaderUuid, String leaderName) implements GuildEvent {
+}
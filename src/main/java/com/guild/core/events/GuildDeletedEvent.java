@@ -0,0 +1,9 @@
+package com.guild.core.events;
+
+import java.util.UUID;
+
+/**
+ * 工会删除事件
+ */
+public record GuildDeletedEvent(int guildId, String guildName, UUID leaderUuid) implements GuildEvent {
+}
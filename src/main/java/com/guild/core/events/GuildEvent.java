@@ -0,0 +1,12 @@
+package com.guild.core.events;
+
+/**
+ * 工会领域事件 - 携带所属工会ID，用于按工会顺序投递
+ */
+public interface GuildEvent {
+
+    /**
+     * 事件所属工会ID
+     */
+    int guildId();
+}
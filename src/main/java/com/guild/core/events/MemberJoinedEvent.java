@@ -0,0 +1,11 @@
+package com.guild.core.events;
+
+import com.guild.models.GuildMember;
+
+import java.util.UUID;
+
+/**
+ * 成员加入事件
+ */
+public record MemberJoinedEvent(int guildId, UUID playerUuid, String playerName, GuildMember.Role role) implements GuildEvent {
+}
@@ -0,0 +1,9 @@
+package com.guild.core.events;
+
+import java.util.UUID;
+
+/**
+ * 成员离开事件（主动离开或被踢出）
+ */
+public record MemberLeftEvent(int guildId, UUID playerUuid, String playerName, boolean kicked) implements GuildEvent {
+}
@@ -0,0 +1,11 @@
+package com.guild.core.events;
+
+import com.guild.models.GuildRelation;
+
+/**
+ * 工会关系变更事件（创建、状态变更或删除）
+ */
+public record RelationChangedEvent(int guildId, int otherGuildId, int relationId,
+                                   GuildRelation.RelationType type, GuildRelation.RelationStatus status,
+                                   boolean removed) implements GuildEvent {
+}
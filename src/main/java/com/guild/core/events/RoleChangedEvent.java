@@ -0,0 +1,12 @@
+package com.guild.core.events;
+
+import com.guild.models.GuildMember;
+
+import java.util.UUID;
+
+/**
+ * 成员职位变更事件
+ */
+public record RoleChangedEvent(int guildId, UUID playerUuid, String playerName,
+                               GuildMember.Role oldRole, GuildMember.Role newRole) implements GuildEvent {
+}
@@ -3,6 +3,7 @@ package com.guild.core.gui;
 import com.guild.GuildPlugin;
 import com.guild.core.utils.CompatibleScheduler;
 import com.guild.gui.GuildNameInputGUI;
+import com.guild.util.DebugCategory;
 import com.guild.util.LogService;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -69,7 +70,7 @@ public class GUIManager implements Listener {
             // 记录打开的GUI
             openGuis.put(player.getUniqueId(), gui);
 
-            LogService.debug("玩家 " + player.getName() + " 打开了GUI: " + gui.getClass().getSimpleName());
+            LogService.debug(DebugCategory.GUI, "玩家 {} 打开了GUI: {}", player.getName(), gui.getClass().getSimpleName());
         } catch (Exception e) {
             LogService.error("打开GUI时发生错误: ", e);
         }
@@ -93,7 +94,7 @@ public class GUIManager implements Listener {
                     player.closeInventory();
                 }
 
-                LogService.debug("玩家 " + player.getName() + " 关闭了GUI: " + gui.getClass().getSimpleName());
+                LogService.debug(DebugCategory.GUI, "玩家 {} 关闭了GUI: {}", player.getName(), gui.getClass().getSimpleName());
             }
         } catch (Exception e) {
             LogService.error("关闭GUI时发生错误: ", e);
@@ -146,7 +147,7 @@ public class GUIManager implements Listener {
             ItemStack clickedItem = event.getCurrentItem();
 
             // 添加调试日志
-            LogService.debug("玩家 " + player.getName() + " 点击了GUI: " + gui.getClass().getSimpleName() + " 槽位: " + slot);
+            LogService.debug(DebugCategory.GUI, "玩家 {} 点击了GUI: {} 槽位: {}", player.getName(), gui.getClass().getSimpleName(), slot);
 
             // 处理所有点击，包括空物品的点击
             gui.onClick(player, slot, clickedItem, event.getClick());
@@ -175,7 +176,7 @@ public class GUIManager implements Listener {
                 }
 
                 gui.onClose(player);
-                LogService.debug("玩家 " + player.getName() + " 关闭了GUI: " + gui.getClass().getSimpleName());
+                LogService.debug(DebugCategory.GUI, "玩家 {} 关闭了GUI: {}", player.getName(), gui.getClass().getSimpleName());
             }
         } catch (Exception e) {
             LogService.error("处理GUI关闭时发生错误: ", e);
@@ -204,7 +205,7 @@ public class GUIManager implements Listener {
                 // 重新打开GUI
                 openGUI(player, gui);
 
-                LogService.debug("玩家 " + player.getName() + " 的GUI已刷新: " + gui.getClass().getSimpleName());
+                LogService.debug(DebugCategory.GUI, "玩家 {} 的GUI已刷新: {}", player.getName(), gui.getClass().getSimpleName());
             }
         } catch (Exception e) {
             LogService.error("刷新GUI时发生错误: ", e);
@@ -224,7 +225,7 @@ public class GUIManager implements Listener {
                 }
             }
             openGuis.clear();
-            LogService.debug("已关闭所有GUI");
+            LogService.debug(DebugCategory.GUI, "已关闭所有GUI");
         } catch (Exception e) {
             LogService.error("关闭所有GUI时发生错误: ", e);
         }
@@ -249,7 +250,7 @@ public class GUIManager implements Listener {
 
         try {
             inputModes.put(player.getUniqueId(), inputHandler);
-            LogService.debug("玩家 " + player.getName() + " 进入输入模式");
+            LogService.debug(DebugCategory.GUI, "玩家 {} 进入输入模式", player.getName());
         } catch (Exception e) {
             LogService.error("设置输入模式时发生错误: ", e);
         }
@@ -277,9 +278,9 @@ public class GUIManager implements Listener {
                     nameInputGUI.handleInputComplete(player, input);
                     return true;
                 });
-                LogService.debug("玩家 " + player.getName() + " 进入工会名称输入模式");
+                LogService.debug(DebugCategory.GUI, "玩家 {} 进入工会名称输入模式", player.getName());
             } else {
-                LogService.debug("未知的输入模式: " + mode);
+                LogService.debug(DebugCategory.GUI, "未知的输入模式: {}", mode);
             }
         } catch (Exception e) {
             LogService.error("设置输入模式时发生错误: ", e);
@@ -298,7 +299,7 @@ public class GUIManager implements Listener {
 
         try {
             inputModes.remove(player.getUniqueId());
-            LogService.debug("玩家 " + player.getName() + " 退出输入模式");
+            LogService.debug(DebugCategory.GUI, "玩家 {} 退出输入模式", player.getName());
         } catch (Exception e) {
             LogService.error("清除输入模式时发生错误: ", e);
         }
@@ -0,0 +1,230 @@
+package com.guild.core.performance;
+
+import com.guild.GuildPlugin;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 阻塞调用监控器 - 统计同步包装器的耗时及其对服务器 tick 的影响
+ */
+public class BlockingCallMonitor {
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int TOP_CALL_SITES = 5;
+
+    private final GuildPlugin plugin;
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> tickCallSites = new ConcurrentHashMap<>();
+    private final Set<String> loggedCallSites = ConcurrentHashMap.newKeySet();
+
+    // 当前周期内超过阈值的 tick 线程调用
+    private final LongAdder slowTickCalls = new LongAdder();
+    private final AtomicLong slowestTickCallNanos = new AtomicLong();
+
+    private volatile boolean enabled = true;
+    private volatile long warnThresholdNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    private volatile int reportIntervalSeconds = 300;
+
+    public BlockingCallMonitor(GuildPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 从配置文件加载监控参数
+     */
+    public void reloadFromConfig() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        enabled = config.getBoolean("performance.blocking-calls.enabled", true);
+        warnThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("performance.blocking-calls.warn-threshold-ms", 50));
+        reportIntervalSeconds = Math.max(10, config.getInt("performance.blocking-calls.report-interval-seconds", 300));
+    }
+
+    /**
+     * 启动周期性告警任务
+     */
+    public void start() {
+        reloadFromConfig();
+        long periodTicks = reportIntervalSeconds * 20L;
+        CompatibleScheduler.runTaskTimer(plugin, this::reportSlowCalls, periodTicks, periodTicks);
+    }
+
+    /**
+     * 等待异步结果并记录耗时；在 tick 线程上调用时首次记录调用栈
+     */
+    public <T> T await(String operation, CompletableFuture<T> future) throws Exception {
+        if (!enabled) {
+            return future.get();
+        }
+
+        boolean tickThread = CompatibleScheduler.isPrimaryThread();
+        String callSite = null;
+        if (tickThread) {
+            callSite = resolveCallSite();
+            if (loggedCallSites.add(callSite)) {
+                LogService.warning("在 tick 线程上调用了阻塞方法 " + operation + " (" + callSite + ")，请改用异步版本",
+                        new Throwable("阻塞调用栈"));
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            return future.get();
+        } finally {
+            record(operation, System.nanoTime() - start, callSite);
+        }
+    }
+
+    private void record(String operation, long elapsedNanos, String tickCallSite) {
+        operations.computeIfAbsent(operation, key -> new OperationStats()).record(elapsedNanos, tickCallSite != null);
+        if (tickCallSite == null) {
+            return;
+        }
+
+        tickCallSites.computeIfAbsent(tickCallSite, key -> new LongAdder()).increment();
+        if (elapsedNanos >= warnThresholdNanos) {
+            slowTickCalls.increment();
+            slowestTickCallNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+    }
+
+    /**
+     * 定位插件内发起同步调用的位置（跳过监控器及包装器所在类）
+     */
+    private String resolveCallSite() {
+        return StackWalker.getInstance().walk(frames -> {
+            String wrapperClass = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.equals(BlockingCallMonitor.class.getName())) {
+                    continue;
+                }
+                if (wrapperClass == null) {
+                    wrapperClass = className;
+                    continue;
+                }
+                if (className.equals(wrapperClass)) {
+                    continue;
+                }
+                String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                return simpleName + "#" + frame.getMethodName() + ":" + frame.getLineNumber();
+            }
+            return "未知";
+        });
+    }
+
+    /**
+     * 周期性告警：本周期内 tick 线程阻塞超过阈值时输出汇总
+     */
+    private void reportSlowCalls() {
+        long count = slowTickCalls.sumThenReset();
+        long slowest = slowestTickCallNanos.getAndSet(0);
+        if (count == 0) {
+            return;
+        }
+        LogService.warning("过去 " + reportIntervalSeconds + " 秒内 tick 线程上有 " + count + " 次阻塞调用超过 "
+                + TimeUnit.NANOSECONDS.toMillis(warnThresholdNanos) + "ms，最长 " + formatMillis(slowest)
+                + "ms，使用 /guildadmin perf 查看详情");
+    }
+
+    /**
+     * 生成性能报告
+     */
+    public List<String> buildReport() {
+        List<String> lines = new ArrayList<>();
+        lines.add("&6=== 阻塞调用报告 ===");
+        if (operations.isEmpty()) {
+            lines.add("&7暂无同步调用记录");
+            return lines;
+        }
+
+        List<Map.Entry<String, OperationStats>> entries = new ArrayList<>(operations.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, OperationStats> e) -> e.getValue().tickCount.sum()).reversed()
+                .thenComparing(e -> -e.getValue().count.sum()));
+        for (Map.Entry<String, OperationStats> entry : entries) {
+            OperationStats stats = entry.getValue();
+            long[] percentiles = stats.percentiles(0.50, 0.99);
+            lines.add(String.format("&e%s &7调用 &f%d &7次 (tick线程 &c%d&7) p50 &f%s&7ms p99 &f%s&7ms 最长 &f%s&7ms",
+                    entry.getKey(), stats.count.sum(), stats.tickCount.sum(),
+                    formatMillis(percentiles[0]), formatMillis(percentiles[1]), formatMillis(stats.maxNanos.get())));
+        }
+
+        if (!tickCallSites.isEmpty()) {
+            lines.add("&6tick 线程调用位置 Top " + TOP_CALL_SITES + ":");
+            tickCallSites.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                    .limit(TOP_CALL_SITES)
+                    .forEach(e -> lines.add("&7- &f" + e.getKey() + " &7x" + e.getValue().sum()));
+        }
+        return lines;
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public void reset() {
+        operations.clear();
+        tickCallSites.clear();
+        loggedCallSites.clear();
+        slowTickCalls.reset();
+        slowestTickCallNanos.set(0);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 单个操作的统计数据（保留最近 SAMPLE_SIZE 次耗时用于计算分位数）
+     */
+    private static class OperationStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder tickCount = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private int sampleIndex;
+        private int sampleCount;
+
+        void record(long elapsedNanos, boolean tickThread) {
+            count.increment();
+            if (tickThread) {
+                tickCount.increment();
+            }
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            synchronized (samples) {
+                samples[sampleIndex] = elapsedNanos;
+                sampleIndex = (sampleIndex + 1) % SAMPLE_SIZE;
+                sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+            }
+        }
+
+        long[] percentiles(double... quantiles) {
+            long[] sorted;
+            synchronized (samples) {
+                sorted = Arrays.copyOf(samples, sampleCount);
+            }
+            Arrays.sort(sorted);
+            long[] result = new long[quantiles.length];
+            if (sorted.length == 0) {
+                return result;
+            }
+            for (int i = 0; i < quantiles.length; i++) {
+                int index = (int) Math.ceil(quantiles[i] * sorted.length) - 1;
+                result[i] = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+            }
+            return result;
+        }
+    }
+}
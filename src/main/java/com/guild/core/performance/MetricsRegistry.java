@@ -0,0 +1,237 @@
+package com.guild.core.performance;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 操作指标注册表 - 按操作名统计数据库操作的排队等待、取连接、执行耗时及错误次数，
+ * 支持管理命令查看与定期导出为 CSV/JSON 文件
+ */
+public class MetricsRegistry {
+
+    private static final Gson GSON = new Gson();
+    private static final String CSV_HEADER = "timestamp,backend,operation,count,errors,"
+            + "queue_p50_ms,queue_p99_ms,acquire_p50_ms,acquire_p99_ms,exec_mean_ms,exec_p50_ms,exec_p99_ms,exec_max_ms";
+
+    private final GuildPlugin plugin;
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+    private boolean dumpEnabled = true;
+    private long dumpIntervalMinutes = 5;
+    private boolean dumpJson;
+    private File dumpDirectory;
+
+    public MetricsRegistry(GuildPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 从配置文件加载指标参数
+     */
+    public void reloadFromConfig() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        enabled = config.getBoolean("performance.metrics.enabled", true);
+        dumpEnabled = config.getBoolean("performance.metrics.dump.enabled", true);
+        dumpIntervalMinutes = Math.max(1, config.getLong("performance.metrics.dump.interval-minutes", 5));
+        dumpJson = "json".equalsIgnoreCase(config.getString("performance.metrics.dump.format", "csv"));
+        dumpDirectory = new File(plugin.getDataFolder(), config.getString("performance.metrics.dump.path", "metrics"));
+    }
+
+    /**
+     * 启动定期导出任务
+     */
+    public void start() {
+        reloadFromConfig();
+        if (!enabled || !dumpEnabled) {
+            return;
+        }
+        long periodSeconds = TimeUnit.MINUTES.toSeconds(dumpIntervalMinutes);
+        CompatibleScheduler.runTaskTimerAsync(plugin, this::dump, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 关闭时导出最后一次快照
+     */
+    public void stop() {
+        if (enabled && dumpEnabled) {
+            dump();
+        }
+    }
+
+    /**
+     * 为一次操作创建计时器，应在提交到线程池或写队列之前调用
+     */
+    public OperationTimer startTimer(String operation) {
+        if (!enabled || operation == null) {
+            return OperationTimer.disabled();
+        }
+        return new OperationTimer(operations.computeIfAbsent(operation, key -> new OperationMetrics()));
+    }
+
+    /**
+     * 生成指标报告（按执行次数从多到少）
+     */
+    public List<String> buildReport() {
+        List<String> lines = new ArrayList<>();
+        lines.add("&6=== 数据库操作指标 (" + backendName() + ") ===");
+        if (operations.isEmpty()) {
+            lines.add("&7暂无操作记录");
+            return lines;
+        }
+
+        for (Map.Entry<String, OperationMetrics> entry : sortedEntries()) {
+            OperationMetrics metrics = entry.getValue();
+            lines.add(String.format("&e%s &7次数 &f%d &7错误 &c%d &7排队 p99 &f%.2f&7ms 取连接 p99 &f%.2f&7ms 执行 p50/p99/最长 &f%.2f&7/&f%.2f&7/&f%.2f&7ms",
+                    entry.getKey(), metrics.count.sum(), metrics.errors.sum(),
+                    metrics.queueWait.getPercentileMillis(0.99), metrics.acquire.getPercentileMillis(0.99),
+                    metrics.execution.getPercentileMillis(0.50), metrics.execution.getPercentileMillis(0.99),
+                    metrics.execution.getMaxMillis()));
+        }
+        return lines;
+    }
+
+    /**
+     * 当前各操作的指标（只读视图，供负载测试等工具汇总）
+     */
+    public Map<String, OperationMetrics> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public void reset() {
+        operations.clear();
+    }
+
+    /**
+     * 将当前快照追加到按日期划分的导出文件
+     */
+    public void dump() {
+        if (operations.isEmpty()) {
+            return;
+        }
+        if (!dumpDirectory.exists() && !dumpDirectory.mkdirs()) {
+            LogService.warning("无法创建指标导出目录: " + dumpDirectory);
+            return;
+        }
+
+        String timestamp = LocalDateTime.now().withNano(0).toString();
+        String backend = backendName();
+        File file = new File(dumpDirectory, "metrics-" + LocalDate.now() + (dumpJson ? ".ndjson" : ".csv"));
+        boolean newFile = !file.exists();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8))) {
+            if (newFile && !dumpJson) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            for (Map.Entry<String, OperationMetrics> entry : sortedEntries()) {
+                writer.write(dumpJson ? toJson(timestamp, backend, entry.getKey(), entry.getValue())
+                        : toCsv(timestamp, backend, entry.getKey(), entry.getValue()));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            LogService.error("导出操作指标时发生错误: ", e);
+        }
+    }
+
+    private List<Map.Entry<String, OperationMetrics>> sortedEntries() {
+        List<Map.Entry<String, OperationMetrics>> entries = new ArrayList<>(operations.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, OperationMetrics> e) -> e.getValue().count.sum()).reversed());
+        return entries;
+    }
+
+    private String toCsv(String timestamp, String backend, String operation, OperationMetrics metrics) {
+        return String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                timestamp, backend, operation, metrics.count.sum(), metrics.errors.sum(),
+                metrics.queueWait.getPercentileMillis(0.50), metrics.queueWait.getPercentileMillis(0.99),
+                metrics.acquire.getPercentileMillis(0.50), metrics.acquire.getPercentileMillis(0.99),
+                metrics.execution.getMeanMillis(), metrics.execution.getPercentileMillis(0.50),
+                metrics.execution.getPercentileMillis(0.99), metrics.execution.getMaxMillis());
+    }
+
+    private String toJson(String timestamp, String backend, String operation, OperationMetrics metrics) {
+        JsonObject json = new JsonObject();
+        json.addProperty("timestamp", timestamp);
+        json.addProperty("backend", backend);
+        json.addProperty("operation", operation);
+        json.addProperty("count", metrics.count.sum());
+        json.addProperty("errors", metrics.errors.sum());
+        json.add("queue", toJson(metrics.queueWait));
+        json.add("acquire", toJson(metrics.acquire));
+        json.add("exec", toJson(metrics.execution));
+        return GSON.toJson(json);
+    }
+
+    private JsonObject toJson(LatencyHistogram histogram) {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", histogram.getCount());
+        json.addProperty("mean_ms", histogram.getMeanMillis());
+        json.addProperty("p50_ms", histogram.getPercentileMillis(0.50));
+        json.addProperty("p99_ms", histogram.getPercentileMillis(0.99));
+        json.addProperty("max_ms", histogram.getMaxMillis());
+        return json;
+    }
+
+    private String backendName() {
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        DatabaseManager.DatabaseType type = databaseManager != null ? databaseManager.getDatabaseType() : null;
+        return type != null ? type.name() : "UNKNOWN";
+    }
+
+    /**
+     * 单个操作的指标
+     */
+    public static class OperationMetrics {
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram queueWait = new LatencyHistogram();
+        final LatencyHistogram acquire = new LatencyHistogram();
+        final LatencyHistogram execution = new LatencyHistogram();
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public LatencyHistogram getQueueWait() {
+            return queueWait;
+        }
+
+        public LatencyHistogram getAcquire() {
+            return acquire;
+        }
+
+        public LatencyHistogram getExecution() {
+            return execution;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.guild.core.performance;
+
+/**
+ * 单次数据库操作的计时器 - 提交时创建，在工作线程上 enter/exit 之间记录取连接耗时与错误
+ * <p>
+ * 提交到 enter 的间隔计为排队等待；enter 到 exit 的间隔扣除取连接耗时后计为执行耗时。
+ */
+public final class OperationTimer {
+
+    private static final ThreadLocal<OperationTimer> CURRENT = new ThreadLocal<>();
+    private static final OperationTimer DISABLED = new OperationTimer(null);
+
+    private final MetricsRegistry.OperationMetrics metrics;
+    private final long submittedAt;
+    private long enteredAt;
+    private long acquireNanos;
+    private boolean failed;
+    private OperationTimer previous;
+
+    OperationTimer(MetricsRegistry.OperationMetrics metrics) {
+        this.metrics = metrics;
+        this.submittedAt = metrics != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * 不记录任何数据的计时器（监控关闭或未命名的操作）
+     */
+    public static OperationTimer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 在工作线程上开始执行
+     */
+    public void enter() {
+        if (metrics == null) {
+            return;
+        }
+        enteredAt = System.nanoTime();
+        metrics.queueWait.record(enteredAt - submittedAt);
+        previous = CURRENT.get();
+        CURRENT.set(this);
+    }
+
+    /**
+     * 执行结束，thrown 为 true 表示操作以异常结束
+     */
+    public void exit(boolean thrown) {
+        if (metrics == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - enteredAt;
+        if (acquireNanos > 0) {
+            metrics.acquire.record(acquireNanos);
+        }
+        metrics.execution.record(Math.max(0, elapsed - acquireNanos));
+        metrics.count.increment();
+        if (thrown || failed) {
+            metrics.errors.increment();
+        }
+
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        previous = null;
+    }
+
+    /**
+     * 为当前线程正在执行的操作累计取连接耗时
+     */
+    public static void recordAcquire(long nanos) {
+        OperationTimer current = CURRENT.get();
+        if (current != null) {
+            current.acquireNanos += nanos;
+        }
+    }
+
+    /**
+     * 将当前线程正在执行的操作标记为失败（操作内部捕获并记录了异常时）
+     */
+    public static void markFailed() {
+        OperationTimer current = CURRENT.get();
+        if (current != null) {
+            current.failed = true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.guild.core.permissions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 工会内置权限 - 每个权限对应权限掩码中的一位
+ */
+public enum GuildPermission {
+    CREATE("guild.create", "can-create"),
+    INVITE("guild.invite", "can-invite"),
+    KICK("guild.kick", "can-kick"),
+    PROMOTE("guild.promote", "can-promote"),
+    DEMOTE("guild.demote", "can-demote"),
+    DELETE("guild.delete", "can-delete");
+
+    private static final Map<String, GuildPermission> BY_NODE = new HashMap<>();
+
+    static {
+        for (GuildPermission permission : values()) {
+            BY_NODE.put(permission.node, permission);
+        }
+    }
+
+    private final String node;
+    private final String configKey;
+    private final long bit;
+
+    GuildPermission(String node, String configKey) {
+        this.node = node;
+        this.configKey = configKey;
+        this.bit = 1L << ordinal();
+    }
+
+    /**
+     * 权限节点，如 guild.invite
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * config.yml 中 permissions.&lt;角色&gt; 下的键名
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    public long getBit() {
+        return bit;
+    }
+
+    /**
+     * 检查掩码中是否包含该权限
+     */
+    public boolean isGranted(long mask) {
+        return (mask & bit) != 0;
+    }
+
+    /**
+     * 根据权限节点查找内置权限，未知节点返回 null
+     */
+    public static GuildPermission fromNode(String node) {
+        return BY_NODE.get(node);
+    }
+
+    /**
+     * 构建包含指定权限的掩码
+     */
+    public static long maskOf(GuildPermission... permissions) {
+        long mask = 0L;
+        for (GuildPermission permission : permissions) {
+            mask |= permission.bit;
+        }
+        return mask;
+    }
+
+    /**
+     * 包含全部权限的掩码
+     */
+    public static long allMask() {
+        return maskOf(values());
+    }
+}
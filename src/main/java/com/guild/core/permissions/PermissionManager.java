@@ -1,16 +1,23 @@
 package com.guild.core.permissions;
 
 import com.guild.GuildPlugin;
-import com.guild.models.Guild;
+import com.guild.core.events.EventBus;
+import com.guild.core.events.GuildDeletedEvent;
+import com.guild.core.events.MemberJoinedEvent;
+import com.guild.core.events.MemberLeftEvent;
+import com.guild.core.events.RoleChangedEvent;
 import com.guild.models.GuildMember;
+import com.guild.services.GuildRankService;
 import com.guild.services.GuildService;
 import com.guild.util.LogService;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 权限管理器 - 提供插件独立的权限功能
@@ -18,16 +25,36 @@ import java.util.UUID;
 public class PermissionManager {
 
     private final GuildPlugin plugin;
-    private final Map<UUID, PlayerPermissions> playerPermissions = new HashMap<>();
-    // 配置驱动的角色权限矩阵
-    private RolePermissions defaultPermissions;
-    private RolePermissions memberPermissions;
-    private RolePermissions officerPermissions;
-    private RolePermissions leaderPermissions;
+    // 成员索引：玩家 -> 所在工会及已编译的权限掩码，由成员事件维护
+    private final Map<UUID, Membership> membershipIndex = new ConcurrentHashMap<>();
+    // 正在异步加载成员信息的玩家 -> 本次加载的标记；只采用最近一次加载的结果，成员事件会作废进行中的加载
+    private final Map<UUID, Object> loading = new ConcurrentHashMap<>();
+    // 配置驱动的角色权限掩码（按 Role 序号索引，重载时整体替换）
+    private volatile long[] roleMasks;
+    private volatile long defaultMask;
 
     public PermissionManager(GuildPlugin plugin) {
         this.plugin = plugin;
         reloadFromConfig();
+        registerEventListeners();
+    }
+
+    /**
+     * 订阅成员变动事件，保持成员索引与数据库一致
+     */
+    private void registerEventListeners() {
+        EventBus eventBus = plugin.getEventBus();
+        if (eventBus == null) {
+            return;
+        }
+        // 新成员尚未分配职级，直接按角色掩码写入
+        eventBus.subscribe(MemberJoinedEvent.class, event -> putMembership(event.playerUuid(),
+                new Membership(event.guildId(), event.role(), 0, roleMasks[event.role().ordinal()])));
+        eventBus.subscribe(MemberLeftEvent.class, event -> putMembership(event.playerUuid(), noGuild()));
+        // 就地重算而不是删除条目，避免与提交后的预热竞争而短暂拒绝权限
+        eventBus.subscribe(RoleChangedEvent.class, event -> applyRoleChange(event.playerUuid(), event.guildId(), event.newRole()));
+        eventBus.subscribe(GuildDeletedEvent.class, event ->
+                membersOf(event.guildId()).forEach(playerUuid -> putMembership(playerUuid, noGuild())));
     }
 
     /**
@@ -51,293 +78,248 @@ public class PermissionManager {
      * 检查插件内置权限
      */
     private boolean hasInternalPermission(Player player, String permission) {
-        UUID playerUuid = player.getUniqueId();
+        if ("guild.use".equals(permission)) {
+            return true; // 所有玩家都可以使用工会系统
+        }
+        // guild.admin 等未列出的权限仍由 Bukkit 权限系统控制
+        GuildPermission guildPermission = GuildPermission.fromNode(permission);
+        return guildPermission != null && guildPermission.isGranted(getPermissionMask(player.getUniqueId()));
+    }
 
-        // 获取玩家权限
-        PlayerPermissions permissions = getPlayerPermissions(playerUuid);
+    /**
+     * 获取玩家当前生效的权限掩码
+     */
+    public long getPermissionMask(UUID playerUuid) {
+        return resolveMembership(playerUuid).mask();
+    }
 
-        // 检查具体权限
-        switch (permission) {
-            case "guild.use":
-                return true; // 所有玩家都可以使用工会系统
+    private Membership noGuild() {
+        return new Membership(0, null, 0, defaultMask);
+    }
 
-            case "guild.create":
-                return permissions.canCreateGuild();
+    /**
+     * 以事件结果写入索引，并作废进行中的加载（其查询可能早于本次变更）
+     */
+    private void putMembership(UUID playerUuid, Membership membership) {
+        loading.remove(playerUuid);
+        membershipIndex.put(playerUuid, membership);
+    }
 
-            case "guild.invite":
-                return permissions.canInviteMembers();
+    /**
+     * 从成员索引解析玩家所在工会及权限掩码；未命中时返回未知状态（拒绝全部工会内权限）并异步预热索引
+     */
+    private Membership resolveMembership(UUID playerUuid) {
+        Membership membership = membershipIndex.get(playerUuid);
+        if (membership != null) {
+            return membership;
+        }
+        warmPlayer(playerUuid);
+        return Membership.UNKNOWN;
+    }
 
-            case "guild.kick":
-                return permissions.canKickMembers();
+    /**
+     * 异步加载玩家的成员信息并写入索引（玩家上线或缓存失效时调用），已在索引中或正在加载时跳过
+     */
+    public void warmPlayer(UUID playerUuid) {
+        if (!membershipIndex.containsKey(playerUuid) && !loading.containsKey(playerUuid)) {
+            load(playerUuid);
+        }
+    }
 
-            case "guild.promote":
-                return permissions.canPromoteMembers();
+    /**
+     * 从数据库重新加载玩家的成员信息；加载完成前索引保留原条目，权限检查不会落空
+     */
+    private void load(UUID playerUuid) {
+        GuildService guildService = plugin.getGuildService();
+        if (guildService == null) {
+            return;
+        }
+        Object token = new Object();
+        loading.put(playerUuid, token);
+        guildService.getGuildMemberAsync(playerUuid).thenAccept(member -> {
+            Membership resolved = member != null
+                    ? new Membership(member.getGuildId(), member.getRole(), member.getRankId(),
+                    compileMask(member.getGuildId(), member.getRole(), member.getRankId()))
+                    : noGuild();
+            if (loading.remove(playerUuid, token)) {
+                membershipIndex.put(playerUuid, resolved);
+            }
+        }).whenComplete((ignored, throwable) -> {
+            loading.remove(playerUuid, token);
+            if (throwable != null) {
+                LogService.error("加载玩家权限信息时发生错误: ", throwable);
+            }
+        });
+    }
 
-            case "guild.demote":
-                return permissions.canDemoteMembers();
+    /**
+     * 编译成员的权限掩码：会长始终使用会长掩码，分配了职级的成员使用职级掩码，否则按角色
+     */
+    private long compileMask(int guildId, GuildMember.Role role, int rankId) {
+        long roleMask = roleMasks[role.ordinal()];
+        if (role == GuildMember.Role.LEADER || rankId <= 0) {
+            return roleMask;
+        }
+        GuildRankService rankService = plugin.getGuildRankService();
+        Long rankMask = rankService != null ? rankService.getRankMask(guildId, rankId) : null;
+        return rankMask != null ? rankMask : roleMask;
+    }
 
-            case "guild.delete":
-                return permissions.canDeleteGuild();
+    /**
+     * 成员角色变化后按索引中的职级就地重算权限掩码（角色变化可能影响职级是否生效）；
+     * 索引中没有该成员时重新加载
+     */
+    public void applyRoleChange(UUID playerUuid, int guildId, GuildMember.Role role) {
+        Membership current = membershipIndex.get(playerUuid);
+        if (current == null || current.guildId() != guildId) {
+            load(playerUuid);
+            return;
+        }
+        putMembership(playerUuid, new Membership(guildId, role, current.rankId(), compileMask(guildId, role, current.rankId())));
+    }
 
-            case "guild.admin":
-                return permissions.isAdmin();
+    /**
+     * 成员职级变化后就地重算权限掩码（rankId 为 0 表示取消职级）；索引中没有该成员时重新加载
+     */
+    public void applyRankChange(UUID playerUuid, int guildId, int rankId) {
+        Membership current = membershipIndex.get(playerUuid);
+        if (current == null || current.guildId() != guildId || current.role() == null) {
+            load(playerUuid);
+            return;
+        }
+        putMembership(playerUuid, new Membership(guildId, current.role(), rankId, compileMask(guildId, current.role(), rankId)));
+    }
 
-            default:
-                return false;
+    /**
+     * 为全部在线玩家预热成员索引（重载配置或恢复数据后调用）
+     */
+    public void warmOnlinePlayers() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            warmPlayer(player.getUniqueId());
         }
     }
 
     /**
-     * 获取玩家权限
+     * 更新玩家权限（当工会状态改变时调用），重新加载期间沿用原条目
+     */
+    public void updatePlayerPermissions(UUID playerUuid) {
+        load(playerUuid);
+    }
+
+    /**
+     * 重新加载某个工会全部成员的权限（职级权限变化时调用），重新加载期间沿用原条目
      */
-    private PlayerPermissions getPlayerPermissions(UUID playerUuid) {
-        return playerPermissions.computeIfAbsent(playerUuid, uuid -> {
-            PlayerPermissions resolved = new PlayerPermissions();
-            GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-            GuildMember.Role role = null;
-            if (guildService != null) {
-                Guild guild = guildService.getPlayerGuild(uuid);
-                if (guild != null) {
-                    GuildMember member = guildService.getGuildMember(uuid);
-                    if (member != null) {
-                        role = member.getRole();
-                    }
-                }
+    public void invalidateGuild(int guildId) {
+        membersOf(guildId).forEach(this::load);
+    }
+
+    private List<UUID> membersOf(int guildId) {
+        List<UUID> members = new ArrayList<>();
+        membershipIndex.forEach((playerUuid, membership) -> {
+            if (membership.guildId() == guildId) {
+                members.add(playerUuid);
             }
-            RolePermissions rp = resolveRolePermissions(role);
-            resolved.setCanCreateGuild(rp.canCreate);
-            resolved.setCanInviteMembers(rp.canInvite);
-            resolved.setCanKickMembers(rp.canKick);
-            resolved.setCanDeleteGuild(rp.canDelete);
-            resolved.setCanPromoteMembers(rp.canPromote);
-            resolved.setCanDemoteMembers(rp.canDemote);
-            // isAdmin 仍由 Bukkit 权限系统控制
-            return resolved;
         });
+        return members;
     }
 
-    private RolePermissions resolveRolePermissions(GuildMember.Role role) {
-        if (role == null) {
-            return defaultPermissions;
-        }
-        switch (role) {
-            case LEADER:
-                return leaderPermissions;
-            case OFFICER:
-                return officerPermissions;
-            case MEMBER:
-            default:
-                return memberPermissions;
-        }
+    /**
+     * 移除玩家的索引数据（玩家离线时调用）
+     */
+    public void evictPlayer(UUID playerUuid) {
+        loading.remove(playerUuid);
+        membershipIndex.remove(playerUuid);
     }
 
     /**
-     * 更新玩家权限（当工会状态改变时调用）
+     * 清空全部索引数据并重新预热在线玩家（从备份恢复数据后调用）
      */
-    public void updatePlayerPermissions(UUID playerUuid) {
-        playerPermissions.remove(playerUuid);
-        // 重新计算权限
-        getPlayerPermissions(playerUuid);
+    public void invalidateAll() {
+        loading.clear();
+        membershipIndex.clear();
+        warmOnlinePlayers();
     }
 
     /**
-     * 从配置重载权限矩阵，并清空缓存
+     * 从配置重载权限矩阵并编译为权限掩码
      */
     public void reloadFromConfig() {
         FileConfiguration cfg = plugin.getConfigManager().getMainConfig();
-        this.defaultPermissions = readRolePermissions(cfg, "permissions.default",
-                new RolePermissions(false, false, false, false, false, false));
-        this.memberPermissions = readRolePermissions(cfg, "permissions.member",
-                new RolePermissions(true, false, false, false, false, false));
-        this.officerPermissions = readRolePermissions(cfg, "permissions.officer",
-                new RolePermissions(true, true, true, false, false, false));
+        long[] masks = new long[GuildMember.Role.values().length];
+        masks[GuildMember.Role.MEMBER.ordinal()] = readRoleMask(cfg, "permissions.member",
+                GuildPermission.maskOf(GuildPermission.CREATE));
+        masks[GuildMember.Role.OFFICER.ordinal()] = readRoleMask(cfg, "permissions.officer",
+                GuildPermission.maskOf(GuildPermission.CREATE, GuildPermission.INVITE, GuildPermission.KICK));
         // leader 未配置时，采用全开作为回退
-        RolePermissions leaderFallback = new RolePermissions(true, true, true, true, true, true);
-        this.leaderPermissions = readRolePermissions(cfg, "permissions.leader", leaderFallback);
-        playerPermissions.clear();
+        masks[GuildMember.Role.LEADER.ordinal()] = readRoleMask(cfg, "permissions.leader", GuildPermission.allMask());
+        this.defaultMask = readRoleMask(cfg, "permissions.default", 0L);
+        this.roleMasks = masks;
+        // 索引中保存的是已编译掩码，需重新解析
+        membershipIndex.clear();
         LogService.info("权限矩阵已从配置重载，并清空玩家权限缓存");
     }
 
-    private RolePermissions readRolePermissions(FileConfiguration cfg, String path, RolePermissions fallback) {
+    private long readRoleMask(FileConfiguration cfg, String path, long fallback) {
         if (cfg == null) return fallback;
-        boolean canCreate = cfg.getBoolean(path + ".can-create", fallback.canCreate);
-        boolean canInvite = cfg.getBoolean(path + ".can-invite", fallback.canInvite);
-        boolean canKick = cfg.getBoolean(path + ".can-kick", fallback.canKick);
-        boolean canPromote = cfg.getBoolean(path + ".can-promote", fallback.canPromote);
-        boolean canDemote = cfg.getBoolean(path + ".can-demote", fallback.canDemote);
-        boolean canDelete = cfg.getBoolean(path + ".can-delete", fallback.canDelete);
-        return new RolePermissions(canCreate, canInvite, canKick, canPromote, canDemote, canDelete);
+        long mask = 0L;
+        for (GuildPermission permission : GuildPermission.values()) {
+            if (cfg.getBoolean(path + "." + permission.getConfigKey(), permission.isGranted(fallback))) {
+                mask |= permission.getBit();
+            }
+        }
+        return mask;
     }
 
     /**
      * 检查玩家是否可以邀请成员
      */
     public boolean canInviteMembers(Player player) {
-        if (!hasPermission(player, "guild.invite")) {
-            return false;
-        }
-
-        // 检查玩家是否在工会中
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            return false;
-        }
-
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            return false;
-        }
-
-        return getPlayerPermissions(player.getUniqueId()).canInviteMembers();
+        return hasGuildPermission(player, GuildPermission.INVITE);
     }
 
     /**
      * 检查玩家是否可以踢出成员
      */
     public boolean canKickMembers(Player player) {
-        if (!hasPermission(player, "guild.kick")) {
-            return false;
-        }
-
-        // 检查玩家是否在工会中
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            return false;
-        }
-
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            return false;
-        }
-
-        return getPlayerPermissions(player.getUniqueId()).canKickMembers();
+        return hasGuildPermission(player, GuildPermission.KICK);
     }
 
     /**
      * 检查玩家是否可以删除工会
      */
     public boolean canDeleteGuild(Player player) {
-        if (!hasPermission(player, "guild.delete")) {
-            return false;
-        }
-
-        // 检查玩家是否在工会中
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            return false;
-        }
-
-        Guild guild = guildService.getPlayerGuild(player.getUniqueId());
-        if (guild == null) {
-            return false;
-        }
-
-        return getPlayerPermissions(player.getUniqueId()).canDeleteGuild();
+        return hasGuildPermission(player, GuildPermission.DELETE);
     }
 
     /**
      * 检查玩家是否可以创建工会
      */
     public boolean canCreateGuild(Player player) {
-        if (!hasPermission(player, "guild.create")) {
+        if (!hasPermission(player, GuildPermission.CREATE.getNode())) {
             return false;
         }
 
         // 检查玩家是否已有工会
-        GuildService guildService = plugin.getServiceContainer().get(GuildService.class);
-        if (guildService == null) {
-            return false;
-        }
-
-        return guildService.getPlayerGuild(player.getUniqueId()) == null;
+        return resolveMembership(player.getUniqueId()).guildId() == 0;
     }
 
     /**
-     * 玩家权限类
+     * 检查工会成员是否拥有指定的工会内权限（需在工会中且角色掩码包含该权限）
      */
-    private static class PlayerPermissions {
-        private boolean canCreateGuild = false;
-        private boolean canInviteMembers = false;
-        private boolean canKickMembers = false;
-        private boolean canDeleteGuild = false;
-        private boolean canPromoteMembers = false;
-        private boolean canDemoteMembers = false;
-        private boolean isAdmin = false;
-
-        // Getters and Setters
-        public boolean canCreateGuild() {
-            return canCreateGuild;
-        }
-
-        public void setCanCreateGuild(boolean canCreateGuild) {
-            this.canCreateGuild = canCreateGuild;
-        }
-
-        public boolean canInviteMembers() {
-            return canInviteMembers;
-        }
-
-        public void setCanInviteMembers(boolean canInviteMembers) {
-            this.canInviteMembers = canInviteMembers;
-        }
-
-        public boolean canKickMembers() {
-            return canKickMembers;
-        }
-
-        public void setCanKickMembers(boolean canKickMembers) {
-            this.canKickMembers = canKickMembers;
-        }
-
-        public boolean canDeleteGuild() {
-            return canDeleteGuild;
-        }
-
-        public void setCanDeleteGuild(boolean canDeleteGuild) {
-            this.canDeleteGuild = canDeleteGuild;
-        }
-
-        public boolean canPromoteMembers() {
-            return canPromoteMembers;
-        }
-
-        public void setCanPromoteMembers(boolean canPromoteMembers) {
-            this.canPromoteMembers = canPromoteMembers;
-        }
-
-        public boolean canDemoteMembers() {
-            return canDemoteMembers;
-        }
-
-        public void setCanDemoteMembers(boolean canDemoteMembers) {
-            this.canDemoteMembers = canDemoteMembers;
-        }
-
-        public boolean isAdmin() {
-            return isAdmin;
+    private boolean hasGuildPermission(Player player, GuildPermission permission) {
+        if (!hasPermission(player, permission.getNode())) {
+            return false;
         }
 
-        public void setAdmin(boolean admin) {
-            isAdmin = admin;
-        }
+        Membership membership = resolveMembership(player.getUniqueId());
+        return membership.guildId() != 0 && permission.isGranted(membership.mask());
     }
 
-    // 角色权限矩阵（配置驱动）
-    private static class RolePermissions {
-        final boolean canCreate;
-        final boolean canInvite;
-        final boolean canKick;
-        final boolean canPromote;
-        final boolean canDemote;
-        final boolean canDelete;
-
-        RolePermissions(boolean canCreate, boolean canInvite, boolean canKick, boolean canPromote, boolean canDemote, boolean canDelete) {
-            this.canCreate = canCreate;
-            this.canInvite = canInvite;
-            this.canKick = canKick;
-            this.canPromote = canPromote;
-            this.canDemote = canDemote;
-            this.canDelete = canDelete;
-        }
+    /**
+     * 成员索引条目
+     */
+    private record Membership(int guildId, GuildMember.Role role, int rankId, long mask) {
+        // 尚未加载：不视为无工会，也不授予任何权限
+        static final Membership UNKNOWN = new Membership(-1, null, 0, 0L);
     }
 }
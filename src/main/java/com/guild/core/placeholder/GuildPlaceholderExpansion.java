@@ -4,6 +4,7 @@ import com.guild.GuildPlugin;
 import com.guild.models.Guild;
 import com.guild.models.GuildMember;
 import com.guild.services.GuildService;
+import com.guild.util.DebugCategory;
 import com.guild.util.LogService;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.entity.Player;
@@ -122,6 +123,7 @@ public class GuildPlaceholderExpansion extends PlaceholderExpansion {
                     return canManageEconomy(player);
 
                 default:
+                    LogService.debug(DebugCategory.PLACEHOLDER, "未知的占位符: guild_{} (玩家: {})", params, player.getName());
                     return "";
             }
         } catch (Exception e) {
@@ -1,5 +1,6 @@
 package com.guild.core.time;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -44,6 +45,33 @@ public final class TimeProvider {
         return nowLocalDateTime().plusDays(days).format(FULL_FORMATTER);
     }
 
+    /** 当前时间的毫秒时间戳（数据库中时间列的存储格式）。 */
+    public static long nowMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /** 当前时间加 minutes 分钟的毫秒时间戳。 */
+    public static long plusMinutesMillis(int minutes) {
+        return nowMillis() + minutes * 60_000L;
+    }
+
+    /** 当前时间加 days 天的毫秒时间戳。 */
+    public static long plusDaysMillis(int days) {
+        return nowMillis() + days * 86_400_000L;
+    }
+
+    /** 毫秒时间戳转换为服务器本地时间，0 表示未知并返回 null。 */
+    public static LocalDateTime fromEpochMillis(long millis) {
+        if (millis == 0) return null;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), SERVER_ZONE);
+    }
+
+    /** 服务器本地时间转换为毫秒时间戳，null 返回 0。 */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) return 0;
+        return dateTime.atZone(SERVER_ZONE).toInstant().toEpochMilli();
+    }
+
     /** 格式化 LocalDateTime 为完整字符串。 */
     public static String format(LocalDateTime dateTime) {
         if (dateTime == null) return "未知";
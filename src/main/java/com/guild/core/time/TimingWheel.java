@@ -0,0 +1,157 @@
+package com.guild.core.time;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分层时间轮 - 以固定刻度推进，到期条目按批返回；调度、取消与到期均为 O(1)
+ * <p>
+ * 共 {@link #LEVELS} 层，每层 {@link #SLOTS} 个槽；第 n 层一个槽覆盖 SLOTS^n 个刻度，
+ * 推进到高层槽的边界时将其中条目下放到低层。超出总跨度的条目暂存在溢出队列中。
+ * 同一条目重复调度时以最后一次为准；取消只做标记，被标记的条目在推进经过时丢弃。
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final ArrayDeque<Entry<T>>[][] wheels;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    // 条目 -> 当前有效的调度
+    private final Map<T, Entry<T>> scheduled = new HashMap<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis 必须大于 0");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new ArrayDeque[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    /**
+     * 调度条目在 expiresAtMillis 到期；已过期的条目在下一次推进时返回
+     */
+    public synchronized void schedule(T item, long expiresAtMillis) {
+        cancel(item);
+        Entry<T> entry = new Entry<>(item, Math.max(expiresAtMillis / tickMillis, currentTick + 1));
+        scheduled.put(item, entry);
+        place(entry);
+        size++;
+    }
+
+    /**
+     * 取消条目，条目未在等待到期时返回 false
+     */
+    public synchronized boolean cancel(T item) {
+        Entry<T> entry = scheduled.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        size--;
+        return true;
+    }
+
+    /**
+     * 推进到 nowMillis，返回期间到期的全部条目
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            ArrayDeque<Entry<T>> bucket = wheels[0][(int) (currentTick & SLOT_MASK)];
+            int pending = bucket.size();
+            for (int i = 0; i < pending; i++) {
+                Entry<T> entry = bucket.poll();
+                if (entry.cancelled) {
+                    continue;
+                }
+                if (entry.tick <= currentTick) {
+                    expired.add(entry.item);
+                    scheduled.remove(entry.item);
+                    size--;
+                } else {
+                    place(entry);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 当前等待到期的条目数
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 在高层槽边界将其条目重新放置到更低的层
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            ArrayDeque<Entry<T>> bucket = wheels[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+            int pending = bucket.size();
+            for (int i = 0; i < pending; i++) {
+                place(bucket.poll());
+            }
+        }
+
+        // 溢出队列在最高层转完一圈时重新放置
+        if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> entries = new ArrayList<>(overflow);
+            overflow.clear();
+            entries.forEach(this::place);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.cancelled) {
+            return;
+        }
+        long delta = Math.max(entry.tick - currentTick, 0);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if (delta < (1L << shift)) {
+                // 第 0 层落后于当前刻度的条目放入当前槽，在本次推进中返回
+                long tick = level == 0 ? Math.max(entry.tick, currentTick) : entry.tick;
+                wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long tick;
+        private boolean cancelled;
+
+        private Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
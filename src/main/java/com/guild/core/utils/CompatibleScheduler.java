@@ -5,6 +5,8 @@ import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 兼容性调度器 - 支持Paper和Folia
  */
@@ -65,6 +67,14 @@ public class CompatibleScheduler {
         Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduledTask -> task.run(), delay, period);
     }
 
+    /**
+     * 在异步线程重复执行任务
+     */
+    public static void runTaskTimerAsync(Plugin plugin, Runnable task, long delay, long period, TimeUnit unit) {
+        // 直接使用 Paper 的异步调度器
+        Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduledTask -> task.run(), delay, period, unit);
+    }
+
     /**
      * 检查是否在主线程
      */
@@ -5,6 +5,7 @@ import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
 import com.guild.core.utils.PlaceholderUtils;
+import com.guild.models.ApplicationBatchResult;
 import com.guild.models.Guild;
 import com.guild.models.GuildApplication;
 import com.guild.util.FormatUtil;
@@ -19,7 +20,9 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.guild.util.FormatUtil.sendMessage;
 
@@ -33,6 +36,10 @@ public class ApplicationManagementGUI implements GUI {
     private final Guild guild;
     private int currentPage = 0;
     private boolean showingHistory = false; // false=待处理申请, true=申请历史
+    // 最近一次加载的申请列表，点击时按槽位直接取用
+    private volatile List<GuildApplication> applications = List.of();
+    // Shift+左键选中的待处理申请ID
+    private final Set<Integer> selectedIds = new LinkedHashSet<>();
 
     public ApplicationManagementGUI(GuildPlugin plugin, Guild guild) {
         this.plugin = plugin;
@@ -107,19 +114,17 @@ public class ApplicationManagementGUI implements GUI {
      * 设置功能按钮
      */
     private void setupFunctionButtons(Inventory inventory) {
-        // 异步获取待处理申请数量
-        plugin.getGuildService().getPendingApplicationsAsync(guild.getId()).thenAccept(applications -> {
-            int pendingCount = applications != null ? applications.size() : 0;
-
-            // 待处理申请按钮
-            ItemStack pendingApplications = createItem(
-                    Material.PAPER,
-                    ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.pending-applications.name", "&e待处理申请")),
-                    ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.pending-applications.lore.1", "&7查看待处理的申请")),
-                    ColorUtils.colorize("&f" + pendingCount + " 个申请")
-            );
-            inventory.setItem(20, pendingApplications);
-        });
+        // 待处理申请数量取自收件箱计数，无需查询申请列表
+        int pendingCount = plugin.getApplicationInboxService().getPendingCount(guild.getId());
+
+        // 待处理申请按钮
+        ItemStack pendingApplications = createItem(
+                Material.PAPER,
+                ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.pending-applications.name", "&e待处理申请")),
+                ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.pending-applications.lore.1", "&7查看待处理的申请")),
+                ColorUtils.colorize("&f" + pendingCount + " 个申请")
+        );
+        inventory.setItem(45, pendingApplications);
 
         // 申请历史按钮
         ItemStack applicationHistory = createItem(
@@ -127,7 +132,26 @@ public class ApplicationManagementGUI implements GUI {
                 ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.application-history.name", "&e申请历史")),
                 ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.application-history.lore.1", "&7查看申请历史记录"))
         );
-        inventory.setItem(24, applicationHistory);
+        inventory.setItem(53, applicationHistory);
+
+        if (!showingHistory) {
+            // 批量接受/拒绝选中的申请
+            ItemStack acceptSelected = createItem(
+                    Material.LIME_DYE,
+                    ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.accept-selected.name", "&a接受选中的申请")),
+                    ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.accept-selected.lore.1", "&7Shift+左键 选择申请")),
+                    ColorUtils.colorize("&f已选中 " + selectedIds.size() + " 个")
+            );
+            inventory.setItem(47, acceptSelected);
+
+            ItemStack rejectSelected = createItem(
+                    Material.RED_DYE,
+                    ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.reject-selected.name", "&c拒绝选中的申请")),
+                    ColorUtils.colorize(plugin.getConfigManager().getGuiConfig().getString("application-management.items.reject-selected.lore.1", "&7Shift+左键 选择申请")),
+                    ColorUtils.colorize("&f已选中 " + selectedIds.size() + " 个")
+            );
+            inventory.setItem(51, rejectSelected);
+        }
 
         // 返回按钮
         ItemStack back = createItem(
@@ -154,6 +178,13 @@ public class ApplicationManagementGUI implements GUI {
      */
     private void loadPendingApplications(Inventory inventory) {
         plugin.getGuildService().getPendingApplicationsAsync(guild.getId()).thenAccept(applications -> {
+            this.applications = applications != null ? applications : List.of();
+            // 已被处理的申请不再保持选中
+            Set<Integer> pendingIds = new LinkedHashSet<>();
+            this.applications.forEach(application -> pendingIds.add(application.getId()));
+            synchronized (selectedIds) {
+                selectedIds.retainAll(pendingIds);
+            }
             if (applications == null || applications.isEmpty()) {
                 // 显示无申请信息
                 ItemStack noApplications = createItem(
@@ -184,6 +215,7 @@ public class ApplicationManagementGUI implements GUI {
      */
     private void loadApplicationHistory(Inventory inventory) {
         plugin.getGuildService().getApplicationHistoryAsync(guild.getId()).thenAccept(applications -> {
+            this.applications = applications != null ? applications : List.of();
             if (applications == null || applications.isEmpty()) {
                 // 显示无历史信息
                 ItemStack noHistory = createItem(
@@ -266,14 +298,19 @@ public class ApplicationManagementGUI implements GUI {
 
         switch (application.getStatus()) {
             case PENDING:
-                material = Material.YELLOW_WOOL;
+                boolean selected = isSelected(application.getId());
+                material = selected ? Material.LIME_WOOL : Material.YELLOW_WOOL;
                 name = PlaceholderUtils.replaceApplicationPlaceholders("&e{applicant_name} 的申请", application.getPlayerName(), guild.getName(), application.getCreatedAt());
                 lore.add(ColorUtils.colorize("&7状态: &e待处理"));
                 lore.add(PlaceholderUtils.replaceApplicationPlaceholders("&7申请时间: {apply_time}", application.getPlayerName(), guild.getName(), application.getCreatedAt()));
                 lore.add(ColorUtils.colorize("&7消息: " + application.getMessage()));
+                if (selected) {
+                    lore.add(ColorUtils.colorize("&a已选中"));
+                }
                 lore.add("");
                 lore.add(ColorUtils.colorize("&a左键: 接受"));
                 lore.add(ColorUtils.colorize("&c右键: 拒绝"));
+                lore.add(ColorUtils.colorize("&eShift+左键: 选择/取消选择"));
                 break;
             case APPROVED:
                 material = Material.GREEN_WOOL;
@@ -299,7 +336,7 @@ public class ApplicationManagementGUI implements GUI {
      * 检查是否是功能按钮
      */
     private boolean isFunctionButton(int slot) {
-        return slot == 20 || slot == 24 || slot == 49;
+        return slot == 45 || slot == 47 || slot == 49 || slot == 51 || slot == 53;
     }
 
     /**
@@ -321,14 +358,27 @@ public class ApplicationManagementGUI implements GUI {
      */
     private void handleFunctionButton(Player player, int slot) {
         switch (slot) {
-            case 20: // 待处理申请
+            case 45: // 待处理申请
                 showingHistory = false;
                 currentPage = 0;
                 refreshInventory(player);
                 break;
-            case 24: // 申请历史
+            case 47: // 接受选中的申请
+                if (!showingHistory) {
+                    handleBatchProcess(player, GuildApplication.ApplicationStatus.APPROVED);
+                }
+                break;
+            case 51: // 拒绝选中的申请
+                if (!showingHistory) {
+                    handleBatchProcess(player, GuildApplication.ApplicationStatus.REJECTED);
+                }
+                break;
+            case 53: // 申请历史
                 showingHistory = true;
                 currentPage = 0;
+                synchronized (selectedIds) {
+                    selectedIds.clear();
+                }
                 refreshInventory(player);
                 break;
             case 49: // 返回
@@ -363,96 +413,149 @@ public class ApplicationManagementGUI implements GUI {
             return;
         }
 
-        // 待处理申请可以接受或拒绝
-        if (clickType == ClickType.LEFT) {
+        GuildApplication application = applicationAt(slot);
+        if (application == null) {
+            return;
+        }
+
+        // 待处理申请可以接受、拒绝或选中后批量处理
+        if (clickType == ClickType.SHIFT_LEFT) {
+            toggleSelection(application.getId());
+            refreshInventory(player);
+        } else if (clickType == ClickType.LEFT) {
             // 接受申请
-            handleAcceptApplication(player, slot);
+            handleAcceptApplication(player, application);
         } else if (clickType == ClickType.RIGHT) {
             // 拒绝申请
-            handleRejectApplication(player, slot);
+            handleRejectApplication(player, application);
         }
     }
 
     /**
-     * 处理接受申请
+     * 按槽位取当前页的申请（每行 7 个，从第 2 行第 2 列开始）
      */
-    private void handleAcceptApplication(Player player, int slot) {
-        // 获取当前页的申请列表
-        plugin.getGuildService().getPendingApplicationsAsync(guild.getId()).thenAccept(applications -> {
-            if (applications == null || applications.isEmpty()) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-pending-applications", "&c没有待处理的申请");
-                sendMessage(player, message);
-                return;
-            }
+    private GuildApplication applicationAt(int slot) {
+        int applicationIndex = currentPage * APPLICATIONS_PER_PAGE + (slot / 9 - 1) * 7 + (slot % 9 - 1);
+        List<GuildApplication> current = applications;
+        return applicationIndex >= 0 && applicationIndex < current.size() ? current.get(applicationIndex) : null;
+    }
 
-            // 计算申请在列表中的索引
-            int applicationIndex = currentPage * APPLICATIONS_PER_PAGE + (slot - 10);
-            if (applicationIndex >= 0 && applicationIndex < applications.size()) {
-                GuildApplication application = applications.get(applicationIndex);
-
-                // 处理申请
-                plugin.getGuildService().processApplicationAsync(application.getId(), GuildApplication.ApplicationStatus.APPROVED, player.getUniqueId()).thenAccept(success -> {
-                    CompatibleScheduler.runTask(plugin, () -> {
-                        if (success) {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-accepted", "&a申请已接受！");
-                            sendMessage(player, message);
-
-                            // 向申请者发送消息
-                            Player applicant = Bukkit.getPlayer(application.getPlayerUuid());
-                            if (applicant != null && applicant.isOnline()) {
-                                // 去除工会名称中的颜色代码
-                                String cleanGuildName = ColorUtils.stripColor(guild.getName());
-                                String acceptedMessage = plugin.getConfigManager().getMessagesConfig().getString("application.accepted", "&a您的申请已被 {guild} 接受！")
-                                        .replace("{guild}", cleanGuildName);
-                                sendMessage(applicant, acceptedMessage);
-                            }
-
-                            // 刷新GUI
-                            refreshInventory(player);
-                        } else {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-accept-failed", "&c接受申请失败！");
-                            sendMessage(player, message);
-                        }
-                    });
-                });
+    private boolean isSelected(int applicationId) {
+        synchronized (selectedIds) {
+            return selectedIds.contains(applicationId);
+        }
+    }
+
+    private void toggleSelection(int applicationId) {
+        synchronized (selectedIds) {
+            if (!selectedIds.remove(applicationId)) {
+                selectedIds.add(applicationId);
             }
+        }
+    }
+
+    /**
+     * 处理接受申请
+     */
+    private void handleAcceptApplication(Player player, GuildApplication application) {
+        plugin.getGuildService().processApplicationAsync(application.getId(), GuildApplication.ApplicationStatus.APPROVED, player.getUniqueId()).thenAccept(success -> {
+            CompatibleScheduler.runTask(plugin, () -> {
+                if (success) {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-accepted", "&a申请已接受！");
+                    sendMessage(player, message);
+
+                    // 向申请者发送消息
+                    notifyAccepted(application);
+
+                    // 刷新GUI
+                    refreshInventory(player);
+                } else {
+                    String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-accept-failed", "&c接受申请失败！");
+                    sendMessage(player, message);
+                }
+            });
         });
     }
 
     /**
      * 处理拒绝申请
      */
-    private void handleRejectApplication(Player player, int slot) {
-        // 获取当前页的申请列表
-        plugin.getGuildService().getPendingApplicationsAsync(guild.getId()).thenAccept(applications -> {
-            if (applications == null || applications.isEmpty()) {
-                String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-pending-applications", "&c没有待处理的申请");
+    private void handleRejectApplication(Player player, GuildApplication application) {
+        plugin.getGuildService().processApplicationAsync(application.getId(), GuildApplication.ApplicationStatus.REJECTED, player.getUniqueId()).thenAccept(success -> {
+            if (success) {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-rejected", "&c申请已拒绝！");
                 sendMessage(player, message);
-                return;
-            }
 
-            // 计算申请在列表中的索引
-            int applicationIndex = currentPage * APPLICATIONS_PER_PAGE + (slot - 10);
-            if (applicationIndex >= 0 && applicationIndex < applications.size()) {
-                GuildApplication application = applications.get(applicationIndex);
-
-                // 处理申请
-                plugin.getGuildService().processApplicationAsync(application.getId(), GuildApplication.ApplicationStatus.REJECTED, player.getUniqueId()).thenAccept(success -> {
-                    if (success) {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-rejected", "&c申请已拒绝！");
-                        sendMessage(player, message);
-
-                        // 刷新GUI
-                        refreshInventory(player);
-                    } else {
-                        String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-reject-failed", "&c拒绝申请失败！");
-                        sendMessage(player, message);
-                    }
-                });
+                // 刷新GUI
+                refreshInventory(player);
+            } else {
+                String message = plugin.getConfigManager().getMessagesConfig().getString("gui.application-reject-failed", "&c拒绝申请失败！");
+                sendMessage(player, message);
             }
         });
     }
 
+    /**
+     * 批量接受或拒绝选中的申请（一个事务内完成）
+     */
+    private void handleBatchProcess(Player player, GuildApplication.ApplicationStatus status) {
+        List<Integer> ids;
+        synchronized (selectedIds) {
+            ids = new ArrayList<>(selectedIds);
+        }
+        if (ids.isEmpty()) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-selected-applications", "&c请先用 Shift+左键 选择申请");
+            sendMessage(player, message);
+            return;
+        }
+
+        plugin.getGuildService().processApplicationsAsync(ids, status, player.getUniqueId()).thenAccept(result -> {
+            CompatibleScheduler.runTask(plugin, () -> {
+                sendBatchResult(player, status, result);
+                if (status == GuildApplication.ApplicationStatus.APPROVED) {
+                    result.processed().forEach(this::notifyAccepted);
+                }
+                synchronized (selectedIds) {
+                    result.processed().forEach(application -> selectedIds.remove(application.getId()));
+                }
+                refreshInventory(player);
+            });
+        });
+    }
+
+    private void sendBatchResult(Player player, GuildApplication.ApplicationStatus status, ApplicationBatchResult result) {
+        String key = status == GuildApplication.ApplicationStatus.APPROVED ? "gui.applications-batch-accepted" : "gui.applications-batch-rejected";
+        String fallback = status == GuildApplication.ApplicationStatus.APPROVED ? "&a已接受 {count} 个申请" : "&c已拒绝 {count} 个申请";
+        String message = plugin.getConfigManager().getMessagesConfig().getString(key, fallback)
+                .replace("{count}", String.valueOf(result.processed().size()));
+        sendMessage(player, message);
+
+        if (result.closed() > 0) {
+            String closed = plugin.getConfigManager().getMessagesConfig().getString("gui.applications-batch-closed", "&e{count} 个申请的申请人已加入其他工会，已自动拒绝")
+                    .replace("{count}", String.valueOf(result.closed()));
+            sendMessage(player, closed);
+        }
+        if (result.skipped() > 0) {
+            String skipped = plugin.getConfigManager().getMessagesConfig().getString("gui.applications-batch-skipped", "&e{count} 个申请因名额不足或已被处理，未能处理")
+                    .replace("{count}", String.valueOf(result.skipped()));
+            sendMessage(player, skipped);
+        }
+    }
+
+    /**
+     * 通知在线的申请者申请已被接受
+     */
+    private void notifyAccepted(GuildApplication application) {
+        Player applicant = Bukkit.getPlayer(application.getPlayerUuid());
+        if (applicant != null && applicant.isOnline()) {
+            // 去除工会名称中的颜色代码
+            String cleanGuildName = ColorUtils.stripColor(guild.getName());
+            String acceptedMessage = plugin.getConfigManager().getMessagesConfig().getString("application.accepted", "&a您的申请已被 {guild} 接受！")
+                    .replace("{guild}", cleanGuildName);
+            sendMessage(applicant, acceptedMessage);
+        }
+    }
+
     /**
      * 刷新库存
      */
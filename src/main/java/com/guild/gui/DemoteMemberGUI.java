@@ -3,6 +3,7 @@ package com.guild.gui;
 import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
+import com.guild.models.CompactMember;
 import com.guild.models.Guild;
 import com.guild.models.GuildMember;
 import com.guild.util.FormatUtil;
@@ -28,7 +29,7 @@ public class DemoteMemberGUI implements GUI {
     private final GuildPlugin plugin;
     private final Guild guild;
     private int currentPage = 0;
-    private List<GuildMember> members;
+    private List<CompactMember> members;
 
     public DemoteMemberGUI(GuildPlugin plugin, Guild guild) {
         this.plugin = plugin;
@@ -39,10 +40,10 @@ public class DemoteMemberGUI implements GUI {
     }
 
     private void loadMembers() {
-        plugin.getGuildService().getGuildMembersAsync(guild.getId()).thenAccept(memberList -> {
+        plugin.getGuildService().getGuildMembersCompactAsync(guild.getId()).thenAccept(memberList -> {
             this.members = memberList.stream()
-                    .filter(member -> !member.getPlayerUuid().equals(guild.getLeaderUuid()))
-                    .filter(member -> member.getRole().equals(GuildMember.Role.OFFICER)) // 只显示官员
+                    .filter(member -> !member.isPlayer(guild.getLeaderUuid()))
+                    .filter(member -> member.role().equals(GuildMember.Role.OFFICER)) // 只显示官员
                     .collect(java.util.stream.Collectors.toList());
         });
     }
@@ -77,7 +78,7 @@ public class DemoteMemberGUI implements GUI {
             // 成员头像区域
             int memberIndex = slot - 9 + (currentPage * 36);
             if (memberIndex < members.size()) {
-                GuildMember member = members.get(memberIndex);
+                CompactMember member = members.get(memberIndex);
                 handleDemoteMember(player, member);
             }
         } else if (slot == 45) {
@@ -127,7 +128,7 @@ public class DemoteMemberGUI implements GUI {
         int endIndex = Math.min(startIndex + 36, members.size());
 
         for (int i = startIndex; i < endIndex; i++) {
-            GuildMember member = members.get(i);
+            CompactMember member = members.get(i);
             int slot = 9 + (i - startIndex);
 
             ItemStack memberHead = createMemberHead(member);
@@ -172,15 +173,15 @@ public class DemoteMemberGUI implements GUI {
     /**
      * 创建成员头像
      */
-    private ItemStack createMemberHead(GuildMember member) {
+    private ItemStack createMemberHead(CompactMember member) {
         ItemStack head = new ItemStack(Material.PLAYER_HEAD);
         SkullMeta meta = (SkullMeta) head.getItemMeta();
 
         if (meta != null) {
-            meta.setDisplayName(ColorUtils.colorize("&7" + member.getPlayerName()));
+            meta.setDisplayName(ColorUtils.colorize("&7" + member.playerName()));
             meta.setLore(Arrays.asList(
-                    ColorUtils.colorize("&7当前职位: &e" + member.getRole().getDisplayName()),
-                    ColorUtils.colorize("&7加入时间: &e" + member.getJoinedAt()),
+                    ColorUtils.colorize("&7当前职位: &e" + member.role().getDisplayName()),
+                    ColorUtils.colorize("&7加入时间: &e" + member.joinedAt()),
                     ColorUtils.colorize("&7点击降级为成员")
             ));
             head.setItemMeta(meta);
@@ -192,7 +193,7 @@ public class DemoteMemberGUI implements GUI {
     /**
      * 处理降级成员
      */
-    private void handleDemoteMember(Player demoter, GuildMember member) {
+    private void handleDemoteMember(Player demoter, CompactMember member) {
         // 检查权限
         if (!demoter.hasPermission("guild.demote")) {
             String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-permission", "&c权限不足");
@@ -201,14 +202,14 @@ public class DemoteMemberGUI implements GUI {
         }
 
         // 降级成员
-        plugin.getGuildService().updateMemberRoleAsync(member.getPlayerUuid(), GuildMember.Role.MEMBER, demoter.getUniqueId()).thenAccept(success -> {
+        plugin.getGuildService().updateMemberRoleAsync(member.playerUuid(), GuildMember.Role.MEMBER, demoter.getUniqueId()).thenAccept(success -> {
             if (success) {
                 String demoterMessage = plugin.getConfigManager().getMessagesConfig().getString("demote.success", "&a已降级 &e{player} &a为成员！")
-                        .replace("{player}", member.getPlayerName());
+                        .replace("{player}", member.playerName());
                 sendMessage(demoter, demoterMessage);
 
                 // 通知被降级的玩家
-                Player demotedPlayer = plugin.getServer().getPlayer(member.getPlayerUuid());
+                Player demotedPlayer = plugin.getServer().getPlayer(member.playerUuid());
                 if (demotedPlayer != null) {
                     String demotedMessage = plugin.getConfigManager().getMessagesConfig().getString("demote.demoted", "&c你被降级为工会 &e{guild} &c的成员！")
                             .replace("{guild}", guild.getName());
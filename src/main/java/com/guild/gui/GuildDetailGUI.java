@@ -4,6 +4,7 @@ import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
+import com.guild.models.CompactMember;
 import com.guild.models.Guild;
 import com.guild.models.GuildMember;
 import com.guild.util.FormatUtil;
@@ -30,7 +31,7 @@ public class GuildDetailGUI implements GUI {
     private final GuildPlugin plugin;
     private final Guild guild;
     private final Player viewer;
-    private List<GuildMember> members = new ArrayList<>();
+    private List<CompactMember> members = new ArrayList<>();
 
     public GuildDetailGUI(GuildPlugin plugin, Guild guild, Player viewer) {
         this.plugin = plugin;
@@ -112,15 +113,15 @@ public class GuildDetailGUI implements GUI {
         // 显示前4个成员（更简洁）
         int maxDisplay = Math.min(4, members.size());
         for (int i = 0; i < maxDisplay; i++) {
-            GuildMember member = members.get(i);
+            CompactMember member = members.get(i);
             int slot = 28 + i; // 28-31
 
             List<String> memberLore = new ArrayList<>();
-            memberLore.add(ColorUtils.colorize("&7职位: " + getRoleDisplayName(member.getRole())));
-            memberLore.add(ColorUtils.colorize("&7加入: " + formatTime(member.getJoinedAt())));
-            memberLore.add(ColorUtils.colorize("&7在线: " + (isPlayerOnline(member.getPlayerUuid()) ? "&a在线" : "&7离线")));
+            memberLore.add(ColorUtils.colorize("&7职位: " + getRoleDisplayName(member.role())));
+            memberLore.add(ColorUtils.colorize("&7加入: " + formatTime(member.joinedAt())));
+            memberLore.add(ColorUtils.colorize("&7在线: " + (isPlayerOnline(member.playerUuid()) ? "&a在线" : "&7离线")));
 
-            inventory.setItem(slot, createPlayerHead(member.getPlayerName(), memberLore.toArray(new String[0])));
+            inventory.setItem(slot, createPlayerHead(member.playerName(), memberLore.toArray(new String[0])));
         }
 
         // 更多成员压缩单格显示
@@ -167,7 +168,7 @@ public class GuildDetailGUI implements GUI {
     }
 
     private void loadMembers() {
-        plugin.getGuildService().getGuildMembersAsync(guild.getId()).thenAccept(membersList -> {
+        plugin.getGuildService().getGuildMembersCompactAsync(guild.getId()).thenAccept(membersList -> {
             this.members = membersList != null ? membersList : new ArrayList<>();
             CompatibleScheduler.runTask(plugin, () -> {
                 if (viewer.isOnline()) {
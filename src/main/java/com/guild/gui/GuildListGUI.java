@@ -5,6 +5,7 @@ import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
 import com.guild.core.utils.PlaceholderUtils;
+import com.guild.models.CompactGuild;
 import com.guild.models.Guild;
 import com.guild.util.FormatUtil;
 import net.kyori.adventure.text.Component;
@@ -32,6 +33,8 @@ public class GuildListGUI implements GUI {
     private int currentPage = 0;
     private String searchQuery = "";
     private String filterType = "all"; // all, name, tag
+    // 当前筛选结果（紧凑表示），点击时按槽位从中取工会
+    private List<CompactGuild> displayedGuilds = List.of();
 
     public GuildListGUI(GuildPlugin plugin) {
         this.plugin = plugin;
@@ -142,10 +145,11 @@ public class GuildListGUI implements GUI {
      * 加载工会列表
      */
     private void loadGuilds(Inventory inventory) {
-        plugin.getGuildService().getAllGuildsAsync().thenAccept(guilds -> {
+        plugin.getGuildService().getAllGuildsCompactAsync().thenAccept(guilds -> {
             // 确保在主线程中更新GUI
             CompatibleScheduler.runTask(plugin, () -> {
                 if (guilds == null || guilds.isEmpty()) {
+                    displayedGuilds = List.of();
                     // 显示无工会信息
                     ItemStack noGuilds = createItem(
                             Material.BARRIER,
@@ -157,7 +161,8 @@ public class GuildListGUI implements GUI {
                 }
 
                 // 应用搜索和筛选
-                List<Guild> filteredGuilds = filterGuilds(guilds);
+                List<CompactGuild> filteredGuilds = filterGuilds(guilds);
+                displayedGuilds = filteredGuilds;
 
                 if (filteredGuilds.isEmpty()) {
                     // 显示无搜索结果
@@ -188,28 +193,28 @@ public class GuildListGUI implements GUI {
     /**
      * 筛选工会
      */
-    private List<Guild> filterGuilds(List<Guild> guilds) {
-        List<Guild> filtered = new ArrayList<>();
+    private List<CompactGuild> filterGuilds(List<CompactGuild> guilds) {
+        List<CompactGuild> filtered = new ArrayList<>();
 
-        for (Guild guild : guilds) {
+        for (CompactGuild guild : guilds) {
             boolean matches = true;
 
             // 应用搜索
             if (!searchQuery.isEmpty()) {
                 switch (filterType) {
                     case "name":
-                        matches = guild.getName().toLowerCase().contains(searchQuery.toLowerCase());
+                        matches = guild.name().toLowerCase().contains(searchQuery.toLowerCase());
                         break;
                     case "tag":
-                        if (guild.getTag() != null) {
-                            matches = guild.getTag().toLowerCase().contains(searchQuery.toLowerCase());
+                        if (guild.tag() != null) {
+                            matches = guild.tag().toLowerCase().contains(searchQuery.toLowerCase());
                         } else {
                             matches = false;
                         }
                         break;
                     default: // all
-                        matches = guild.getName().toLowerCase().contains(searchQuery.toLowerCase()) ||
-                                (guild.getTag() != null && guild.getTag().toLowerCase().contains(searchQuery.toLowerCase()));
+                        matches = guild.name().toLowerCase().contains(searchQuery.toLowerCase()) ||
+                                (guild.tag() != null && guild.tag().toLowerCase().contains(searchQuery.toLowerCase()));
                         break;
                 }
             }
@@ -225,7 +230,7 @@ public class GuildListGUI implements GUI {
     /**
      * 显示工会列表
      */
-    private void displayGuilds(Inventory inventory, List<Guild> guilds) {
+    private void displayGuilds(Inventory inventory, List<CompactGuild> guilds) {
         int startIndex = currentPage * GUILDS_PER_PAGE;
         int endIndex = Math.min(startIndex + GUILDS_PER_PAGE, guilds.size());
 
@@ -234,7 +239,8 @@ public class GuildListGUI implements GUI {
 
         int slotIndex = 10; // 从第2行第2列开始
         for (int i = startIndex; i < endIndex; i++) {
-            Guild guild = guilds.get(i);
+            // 只为当前页的工会创建完整的 Guild，供占位符渲染使用
+            Guild guild = guilds.get(i).toGuild();
             if (slotIndex >= 44) break; // 避免超出显示区域
 
             final int finalSlotIndex = slotIndex;
@@ -413,33 +419,45 @@ public class GuildListGUI implements GUI {
      * 处理查看工会详情
      */
     private void handleViewGuildDetails(Player player, int slot) {
-        // 获取当前页的工会列表
-        plugin.getGuildService().getAllGuildsAsync().thenAccept(guilds -> {
+        CompactGuild selected = guildAt(slot);
+        if (selected == null) {
+            return;
+        }
+
+        // 列表中的紧凑表示不含家的位置等信息，按 id 读取完整的工会
+        plugin.getGuildService().getGuildByIdAsync(selected.id()).thenAccept(guild -> {
             // 确保在主线程中执行GUI操作
             CompatibleScheduler.runTask(plugin, () -> {
-                if (guilds == null || guilds.isEmpty()) {
+                if (guild == null) {
                     String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-guilds", "&c没有找到工会");
                     sendMessage(player, message);
                     return;
                 }
 
-                // 计算工会在列表中的索引
-                int guildIndex = currentPage * GUILDS_PER_PAGE + (slot - 10);
-                if (guildIndex >= 0 && guildIndex < guilds.size()) {
-                    Guild guild = guilds.get(guildIndex);
-
-                    // 打开工会信息GUI
-                    GuildInfoGUI guildInfoGUI = new GuildInfoGUI(plugin, player, guild);
-                    plugin.getGuiManager().openGUI(player, guildInfoGUI);
-                }
+                // 打开工会信息GUI
+                GuildInfoGUI guildInfoGUI = new GuildInfoGUI(plugin, player, guild);
+                plugin.getGuiManager().openGUI(player, guildInfoGUI);
             });
         });
     }
 
+    /**
+     * 槽位对应的工会（槽位 10-43 除去左右边框，每行 7 个）
+     */
+    private CompactGuild guildAt(int slot) {
+        int guildIndex = currentPage * GUILDS_PER_PAGE + (slot / 9 - 1) * 7 + (slot % 9 - 1);
+        return guildIndex >= 0 && guildIndex < displayedGuilds.size() ? displayedGuilds.get(guildIndex) : null;
+    }
+
     /**
      * 处理申请加入工会
      */
     private void handleApplyToGuild(Player player, int slot) {
+        CompactGuild guild = guildAt(slot);
+        if (guild == null) {
+            return;
+        }
+
         // 检查玩家是否已有工会
         plugin.getGuildService().getPlayerGuildAsync(player.getUniqueId()).thenAccept(playerGuild -> {
             // 确保在主线程中执行GUI操作
@@ -450,47 +468,29 @@ public class GuildListGUI implements GUI {
                     return;
                 }
 
-                // 获取当前页的工会列表
-                plugin.getGuildService().getAllGuildsAsync().thenAccept(guilds -> {
+                // 检查是否已有待处理申请
+                plugin.getGuildService().hasPendingApplicationAsync(player.getUniqueId(), guild.id()).thenAccept(hasPending -> {
                     // 确保在主线程中执行GUI操作
                     CompatibleScheduler.runTask(plugin, () -> {
-                        if (guilds == null || guilds.isEmpty()) {
-                            String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-guilds", "&c没有找到工会");
+                        if (hasPending) {
+                            String message = plugin.getConfigManager().getMessagesConfig().getString("apply.already-applied", "&c您已经申请过这个工会了！");
                             sendMessage(player, message);
                             return;
                         }
 
-                        // 计算工会在列表中的索引
-                        int guildIndex = currentPage * GUILDS_PER_PAGE + (slot - 10);
-                        if (guildIndex >= 0 && guildIndex < guilds.size()) {
-                            Guild guild = guilds.get(guildIndex);
-
-                            // 检查是否已有待处理申请
-                            plugin.getGuildService().hasPendingApplicationAsync(player.getUniqueId(), guild.getId()).thenAccept(hasPending -> {
-                                // 确保在主线程中执行GUI操作
-                                CompatibleScheduler.runTask(plugin, () -> {
-                                    if (hasPending) {
-                                        String message = plugin.getConfigManager().getMessagesConfig().getString("apply.already-applied", "&c您已经申请过这个工会了！");
-                                        sendMessage(player, message);
-                                        return;
-                                    }
-
-                                    // 提交申请
-                                    plugin.getGuildService().submitApplicationAsync(guild.getId(), player.getUniqueId(), player.getName(), "").thenAccept(success -> {
-                                        // 确保在主线程中执行GUI操作
-                                        CompatibleScheduler.runTask(plugin, () -> {
-                                            if (success) {
-                                                String message = plugin.getConfigManager().getMessagesConfig().getString("apply.success", "&a申请已提交！");
-                                                sendMessage(player, message);
-                                            } else {
-                                                String message = plugin.getConfigManager().getMessagesConfig().getString("apply.failed", "&c申请提交失败！");
-                                                sendMessage(player, message);
-                                            }
-                                        });
-                                    });
-                                });
+                        // 提交申请
+                        plugin.getGuildService().submitApplicationAsync(guild.id(), player.getUniqueId(), player.getName(), "").thenAccept(success -> {
+                            // 确保在主线程中执行GUI操作
+                            CompatibleScheduler.runTask(plugin, () -> {
+                                if (success) {
+                                    String message = plugin.getConfigManager().getMessagesConfig().getString("apply.success", "&a申请已提交！");
+                                    sendMessage(player, message);
+                                } else {
+                                    String message = plugin.getConfigManager().getMessagesConfig().getString("apply.failed", "&c申请提交失败！");
+                                    sendMessage(player, message);
+                                }
                             });
-                        }
+                        });
                     });
                 });
             });
@@ -4,8 +4,10 @@ import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
+import com.guild.models.CompactLog;
 import com.guild.models.Guild;
 import com.guild.models.GuildLog;
+import com.guild.util.DebugCategory;
 import com.guild.util.FormatUtil;
 import com.guild.util.LogService;
 import net.kyori.adventure.text.Component;
@@ -31,7 +33,7 @@ public class GuildLogsGUI implements GUI {
     private final Player player;
     private final int page;
     private final int itemsPerPage = 28; // 2-8列，2-5行
-    private List<GuildLog> logs;
+    private List<CompactLog> logs;
     private int totalLogs;
 
     public GuildLogsGUI(GuildPlugin plugin, Guild guild, Player player) {
@@ -93,7 +95,7 @@ public class GuildLogsGUI implements GUI {
     private CompletableFuture<Boolean> loadLogsAsync() {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                LogService.info("开始加载工会 " + guild.getName() + " 的日志数据...");
+                LogService.debug(DebugCategory.GUI, "开始加载工会 {} 的日志数据...", guild.getName());
 
                 // 检查工会ID是否有效
                 if (guild.getId() <= 0) {
@@ -103,12 +105,12 @@ public class GuildLogsGUI implements GUI {
 
                 // 获取日志总数
                 totalLogs = plugin.getGuildService().getGuildLogsCountAsync(guild.getId()).get();
-                LogService.info("工会 " + guild.getName() + " 共有 " + totalLogs + " 条日志记录");
+                LogService.debug(DebugCategory.GUI, "工会 {} 共有 {} 条日志记录", guild.getName(), totalLogs);
 
                 // 获取当前页的日志
                 int offset = page * itemsPerPage;
-                logs = plugin.getGuildService().getGuildLogsAsync(guild.getId(), itemsPerPage, offset).get();
-                LogService.info("成功加载第 " + (page + 1) + " 页的 " + logs.size() + " 条日志记录");
+                logs = plugin.getGuildService().getGuildLogsCompactAsync(guild.getId(), itemsPerPage, offset).get();
+                LogService.debug(DebugCategory.GUI, "成功加载第 {} 页的 {} 条日志记录", page + 1, logs.size());
 
                 return true;
             } catch (Exception e) {
@@ -127,14 +129,14 @@ public class GuildLogsGUI implements GUI {
      * 设置日志物品
      */
     private void setupLogItems(Inventory inventory) {
-        LogService.info("设置日志物品，logs大小: " + (logs != null ? logs.size() : "null"));
+        LogService.debug(DebugCategory.GUI, "设置日志物品，logs大小: {}", logs != null ? logs.size() : null);
 
         if (logs == null) {
             logs = new java.util.ArrayList<>(); // 确保logs不为null
         }
 
         if (logs.isEmpty()) {
-            LogService.info("日志列表为空，显示无日志信息");
+            LogService.debug(DebugCategory.GUI, "日志列表为空，显示无日志信息");
             // 显示无日志信息
             ItemStack noLogs = createItem(
                     Material.BARRIER,
@@ -146,14 +148,14 @@ public class GuildLogsGUI implements GUI {
             return;
         }
 
-        LogService.info("开始显示 " + logs.size() + " 条日志记录");
+        LogService.debug(DebugCategory.GUI, "开始显示 {} 条日志记录", logs.size());
 
         // 显示日志列表
         for (int i = 0; i < Math.min(logs.size(), itemsPerPage); i++) {
-            GuildLog log = logs.get(i);
+            CompactLog log = logs.get(i);
             int slot = getLogSlot(i);
 
-            LogService.info("设置日志项目 " + i + " 到槽位 " + slot + ": " + log.getLogType().getDisplayName());
+            LogService.debug(DebugCategory.GUI, "设置日志项目 {} 到槽位 {}: {}", i, slot, log.logType().getDisplayName());
 
             ItemStack logItem = createLogItem(log);
             inventory.setItem(slot, logItem);
@@ -163,17 +165,17 @@ public class GuildLogsGUI implements GUI {
     /**
      * 创建日志物品
      */
-    private ItemStack createLogItem(GuildLog log) {
-        Material material = getLogMaterial(log.getLogType());
-        String name = ColorUtils.colorize("&e" + log.getLogType().getDisplayName());
+    private ItemStack createLogItem(CompactLog log) {
+        Material material = getLogMaterial(log.logType());
+        String name = ColorUtils.colorize("&e" + log.logType().getDisplayName());
 
         List<String> lore = new java.util.ArrayList<>();
-        lore.add(ColorUtils.colorize("&7操作者: &f" + log.getPlayerName()));
-        lore.add(ColorUtils.colorize("&7时间: &f" + log.getSimpleTime()));
-        lore.add(ColorUtils.colorize("&7描述: &f" + log.getDescription()));
+        lore.add(ColorUtils.colorize("&7操作者: &f" + log.playerName()));
+        lore.add(ColorUtils.colorize("&7时间: &f" + log.simpleTime()));
+        lore.add(ColorUtils.colorize("&7描述: &f" + log.description()));
 
-        if (log.getDetails() != null && !log.getDetails().isEmpty()) {
-            lore.add(ColorUtils.colorize("&7详情: &f" + log.getDetails()));
+        if (log.details() != null && !log.details().isEmpty()) {
+            lore.add(ColorUtils.colorize("&7详情: &f" + log.details()));
         }
 
         return createItem(material, name, lore.toArray(new String[0]));
@@ -342,7 +344,7 @@ public class GuildLogsGUI implements GUI {
                 int relativeIndex = (row - 1) * 7 + (col - 1);
                 int logIndex = (page * itemsPerPage) + relativeIndex;
                 if (logIndex < logs.size()) {
-                    GuildLog log = logs.get(logIndex);
+                    CompactLog log = logs.get(logIndex);
                     handleLogClick(player, log);
                 }
             }
@@ -352,15 +354,15 @@ public class GuildLogsGUI implements GUI {
     /**
      * 处理日志点击
      */
-    private void handleLogClick(Player player, GuildLog log) {
+    private void handleLogClick(Player player, CompactLog log) {
         // 显示日志详细信息
         sendMessage(player, "&6=== 日志详情 ===");
-        sendMessage(player, "&7类型: &f" + log.getLogType().getDisplayName());
-        sendMessage(player, "&7操作者: &f" + log.getPlayerName());
-        sendMessage(player, "&7时间: &f" + log.getSimpleTime());
-        sendMessage(player, "&7描述: &f" + log.getDescription());
-        if (log.getDetails() != null && !log.getDetails().isEmpty()) {
-            sendMessage(player, "&7详情: &f" + log.getDetails());
+        sendMessage(player, "&7类型: &f" + log.logType().getDisplayName());
+        sendMessage(player, "&7操作者: &f" + log.playerName());
+        sendMessage(player, "&7时间: &f" + log.simpleTime());
+        sendMessage(player, "&7描述: &f" + log.description());
+        if (log.details() != null && !log.details().isEmpty()) {
+            sendMessage(player, "&7详情: &f" + log.details());
         }
         sendMessage(player, "&6==================");
     }
@@ -4,6 +4,7 @@ import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
+import com.guild.models.CompactRelation;
 import com.guild.models.Guild;
 import com.guild.models.GuildRelation;
 import com.guild.util.FormatUtil;
@@ -32,7 +33,7 @@ public class GuildRelationsGUI implements GUI {
     private final Player player;
     private final int itemsPerPage = 28; // 每页显示28个关系 (7列 × 4行)
     private int currentPage = 0;
-    private List<GuildRelation> relations = new ArrayList<>();
+    private List<CompactRelation> relations = new ArrayList<>();
 
     public GuildRelationsGUI(GuildPlugin plugin, Guild guild, Player player) {
         this.plugin = plugin;
@@ -120,7 +121,7 @@ public class GuildRelationsGUI implements GUI {
                 int relativeIndex = (row - 1) * 7 + (col - 1);
                 int relationIndex = (currentPage * itemsPerPage) + relativeIndex;
                 if (relationIndex < relations.size()) {
-                    GuildRelation relation = relations.get(relationIndex);
+                    CompactRelation relation = relations.get(relationIndex);
                     handleRelationClick(player, relation, clickType);
                 }
             }
@@ -130,8 +131,8 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 加载工会关系数据
      */
-    private CompletableFuture<List<GuildRelation>> loadRelations() {
-        return plugin.getGuildService().getGuildRelationsAsync(guild.getId());
+    private CompletableFuture<List<CompactRelation>> loadRelations() {
+        return plugin.getGuildService().getGuildRelationsCompactAsync(guild.getId());
     }
 
     /**
@@ -142,7 +143,7 @@ public class GuildRelationsGUI implements GUI {
         int endIndex = Math.min(startIndex + itemsPerPage, relations.size());
 
         for (int i = startIndex; i < endIndex; i++) {
-            GuildRelation relation = relations.get(i);
+            CompactRelation relation = relations.get(i);
             int relativeIndex = i - startIndex;
 
             // 计算在2-8列，2-5行的位置 (slots 10-43)
@@ -158,10 +159,10 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 创建关系显示物品
      */
-    private ItemStack createRelationItem(GuildRelation relation) {
-        String otherGuildName = relation.getOtherGuildName(guild.getId());
-        GuildRelation.RelationType type = relation.getType();
-        GuildRelation.RelationStatus status = relation.getStatus();
+    private ItemStack createRelationItem(CompactRelation relation) {
+        String otherGuildName = relation.otherGuildName(guild.getId());
+        GuildRelation.RelationType type = relation.type();
+        GuildRelation.RelationStatus status = relation.status();
 
         Material material = getRelationMaterial(type);
         String color = type.getColor();
@@ -170,18 +171,18 @@ public class GuildRelationsGUI implements GUI {
         List<String> lore = new ArrayList<>();
         lore.add(ColorUtils.colorize("&7关系类型: " + color + type.getDisplayName()));
         lore.add(ColorUtils.colorize("&7状态: " + getStatusColor(status) + status.getDisplayName()));
-        lore.add(ColorUtils.colorize("&7发起人: " + relation.getInitiatorName()));
-        lore.add(ColorUtils.colorize("&7创建时间: " + formatDateTime(relation.getCreatedAt())));
+        lore.add(ColorUtils.colorize("&7发起人: " + relation.initiatorName()));
+        lore.add(ColorUtils.colorize("&7创建时间: " + formatDateTime(relation.createdAt())));
 
-        if (relation.getExpiresAt() != null) {
-            lore.add(ColorUtils.colorize("&7过期时间: " + formatDateTime(relation.getExpiresAt())));
+        if (relation.expiresAt() != null) {
+            lore.add(ColorUtils.colorize("&7过期时间: " + formatDateTime(relation.expiresAt())));
         }
 
         lore.add("");
 
         // 根据关系类型和状态添加操作提示
         if (status == GuildRelation.RelationStatus.PENDING) {
-            if (relation.getInitiatorUuid().equals(player.getUniqueId())) {
+            if (relation.isInitiator(player.getUniqueId())) {
                 lore.add(ColorUtils.colorize("&c右键: 取消关系"));
             } else {
                 lore.add(ColorUtils.colorize("&a左键: 接受关系"));
@@ -316,12 +317,12 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 处理关系点击
      */
-    private void handleRelationClick(Player player, GuildRelation relation, ClickType clickType) {
-        GuildRelation.RelationStatus status = relation.getStatus();
-        GuildRelation.RelationType type = relation.getType();
+    private void handleRelationClick(Player player, CompactRelation relation, ClickType clickType) {
+        GuildRelation.RelationStatus status = relation.status();
+        GuildRelation.RelationType type = relation.type();
 
         if (status == GuildRelation.RelationStatus.PENDING) {
-            if (relation.getInitiatorUuid().equals(player.getUniqueId())) {
+            if (relation.isInitiator(player.getUniqueId())) {
                 // 发起人取消关系
                 if (clickType == ClickType.RIGHT) {
                     cancelRelation(player, relation);
@@ -354,13 +355,13 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 接受关系
      */
-    private void acceptRelation(Player player, GuildRelation relation) {
-        plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.ACTIVE)
+    private void acceptRelation(Player player, CompactRelation relation) {
+        plugin.getGuildService().updateGuildRelationStatusAsync(relation.id(), GuildRelation.RelationStatus.ACTIVE)
                 .thenAccept(success -> {
                     CompatibleScheduler.runTask(plugin, () -> {
                         if (success) {
                             String message = plugin.getConfigManager().getMessagesConfig().getString("relations.accept-success", "&a已接受与 {guild} 的关系！");
-                            message = message.replace("{guild}", relation.getOtherGuildName(guild.getId()));
+                            message = message.replace("{guild}", relation.otherGuildName(guild.getId()));
                             sendMessage(player, message);
                             refreshInventory(player);
                         } else {
@@ -374,13 +375,13 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 拒绝关系
      */
-    private void rejectRelation(Player player, GuildRelation relation) {
-        plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.CANCELLED)
+    private void rejectRelation(Player player, CompactRelation relation) {
+        plugin.getGuildService().updateGuildRelationStatusAsync(relation.id(), GuildRelation.RelationStatus.CANCELLED)
                 .thenAccept(success -> {
                     CompatibleScheduler.runTask(plugin, () -> {
                         if (success) {
                             String message = plugin.getConfigManager().getMessagesConfig().getString("relations.reject-success", "&c已拒绝与 {guild} 的关系！");
-                            message = message.replace("{guild}", relation.getOtherGuildName(guild.getId()));
+                            message = message.replace("{guild}", relation.otherGuildName(guild.getId()));
                             sendMessage(player, message);
                             refreshInventory(player);
                         } else {
@@ -394,13 +395,13 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 取消关系
      */
-    private void cancelRelation(Player player, GuildRelation relation) {
-        plugin.getGuildService().updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.CANCELLED)
+    private void cancelRelation(Player player, CompactRelation relation) {
+        plugin.getGuildService().updateGuildRelationStatusAsync(relation.id(), GuildRelation.RelationStatus.CANCELLED)
                 .thenAccept(success -> {
                     CompatibleScheduler.runTask(plugin, () -> {
                         if (success) {
                             String message = plugin.getConfigManager().getMessagesConfig().getString("relations.cancel-success", "&c已取消与 {guild} 的关系！");
-                            message = message.replace("{guild}", relation.getOtherGuildName(guild.getId()));
+                            message = message.replace("{guild}", relation.otherGuildName(guild.getId()));
                             sendMessage(player, message);
                             refreshInventory(player);
                         } else {
@@ -414,11 +415,11 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 结束停战
      */
-    private void endTruce(Player player, GuildRelation relation) {
+    private void endTruce(Player player, CompactRelation relation) {
         // 结束停战，改为中立关系
         GuildRelation newRelation = new GuildRelation(
-                relation.getGuild1Id(), relation.getGuild2Id(),
-                relation.getGuild1Name(), relation.getGuild2Name(),
+                relation.guild1Id(), relation.guild2Id(),
+                relation.guild1Name(), relation.guild2Name(),
                 GuildRelation.RelationType.NEUTRAL, player.getUniqueId(), player.getName()
         );
 
@@ -430,10 +431,10 @@ public class GuildRelationsGUI implements GUI {
             CompatibleScheduler.runTask(plugin, () -> {
                 if (success) {
                     // 删除旧的停战关系
-                    plugin.getGuildService().deleteGuildRelationAsync(relation.getId());
+                    plugin.getGuildService().deleteGuildRelationAsync(relation.id());
 
                     String message = plugin.getConfigManager().getMessagesConfig().getString("relations.truce-end", "&a与 {guild} 的停战已结束，关系转为中立！");
-                    message = message.replace("{guild}", relation.getOtherGuildName(guild.getId()));
+                    message = message.replace("{guild}", relation.otherGuildName(guild.getId()));
                     sendMessage(player, message);
                     refreshInventory(player);
                 } else {
@@ -447,11 +448,11 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 提议停战
      */
-    private void proposeTruce(Player player, GuildRelation relation) {
+    private void proposeTruce(Player player, CompactRelation relation) {
         // 创建停战提议
         GuildRelation truceRelation = new GuildRelation(
-                relation.getGuild1Id(), relation.getGuild2Id(),
-                relation.getGuild1Name(), relation.getGuild2Name(),
+                relation.guild1Id(), relation.guild2Id(),
+                relation.guild1Name(), relation.guild2Name(),
                 GuildRelation.RelationType.TRUCE, player.getUniqueId(), player.getName()
         );
 
@@ -463,7 +464,7 @@ public class GuildRelationsGUI implements GUI {
             CompatibleScheduler.runTask(plugin, () -> {
                 if (success) {
                     String message = plugin.getConfigManager().getMessagesConfig().getString("relations.truce-proposed", "&e已向 {guild} 提议停战！");
-                    message = message.replace("{guild}", relation.getOtherGuildName(guild.getId()));
+                    message = message.replace("{guild}", relation.otherGuildName(guild.getId()));
                     sendMessage(player, message);
                     refreshInventory(player);
                 } else {
@@ -477,13 +478,13 @@ public class GuildRelationsGUI implements GUI {
     /**
      * 删除关系
      */
-    private void deleteRelation(Player player, GuildRelation relation) {
-        plugin.getGuildService().deleteGuildRelationAsync(relation.getId())
+    private void deleteRelation(Player player, CompactRelation relation) {
+        plugin.getGuildService().deleteGuildRelationAsync(relation.id())
                 .thenAccept(success -> {
                     CompatibleScheduler.runTask(plugin, () -> {
                         if (success) {
                             String message = plugin.getConfigManager().getMessagesConfig().getString("relations.delete-success", "&a已删除与 {guild} 的关系！");
-                            message = message.replace("{guild}", relation.getOtherGuildName(guild.getId()));
+                            message = message.replace("{guild}", relation.otherGuildName(guild.getId()));
                             sendMessage(player, message);
                             refreshInventory(player);
                         } else {
@@ -5,6 +5,8 @@ import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
 import com.guild.models.Guild;
+import com.guild.models.GuildInvitation;
+import com.guild.services.GuildService;
 import com.guild.util.FormatUtil;
 import com.guild.util.InviteMessageUtils;
 import net.kyori.adventure.text.Component;
@@ -18,7 +20,12 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import static com.guild.util.FormatUtil.sendMessage;
 
@@ -31,6 +38,8 @@ public class InviteMemberGUI implements GUI {
     private final Guild guild;
     private int currentPage = 0;
     private List<Player> onlinePlayers;
+    // Shift+左键选中的玩家
+    private final Set<UUID> selectedPlayers = new LinkedHashSet<>();
 
     public InviteMemberGUI(GuildPlugin plugin, Guild guild) {
         this.plugin = plugin;
@@ -71,8 +80,22 @@ public class InviteMemberGUI implements GUI {
             int playerIndex = slot - 9 + (currentPage * 36);
             if (playerIndex < onlinePlayers.size()) {
                 Player targetPlayer = onlinePlayers.get(playerIndex);
-                handleInvitePlayer(player, targetPlayer);
+                if (clickType == ClickType.SHIFT_LEFT) {
+                    // 选择/取消选择
+                    if (!selectedPlayers.remove(targetPlayer.getUniqueId())) {
+                        selectedPlayers.add(targetPlayer.getUniqueId());
+                    }
+                    plugin.getGuiManager().refreshGUI(player);
+                } else {
+                    handleInvitePlayer(player, targetPlayer);
+                }
             }
+        } else if (slot == 47) {
+            // 邀请选中的玩家
+            handleInviteSelected(player);
+        } else if (slot == 51) {
+            // 邀请附近的玩家
+            handleInviteNearby(player);
         } else if (slot == 45) {
             // 上一页
             if (currentPage > 0) {
@@ -160,6 +183,22 @@ public class InviteMemberGUI implements GUI {
                 ColorUtils.colorize("&7返回工会设置")
         );
         inventory.setItem(49, back);
+
+        // 批量邀请按钮
+        ItemStack inviteSelected = createItem(
+                Material.LIME_DYE,
+                ColorUtils.colorize("&a邀请选中的玩家"),
+                ColorUtils.colorize("&7Shift+左键 选择玩家"),
+                ColorUtils.colorize("&f已选中 " + selectedPlayers.size() + " 名")
+        );
+        inventory.setItem(47, inviteSelected);
+
+        ItemStack inviteNearby = createItem(
+                Material.COMPASS,
+                ColorUtils.colorize("&a邀请附近的玩家"),
+                ColorUtils.colorize("&7邀请 " + getInviteRadius() + " 格内的所有玩家")
+        );
+        inventory.setItem(51, inviteNearby);
     }
 
     /**
@@ -170,11 +209,13 @@ public class InviteMemberGUI implements GUI {
         SkullMeta meta = (SkullMeta) head.getItemMeta();
 
         if (meta != null) {
+            boolean selected = selectedPlayers.contains(player.getUniqueId());
             meta.setOwningPlayer(player);
-            meta.setDisplayName(ColorUtils.colorize("&a" + player.getName()));
+            meta.setDisplayName(ColorUtils.colorize((selected ? "&a[已选中] " : "&a") + player.getName()));
             meta.setLore(Arrays.asList(
                     ColorUtils.colorize("&7点击邀请该玩家"),
-                    ColorUtils.colorize("&7加入工会")
+                    ColorUtils.colorize("&7加入工会"),
+                    ColorUtils.colorize("&eShift+左键: 选择/取消选择")
             ));
             head.setItemMeta(meta);
         }
@@ -212,6 +253,78 @@ public class InviteMemberGUI implements GUI {
         });
     }
 
+    /**
+     * 批量邀请选中且仍在线的玩家
+     */
+    private void handleInviteSelected(Player inviter) {
+        Map<UUID, String> targets = new LinkedHashMap<>();
+        for (UUID playerUuid : selectedPlayers) {
+            Player target = Bukkit.getPlayer(playerUuid);
+            if (target != null && target.isOnline()) {
+                targets.put(playerUuid, target.getName());
+            }
+        }
+        if (targets.isEmpty()) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.bulk-none-selected", "&c请先用 Shift+左键 选择要邀请的玩家");
+            sendMessage(inviter, message);
+            return;
+        }
+        sendBulkInvitations(inviter, targets);
+    }
+
+    /**
+     * 批量邀请同一世界中半径范围内的玩家
+     */
+    private void handleInviteNearby(Player inviter) {
+        int radius = getInviteRadius();
+        double radiusSquared = (double) radius * radius;
+        Map<UUID, String> targets = new LinkedHashMap<>();
+        for (Player target : inviter.getWorld().getPlayers()) {
+            if (!target.equals(inviter) && target.getLocation().distanceSquared(inviter.getLocation()) <= radiusSquared) {
+                targets.put(target.getUniqueId(), target.getName());
+            }
+        }
+        if (targets.isEmpty()) {
+            String message = plugin.getConfigManager().getMessagesConfig().getString("invite.bulk-none-nearby", "&c附近 {radius} 格内没有可邀请的玩家")
+                    .replace("{radius}", String.valueOf(radius));
+            sendMessage(inviter, message);
+            return;
+        }
+        sendBulkInvitations(inviter, targets);
+    }
+
+    /**
+     * 一次写入全部邀请，完成后通知邀请者与在线的被邀请者
+     */
+    private void sendBulkInvitations(Player inviter, Map<UUID, String> targets) {
+        if (targets.size() > GuildService.MAX_BATCH_SIZE) {
+            sendMessage(inviter, InviteMessageUtils.formatBulkInviteTooMany(plugin, GuildService.MAX_BATCH_SIZE, targets.size()));
+            return;
+        }
+        plugin.getGuildService().sendInvitationsAsync(guild.getId(), inviter.getUniqueId(), inviter.getName(), targets)
+                .thenAccept(invitations -> CompatibleScheduler.runTask(plugin, () -> {
+                    sendMessage(inviter, InviteMessageUtils.formatBulkInviteSent(plugin, invitations.size()));
+                    int skipped = targets.size() - invitations.size();
+                    if (skipped > 0) {
+                        sendMessage(inviter, InviteMessageUtils.formatBulkInviteSkipped(plugin, skipped));
+                    }
+
+                    for (GuildInvitation invitation : invitations) {
+                        selectedPlayers.remove(invitation.getTargetUuid());
+                        Player target = Bukkit.getPlayer(invitation.getTargetUuid());
+                        if (target != null && target.isOnline()) {
+                            sendMessage(target, InviteMessageUtils.formatInviteTitle(plugin));
+                            sendMessage(target, InviteMessageUtils.formatInviteReceived(plugin, inviter, guild));
+                        }
+                    }
+                    plugin.getGuiManager().refreshGUI(inviter);
+                }));
+    }
+
+    private int getInviteRadius() {
+        return plugin.getConfigManager().getMainConfig().getInt("guild.invite-radius", 32);
+    }
+
     /**
      * 创建物品
      */
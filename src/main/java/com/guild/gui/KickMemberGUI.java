@@ -3,8 +3,8 @@ package com.guild.gui;
 import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
+import com.guild.models.CompactMember;
 import com.guild.models.Guild;
-import com.guild.models.GuildMember;
 import com.guild.util.FormatUtil;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
@@ -28,7 +28,7 @@ public class KickMemberGUI implements GUI {
     private final GuildPlugin plugin;
     private final Guild guild;
     private int currentPage = 0;
-    private List<GuildMember> members;
+    private List<CompactMember> members;
 
     public KickMemberGUI(GuildPlugin plugin, Guild guild) {
         this.plugin = plugin;
@@ -39,9 +39,9 @@ public class KickMemberGUI implements GUI {
     }
 
     private void loadMembers() {
-        plugin.getGuildService().getGuildMembersAsync(guild.getId()).thenAccept(memberList -> {
+        plugin.getGuildService().getGuildMembersCompactAsync(guild.getId()).thenAccept(memberList -> {
             this.members = memberList.stream()
-                    .filter(member -> !member.getPlayerUuid().equals(guild.getLeaderUuid()))
+                    .filter(member -> !member.isPlayer(guild.getLeaderUuid()))
                     .collect(java.util.stream.Collectors.toList());
         });
     }
@@ -76,7 +76,7 @@ public class KickMemberGUI implements GUI {
             // 成员头像区域
             int memberIndex = slot - 9 + (currentPage * 36);
             if (memberIndex < members.size()) {
-                GuildMember member = members.get(memberIndex);
+                CompactMember member = members.get(memberIndex);
                 handleKickMember(player, member);
             }
         } else if (slot == 45) {
@@ -126,7 +126,7 @@ public class KickMemberGUI implements GUI {
         int endIndex = Math.min(startIndex + 36, members.size());
 
         for (int i = startIndex; i < endIndex; i++) {
-            GuildMember member = members.get(i);
+            CompactMember member = members.get(i);
             int slot = 9 + (i - startIndex);
 
             ItemStack memberHead = createMemberHead(member);
@@ -171,15 +171,15 @@ public class KickMemberGUI implements GUI {
     /**
      * 创建成员头像
      */
-    private ItemStack createMemberHead(GuildMember member) {
+    private ItemStack createMemberHead(CompactMember member) {
         ItemStack head = new ItemStack(Material.PLAYER_HEAD);
         SkullMeta meta = (SkullMeta) head.getItemMeta();
 
         if (meta != null) {
-            meta.setDisplayName(ColorUtils.colorize("&c" + member.getPlayerName()));
+            meta.setDisplayName(ColorUtils.colorize("&c" + member.playerName()));
             meta.setLore(Arrays.asList(
-                    ColorUtils.colorize("&7职位: &e" + member.getRole().getDisplayName()),
-                    ColorUtils.colorize("&7加入时间: &e" + member.getJoinedAt()),
+                    ColorUtils.colorize("&7职位: &e" + member.role().getDisplayName()),
+                    ColorUtils.colorize("&7加入时间: &e" + member.joinedAt()),
                     ColorUtils.colorize("&c点击踢出该成员")
             ));
             head.setItemMeta(meta);
@@ -191,7 +191,7 @@ public class KickMemberGUI implements GUI {
     /**
      * 处理踢出成员
      */
-    private void handleKickMember(Player kicker, GuildMember member) {
+    private void handleKickMember(Player kicker, CompactMember member) {
         // 检查权限
         if (!kicker.hasPermission("guild.kick")) {
             String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-permission", "&c权限不足");
@@ -200,14 +200,14 @@ public class KickMemberGUI implements GUI {
         }
 
         // 踢出成员
-        plugin.getGuildService().removeGuildMemberAsync(member.getPlayerUuid(), kicker.getUniqueId()).thenAccept(success -> {
+        plugin.getGuildService().removeGuildMemberAsync(member.playerUuid(), kicker.getUniqueId()).thenAccept(success -> {
             if (success) {
                 String kickerMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.success", "&a已踢出成员 &e{player} &a！")
-                        .replace("{player}", member.getPlayerName());
+                        .replace("{player}", member.playerName());
                 sendMessage(kicker, kickerMessage);
 
                 // 通知被踢出的玩家
-                Player kickedPlayer = plugin.getServer().getPlayer(member.getPlayerUuid());
+                Player kickedPlayer = plugin.getServer().getPlayer(member.playerUuid());
                 if (kickedPlayer != null) {
                     String kickedMessage = plugin.getConfigManager().getMessagesConfig().getString("kick.kicked", "&c你被踢出了工会 &e{guild} &c！")
                             .replace("{guild}", guild.getName());
@@ -3,6 +3,7 @@ package com.guild.gui;
 import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
+import com.guild.models.CompactMember;
 import com.guild.models.Guild;
 import com.guild.models.GuildMember;
 import com.guild.util.FormatUtil;
@@ -28,7 +29,7 @@ public class PromoteMemberGUI implements GUI {
     private final GuildPlugin plugin;
     private final Guild guild;
     private int currentPage = 0;
-    private List<GuildMember> members;
+    private List<CompactMember> members;
 
     public PromoteMemberGUI(GuildPlugin plugin, Guild guild) {
         this.plugin = plugin;
@@ -39,10 +40,10 @@ public class PromoteMemberGUI implements GUI {
     }
 
     private void loadMembers() {
-        plugin.getGuildService().getGuildMembersAsync(guild.getId()).thenAccept(memberList -> {
+        plugin.getGuildService().getGuildMembersCompactAsync(guild.getId()).thenAccept(memberList -> {
             this.members = memberList.stream()
-                    .filter(member -> !member.getPlayerUuid().equals(guild.getLeaderUuid()))
-                    .filter(member -> !member.getRole().equals(GuildMember.Role.OFFICER)) // 只显示可以提升的成员
+                    .filter(member -> !member.isPlayer(guild.getLeaderUuid()))
+                    .filter(member -> !member.role().equals(GuildMember.Role.OFFICER)) // 只显示可以提升的成员
                     .collect(java.util.stream.Collectors.toList());
         });
     }
@@ -77,7 +78,7 @@ public class PromoteMemberGUI implements GUI {
             // 成员头像区域
             int memberIndex = slot - 9 + (currentPage * 36);
             if (memberIndex < members.size()) {
-                GuildMember member = members.get(memberIndex);
+                CompactMember member = members.get(memberIndex);
                 handlePromoteMember(player, member);
             }
         } else if (slot == 45) {
@@ -127,7 +128,7 @@ public class PromoteMemberGUI implements GUI {
         int endIndex = Math.min(startIndex + 36, members.size());
 
         for (int i = startIndex; i < endIndex; i++) {
-            GuildMember member = members.get(i);
+            CompactMember member = members.get(i);
             int slot = 9 + (i - startIndex);
 
             ItemStack memberHead = createMemberHead(member);
@@ -172,15 +173,15 @@ public class PromoteMemberGUI implements GUI {
     /**
      * 创建成员头像
      */
-    private ItemStack createMemberHead(GuildMember member) {
+    private ItemStack createMemberHead(CompactMember member) {
         ItemStack head = new ItemStack(Material.PLAYER_HEAD);
         SkullMeta meta = (SkullMeta) head.getItemMeta();
 
         if (meta != null) {
-            meta.setDisplayName(ColorUtils.colorize("&6" + member.getPlayerName()));
+            meta.setDisplayName(ColorUtils.colorize("&6" + member.playerName()));
             meta.setLore(Arrays.asList(
-                    ColorUtils.colorize("&7当前职位: &e" + member.getRole().getDisplayName()),
-                    ColorUtils.colorize("&7加入时间: &e" + member.getJoinedAt()),
+                    ColorUtils.colorize("&7当前职位: &e" + member.role().getDisplayName()),
+                    ColorUtils.colorize("&7加入时间: &e" + member.joinedAt()),
                     ColorUtils.colorize("&6点击提升为官员")
             ));
             head.setItemMeta(meta);
@@ -192,7 +193,7 @@ public class PromoteMemberGUI implements GUI {
     /**
      * 处理提升成员
      */
-    private void handlePromoteMember(Player promoter, GuildMember member) {
+    private void handlePromoteMember(Player promoter, CompactMember member) {
         // 检查权限
         if (!promoter.hasPermission("guild.promote")) {
             String message = plugin.getConfigManager().getMessagesConfig().getString("gui.no-permission", "&c权限不足");
@@ -201,14 +202,14 @@ public class PromoteMemberGUI implements GUI {
         }
 
         // 提升成员
-        plugin.getGuildService().updateMemberRoleAsync(member.getPlayerUuid(), GuildMember.Role.OFFICER, promoter.getUniqueId()).thenAccept(success -> {
+        plugin.getGuildService().updateMemberRoleAsync(member.playerUuid(), GuildMember.Role.OFFICER, promoter.getUniqueId()).thenAccept(success -> {
             if (success) {
                 String promoterMessage = plugin.getConfigManager().getMessagesConfig().getString("promote.success", "&a已提升 &e{player} &a为官员！")
-                        .replace("{player}", member.getPlayerName());
+                        .replace("{player}", member.playerName());
                 sendMessage(promoter, promoterMessage);
 
                 // 通知被提升的玩家
-                Player promotedPlayer = plugin.getServer().getPlayer(member.getPlayerUuid());
+                Player promotedPlayer = plugin.getServer().getPlayer(member.playerUuid());
                 if (promotedPlayer != null) {
                     String promotedMessage = plugin.getConfigManager().getMessagesConfig().getString("promote.promoted", "&a你被提升为工会 &e{guild} &a的官员！")
                             .replace("{guild}", guild.getName());
@@ -4,7 +4,8 @@ import com.guild.GuildPlugin;
 import com.guild.core.gui.GUI;
 import com.guild.core.utils.ColorUtils;
 import com.guild.core.utils.CompatibleScheduler;
-import com.guild.models.Guild;
+import com.guild.models.CompactGuild;
+import com.guild.models.CompactRelation;
 import com.guild.models.GuildRelation;
 import com.guild.util.FormatUtil;
 import com.guild.util.LogService;
@@ -27,14 +28,14 @@ import static com.guild.util.FormatUtil.sendMessage;
 public class RelationManagementGUI implements GUI {
 
     // 确认删除机制
-    private static final Map<UUID, GuildRelation> pendingDeletions = new HashMap<>();
+    private static final Map<UUID, CompactRelation> pendingDeletions = new HashMap<>();
     private static final Map<UUID, Long> deletionTimers = new HashMap<>();
     private static final long CONFIRMATION_TIMEOUT = 10000; // 10秒确认超时
     private final GuildPlugin plugin;
     private final Player player;
     private final int itemsPerPage = 28; // 7列 × 4行
     private int currentPage = 0;
-    private List<GuildRelation> allRelations = new ArrayList<>();
+    private List<CompactRelation> allRelations = new ArrayList<>();
     private boolean isLoading = false;
 
     public RelationManagementGUI(GuildPlugin plugin, Player player) {
@@ -97,7 +98,7 @@ public class RelationManagementGUI implements GUI {
 
         for (int i = 0; i < itemsPerPage; i++) {
             if (startIndex + i < endIndex) {
-                GuildRelation relation = allRelations.get(startIndex + i);
+                CompactRelation relation = allRelations.get(startIndex + i);
 
                 // 计算在2-8列，2-5行的位置 (slots 10-43)
                 int row = (i / 7) + 1; // 2-5行
@@ -109,21 +110,21 @@ public class RelationManagementGUI implements GUI {
         }
     }
 
-    private ItemStack createRelationItem(GuildRelation relation) {
-        Material material = getRelationMaterial(relation.getType());
-        String status = getRelationStatus(relation.getStatus());
+    private ItemStack createRelationItem(CompactRelation relation) {
+        Material material = getRelationMaterial(relation.type());
+        String status = getRelationStatus(relation.status());
 
         // 检查是否在待删除状态
         boolean isPendingDeletion = pendingDeletions.containsKey(player.getUniqueId()) &&
-                pendingDeletions.get(player.getUniqueId()).getId() == relation.getId();
+                pendingDeletions.get(player.getUniqueId()).id() == relation.id();
 
         List<String> lore = new ArrayList<>();
-        lore.add(ColorUtils.colorize("&7关系类型: " + getRelationTypeName(relation.getType())));
+        lore.add(ColorUtils.colorize("&7关系类型: " + getRelationTypeName(relation.type())));
         lore.add(ColorUtils.colorize("&7状态: " + status));
-        lore.add(ColorUtils.colorize("&7工会1: " + relation.getGuild1Name()));
-        lore.add(ColorUtils.colorize("&7工会2: " + relation.getGuild2Name()));
-        lore.add(ColorUtils.colorize("&7发起人: " + relation.getInitiatorName()));
-        lore.add(ColorUtils.colorize("&7创建时间: " + formatDateTime(relation.getCreatedAt())));
+        lore.add(ColorUtils.colorize("&7工会1: " + relation.guild1Name()));
+        lore.add(ColorUtils.colorize("&7工会2: " + relation.guild2Name()));
+        lore.add(ColorUtils.colorize("&7发起人: " + relation.initiatorName()));
+        lore.add(ColorUtils.colorize("&7创建时间: " + formatDateTime(relation.createdAt())));
         lore.add("");
 
         if (isPendingDeletion) {
@@ -135,9 +136,9 @@ public class RelationManagementGUI implements GUI {
             lore.add(ColorUtils.colorize("&e右键: 查看详情"));
         }
 
-        String displayName = ColorUtils.colorize("&6" + relation.getGuild1Name() + " ↔ " + relation.getGuild2Name());
+        String displayName = ColorUtils.colorize("&6" + relation.guild1Name() + " ↔ " + relation.guild2Name());
         if (isPendingDeletion) {
-            displayName = ColorUtils.colorize("&4" + relation.getGuild1Name() + " ↔ " + relation.getGuild2Name());
+            displayName = ColorUtils.colorize("&4" + relation.guild1Name() + " ↔ " + relation.guild2Name());
         }
 
         return createItem(material, displayName, lore.toArray(new String[0]));
@@ -254,24 +255,27 @@ public class RelationManagementGUI implements GUI {
         isLoading = true;
 
         // 获取所有工会的关系
-        plugin.getGuildService().getAllGuildsAsync().thenCompose(guilds -> {
-            List<CompletableFuture<List<GuildRelation>>> relationFutures = new ArrayList<>();
+        plugin.getGuildService().getAllGuildsCompactAsync().thenCompose(guilds -> {
+            List<CompletableFuture<List<CompactRelation>>> relationFutures = new ArrayList<>();
 
-            for (Guild guild : guilds) {
-                relationFutures.add(plugin.getGuildService().getGuildRelationsAsync(guild.getId()));
+            for (CompactGuild guild : guilds) {
+                relationFutures.add(plugin.getGuildService().getGuildRelationsCompactAsync(guild.id()));
             }
 
             return CompletableFuture.allOf(relationFutures.toArray(new CompletableFuture[0]))
                     .thenApply(v -> {
-                        List<GuildRelation> allRelationsList = new ArrayList<>();
-                        for (CompletableFuture<List<GuildRelation>> future : relationFutures) {
+                        // 每条关系会出现在双方工会的查询结果中，按 id 去重
+                        Map<Integer, CompactRelation> allRelationsById = new LinkedHashMap<>();
+                        for (CompletableFuture<List<CompactRelation>> future : relationFutures) {
                             try {
-                                allRelationsList.addAll(future.get());
+                                for (CompactRelation relation : future.get()) {
+                                    allRelationsById.putIfAbsent(relation.id(), relation);
+                                }
                             } catch (Exception e) {
                                 LogService.error("加载工会关系时发生错误: ", e);
                             }
                         }
-                        return allRelationsList;
+                        return allRelationsById.values();
                     });
         }).thenAccept(relations -> {
             CompatibleScheduler.runTask(plugin, () -> {
@@ -333,18 +337,18 @@ public class RelationManagementGUI implements GUI {
                 int relativeIndex = (row - 1) * 7 + (col - 1);
                 int relationIndex = (currentPage * itemsPerPage) + relativeIndex;
                 if (relationIndex < allRelations.size()) {
-                    GuildRelation relation = allRelations.get(relationIndex);
+                    CompactRelation relation = allRelations.get(relationIndex);
                     handleRelationClick(player, relation, clickType);
                 }
             }
         }
     }
 
-    private void handleRelationClick(Player player, GuildRelation relation, ClickType clickType) {
+    private void handleRelationClick(Player player, CompactRelation relation, ClickType clickType) {
         if (clickType == ClickType.LEFT) {
             // 左键处理
             if (pendingDeletions.containsKey(player.getUniqueId()) &&
-                    pendingDeletions.get(player.getUniqueId()).getId() == relation.getId()) {
+                    pendingDeletions.get(player.getUniqueId()).id() == relation.id()) {
                 // 确认删除
                 confirmDeleteRelation(player, relation);
             } else {
@@ -354,7 +358,7 @@ public class RelationManagementGUI implements GUI {
         } else if (clickType == ClickType.RIGHT) {
             // 右键处理
             if (pendingDeletions.containsKey(player.getUniqueId()) &&
-                    pendingDeletions.get(player.getUniqueId()).getId() == relation.getId()) {
+                    pendingDeletions.get(player.getUniqueId()).id() == relation.id()) {
                 // 取消删除
                 cancelDeleteRelation(player);
             } else {
@@ -364,12 +368,12 @@ public class RelationManagementGUI implements GUI {
         }
     }
 
-    private void startDeleteRelation(Player player, GuildRelation relation) {
+    private void startDeleteRelation(Player player, CompactRelation relation) {
         // 设置待删除状态
         pendingDeletions.put(player.getUniqueId(), relation);
         deletionTimers.put(player.getUniqueId(), System.currentTimeMillis());
 
-        sendMessage(player, "&c确定要删除关系: " + relation.getGuild1Name() + " ↔ " + relation.getGuild2Name() + " 吗？");
+        sendMessage(player, "&c确定要删除关系: " + relation.guild1Name() + " ↔ " + relation.guild2Name() + " 吗？");
         sendMessage(player, "&c左键: 确认删除 | 右键: 取消删除");
         sendMessage(player, "&e10秒后自动取消");
 
@@ -379,22 +383,22 @@ public class RelationManagementGUI implements GUI {
         // 设置超时任务
         CompatibleScheduler.runTaskLater(plugin, () -> {
             if (pendingDeletions.containsKey(player.getUniqueId()) &&
-                    pendingDeletions.get(player.getUniqueId()).getId() == relation.getId()) {
+                    pendingDeletions.get(player.getUniqueId()).id() == relation.id()) {
                 cancelDeleteRelation(player);
             }
         }, 200L); // 10秒 = 200 ticks
     }
 
-    private void confirmDeleteRelation(Player player, GuildRelation relation) {
+    private void confirmDeleteRelation(Player player, CompactRelation relation) {
         // 清除待删除状态
         pendingDeletions.remove(player.getUniqueId());
         deletionTimers.remove(player.getUniqueId());
 
         // 执行删除
-        plugin.getGuildService().deleteGuildRelationAsync(relation.getId()).thenAccept(success -> {
+        plugin.getGuildService().deleteGuildRelationAsync(relation.id()).thenAccept(success -> {
             CompatibleScheduler.runTask(plugin, () -> {
                 if (success) {
-                    sendMessage(player, "&a已删除关系: " + relation.getGuild1Name() + " ↔ " + relation.getGuild2Name());
+                    sendMessage(player, "&a已删除关系: " + relation.guild1Name() + " ↔ " + relation.guild2Name());
                     // 从列表中移除
                     allRelations.remove(relation);
                     // 刷新GUI
@@ -412,29 +416,29 @@ public class RelationManagementGUI implements GUI {
     }
 
     private void cancelDeleteRelation(Player player) {
-        GuildRelation relation = pendingDeletions.remove(player.getUniqueId());
+        CompactRelation relation = pendingDeletions.remove(player.getUniqueId());
         deletionTimers.remove(player.getUniqueId());
 
         if (relation != null) {
-            sendMessage(player, "&e已取消删除关系: " + relation.getGuild1Name() + " ↔ " + relation.getGuild2Name());
+            sendMessage(player, "&e已取消删除关系: " + relation.guild1Name() + " ↔ " + relation.guild2Name());
             // 刷新GUI
             plugin.getGuiManager().refreshGUI(player);
         }
     }
 
-    private void showRelationDetails(Player player, GuildRelation relation) {
+    private void showRelationDetails(Player player, CompactRelation relation) {
         sendMessage(player, "&6=== 关系详情 ===");
-        sendMessage(player, "&e关系类型: " + getRelationTypeName(relation.getType()));
-        sendMessage(player, "&e状态: " + getRelationStatus(relation.getStatus()));
-        sendMessage(player, "&e工会1: " + relation.getGuild1Name() + " (ID: " + relation.getGuild1Id() + ")");
-        sendMessage(player, "&e工会2: " + relation.getGuild2Name() + " (ID: " + relation.getGuild2Id() + ")");
-        sendMessage(player, "&e发起人: " + relation.getInitiatorName());
-        sendMessage(player, "&e创建时间: " + formatDateTime(relation.getCreatedAt()));
-        if (relation.getUpdatedAt() != null) {
-            sendMessage(player, "&e更新时间: " + formatDateTime(relation.getUpdatedAt()));
+        sendMessage(player, "&e关系类型: " + getRelationTypeName(relation.type()));
+        sendMessage(player, "&e状态: " + getRelationStatus(relation.status()));
+        sendMessage(player, "&e工会1: " + relation.guild1Name() + " (ID: " + relation.guild1Id() + ")");
+        sendMessage(player, "&e工会2: " + relation.guild2Name() + " (ID: " + relation.guild2Id() + ")");
+        sendMessage(player, "&e发起人: " + relation.initiatorName());
+        sendMessage(player, "&e创建时间: " + formatDateTime(relation.createdAt()));
+        if (relation.updatedAt() != null) {
+            sendMessage(player, "&e更新时间: " + formatDateTime(relation.updatedAt()));
         }
-        if (relation.getExpiresAt() != null) {
-            sendMessage(player, "&e过期时间: " + formatDateTime(relation.getExpiresAt()));
+        if (relation.expiresAt() != null) {
+            sendMessage(player, "&e过期时间: " + formatDateTime(relation.expiresAt()));
         }
         sendMessage(player, "&6==================");
     }
@@ -28,8 +28,14 @@ public class PlayerListener implements Listener {
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        // 预热权限索引，避免首次权限检查时查询数据库
+        if (plugin.getPermissionManager() != null) {
+            plugin.getPermissionManager().warmPlayer(event.getPlayer().getUniqueId());
+        }
         // 检查工会战争状态
         checkWarStatus(event.getPlayer());
+        // 提醒会长与官员处理待处理申请
+        plugin.getApplicationInboxService().notifyPendingApplications(event.getPlayer());
     }
 
     /**
@@ -66,6 +72,11 @@ public class PlayerListener implements Listener {
         if (guiManager != null) {
             guiManager.closeGUI(event.getPlayer());
         }
+
+        // 清理玩家的权限索引
+        if (plugin.getPermissionManager() != null) {
+            plugin.getPermissionManager().evictPlayer(event.getPlayer().getUniqueId());
+        }
     }
 
     /**
@@ -0,0 +1,33 @@
+package com.guild.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量处理申请的结果
+ *
+ * @param processed 本次已接受或拒绝的申请
+ * @param closed    因申请人已加入其他工会而自动拒绝的申请数
+ * @param skipped   未处理的申请数（名额不足、已被他人处理或无权处理）
+ */
+public record ApplicationBatchResult(List<GuildApplication> processed, int closed, int skipped) {
+
+    public static final ApplicationBatchResult EMPTY = new ApplicationBatchResult(List.of(), 0, 0);
+
+    public ApplicationBatchResult {
+        processed = List.copyOf(processed);
+    }
+
+    public boolean isEmpty() {
+        return processed.isEmpty();
+    }
+
+    /**
+     * 合并分批处理的结果
+     */
+    public ApplicationBatchResult merge(ApplicationBatchResult other) {
+        List<GuildApplication> merged = new ArrayList<>(processed);
+        merged.addAll(other.processed);
+        return new ApplicationBatchResult(merged, closed + other.closed, skipped + other.skipped);
+    }
+}
@@ -0,0 +1,50 @@
+package com.guild.models;
+
+import com.guild.core.time.TimeProvider;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 工会的紧凑只读表示，用于工会列表等需要持有全部工会的场景
+ * 会长 UUID 拆为两个 long，名称、标签与会长名驻留；不含家的位置，需要时按 id 查询完整的 Guild
+ */
+public record CompactGuild(int id, String name, String tag, String description,
+                           long leaderMost, long leaderLeast, String leaderName,
+                           int level, double balance, int maxMembers, boolean frozen, long createdAtMillis) {
+
+    public CompactGuild {
+        name = CompactNames.intern(name);
+        tag = CompactNames.intern(tag);
+        leaderName = CompactNames.intern(leaderName);
+    }
+
+    public static CompactGuild of(Guild guild) {
+        UUID leader = guild.getLeaderUuid();
+        return new CompactGuild(guild.getId(), guild.getName(), guild.getTag(), guild.getDescription(),
+                leader.getMostSignificantBits(), leader.getLeastSignificantBits(), guild.getLeaderName(),
+                guild.getLevel(), guild.getBalance(), guild.getMaxMembers(), guild.isFrozen(), guild.getCreatedAtMillis());
+    }
+
+    public UUID leaderUuid() {
+        return new UUID(leaderMost, leaderLeast);
+    }
+
+    public LocalDateTime createdAt() {
+        return TimeProvider.fromEpochMillis(createdAtMillis);
+    }
+
+    /**
+     * 转换为 Guild（不含家的位置），用于只接受 Guild 的占位符与渲染工具
+     */
+    public Guild toGuild() {
+        Guild guild = new Guild(name, tag, description, leaderUuid(), leaderName);
+        guild.setId(id);
+        guild.setLevel(level);
+        guild.setBalance(balance);
+        guild.setMaxMembers(maxMembers);
+        guild.setFrozen(frozen);
+        guild.setCreatedAtMillis(createdAtMillis);
+        return guild;
+    }
+}
@@ -0,0 +1,71 @@
+package com.guild.models;
+
+import com.guild.core.time.TimeProvider;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 工会日志的紧凑只读表示
+ * 不保存每行重复的工会名（按 guildId 引用），操作者 UUID 拆为两个 long（系统操作为 0），玩家名驻留
+ */
+public record CompactLog(int id, int guildId, long actorMost, long actorLeast, String playerName,
+                         GuildLog.LogType logType, String description, String details, long createdAtMillis) {
+
+    public CompactLog {
+        playerName = CompactNames.intern(playerName);
+    }
+
+    /**
+     * @param playerUuid 日志表中的操作者，非 UUID 的值（如 SYSTEM）视为系统操作
+     */
+    public static CompactLog of(int id, int guildId, String playerUuid, String playerName, GuildLog.LogType logType,
+                                String description, String details, long createdAtMillis) {
+        UUID actor = parseActor(playerUuid);
+        return new CompactLog(id, guildId,
+                actor != null ? actor.getMostSignificantBits() : 0, actor != null ? actor.getLeastSignificantBits() : 0,
+                playerName, logType, description, details, createdAtMillis);
+    }
+
+    public static CompactLog of(GuildLog log) {
+        return of(log.getId(), log.getGuildId(), log.getPlayerUuid(), log.getPlayerName(), log.getLogType(),
+                log.getDescription(), log.getDetails(), log.getCreatedAtMillis());
+    }
+
+    private static UUID parseActor(String playerUuid) {
+        if (playerUuid == null || playerUuid.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(playerUuid);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 是否为系统操作（无玩家 UUID）
+     */
+    public boolean isSystem() {
+        return actorMost == 0 && actorLeast == 0;
+    }
+
+    /**
+     * 操作者 UUID，系统操作返回 null
+     */
+    public UUID playerUuid() {
+        return isSystem() ? null : new UUID(actorMost, actorLeast);
+    }
+
+    public LocalDateTime createdAt() {
+        return TimeProvider.fromEpochMillis(createdAtMillis);
+    }
+
+    public String formattedTime() {
+        return GuildLog.formatTime(createdAtMillis);
+    }
+
+    public String simpleTime() {
+        return GuildLog.simpleTime(createdAtMillis);
+    }
+}
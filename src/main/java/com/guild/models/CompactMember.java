@@ -0,0 +1,55 @@
+package com.guild.models;
+
+import com.guild.core.time.TimeProvider;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 工会成员的紧凑只读表示
+ * UUID 拆为两个 long，加入时间为毫秒时间戳，玩家名驻留；供需要长期持有整个成员列表的 GUI 使用
+ */
+public record CompactMember(int id, int guildId, long uuidMost, long uuidLeast, String playerName,
+                            GuildMember.Role role, int rankId, long joinedAtMillis) {
+
+    public CompactMember {
+        playerName = CompactNames.intern(playerName);
+    }
+
+    public CompactMember(int id, int guildId, UUID playerUuid, String playerName,
+                         GuildMember.Role role, int rankId, long joinedAtMillis) {
+        this(id, guildId, playerUuid.getMostSignificantBits(), playerUuid.getLeastSignificantBits(),
+                playerName, role, rankId, joinedAtMillis);
+    }
+
+    public static CompactMember of(GuildMember member) {
+        return new CompactMember(member.getId(), member.getGuildId(), member.getPlayerUuid(), member.getPlayerName(),
+                member.getRole(), member.getRankId(), member.getJoinedAtMillis());
+    }
+
+    public UUID playerUuid() {
+        return new UUID(uuidMost, uuidLeast);
+    }
+
+    /**
+     * 比较玩家 UUID（不创建 UUID 对象）
+     */
+    public boolean isPlayer(UUID uuid) {
+        return uuid != null && uuid.getMostSignificantBits() == uuidMost && uuid.getLeastSignificantBits() == uuidLeast;
+    }
+
+    public LocalDateTime joinedAt() {
+        return TimeProvider.fromEpochMillis(joinedAtMillis);
+    }
+
+    /**
+     * 转换为可修改的 GuildMember
+     */
+    public GuildMember toGuildMember() {
+        GuildMember member = new GuildMember(guildId, playerUuid(), playerName, role);
+        member.setId(id);
+        member.setRankId(rankId);
+        member.setJoinedAtMillis(joinedAtMillis);
+        return member;
+    }
+}
@@ -0,0 +1,14 @@
+package com.guild.models;
+
+/**
+ * 紧凑模型共用的名称驻留 - 同一玩家名、工会名在成千上万行中只保留一个字符串实例
+ */
+final class CompactNames {
+
+    private CompactNames() {
+    }
+
+    static String intern(String name) {
+        return name != null ? name.intern() : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.guild.models;
+
+import com.guild.core.time.TimeProvider;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 工会关系的紧凑只读表示
+ * 两个工会名与发起者名驻留（同一工会出现在多条关系中时共享实例），发起者 UUID 拆为两个 long，时间为毫秒时间戳
+ */
+public record CompactRelation(int id, int guild1Id, int guild2Id, String guild1Name, String guild2Name,
+                              GuildRelation.RelationType type, GuildRelation.RelationStatus status,
+                              long initiatorMost, long initiatorLeast, String initiatorName,
+                              long createdAtMillis, long updatedAtMillis, long expiresAtMillis) {
+
+    public CompactRelation {
+        guild1Name = CompactNames.intern(guild1Name);
+        guild2Name = CompactNames.intern(guild2Name);
+        initiatorName = CompactNames.intern(initiatorName);
+    }
+
+    public static CompactRelation of(GuildRelation relation) {
+        UUID initiator = relation.getInitiatorUuid();
+        return new CompactRelation(relation.getId(), relation.getGuild1Id(), relation.getGuild2Id(),
+                relation.getGuild1Name(), relation.getGuild2Name(), relation.getType(), relation.getStatus(),
+                initiator.getMostSignificantBits(), initiator.getLeastSignificantBits(), relation.getInitiatorName(),
+                relation.getCreatedAtMillis(), relation.getUpdatedAtMillis(), relation.getExpiresAtMillis());
+    }
+
+    public UUID initiatorUuid() {
+        return new UUID(initiatorMost, initiatorLeast);
+    }
+
+    /**
+     * 比较发起者 UUID（不创建 UUID 对象）
+     */
+    public boolean isInitiator(UUID uuid) {
+        return uuid != null && uuid.getMostSignificantBits() == initiatorMost && uuid.getLeastSignificantBits() == initiatorLeast;
+    }
+
+    public LocalDateTime createdAt() {
+        return TimeProvider.fromEpochMillis(createdAtMillis);
+    }
+
+    public LocalDateTime updatedAt() {
+        return TimeProvider.fromEpochMillis(updatedAtMillis);
+    }
+
+    public LocalDateTime expiresAt() {
+        return TimeProvider.fromEpochMillis(expiresAtMillis);
+    }
+
+    public boolean isExpired() {
+        return expiresAtMillis != 0 && TimeProvider.nowMillis() > expiresAtMillis;
+    }
+
+    public boolean isWar() {
+        return type == GuildRelation.RelationType.WAR && status == GuildRelation.RelationStatus.ACTIVE;
+    }
+
+    public int otherGuildId(int currentGuildId) {
+        return guild1Id == currentGuildId ? guild2Id : guild1Id;
+    }
+
+    public String otherGuildName(int currentGuildId) {
+        return guild1Id == currentGuildId ? guild2Name : guild1Name;
+    }
+}
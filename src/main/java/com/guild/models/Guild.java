@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 import org.bukkit.Location;
@@ -25,8 +27,8 @@ public class Guild {
     private int level;
     private int maxMembers;
     private boolean frozen;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private long createdAtMillis;
+    private long updatedAtMillis;
     
     public Guild() {}
     
@@ -36,8 +38,34 @@ public class Guild {
         this.description = description;
         this.leaderUuid = leaderUuid;
         this.leaderName = leaderName;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAtMillis = TimeProvider.nowMillis();
+        this.updatedAtMillis = TimeProvider.nowMillis();
+    }
+    
+    /**
+     * 复制一份独立的实例，修改副本不影响原对象
+     */
+    public Guild copy() {
+        Guild copy = new Guild();
+        copy.id = id;
+        copy.name = name;
+        copy.tag = tag;
+        copy.description = description;
+        copy.leaderUuid = leaderUuid;
+        copy.leaderName = leaderName;
+        copy.homeWorld = homeWorld;
+        copy.homeX = homeX;
+        copy.homeY = homeY;
+        copy.homeZ = homeZ;
+        copy.homeYaw = homeYaw;
+        copy.homePitch = homePitch;
+        copy.balance = balance;
+        copy.level = level;
+        copy.maxMembers = maxMembers;
+        copy.frozen = frozen;
+        copy.createdAtMillis = createdAtMillis;
+        copy.updatedAtMillis = updatedAtMillis;
+        return copy;
     }
     
     // Getters and Setters
@@ -90,19 +118,35 @@ public class Guild {
     }
     
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return TimeProvider.fromEpochMillis(createdAtMillis);
     }
     
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAtMillis = TimeProvider.toEpochMillis(createdAt);
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
     }
     
     public LocalDateTime getUpdatedAt() {
-        return updatedAt;
+        return TimeProvider.fromEpochMillis(updatedAtMillis);
     }
     
     public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
+        this.updatedAtMillis = TimeProvider.toEpochMillis(updatedAt);
+    }
+    
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+    
+    public void setUpdatedAtMillis(long updatedAtMillis) {
+        this.updatedAtMillis = updatedAtMillis;
     }
     
     // 家的位置相关方法
@@ -225,8 +269,8 @@ public class Guild {
                 ", leaderUuid=" + leaderUuid +
                 ", leaderName='" + leaderName + '\'' +
                 ", hasHome=" + hasHome() +
-                ", createdAt=" + createdAt +
-                ", updatedAt=" + updatedAt +
+                ", createdAt=" + getCreatedAt() +
+                ", updatedAt=" + getUpdatedAt() +
                 '}';
     }
 }
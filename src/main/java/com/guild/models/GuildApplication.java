@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -14,7 +16,7 @@ public class GuildApplication {
     private String playerName;
     private String message;
     private ApplicationStatus status;
-    private LocalDateTime createdAt;
+    private long createdAtMillis;
     
     public GuildApplication() {}
     
@@ -24,7 +26,7 @@ public class GuildApplication {
         this.playerName = playerName;
         this.message = message;
         this.status = ApplicationStatus.PENDING;
-        this.createdAt = LocalDateTime.now();
+        this.createdAtMillis = TimeProvider.nowMillis();
     }
     
     // Getters and Setters
@@ -77,11 +79,19 @@ public class GuildApplication {
     }
     
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return TimeProvider.fromEpochMillis(createdAtMillis);
     }
     
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAtMillis = TimeProvider.toEpochMillis(createdAt);
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
     }
     
     /**
@@ -112,7 +122,7 @@ public class GuildApplication {
                 ", playerName='" + playerName + '\'' +
                 ", message='" + message + '\'' +
                 ", status=" + status +
-                ", createdAt=" + createdAt +
+                ", createdAt=" + getCreatedAt() +
                 '}';
     }
 }
@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -15,7 +17,7 @@ public class GuildContribution {
     private double amount;
     private ContributionType type;
     private String description;
-    private LocalDateTime createdAt;
+    private long createdAtMillis;
     
     public enum ContributionType {
         DEPOSIT("存款"),
@@ -46,7 +48,7 @@ public class GuildContribution {
         this.amount = amount;
         this.type = type;
         this.description = description;
-        this.createdAt = LocalDateTime.now();
+        this.createdAtMillis = TimeProvider.nowMillis();
     }
     
     // Getters and Setters
@@ -107,11 +109,19 @@ public class GuildContribution {
     }
     
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return TimeProvider.fromEpochMillis(createdAtMillis);
     }
     
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAtMillis = TimeProvider.toEpochMillis(createdAt);
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
     }
     
     /**
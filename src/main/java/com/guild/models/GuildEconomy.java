@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -15,7 +17,7 @@ public class GuildEconomy {
     private double experience;
     private double maxExperience;
     private int maxMembers;
-    private LocalDateTime lastUpdated;
+    private long lastUpdatedMillis;
     
     public GuildEconomy() {}
     
@@ -26,7 +28,7 @@ public class GuildEconomy {
         this.experience = 0.0;
         this.maxExperience = 5000.0;
         this.maxMembers = 6;
-        this.lastUpdated = LocalDateTime.now();
+        this.lastUpdatedMillis = TimeProvider.nowMillis();
     }
     
     // Getters and Setters
@@ -52,7 +54,7 @@ public class GuildEconomy {
     
     public void setBalance(double balance) {
         this.balance = balance;
-        this.lastUpdated = LocalDateTime.now();
+        this.lastUpdatedMillis = TimeProvider.nowMillis();
     }
     
     public int getLevel() {
@@ -61,7 +63,7 @@ public class GuildEconomy {
     
     public void setLevel(int level) {
         this.level = level;
-        this.lastUpdated = LocalDateTime.now();
+        this.lastUpdatedMillis = TimeProvider.nowMillis();
     }
     
     public double getExperience() {
@@ -70,7 +72,7 @@ public class GuildEconomy {
     
     public void setExperience(double experience) {
         this.experience = experience;
-        this.lastUpdated = LocalDateTime.now();
+        this.lastUpdatedMillis = TimeProvider.nowMillis();
     }
     
     public double getMaxExperience() {
@@ -90,11 +92,19 @@ public class GuildEconomy {
     }
     
     public LocalDateTime getLastUpdated() {
-        return lastUpdated;
+        return TimeProvider.fromEpochMillis(lastUpdatedMillis);
     }
     
     public void setLastUpdated(LocalDateTime lastUpdated) {
-        this.lastUpdated = lastUpdated;
+        this.lastUpdatedMillis = TimeProvider.toEpochMillis(lastUpdated);
+    }
+    
+    public long getLastUpdatedMillis() {
+        return lastUpdatedMillis;
+    }
+    
+    public void setLastUpdatedMillis(long lastUpdatedMillis) {
+        this.lastUpdatedMillis = lastUpdatedMillis;
     }
     
     /**
@@ -102,7 +112,7 @@ public class GuildEconomy {
      */
     public void addBalance(double amount) {
         this.balance += amount;
-        this.lastUpdated = LocalDateTime.now();
+        this.lastUpdatedMillis = TimeProvider.nowMillis();
     }
     
     /**
@@ -111,7 +121,7 @@ public class GuildEconomy {
     public boolean deductBalance(double amount) {
         if (this.balance >= amount) {
             this.balance -= amount;
-            this.lastUpdated = LocalDateTime.now();
+            this.lastUpdatedMillis = TimeProvider.nowMillis();
             return true;
         }
         return false;
@@ -137,7 +147,7 @@ public class GuildEconomy {
             this.maxExperience = calculateNextLevelExperience();
             this.maxMembers = calculateMaxMembers();
             
-            this.lastUpdated = LocalDateTime.now();
+            this.lastUpdatedMillis = TimeProvider.nowMillis();
             return true;
         }
         return false;
@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -14,8 +16,8 @@ public class GuildInvitation {
     private String inviterName;
     private UUID targetUuid;
     private String targetName;
-    private LocalDateTime invitedAt;
-    private LocalDateTime expiresAt;
+    private long invitedAtMillis;
+    private long expiresAtMillis;
     private InvitationStatus status;
     
     public GuildInvitation() {}
@@ -26,8 +28,8 @@ public class GuildInvitation {
         this.inviterName = inviterName;
         this.targetUuid = targetUuid;
         this.targetName = targetName;
-        this.invitedAt = LocalDateTime.now();
-        this.expiresAt = LocalDateTime.now().plusMinutes(30); // 30分钟过期
+        this.invitedAtMillis = TimeProvider.nowMillis();
+        this.expiresAtMillis = TimeProvider.plusMinutesMillis(30); // 30分钟过期
         this.status = InvitationStatus.PENDING;
     }
     
@@ -81,19 +83,35 @@ public class GuildInvitation {
     }
     
     public LocalDateTime getInvitedAt() {
-        return invitedAt;
+        return TimeProvider.fromEpochMillis(invitedAtMillis);
     }
     
     public void setInvitedAt(LocalDateTime invitedAt) {
-        this.invitedAt = invitedAt;
+        this.invitedAtMillis = TimeProvider.toEpochMillis(invitedAt);
+    }
+    
+    public long getInvitedAtMillis() {
+        return invitedAtMillis;
+    }
+    
+    public void setInvitedAtMillis(long invitedAtMillis) {
+        this.invitedAtMillis = invitedAtMillis;
     }
     
     public LocalDateTime getExpiresAt() {
-        return expiresAt;
+        return TimeProvider.fromEpochMillis(expiresAtMillis);
     }
     
     public void setExpiresAt(LocalDateTime expiresAt) {
-        this.expiresAt = expiresAt;
+        this.expiresAtMillis = TimeProvider.toEpochMillis(expiresAt);
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+    
+    public void setExpiresAtMillis(long expiresAtMillis) {
+        this.expiresAtMillis = expiresAtMillis;
     }
     
     public InvitationStatus getStatus() {
@@ -105,7 +123,7 @@ public class GuildInvitation {
     }
     
     public boolean isExpired() {
-        return LocalDateTime.now().isAfter(expiresAt);
+        return TimeProvider.nowMillis() > expiresAtMillis;
     }
     
     /**
@@ -137,8 +155,8 @@ public class GuildInvitation {
                 ", inviterName='" + inviterName + '\'' +
                 ", targetUuid=" + targetUuid +
                 ", targetName='" + targetName + '\'' +
-                ", invitedAt=" + invitedAt +
-                ", expiresAt=" + expiresAt +
+                ", invitedAt=" + getInvitedAt() +
+                ", expiresAt=" + getExpiresAt() +
                 ", status=" + status +
                 '}';
     }
@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 
 /**
@@ -15,7 +17,7 @@ public class GuildLog {
     private LogType logType;
     private String description;
     private String details;
-    private LocalDateTime createdAt;
+    private long createdAtMillis;
 
     public GuildLog() {
     }
@@ -29,7 +31,7 @@ public class GuildLog {
         this.logType = logType;
         this.description = description;
         this.details = details;
-        this.createdAt = LocalDateTime.now();
+        this.createdAtMillis = TimeProvider.nowMillis();
     }
 
     // Getters and Setters
@@ -98,11 +100,19 @@ public class GuildLog {
     }
 
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return TimeProvider.fromEpochMillis(createdAtMillis);
     }
 
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAtMillis = TimeProvider.toEpochMillis(createdAt);
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
     }
 
     /**
@@ -150,17 +160,24 @@ public class GuildLog {
      * 获取格式化的时间字符串
      */
     public String getFormattedTime() {
-        if (createdAt == null) return "未知";
-        return createdAt.format(com.guild.core.time.TimeProvider.FULL_FORMATTER);
+        return formatTime(createdAtMillis);
     }
 
     /**
      * 获取简化的时间字符串（用于显示）
      */
     public String getSimpleTime() {
-        if (createdAt == null) return "未知";
-        LocalDateTime now = LocalDateTime.now();
-        java.time.Duration duration = java.time.Duration.between(createdAt, now);
+        return simpleTime(createdAtMillis);
+    }
+
+    static String formatTime(long createdAtMillis) {
+        if (createdAtMillis == 0) return "未知";
+        return TimeProvider.fromEpochMillis(createdAtMillis).format(TimeProvider.FULL_FORMATTER);
+    }
+
+    static String simpleTime(long createdAtMillis) {
+        if (createdAtMillis == 0) return "未知";
+        java.time.Duration duration = java.time.Duration.ofMillis(Math.max(0, TimeProvider.nowMillis() - createdAtMillis));
         
         long days = duration.toDays();
         long hours = duration.toHours() % 24;
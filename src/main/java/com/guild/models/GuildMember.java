@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -13,7 +15,9 @@ public class GuildMember {
     private UUID playerUuid;
     private String playerName;
     private Role role;
-    private LocalDateTime joinedAt;
+    // 自定义职级ID，0 表示未分配职级（按角色权限）
+    private int rankId;
+    private long joinedAtMillis;
     
     public GuildMember() {}
     
@@ -22,7 +26,22 @@ public class GuildMember {
         this.playerUuid = playerUuid;
         this.playerName = playerName;
         this.role = role;
-        this.joinedAt = LocalDateTime.now();
+        this.joinedAtMillis = TimeProvider.nowMillis();
+    }
+    
+    /**
+     * 复制一份独立的实例，修改副本不影响原对象
+     */
+    public GuildMember copy() {
+        GuildMember copy = new GuildMember();
+        copy.id = id;
+        copy.guildId = guildId;
+        copy.playerUuid = playerUuid;
+        copy.playerName = playerName;
+        copy.role = role;
+        copy.rankId = rankId;
+        copy.joinedAtMillis = joinedAtMillis;
+        return copy;
     }
     
     // Getters and Setters
@@ -66,12 +85,28 @@ public class GuildMember {
         this.role = role;
     }
     
+    public int getRankId() {
+        return rankId;
+    }
+    
+    public void setRankId(int rankId) {
+        this.rankId = rankId;
+    }
+    
     public LocalDateTime getJoinedAt() {
-        return joinedAt;
+        return TimeProvider.fromEpochMillis(joinedAtMillis);
     }
     
     public void setJoinedAt(LocalDateTime joinedAt) {
-        this.joinedAt = joinedAt;
+        this.joinedAtMillis = TimeProvider.toEpochMillis(joinedAt);
+    }
+    
+    public long getJoinedAtMillis() {
+        return joinedAtMillis;
+    }
+    
+    public void setJoinedAtMillis(long joinedAtMillis) {
+        this.joinedAtMillis = joinedAtMillis;
     }
     
     /**
@@ -111,6 +146,10 @@ public class GuildMember {
         public boolean canDeleteGuild() {
             return this == LEADER;
         }
+        
+        public boolean canManageApplications() {
+            return this == LEADER || this == OFFICER;
+        }
     }
     
     @Override
@@ -121,7 +160,8 @@ public class GuildMember {
                 ", playerUuid=" + playerUuid +
                 ", playerName='" + playerName + '\'' +
                 ", role=" + role +
-                ", joinedAt=" + joinedAt +
+                ", rankId=" + rankId +
+                ", joinedAt=" + getJoinedAt() +
                 '}';
     }
 
@@ -0,0 +1,108 @@
+package com.guild.models;
+
+import com.guild.core.permissions.GuildPermission;
+import com.guild.core.time.TimeProvider;
+
+import java.time.LocalDateTime;
+
+/**
+ * 工会自定义职级数据模型
+ */
+public class GuildRank {
+    
+    private int id;
+    private int guildId;
+    private String name;
+    private int priority;
+    private long permissions;
+    private long createdAtMillis;
+    
+    public GuildRank() {}
+    
+    public GuildRank(int guildId, String name, int priority, long permissions) {
+        this.guildId = guildId;
+        this.name = name;
+        this.priority = priority;
+        this.permissions = permissions;
+        this.createdAtMillis = TimeProvider.nowMillis();
+    }
+    
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    public int getGuildId() {
+        return guildId;
+    }
+    
+    public void setGuildId(int guildId) {
+        this.guildId = guildId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public int getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+    
+    /**
+     * 权限掩码（位定义见 {@link GuildPermission}）
+     */
+    public long getPermissions() {
+        return permissions;
+    }
+    
+    public void setPermissions(long permissions) {
+        this.permissions = permissions;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return TimeProvider.fromEpochMillis(createdAtMillis);
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAtMillis = TimeProvider.toEpochMillis(createdAt);
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+    }
+    
+    /**
+     * 检查职级是否拥有指定权限
+     */
+    public boolean hasPermission(GuildPermission permission) {
+        return permission.isGranted(permissions);
+    }
+    
+    @Override
+    public String toString() {
+        return "GuildRank{" +
+                "id=" + id +
+                ", guildId=" + guildId +
+                ", name='" + name + '\'' +
+                ", priority=" + priority +
+                ", permissions=" + permissions +
+                ", createdAt=" + getCreatedAt() +
+                '}';
+    }
+}
@@ -1,5 +1,7 @@
 package com.guild.models;
 
+import com.guild.core.time.TimeProvider;
+
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -17,9 +19,9 @@ public class GuildRelation {
     private RelationStatus status;
     private UUID initiatorUuid;
     private String initiatorName;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    private LocalDateTime expiresAt;
+    private long createdAtMillis;
+    private long updatedAtMillis;
+    private long expiresAtMillis;
     
     public enum RelationType {
         ALLY("盟友", "&a"),
@@ -74,11 +76,31 @@ public class GuildRelation {
         this.status = RelationStatus.PENDING;
         this.initiatorUuid = initiatorUuid;
         this.initiatorName = initiatorName;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAtMillis = TimeProvider.nowMillis();
+        this.updatedAtMillis = TimeProvider.nowMillis();
         
         // 设置过期时间（7天后）
-        this.expiresAt = LocalDateTime.now().plusDays(7);
+        this.expiresAtMillis = TimeProvider.plusDaysMillis(7);
+    }
+    
+    /**
+     * 复制一份独立的实例，修改副本不影响原对象
+     */
+    public GuildRelation copy() {
+        GuildRelation copy = new GuildRelation();
+        copy.id = id;
+        copy.guild1Id = guild1Id;
+        copy.guild2Id = guild2Id;
+        copy.guild1Name = guild1Name;
+        copy.guild2Name = guild2Name;
+        copy.type = type;
+        copy.status = status;
+        copy.initiatorUuid = initiatorUuid;
+        copy.initiatorName = initiatorName;
+        copy.createdAtMillis = createdAtMillis;
+        copy.updatedAtMillis = updatedAtMillis;
+        copy.expiresAtMillis = expiresAtMillis;
+        return copy;
     }
     
     // Getters and Setters
@@ -155,34 +177,58 @@ public class GuildRelation {
     }
     
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return TimeProvider.fromEpochMillis(createdAtMillis);
     }
     
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAtMillis = TimeProvider.toEpochMillis(createdAt);
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
     }
     
     public LocalDateTime getUpdatedAt() {
-        return updatedAt;
+        return TimeProvider.fromEpochMillis(updatedAtMillis);
     }
     
     public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
+        this.updatedAtMillis = TimeProvider.toEpochMillis(updatedAt);
+    }
+    
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+    
+    public void setUpdatedAtMillis(long updatedAtMillis) {
+        this.updatedAtMillis = updatedAtMillis;
     }
     
     public LocalDateTime getExpiresAt() {
-        return expiresAt;
+        return TimeProvider.fromEpochMillis(expiresAtMillis);
     }
     
     public void setExpiresAt(LocalDateTime expiresAt) {
-        this.expiresAt = expiresAt;
+        this.expiresAtMillis = TimeProvider.toEpochMillis(expiresAt);
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+    
+    public void setExpiresAtMillis(long expiresAtMillis) {
+        this.expiresAtMillis = expiresAtMillis;
     }
     
     /**
      * 检查关系是否已过期
      */
     public boolean isExpired() {
-        return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
+        return expiresAtMillis != 0 && TimeProvider.nowMillis() > expiresAtMillis;
     }
     
     /**
@@ -0,0 +1,110 @@
+package com.guild.services;
+
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.events.ApplicationProcessedEvent;
+import com.guild.core.events.ApplicationSubmittedEvent;
+import com.guild.core.events.EventBus;
+import com.guild.core.events.GuildDeletedEvent;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.util.LogService;
+import org.bukkit.entity.Player;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.guild.util.FormatUtil.sendMessage;
+
+/**
+ * 申请收件箱服务 - 在内存中维护每个工会的待处理申请数
+ * <p>
+ * 启动时从数据库统计一次，之后由申请提交与处理事件增减；供申请管理界面显示数量与会长、官员上线提醒使用，
+ * 无需再为计数查询申请列表。
+ */
+public class ApplicationInboxService {
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 工会ID -> 待处理申请数（没有待处理申请的工会不保留条目）
+    private final Map<Integer, Integer> pendingCounts = new ConcurrentHashMap<>();
+
+    public ApplicationInboxService(GuildPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+
+        EventBus eventBus = plugin.getEventBus();
+        if (eventBus != null) {
+            eventBus.subscribe(ApplicationSubmittedEvent.class, event -> pendingCounts.merge(event.guildId(), 1, Integer::sum));
+            eventBus.subscribe(ApplicationProcessedEvent.class, event ->
+                    pendingCounts.computeIfPresent(event.guildId(), (guildId, count) -> count > 1 ? count - 1 : null));
+            eventBus.subscribe(GuildDeletedEvent.class, event -> pendingCounts.remove(event.guildId()));
+        }
+    }
+
+    public void start() {
+        reload();
+    }
+
+    /**
+     * 从数据库统计各工会的待处理申请数（启动或从备份恢复数据后调用）
+     */
+    public void reload() {
+        Map<Integer, Integer> loaded = new HashMap<>();
+        String sql = "SELECT guild_id, COUNT(*) FROM guild_applications WHERE status = 'PENDING' GROUP BY guild_id";
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                loaded.put(rs.getInt(1), rs.getInt(2));
+            }
+        } catch (SQLException e) {
+            LogService.error("统计待处理申请时发生错误: ", e);
+        }
+        pendingCounts.clear();
+        pendingCounts.putAll(loaded);
+        LogService.info("申请收件箱已加载，" + loaded.size() + " 个工会有待处理申请");
+    }
+
+    public void stop() {
+        pendingCounts.clear();
+    }
+
+    /**
+     * 获取工会的待处理申请数
+     */
+    public int getPendingCount(int guildId) {
+        return pendingCounts.getOrDefault(guildId, 0);
+    }
+
+    /**
+     * 玩家上线时提醒会长与官员处理待处理申请
+     */
+    public void notifyPendingApplications(Player player) {
+        // 没有任何待处理申请时不查询成员信息
+        if (pendingCounts.isEmpty()) {
+            return;
+        }
+        plugin.getGuildService().getGuildMemberAsync(player.getUniqueId()).thenAccept(member -> {
+            if (member == null || !member.getRole().canManageApplications()) {
+                return;
+            }
+            int count = getPendingCount(member.getGuildId());
+            if (count <= 0) {
+                return;
+            }
+            CompatibleScheduler.runTask(plugin, () -> {
+                if (player.isOnline()) {
+                    String message = plugin.getConfigManager().getMessagesConfig()
+                            .getString("application.pending-reminder", "&e[工会] &f您的工会有 &e{count} &f条待处理的入会申请，请在申请管理中处理")
+                            .replace("{count}", String.valueOf(count));
+                    sendMessage(player, message);
+                }
+            });
+        });
+    }
+}
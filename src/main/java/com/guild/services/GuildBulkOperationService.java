@@ -0,0 +1,359 @@
+package com.guild.services;
+
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.events.BalanceChangedEvent;
+import com.guild.core.events.EventBus;
+import com.guild.core.events.GuildEvent;
+import com.guild.core.time.TimeProvider;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.models.GuildLog;
+import com.guild.util.DebugCategory;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 工会批量管理操作服务 - 以流式游标逐行读取工会，按条件筛选后分批在独立事务中执行变更
+ * <p>
+ * 同一时间只运行一个操作。取消只在批次之间生效：已提交的批次保留，正在执行的批次完整提交，不会留下半个批次。
+ * 最近活跃时间取工会最新一条日志的时间（没有日志时为创建时间）。
+ */
+public class GuildBulkOperationService {
+
+    // 最近活跃时间的子查询依赖 guild_logs (guild_id, created_at) 索引，每个工会只读取索引末端一行
+    private static final String SNAPSHOT_SELECT = """
+            SELECT g.id, g.name, g.leader_uuid, g.balance, g.frozen, g.created_at,
+                   (SELECT COUNT(*) FROM guild_members m WHERE m.guild_id = g.id) AS member_count,
+                   (SELECT MAX(l.created_at) FROM guild_logs l WHERE l.guild_id = g.id) AS last_activity
+            FROM guilds g""";
+    private static final String SNAPSHOT_SQL = SNAPSHOT_SELECT + " ORDER BY g.id";
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    private final AtomicReference<BulkJob> currentJob = new AtomicReference<>();
+
+    private int chunkSize = 100;
+    private int progressInterval = 500;
+
+    public GuildBulkOperationService(GuildPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+    }
+
+    /**
+     * 从配置文件加载批次大小与进度报告间隔
+     */
+    public void reloadFromConfig() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        chunkSize = Math.max(1, Math.min(500, config.getInt("bulk-operations.chunk-size", 100)));
+        progressInterval = Math.max(1, config.getInt("bulk-operations.progress-interval", 500));
+    }
+
+    public void start() {
+        reloadFromConfig();
+    }
+
+    /**
+     * 停止：正在运行的操作在当前批次提交后退出
+     */
+    public void stop() {
+        cancel();
+    }
+
+    /**
+     * 运行批量操作 (异步)
+     *
+     * @param operation 操作名称，用于进度报告与指标
+     * @param filter    工会筛选条件
+     * @param writer    对一批匹配工会执行的写入，为 null 时只统计匹配数（预览）
+     * @param listener  每扫描 progress-interval 个工会以及结束时收到进度
+     * @return 最终进度；已有操作在运行时以 IllegalStateException 失败
+     */
+    public CompletableFuture<BulkProgress> runAsync(String operation, Predicate<GuildSnapshot> filter,
+                                                    ChunkWriter writer, Consumer<BulkProgress> listener) {
+        BulkJob job = new BulkJob(operation);
+        if (!currentJob.compareAndSet(null, job)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("批量操作 " + currentJob.get().operation + " 正在运行"));
+        }
+        reloadFromConfig();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return run(job, filter, writer, listener);
+            } finally {
+                currentJob.set(null);
+            }
+        }, runnable -> CompatibleScheduler.runTaskAsync(plugin, runnable));
+    }
+
+    /**
+     * 请求取消正在运行的操作，没有操作时返回 false
+     */
+    public boolean cancel() {
+        BulkJob job = currentJob.get();
+        if (job == null) {
+            return false;
+        }
+        job.cancelled = true;
+        return true;
+    }
+
+    /**
+     * 正在运行的操作的进度，没有操作时返回 null
+     */
+    public BulkProgress getCurrentProgress() {
+        BulkJob job = currentJob.get();
+        return job != null ? job.progress(false) : null;
+    }
+
+    private BulkProgress run(BulkJob job, Predicate<GuildSnapshot> filter, ChunkWriter writer, Consumer<BulkProgress> listener) {
+        boolean mysql = databaseManager.getDatabaseType() == DatabaseManager.DatabaseType.MYSQL;
+        long startedAt = System.nanoTime();
+        List<GuildSnapshot> chunk = new ArrayList<>(chunkSize);
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SNAPSHOT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL 驱动仅在 fetchSize 为 Integer.MIN_VALUE 时逐行流式读取
+            stmt.setFetchSize(mysql ? Integer.MIN_VALUE : chunkSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (!job.cancelled && rs.next()) {
+                    GuildSnapshot guild = readSnapshot(rs);
+                    job.scanned++;
+                    if (filter.test(guild)) {
+                        job.matched++;
+                        if (writer != null) {
+                            chunk.add(guild);
+                            if (chunk.size() >= chunkSize) {
+                                applyChunk(job, filter, writer, chunk);
+                                chunk = new ArrayList<>(chunkSize);
+                            }
+                        }
+                    }
+                    if (job.scanned % progressInterval == 0) {
+                        listener.accept(job.progress(false));
+                    }
+                }
+            }
+            if (!job.cancelled && !chunk.isEmpty()) {
+                applyChunk(job, filter, writer, chunk);
+            }
+        } catch (Exception e) {
+            job.failed = true;
+            LogService.error("批量操作 " + job.operation + " 执行失败: ", e);
+        }
+
+        BulkProgress result = job.progress(true);
+        LogService.info("批量操作 " + job.operation + (job.cancelled ? " 已取消" : job.failed ? " 中途失败" : " 完成")
+                + ": 扫描 " + result.scanned() + "，匹配 " + result.matched() + "，处理 " + result.applied()
+                + "，耗时 " + (System.nanoTime() - startedAt) / 1_000_000 + "ms");
+        listener.accept(result);
+        return result;
+    }
+
+    /**
+     * 一批在一个写事务中执行；失败时整批回滚并中止操作。
+     * 游标快照可能已过时，写入前在事务中锁定并重新读取这批工会，只对仍满足条件的工会写入
+     */
+    private void applyChunk(BulkJob job, Predicate<GuildSnapshot> filter, ChunkWriter writer, List<GuildSnapshot> chunk) {
+        int applied = databaseManager.executeWriteAsync("bulk:" + job.operation, conn -> {
+            List<GuildSnapshot> current = reloadChunk(conn, chunk).stream().filter(filter).toList();
+            return current.isEmpty() ? 0 : writer.write(conn, current);
+        }).join();
+        job.applied += applied;
+        GuildService guildService = plugin.getGuildService();
+        if (guildService != null) {
+            guildService.invalidateReads();
+        }
+        LogService.debug(DebugCategory.DB, "批量操作 {} 已提交一批: {} 个工会", job.operation, applied);
+    }
+
+    /**
+     * 锁定一批工会行（MySQL 与 H2 使用 FOR UPDATE，SQLite 的写入本身已串行）后重新读取其快照，已删除的工会不再返回
+     */
+    private List<GuildSnapshot> reloadChunk(Connection conn, List<GuildSnapshot> chunk) throws SQLException {
+        String ids = GuildService.placeholders(chunk.size());
+        if (databaseManager.getDatabaseType() != DatabaseManager.DatabaseType.SQLITE) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM guilds WHERE id IN (" + ids + ") ORDER BY id FOR UPDATE")) {
+                bindIds(stmt, 1, chunk);
+                stmt.executeQuery().close();
+            }
+        }
+        List<GuildSnapshot> current = new ArrayList<>(chunk.size());
+        try (PreparedStatement stmt = conn.prepareStatement(SNAPSHOT_SELECT + " WHERE g.id IN (" + ids + ") ORDER BY g.id")) {
+            bindIds(stmt, 1, chunk);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    current.add(readSnapshot(rs));
+                }
+            }
+        }
+        return current;
+    }
+
+    private GuildSnapshot readSnapshot(ResultSet rs) throws SQLException {
+        long createdAt = GuildService.readMillis(rs, "created_at");
+        long lastActivity = Math.max(createdAt, GuildService.readMillis(rs, "last_activity"));
+        return new GuildSnapshot(rs.getInt("id"), rs.getString("name"), UUID.fromString(rs.getString("leader_uuid")),
+                rs.getDouble("balance"), rs.getBoolean("frozen"), rs.getInt("member_count"), createdAt, lastActivity);
+    }
+
+    // ==================== 筛选条件 ====================
+
+    public static Predicate<GuildSnapshot> all() {
+        return guild -> true;
+    }
+
+    /**
+     * 最近活跃时间早于 days 天前
+     */
+    public static Predicate<GuildSnapshot> inactiveFor(int days) {
+        long cutoff = TimeProvider.plusDaysMillis(-days);
+        return guild -> guild.lastActivityMillis() < cutoff;
+    }
+
+    /**
+     * 成员数不超过 maxMembers
+     */
+    public static Predicate<GuildSnapshot> membersAtMost(int maxMembers) {
+        return guild -> guild.memberCount() <= maxMembers;
+    }
+
+    public static Predicate<GuildSnapshot> frozen(boolean frozen) {
+        return guild -> guild.frozen() == frozen;
+    }
+
+    // ==================== 批次写入 ====================
+
+    /**
+     * 冻结或解冻，并为状态实际变化的工会记录系统日志
+     */
+    public ChunkWriter setFrozen(boolean frozen) {
+        return (conn, chunk) -> {
+            List<GuildSnapshot> changed = chunk.stream().filter(guild -> guild.frozen() != frozen).toList();
+            if (changed.isEmpty()) {
+                return 0;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE guilds SET frozen = ? WHERE id IN (" + GuildService.placeholders(changed.size()) + ")")) {
+                stmt.setBoolean(1, frozen);
+                bindIds(stmt, 2, changed);
+                stmt.executeUpdate();
+            }
+            long now = TimeProvider.nowMillis();
+            try (PreparedStatement stmt = conn.prepareStatement(GuildService.INSERT_LOG_SQL)) {
+                for (GuildSnapshot guild : changed) {
+                    GuildService.addLogBatch(stmt, guild.id(), guild.name(), "SYSTEM", "系统",
+                            frozen ? GuildLog.LogType.GUILD_FROZEN : GuildLog.LogType.GUILD_UNFROZEN,
+                            frozen ? "工会冻结" : "工会解冻", "操作: 批量" + (frozen ? "冻结" : "解冻"), now);
+                }
+                stmt.executeBatch();
+            }
+            return changed.size();
+        };
+    }
+
+    /**
+     * 解散工会：与会长解散走同一清理流程（删除全部关联数据、写入解散日志、提交后发布删除事件并向会长退款）
+     */
+    public ChunkWriter delete() {
+        return (conn, chunk) -> plugin.getGuildService().dissolveGuilds(conn,
+                chunk.stream().map(GuildSnapshot::id).toList(), "操作: 批量删除");
+    }
+
+    /**
+     * 将资金设为 balance，为资金实际变化的工会记录日志并发布资金变更事件
+     */
+    public ChunkWriter setBalance(double balance) {
+        return (conn, chunk) -> {
+            List<GuildSnapshot> changed = chunk.stream().filter(guild -> guild.balance() != balance).toList();
+            if (changed.isEmpty()) {
+                return 0;
+            }
+            long now = TimeProvider.nowMillis();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE guilds SET balance = ?, updated_at = ? WHERE id IN (" + GuildService.placeholders(changed.size()) + ")")) {
+                stmt.setDouble(1, balance);
+                stmt.setLong(2, now);
+                bindIds(stmt, 3, changed);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(GuildService.INSERT_LOG_SQL)) {
+                for (GuildSnapshot guild : changed) {
+                    double change = balance - guild.balance();
+                    GuildService.addLogBatch(stmt, guild.id(), guild.name(), "SYSTEM", "系统",
+                            change > 0 ? GuildLog.LogType.FUND_DEPOSITED : GuildLog.LogType.FUND_WITHDRAWN, "资金重置",
+                            "变更金额: " + (change > 0 ? "+" : "") + change + " 金币, 新余额: " + balance + " 金币", now);
+                }
+                stmt.executeBatch();
+            }
+            publishAfterCommit(changed.stream()
+                    .map(guild -> (GuildEvent) new BalanceChangedEvent(guild.id(), guild.balance(), balance))
+                    .toList());
+            return changed.size();
+        };
+    }
+
+    private void publishAfterCommit(List<GuildEvent> events) {
+        EventBus eventBus = plugin.getEventBus();
+        if (eventBus != null && !events.isEmpty()) {
+            databaseManager.afterCommit(() -> events.forEach(eventBus::publishOrdered));
+        }
+    }
+
+    private static void bindIds(PreparedStatement stmt, int startIndex, List<GuildSnapshot> guilds) throws SQLException {
+        for (int i = 0; i < guilds.size(); i++) {
+            stmt.setInt(startIndex + i, guilds.get(i).id());
+        }
+    }
+
+    /**
+     * 对一批工会执行写入，在调用方的写事务中运行，返回实际处理的工会数。
+     * chunk 为在该事务中重新读取且仍满足筛选条件的工会
+     */
+    @FunctionalInterface
+    public interface ChunkWriter {
+        int write(Connection conn, List<GuildSnapshot> chunk) throws SQLException;
+    }
+
+    /**
+     * 游标读取的工会快照
+     */
+    public record GuildSnapshot(int id, String name, UUID leaderUuid, double balance, boolean frozen,
+                                int memberCount, long createdAtMillis, long lastActivityMillis) {
+    }
+
+    /**
+     * 批量操作进度
+     */
+    public record BulkProgress(String operation, int scanned, int matched, int applied,
+                               boolean finished, boolean cancelled, boolean failed) {
+    }
+
+    private static final class BulkJob {
+        private final String operation;
+        private volatile boolean cancelled;
+        private volatile boolean failed;
+        // 只由执行线程写入
+        private volatile int scanned;
+        private volatile int matched;
+        private volatile int applied;
+
+        private BulkJob(String operation) {
+            this.operation = operation;
+        }
+
+        private BulkProgress progress(boolean finished) {
+            return new BulkProgress(operation, scanned, matched, applied, finished, cancelled, failed);
+        }
+    }
+}
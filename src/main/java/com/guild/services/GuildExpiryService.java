@@ -0,0 +1,267 @@
+package com.guild.services;
+
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.events.EventBus;
+import com.guild.core.events.RelationChangedEvent;
+import com.guild.core.time.TimeProvider;
+import com.guild.core.time.TimingWheel;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.models.GuildRelation;
+import com.guild.util.DebugCategory;
+import com.guild.util.LogService;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.guild.util.FormatUtil.sendMessage;
+
+/**
+ * 工会到期服务 - 用时间轮跟踪邀请与关系请求的过期时间，到期后批量更新状态并发出通知
+ * <p>
+ * 启动时从数据库加载所有仍可能过期的邀请与待处理关系；新建的邀请与关系由 {@link GuildService} 提交后登记。
+ * 关系请求被接受、取消或删除后撤销条目；邀请条目不撤销，到期时以当前状态为准重新判断。
+ */
+public class GuildExpiryService {
+
+    private static final long TICK_MILLIS = 1000L;
+    // 单条 IN 语句最多包含的 id 数
+    private static final int BATCH_SIZE = 500;
+    // 只有待处理的关系请求会过期，生效的关系不受过期时间影响
+    private static final String EXPIRABLE_RELATION = "status = 'PENDING'";
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 同一时间只允许一次推进，慢批次结束后由下一次推进补齐
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile TimingWheel<ExpiryKey> wheel;
+    private volatile boolean stopped;
+
+    public GuildExpiryService(GuildPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+    }
+
+    /**
+     * 加载待过期条目并启动每秒一次的推进任务
+     */
+    public void start() {
+        stopped = false;
+        reload();
+        CompatibleScheduler.runTaskTimerAsync(plugin, this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 从数据库重新加载待过期条目并替换时间轮（启动或从备份恢复数据后调用）
+     */
+    public void reload() {
+        TimingWheel<ExpiryKey> loaded = new TimingWheel<>(TICK_MILLIS, TimeProvider.nowMillis());
+        try (Connection conn = databaseManager.getConnection()) {
+            load(conn, "SELECT id, expires_at FROM guild_invites WHERE status = 'PENDING'", Kind.INVITATION, loaded);
+            load(conn, "SELECT id, expires_at FROM guild_relations WHERE " + EXPIRABLE_RELATION, Kind.RELATION, loaded);
+        } catch (SQLException e) {
+            LogService.error("加载待过期的邀请与关系时发生错误: ", e);
+        }
+        wheel = loaded;
+        LogService.info("工会到期调度已加载，跟踪 " + loaded.size() + " 个待过期条目");
+    }
+
+    /**
+     * 停止推进：已登记的条目在下次启动时重新从数据库加载
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * 登记新建邀请的过期时间
+     */
+    public void scheduleInvitation(int invitationId, long expiresAtMillis) {
+        schedule(new ExpiryKey(Kind.INVITATION, invitationId), expiresAtMillis);
+    }
+
+    /**
+     * 登记新建关系的过期时间
+     */
+    public void scheduleRelation(int relationId, long expiresAtMillis) {
+        schedule(new ExpiryKey(Kind.RELATION, relationId), expiresAtMillis);
+    }
+
+    /**
+     * 撤销关系请求的过期条目（请求被接受、取消或删除后调用）
+     */
+    public void cancelRelation(int relationId) {
+        TimingWheel<ExpiryKey> current = wheel;
+        if (current != null) {
+            current.cancel(new ExpiryKey(Kind.RELATION, relationId));
+        }
+    }
+
+    private void schedule(ExpiryKey key, long expiresAtMillis) {
+        TimingWheel<ExpiryKey> current = wheel;
+        if (current != null && expiresAtMillis > 0) {
+            current.schedule(key, expiresAtMillis);
+        }
+    }
+
+    private void load(Connection conn, String sql, Kind kind, TimingWheel<ExpiryKey> target) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                long expiresAt = rs.getLong("expires_at");
+                if (expiresAt > 0) {
+                    target.schedule(new ExpiryKey(kind, rs.getInt("id")), expiresAt);
+                }
+            }
+        }
+    }
+
+    private void tick() {
+        TimingWheel<ExpiryKey> current = wheel;
+        if (stopped || current == null || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<ExpiryKey> due = current.advance(TimeProvider.nowMillis());
+            if (due.isEmpty()) {
+                return;
+            }
+
+            List<Integer> invitationIds = new ArrayList<>();
+            List<Integer> relationIds = new ArrayList<>();
+            for (ExpiryKey key : due) {
+                (key.kind() == Kind.INVITATION ? invitationIds : relationIds).add(key.id());
+            }
+            for (int from = 0; from < invitationIds.size(); from += BATCH_SIZE) {
+                expireInvitations(invitationIds.subList(from, Math.min(from + BATCH_SIZE, invitationIds.size())));
+            }
+            for (int from = 0; from < relationIds.size(); from += BATCH_SIZE) {
+                expireRelations(relationIds.subList(from, Math.min(from + BATCH_SIZE, relationIds.size())));
+            }
+        } catch (Exception e) {
+            LogService.error("处理到期邀请与关系时发生错误: ", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 将一批仍为 PENDING 的邀请标记为 EXPIRED，并通知在线的被邀请玩家
+     */
+    private void expireInvitations(List<Integer> ids) {
+        int expired = databaseManager.executeWriteAsync(conn -> {
+            long now = TimeProvider.nowMillis();
+            List<Integer> matched = new ArrayList<>();
+            List<UUID> players = new ArrayList<>();
+            String select = "SELECT id, player_uuid FROM guild_invites WHERE status = 'PENDING' AND expires_at <= ? AND id IN (" + placeholders(ids.size()) + ")";
+            try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                stmt.setLong(1, now);
+                bindIds(stmt, 2, ids);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        matched.add(rs.getInt("id"));
+                        players.add(UUID.fromString(rs.getString("player_uuid")));
+                    }
+                }
+            }
+            if (matched.isEmpty()) {
+                return 0;
+            }
+
+            String update = "UPDATE guild_invites SET status = 'EXPIRED' WHERE status = 'PENDING' AND id IN (" + placeholders(matched.size()) + ")";
+            try (PreparedStatement stmt = conn.prepareStatement(update)) {
+                bindIds(stmt, 1, matched);
+                stmt.executeUpdate();
+            }
+
+            databaseManager.afterCommit(() -> notifyInvitees(players));
+            return matched.size();
+        }).join();
+
+        if (expired > 0) {
+            LogService.debug(DebugCategory.DB, "已将 {} 条工会邀请标记为过期", expired);
+        }
+    }
+
+    /**
+     * 将一批到期仍未处理的关系请求标记为 EXPIRED，并发布关系变更事件
+     */
+    private void expireRelations(List<Integer> ids) {
+        int expired = databaseManager.executeWriteAsync(conn -> {
+            long now = TimeProvider.nowMillis();
+            List<RelationChangedEvent> events = new ArrayList<>();
+            String select = "SELECT id, guild1_id, guild2_id, relation_type FROM guild_relations WHERE " + EXPIRABLE_RELATION
+                    + " AND expires_at <= ? AND id IN (" + placeholders(ids.size()) + ")";
+            try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                stmt.setLong(1, now);
+                bindIds(stmt, 2, ids);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        events.add(new RelationChangedEvent(rs.getInt("guild1_id"), rs.getInt("guild2_id"), rs.getInt("id"),
+                                GuildRelation.RelationType.valueOf(rs.getString("relation_type")),
+                                GuildRelation.RelationStatus.EXPIRED, false));
+                    }
+                }
+            }
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            List<Integer> matched = events.stream().map(RelationChangedEvent::relationId).toList();
+            String update = "UPDATE guild_relations SET status = 'EXPIRED', updated_at = ? WHERE id IN (" + placeholders(matched.size()) + ")";
+            try (PreparedStatement stmt = conn.prepareStatement(update)) {
+                stmt.setLong(1, now);
+                bindIds(stmt, 2, matched);
+                stmt.executeUpdate();
+            }
+
+            EventBus eventBus = plugin.getEventBus();
+            if (eventBus != null) {
+                databaseManager.afterCommit(() -> events.forEach(eventBus::publishOrdered));
+            }
+            return events.size();
+        }).join();
+
+        if (expired > 0) {
+            LogService.debug(DebugCategory.DB, "已结束 {} 条到期的工会关系", expired);
+        }
+    }
+
+    private void notifyInvitees(List<UUID> players) {
+        String message = plugin.getConfigManager().getMessagesConfig().getString("invite.expired", "&c工会邀请已过期！");
+        for (UUID playerUuid : players) {
+            Player player = Bukkit.getPlayer(playerUuid);
+            if (player != null && player.isOnline()) {
+                sendMessage(player, message);
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void bindIds(PreparedStatement stmt, int startIndex, List<Integer> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setInt(startIndex + i, ids.get(i));
+        }
+    }
+
+    private enum Kind {
+        INVITATION,
+        RELATION
+    }
+
+    private record ExpiryKey(Kind kind, int id) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.guild.services;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.time.TimeProvider;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.util.DebugCategory;
+import com.guild.util.LogService;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 工会日志保留服务 - 定期分批删除过期日志，删除前可按工会、按月归档为 gzip 压缩的 NDJSON 文件
+ */
+public class GuildLogRetentionService {
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    // 每个工会归档目录下记录已归档的最大日志 id
+    private static final String HIGH_WATER_FILE = ".archived-id";
+    private static final Gson GSON = new Gson();
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 同一时间只允许一个清理任务运行
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    private boolean enabled;
+    private int daysToKeep = 90;
+    private long intervalHours = 6;
+    private int chunkSize = 500;
+    private long chunkPauseMs = 200;
+    private boolean archiveEnabled = true;
+    private File archiveDirectory;
+
+    public GuildLogRetentionService(GuildPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+    }
+
+    /**
+     * 从配置文件加载保留参数
+     */
+    public void reloadFromConfig() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        enabled = config.getBoolean("log-retention.enabled", false);
+        daysToKeep = Math.max(1, config.getInt("log-retention.days-to-keep", 90));
+        intervalHours = Math.max(1, config.getLong("log-retention.interval-hours", 6));
+        chunkSize = Math.max(1, config.getInt("log-retention.chunk-size", 500));
+        chunkPauseMs = Math.max(0, config.getLong("log-retention.chunk-pause-ms", 200));
+        archiveEnabled = config.getBoolean("log-retention.archive.enabled", true);
+        String archivePath = config.getString("log-retention.archive.path", "archive/logs");
+        archiveDirectory = new File(plugin.getDataFolder(), archivePath);
+    }
+
+    /**
+     * 启动定期清理任务（未启用时不调度）
+     */
+    public void start() {
+        reloadFromConfig();
+        stopped = false;
+        if (!enabled) {
+            return;
+        }
+        // 启动后延迟一分钟首次执行，避开启动高峰
+        CompatibleScheduler.runTaskTimerAsync(plugin, () -> prune(daysToKeep), 60, TimeUnit.HOURS.toSeconds(intervalHours), TimeUnit.SECONDS);
+        LogService.info("工会日志保留任务已启用: 保留 " + daysToKeep + " 天，每 " + intervalHours + " 小时执行一次");
+    }
+
+    /**
+     * 停止清理：正在运行的任务在当前批次结束后退出
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * 清理早于 daysToKeep 天的日志，返回删除的行数 (异步)
+     */
+    public CompletableFuture<Integer> pruneAsync(int daysToKeep) {
+        return CompletableFuture.supplyAsync(() -> prune(daysToKeep),
+                runnable -> CompatibleScheduler.runTaskAsync(plugin, runnable));
+    }
+
+    /**
+     * 分批清理过期日志，每批之间暂停以免长时间占用数据库写锁
+     */
+    private int prune(int daysToKeep) {
+        if (!running.compareAndSet(false, true)) {
+            LogService.debug(DebugCategory.DB, "工会日志清理任务仍在运行，跳过本次执行");
+            return 0;
+        }
+
+        long cutoff = TimeProvider.plusDaysMillis(-daysToKeep);
+        long startedAt = System.nanoTime();
+        int total = 0;
+        try {
+            while (!stopped) {
+                int deleted = pruneChunk(cutoff);
+                total += deleted;
+                if (deleted < chunkSize) {
+                    break;
+                }
+                if (chunkPauseMs > 0) {
+                    Thread.sleep(chunkPauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LogService.error("清理工会日志时发生错误: ", e);
+        } finally {
+            running.set(false);
+        }
+
+        if (total > 0) {
+            LogService.info("已清理 " + total + " 条过期工会日志" + (archiveEnabled ? "（已归档）" : "")
+                    + "，耗时 " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + "ms");
+        }
+        return total;
+    }
+
+    /**
+     * 处理一批过期日志：按 id 顺序读取至多 chunkSize 行，归档后按 id 上界删除
+     */
+    private int pruneChunk(long cutoff) throws SQLException, IOException {
+        String sql = "SELECT " + (archiveEnabled ? "*" : "id") + " FROM guild_logs WHERE created_at < ? ORDER BY id LIMIT ?";
+        List<JsonObject> rows = new ArrayList<>();
+        long maxId = 0;
+        int count = 0;
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, cutoff);
+            stmt.setInt(2, chunkSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    count++;
+                    maxId = Math.max(maxId, rs.getLong(1));
+                    if (archiveEnabled) {
+                        rows.add(toJson(rs, meta));
+                    }
+                }
+            }
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+        if (archiveEnabled) {
+            archive(rows);
+        }
+
+        // 读取按 id 排序，id 不超过本批最大值的过期行恰好是本批读取的行
+        long lastId = maxId;
+        return databaseManager.executeWriteAsync(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM guild_logs WHERE id <= ? AND created_at < ?")) {
+                stmt.setLong(1, lastId);
+                stmt.setLong(2, cutoff);
+                return stmt.executeUpdate();
+            }
+        }).join();
+    }
+
+    private JsonObject toJson(ResultSet rs, ResultSetMetaData meta) throws SQLException {
+        JsonObject row = new JsonObject();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            Object value = rs.getObject(i);
+            String column = meta.getColumnLabel(i).toLowerCase(Locale.ROOT);
+            if (value instanceof Number number) {
+                row.addProperty(column, number);
+            } else if (value instanceof Boolean bool) {
+                row.addProperty(column, bool);
+            } else if (value != null) {
+                row.addProperty(column, value.toString());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 按工会、按月追加写入归档文件（每次追加一个 gzip 成员，标准工具可连续解压）。
+     * 写入后更新该工会的已归档 id 上界；上次归档后删除失败或服务器中途停止时，重新读取到的行不会再次归档
+     */
+    private void archive(List<JsonObject> rows) throws IOException {
+        Map<String, List<JsonObject>> byGuild = new LinkedHashMap<>();
+        for (JsonObject row : rows) {
+            String guildId = row.has("guild_id") ? row.get("guild_id").getAsString() : "unknown";
+            byGuild.computeIfAbsent(guildId, key -> new ArrayList<>()).add(row);
+        }
+
+        for (Map.Entry<String, List<JsonObject>> guildEntry : byGuild.entrySet()) {
+            File guildDirectory = new File(archiveDirectory, guildEntry.getKey());
+            long archivedId = readHighWater(guildDirectory);
+            long maxId = archivedId;
+            Map<File, List<JsonObject>> byFile = new LinkedHashMap<>();
+            for (JsonObject row : guildEntry.getValue()) {
+                long id = row.get("id").getAsLong();
+                if (id <= archivedId) {
+                    continue;
+                }
+                maxId = Math.max(maxId, id);
+                LocalDateTime createdAt = row.has("created_at") ? TimeProvider.fromEpochMillis(row.get("created_at").getAsLong()) : null;
+                String month = createdAt != null ? createdAt.format(MONTH_FORMATTER) : "unknown";
+                byFile.computeIfAbsent(new File(guildDirectory, month + ".ndjson.gz"), key -> new ArrayList<>()).add(row);
+            }
+            if (byFile.isEmpty()) {
+                continue;
+            }
+
+            if (!guildDirectory.exists() && !guildDirectory.mkdirs()) {
+                throw new IOException("无法创建归档目录: " + guildDirectory);
+            }
+            for (Map.Entry<File, List<JsonObject>> entry : byFile.entrySet()) {
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                        new GZIPOutputStream(new FileOutputStream(entry.getKey(), true)), StandardCharsets.UTF_8))) {
+                    for (JsonObject row : entry.getValue()) {
+                        writer.write(GSON.toJson(row));
+                        writer.write('\n');
+                    }
+                }
+            }
+            writeHighWater(guildDirectory, maxId);
+        }
+    }
+
+    private static long readHighWater(File guildDirectory) throws IOException {
+        Path path = new File(guildDirectory, HIGH_WATER_FILE).toPath();
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(path, StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("归档 id 记录文件已损坏: " + path, e);
+        }
+    }
+
+    /**
+     * 先写临时文件再替换，避免中途停止留下不完整的记录
+     */
+    private static void writeHighWater(File guildDirectory, long archivedId) throws IOException {
+        Path target = new File(guildDirectory, HIGH_WATER_FILE).toPath();
+        Path temp = new File(guildDirectory, HIGH_WATER_FILE + ".tmp").toPath();
+        Files.writeString(temp, Long.toString(archivedId), StandardCharsets.UTF_8);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
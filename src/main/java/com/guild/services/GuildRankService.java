@@ -0,0 +1,266 @@
+package com.guild.services;
+
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.events.EventBus;
+import com.guild.core.events.GuildDeletedEvent;
+import com.guild.core.permissions.PermissionManager;
+import com.guild.core.time.TimeProvider;
+import com.guild.models.GuildRank;
+import com.guild.util.DebugCategory;
+import com.guild.util.LogService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 工会职级服务 - 管理每个工会的自定义职级，并按工会缓存在内存中
+ */
+public class GuildRankService {
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 工会ID -> (职级ID -> 职级)，首次访问时整体加载
+    private final Map<Integer, Map<Integer, GuildRank>> ranksByGuild = new ConcurrentHashMap<>();
+
+    public GuildRankService(GuildPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+
+        EventBus eventBus = plugin.getEventBus();
+        if (eventBus != null) {
+            eventBus.subscribe(GuildDeletedEvent.class, event -> ranksByGuild.remove(event.guildId()));
+        }
+    }
+
+    /**
+     * 获取工会全部职级，按优先级从高到低排序 (异步)
+     */
+    public CompletableFuture<List<GuildRank>> getGuildRanksAsync(int guildId) {
+        return loadRanksAsync(guildId).thenApply(ranks -> {
+            List<GuildRank> sorted = new ArrayList<>(ranks.values());
+            sorted.sort(Comparator.comparingInt(GuildRank::getPriority).reversed());
+            return sorted;
+        });
+    }
+
+    /**
+     * 按名称获取职级（忽略大小写），不存在时返回 null (异步)
+     */
+    public CompletableFuture<GuildRank> getRankByNameAsync(int guildId, String name) {
+        return loadRanksAsync(guildId).thenApply(ranks -> ranks.values().stream()
+                .filter(rank -> rank.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElse(null));
+    }
+
+    /**
+     * 获取职级的权限掩码，职级不存在时返回 null（供权限解析在缓存未命中时使用）
+     */
+    public Long getRankMask(int guildId, int rankId) {
+        Map<Integer, GuildRank> ranks = ranksByGuild.get(guildId);
+        if (ranks == null) {
+            try {
+                ranks = plugin.getBlockingCallMonitor().await("GuildRankService#getRankMask", loadRanksAsync(guildId));
+            } catch (Exception e) {
+                LogService.error("加载工会职级时发生异常: ", e);
+                return null;
+            }
+        }
+        GuildRank rank = ranks.get(rankId);
+        return rank != null ? rank.getPermissions() : null;
+    }
+
+    /**
+     * 丢弃全部已缓存的职级，下次访问时重新加载（从备份恢复数据后调用）
+     */
+    public void invalidateAll() {
+        ranksByGuild.clear();
+    }
+
+    private CompletableFuture<Map<Integer, GuildRank>> loadRanksAsync(int guildId) {
+        Map<Integer, GuildRank> cached = ranksByGuild.get(guildId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return databaseManager.supplyAsync("loadRanks", () -> {
+            Map<Integer, GuildRank> ranks = new ConcurrentHashMap<>();
+            String sql = "SELECT * FROM guild_ranks WHERE guild_id = ?";
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, guildId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        GuildRank rank = createGuildRankFromResultSet(rs);
+                        ranks.put(rank.getId(), rank);
+                    }
+                }
+            } catch (SQLException e) {
+                LogService.error("加载工会职级时发生错误: ", e);
+                return ranks;
+            }
+            Map<Integer, GuildRank> existing = ranksByGuild.putIfAbsent(guildId, ranks);
+            return existing != null ? existing : ranks;
+        });
+    }
+
+    /**
+     * 创建职级，成功返回新职级，名称重复等失败时返回 null (异步)
+     */
+    public CompletableFuture<GuildRank> createRankAsync(int guildId, String name, int priority, long permissions) {
+        return loadRanksAsync(guildId).thenCompose(ranks -> databaseManager.executeWriteAsync("createRank", conn -> {
+            String sql = "INSERT INTO guild_ranks (guild_id, name, priority, permissions, created_at) VALUES (?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                stmt.setInt(1, guildId);
+                stmt.setString(2, name);
+                stmt.setInt(3, priority);
+                stmt.setLong(4, permissions);
+                stmt.setLong(5, TimeProvider.nowMillis());
+                if (stmt.executeUpdate() == 0) {
+                    return null;
+                }
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        return null;
+                    }
+                    GuildRank rank = new GuildRank(guildId, name, priority, permissions);
+                    rank.setId(keys.getInt(1));
+                    databaseManager.afterCommit(() -> ranks.put(rank.getId(), rank));
+                    LogService.debug(DebugCategory.DB, "工会 {} 创建职级: {}", guildId, name);
+                    return rank;
+                }
+            }
+        }).exceptionally(throwable -> {
+            LogService.error("创建工会职级时发生错误: ", throwable);
+            return null;
+        }));
+    }
+
+    /**
+     * 更新职级权限掩码，并使该工会成员的权限缓存失效 (异步)
+     */
+    public CompletableFuture<Boolean> updateRankPermissionsAsync(int guildId, int rankId, long permissions) {
+        return databaseManager.executeWriteAsync("updateRankPermissions", conn -> {
+            String sql = "UPDATE guild_ranks SET permissions = ? WHERE id = ? AND guild_id = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setLong(1, permissions);
+                stmt.setInt(2, rankId);
+                stmt.setInt(3, guildId);
+                if (stmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+
+            databaseManager.afterCommit(() -> {
+                Map<Integer, GuildRank> ranks = ranksByGuild.get(guildId);
+                GuildRank rank = ranks != null ? ranks.get(rankId) : null;
+                if (rank != null) {
+                    rank.setPermissions(permissions);
+                }
+                invalidateGuildPermissions(guildId);
+            });
+            return true;
+        }).exceptionally(throwable -> {
+            LogService.error("更新工会职级权限时发生错误: ", throwable);
+            return false;
+        });
+    }
+
+    /**
+     * 删除职级，原职级成员回退为按角色计算权限 (异步)
+     */
+    public CompletableFuture<Boolean> deleteRankAsync(int guildId, int rankId) {
+        // 两条语句在同一写事务中执行
+        return databaseManager.executeWriteAsync("deleteRank", conn -> {
+            try (PreparedStatement clear = conn.prepareStatement("UPDATE guild_members SET rank_id = NULL WHERE guild_id = ? AND rank_id = ?");
+                 PreparedStatement delete = conn.prepareStatement("DELETE FROM guild_ranks WHERE id = ? AND guild_id = ?")) {
+                clear.setInt(1, guildId);
+                clear.setInt(2, rankId);
+                clear.executeUpdate();
+
+                delete.setInt(1, rankId);
+                delete.setInt(2, guildId);
+                if (delete.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+
+            databaseManager.afterCommit(() -> {
+                Map<Integer, GuildRank> ranks = ranksByGuild.get(guildId);
+                if (ranks != null) {
+                    ranks.remove(rankId);
+                }
+                invalidateGuildPermissions(guildId);
+            });
+            return true;
+        }).exceptionally(throwable -> {
+            LogService.error("删除工会职级时发生错误: ", throwable);
+            return false;
+        });
+    }
+
+    /**
+     * 调整成员职级（rankId 为 0 表示取消职级），提交后就地重算该玩家的权限 (异步)
+     */
+    public CompletableFuture<Boolean> setMemberRankAsync(int guildId, UUID playerUuid, int rankId) {
+        return databaseManager.executeWriteAsync("setMemberRank", conn -> {
+            String sql = "UPDATE guild_members SET rank_id = ? WHERE guild_id = ? AND player_uuid = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                if (rankId > 0) {
+                    stmt.setInt(1, rankId);
+                } else {
+                    stmt.setNull(1, Types.INTEGER);
+                }
+                stmt.setInt(2, guildId);
+                stmt.setString(3, playerUuid.toString());
+                if (stmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+
+            PermissionManager permissionManager = plugin.getPermissionManager();
+            if (permissionManager != null) {
+                databaseManager.afterCommit(() -> permissionManager.applyRankChange(playerUuid, guildId, rankId));
+            }
+            return true;
+        }).exceptionally(throwable -> {
+            LogService.error("调整成员职级时发生错误: ", throwable);
+            return false;
+        });
+    }
+
+    private void invalidateGuildPermissions(int guildId) {
+        PermissionManager permissionManager = plugin.getPermissionManager();
+        if (permissionManager != null) {
+            permissionManager.invalidateGuild(guildId);
+        }
+    }
+
+    private GuildRank createGuildRankFromResultSet(ResultSet rs) throws SQLException {
+        GuildRank rank = new GuildRank();
+        rank.setId(rs.getInt("id"));
+        rank.setGuildId(rs.getInt("guild_id"));
+        rank.setName(rs.getString("name"));
+        rank.setPriority(rs.getInt("priority"));
+        rank.setPermissions(rs.getLong("permissions"));
+        rank.setCreatedAtMillis(GuildService.readMillis(rs, "created_at"));
+        return rank;
+    }
+}
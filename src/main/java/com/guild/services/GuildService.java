@@ -1,51 +1,180 @@
 package com.guild.services;
 
 import com.guild.GuildPlugin;
+import com.guild.core.database.ColumnLayout;
 import com.guild.core.database.DatabaseManager;
+import com.guild.core.database.RowMapper;
+import com.guild.core.database.ShapedRowMapper;
+import com.guild.core.events.*;
+import com.guild.core.performance.BlockingCallMonitor;
 import com.guild.core.time.TimeProvider;
 import com.guild.core.utils.CompatibleScheduler;
 import com.guild.models.*;
+import com.guild.util.DebugCategory;
 import com.guild.util.LogService;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static com.guild.util.FormatUtil.sendMessage;
 
 public class GuildService {
 
+    // 批量读取使用的行映射器：每种列结构只解析一次列索引
+    private static final ShapedRowMapper<Guild> GUILD_MAPPER = new ShapedRowMapper<>(GuildService::bindGuildMapper);
+    private static final ShapedRowMapper<GuildMember> MEMBER_MAPPER = new ShapedRowMapper<>(GuildService::bindMemberMapper);
+    private static final ShapedRowMapper<GuildLog> LOG_MAPPER = new ShapedRowMapper<>(GuildService::bindLogMapper);
+    private static final ShapedRowMapper<CompactGuild> COMPACT_GUILD_MAPPER = new ShapedRowMapper<>(GuildService::bindCompactGuildMapper);
+    private static final ShapedRowMapper<CompactMember> COMPACT_MEMBER_MAPPER = new ShapedRowMapper<>(GuildService::bindCompactMemberMapper);
+    private static final ShapedRowMapper<CompactLog> COMPACT_LOG_MAPPER = new ShapedRowMapper<>(GuildService::bindCompactLogMapper);
+    private static final ShapedRowMapper<CompactRelation> COMPACT_RELATION_MAPPER = new ShapedRowMapper<>(GuildService::bindCompactRelationMapper);
+    static final String INSERT_LOG_SQL = "INSERT INTO guild_logs (guild_id, guild_name, player_uuid, player_name, log_type, description, details, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    // 工会名称在同一事务中读取的日志写入（工会不存在时不写入）
+    private static final String INSERT_LOG_FOR_GUILD_SQL = "INSERT INTO guild_logs (guild_id, guild_name, player_uuid, player_name, log_type, description, details, created_at) "
+            + "SELECT id, name, ?, ?, ?, ?, ?, ? FROM guilds WHERE id = ?";
+    // 单次批量处理申请、邀请的上限（IN 语句参数个数）
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final GuildPlugin plugin;
     private final DatabaseManager databaseManager;
+    private final BlockingCallMonitor blockingCallMonitor;
+    // 进行中的只读查询（请求合并）
+    private final Map<String, CompletableFuture<?>> inFlightReads = new ConcurrentHashMap<>();
 
     public GuildService(GuildPlugin plugin) {
         this.plugin = plugin;
         this.databaseManager = plugin.getDatabaseManager();
+        this.blockingCallMonitor = plugin.getBlockingCallMonitor();
+    }
+
+    // 时间工具：数据库中的时间列统一存储为毫秒时间戳
+    private long nowMillis() {
+        return TimeProvider.nowMillis();
     }
 
-    // 时间工具：统一使用操作系统本地时间字符串（yyyy-MM-dd HH:mm:ss）
-    private String nowString() {
-        return TimeProvider.nowString();
+    private long plusMinutesMillis(int minutes) {
+        return TimeProvider.plusMinutesMillis(minutes);
     }
 
-    private String plusMinutesString(int minutes) {
-        return TimeProvider.plusMinutesString(minutes);
+    private long plusDaysMillis(int days) {
+        return TimeProvider.plusDaysMillis(days);
+    }
+
+    /**
+     * 合并相同的并发读取：同一方法、同一参数的请求共享一个进行中的查询
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> inFlight = (CompletableFuture<T>) inFlightReads.get(key);
+        if (inFlight == null) {
+            CompletableFuture<T> promise = new CompletableFuture<>();
+            inFlight = (CompletableFuture<T>) inFlightReads.putIfAbsent(key, promise);
+            if (inFlight == null) {
+                inFlight = promise;
+                try {
+                    loader.get().whenComplete((result, throwable) -> {
+                        inFlightReads.remove(key, promise);
+                        if (throwable != null) {
+                            promise.completeExceptionally(throwable);
+                        } else {
+                            promise.complete(result);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlightReads.remove(key, promise);
+                    promise.completeExceptionally(e);
+                }
+            }
+        }
+        // 返回副本，避免调用方完成或取消共享的 Future
+        return inFlight.copy();
+    }
+
+    /**
+     * 合并读取可变实体：共享同一次查询，但每个调用方拿到各自的副本，互相修改不会串改
+     */
+    private <T> CompletableFuture<T> coalesce(String key, UnaryOperator<T> copier, Supplier<CompletableFuture<T>> loader) {
+        return coalesce(key, loader).thenApply(result -> result != null ? copier.apply(result) : null);
+    }
+
+    private static <T> List<T> copyAll(List<T> items, UnaryOperator<T> copier) {
+        List<T> copies = new ArrayList<>(items.size());
+        items.forEach(item -> copies.add(copier.apply(item)));
+        return copies;
+    }
+
+    /**
+     * 写操作完成后丢弃进行中的读取，保证之后的查询能读到最新数据
+     */
+    private <T> CompletableFuture<T> invalidateReadsOnComplete(CompletableFuture<T> write) {
+        return write.whenComplete((result, throwable) -> inFlightReads.clear());
+    }
+
+    /**
+     * 按工会顺序异步发布领域事件
+     */
+    private void publishEvent(GuildEvent event) {
+        EventBus eventBus = plugin.getEventBus();
+        if (eventBus != null) {
+            // 在写事务提交后发布，避免监听器读到未提交的数据
+            databaseManager.afterCommit(() -> eventBus.publishOrdered(event));
+        }
+    }
+
+    /**
+     * 写事务提交后向到期服务登记或撤销过期条目
+     */
+    private void scheduleExpiry(Consumer<GuildExpiryService> action) {
+        GuildExpiryService expiryService = plugin.getGuildExpiryService();
+        if (expiryService != null) {
+            databaseManager.afterCommit(() -> action.accept(expiryService));
+        }
+    }
+
+    /**
+     * 丢弃进行中的读取：绕过本服务直接写库（如批量管理操作）后调用
+     */
+    public void invalidateReads() {
+        inFlightReads.clear();
+    }
+
+    /**
+     * 写事务提交后更新待处理邀请缓存
+     */
+    private void updateInvitationCache(Consumer<PendingInvitationCache> action) {
+        PendingInvitationCache invitationCache = plugin.getPendingInvitationCache();
+        if (invitationCache != null) {
+            databaseManager.afterCommit(() -> action.accept(invitationCache));
+        }
     }
 
-    private String plusDaysString(int days) {
-        return TimeProvider.plusDaysString(days);
+    /**
+     * 同步包装器统一等待入口：记录耗时并检测 tick 线程上的阻塞调用
+     */
+    private <T> T awaitSync(String operation, CompletableFuture<T> future) throws Exception {
+        return blockingCallMonitor.await("GuildService#" + operation, future);
     }
 
     /**
      * 创建工会 (异步)
      */
     public CompletableFuture<Boolean> createGuildAsync(String name, String tag, String description, UUID leaderUuid, String leaderName) {
-        return getGuildByNameAsync(name).thenCompose(existingGuildByName -> {
+        return invalidateReadsOnComplete(getGuildByNameAsync(name).thenCompose(existingGuildByName -> {
             if (existingGuildByName != null) {
                 return CompletableFuture.completedFuture(false);
             }
@@ -55,12 +184,11 @@ public class GuildService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                return CompletableFuture.supplyAsync(() -> {
+                return databaseManager.executeWriteAsync("createGuild", conn -> {
                     try {
                         String sql = "INSERT INTO guilds (name, tag, description, leader_uuid, leader_name, balance, level, max_members, frozen, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0.0, 1, 6, 0, ?, ?)";
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
                             stmt.setString(1, name);
                             stmt.setString(2, tag);
@@ -68,14 +196,14 @@ public class GuildService {
                             stmt.setString(4, leaderUuid.toString());
                             stmt.setString(5, leaderName);
 
-                            stmt.setString(6, nowString());
-                            stmt.setString(7, nowString());
+                            stmt.setLong(6, nowMillis());
+                            stmt.setLong(7, nowMillis());
                             int affectedRows = stmt.executeUpdate();
                             if (affectedRows > 0) {
                                 try (ResultSet rs = stmt.getGeneratedKeys()) {
                                     if (rs.next()) {
                                         int guildId = rs.getInt(1);
-                                        LogService.debug("工会创建成功: " + name + " (ID: " + guildId + ")");
+                                        LogService.debug(DebugCategory.DB, "工会创建成功: {} (ID: {})", name, guildId);
                                         return guildId;
                                     }
                                 }
@@ -83,14 +211,18 @@ public class GuildService {
                         }
                     } catch (SQLException e) {
                         LogService.error("创建工会时发生错误: ", e);
+                        throw e;
                     }
                     return -1;
-                }).thenCompose(guildId -> {
+                }).exceptionally(throwable -> -1).thenCompose(guildId -> {
                     if ((Integer) guildId > 0) {
                         // 添加会长为工会成员（避免重复查询）
                         return addGuildMemberDirectAsync((Integer) guildId, leaderUuid, leaderName, GuildMember.Role.LEADER)
                                 .thenCompose(success -> {
                                     if (success) {
+                                        publishEvent(new GuildCreatedEvent((Integer) guildId, name, tag, leaderUuid, leaderName));
+                                        publishEvent(new MemberJoinedEvent((Integer) guildId, leaderUuid, leaderName, GuildMember.Role.LEADER));
+
                                         // 记录工会创建日志
                                         return logGuildActionAsync((Integer) guildId, name, leaderUuid.toString(), leaderName,
                                                 GuildLog.LogType.GUILD_CREATED, "创建工会", "工会名称: " + name + ", 标签: " + tag)
@@ -102,7 +234,7 @@ public class GuildService {
                     return CompletableFuture.completedFuture(false);
                 });
             });
-        });
+        }));
     }
 
     /**
@@ -110,7 +242,7 @@ public class GuildService {
      */
     public boolean createGuild(String name, String tag, String description, UUID leaderUuid, String leaderName) {
         try {
-            return createGuildAsync(name, tag, description, leaderUuid, leaderName).get();
+            return awaitSync("createGuild", createGuildAsync(name, tag, description, leaderUuid, leaderName));
         } catch (Exception e) {
             LogService.error("创建工会时发生异常: ", e);
             return false;
@@ -121,7 +253,7 @@ public class GuildService {
      * 删除工会 (异步)
      */
     public CompletableFuture<Boolean> deleteGuildAsync(int guildId, UUID requesterUuid) {
-        return getGuildByIdAsync(guildId).thenCompose(guild -> {
+        return invalidateReadsOnComplete(getGuildByIdAsync(guildId).thenCompose(guild -> {
             if (guild == null) {
                 return CompletableFuture.completedFuture(false);
             }
@@ -132,56 +264,129 @@ public class GuildService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                return CompletableFuture.supplyAsync(() -> {
+                return databaseManager.executeWriteAsync("deleteGuild", conn -> {
                     try {
-                        // 获取工会余额用于退款
-                        double guildBalance = guild.getBalance();
-
-                        // 删除所有工会成员
-                        String deleteMembersSql = "DELETE FROM guild_members WHERE guild_id = ?";
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(deleteMembersSql)) {
-                            stmt.setInt(1, guildId);
-                            stmt.executeUpdate();
-                        }
-
-                        // 删除工会
-                        String deleteGuildSql = "DELETE FROM guilds WHERE id = ?";
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(deleteGuildSql)) {
-                            stmt.setInt(1, guildId);
-                            int affectedRows = stmt.executeUpdate();
-                            if (affectedRows > 0) {
-                                LogService.debug("工会删除成功: " + guild.getName() + " (ID: " + guildId + ")");
-
-                                // 退款给会长（如果经济系统可用）
-                                if (guildBalance > 0 && plugin.getEconomyManager().isVaultAvailable()) {
-                                    try {
-                                        org.bukkit.entity.Player leaderPlayer = org.bukkit.Bukkit.getPlayer(guild.getLeaderUuid());
-                                        if (leaderPlayer != null && leaderPlayer.isOnline()) {
-                                            plugin.getEconomyManager().deposit(leaderPlayer, guildBalance);
-                                            String message = plugin.getConfigManager().getMessagesConfig().getString("economy.disband-compensation", "&a工会解散，您获得了 {amount} 金币补偿！")
-                                                    .replace("{amount}", plugin.getEconomyManager().format(guildBalance));
-                                            sendMessage(leaderPlayer, message);
-                                        }
-                                    } catch (Exception e) {
-                                        LogService.error("退款给会长时发生错误: ", e);
-                                    }
-                                }
-
-                                // 记录工会解散日志
-                                logGuildActionAsync(guildId, guild.getName(), guild.getLeaderUuid().toString(), guild.getLeaderName(),
-                                        GuildLog.LogType.GUILD_DISSOLVED, "工会解散", "工会余额: " + guildBalance + " 金币");
-
-                                return true;
-                            }
-                        }
+                        return dissolveGuilds(conn, List.of(guildId), null) > 0;
                     } catch (SQLException e) {
                         LogService.error("删除工会时发生错误: ", e);
+                        // 抛出以回滚已执行的删除
+                        throw e;
                     }
-                    return false;
-                });
+                }).exceptionally(throwable -> false);
             });
+        }));
+    }
+
+    // 引用 guilds(id) 的子表；guild_relations 按 guild1_id / guild2_id 单独删除
+    private static final List<String> GUILD_CHILD_TABLES = List.of("guild_members", "guild_applications", "guild_invites",
+            "guild_economy", "guild_contributions", "guild_ranks", "guild_logs");
+
+    /**
+     * 在调用方的写事务中解散一批工会（单个解散与批量删除共用）。
+     * 锁定并重新读取工会行，显式删除全部关联数据（SQLite 默认不启用外键，不能依赖级联删除），
+     * 写入解散日志后删除工会；提交后发布工会删除事件，并按删除时的余额向在线会长退款
+     *
+     * @param details 追加到解散日志详情中的说明，可为 null
+     * @return 实际删除的工会数，已不存在的工会跳过
+     */
+    int dissolveGuilds(Connection conn, List<Integer> guildIds, String details) throws SQLException {
+        if (guildIds.isEmpty()) {
+            return 0;
+        }
+        String ids = placeholders(guildIds.size());
+        List<DissolvedGuild> guilds = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id, name, leader_uuid, leader_name, balance FROM guilds WHERE id IN (" + ids + ")" + forUpdate())) {
+            bindGuildIds(stmt, 1, guildIds);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    guilds.add(new DissolvedGuild(rs.getInt("id"), rs.getString("name"),
+                            UUID.fromString(rs.getString("leader_uuid")), rs.getString("leader_name"), rs.getDouble("balance")));
+                }
+            }
+        }
+        if (guilds.isEmpty()) {
+            return 0;
+        }
+        List<Integer> existing = guilds.stream().map(DissolvedGuild::id).toList();
+        ids = placeholders(existing.size());
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM guild_relations WHERE guild1_id IN (" + ids + ") OR guild2_id IN (" + ids + ")")) {
+            bindGuildIds(stmt, 1, existing);
+            bindGuildIds(stmt, 1 + existing.size(), existing);
+            stmt.executeUpdate();
+        }
+        for (String table : GUILD_CHILD_TABLES) {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE guild_id IN (" + ids + ")")) {
+                bindGuildIds(stmt, 1, existing);
+                stmt.executeUpdate();
+            }
+        }
+
+        // 解散日志在清理旧日志之后、删除工会之前写入，启用外键级联时随工会一起删除
+        long now = nowMillis();
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LOG_SQL)) {
+            for (DissolvedGuild guild : guilds) {
+                addLogBatch(stmt, guild.id(), guild.name(), guild.leaderUuid().toString(), guild.leaderName(),
+                        GuildLog.LogType.GUILD_DISSOLVED, "工会解散",
+                        "工会余额: " + guild.balance() + " 金币" + (details != null ? ", " + details : ""), now);
+            }
+            stmt.executeBatch();
+        }
+
+        int deleted;
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM guilds WHERE id IN (" + ids + ")")) {
+            bindGuildIds(stmt, 1, existing);
+            deleted = stmt.executeUpdate();
+        }
+        for (DissolvedGuild guild : guilds) {
+            LogService.debug(DebugCategory.DB, "工会删除成功: {} (ID: {})", guild.name(), guild.id());
+            publishEvent(new GuildDeletedEvent(guild.id(), guild.name(), guild.leaderUuid()));
+            // 事务提交后再退款给会长，事务回滚时不会发放
+            if (guild.balance() > 0) {
+                databaseManager.afterCommit(() -> refundLeader(guild.leaderUuid(), guild.balance()));
+            }
+        }
+        return deleted;
+    }
+
+    private record DissolvedGuild(int id, String name, UUID leaderUuid, String leaderName, double balance) {
+    }
+
+    private static void bindGuildIds(PreparedStatement stmt, int startIndex, List<Integer> guildIds) throws SQLException {
+        for (int i = 0; i < guildIds.size(); i++) {
+            stmt.setInt(startIndex + i, guildIds.get(i));
+        }
+    }
+
+    /**
+     * 写事务中锁定所读行的后缀：MySQL 与 H2 为 FOR UPDATE；SQLite 的写入本身已串行，无需加锁
+     */
+    private String forUpdate() {
+        return databaseManager.getDatabaseType() == DatabaseManager.DatabaseType.SQLITE ? "" : " FOR UPDATE";
+    }
+
+    /**
+     * 工会解散后将余额退还给在线的会长（在会长所在线程执行经济操作）
+     */
+    private void refundLeader(UUID leaderUuid, double amount) {
+        if (!plugin.getEconomyManager().isVaultAvailable()) {
+            return;
+        }
+        Player leaderPlayer = Bukkit.getPlayer(leaderUuid);
+        if (leaderPlayer == null || !leaderPlayer.isOnline()) {
+            return;
+        }
+        CompatibleScheduler.runTask(plugin, leaderPlayer, () -> {
+            try {
+                plugin.getEconomyManager().deposit(leaderPlayer, amount);
+                String message = plugin.getConfigManager().getMessagesConfig().getString("economy.disband-compensation", "&a工会解散，您获得了 {amount} 金币补偿！")
+                        .replace("{amount}", plugin.getEconomyManager().format(amount));
+                sendMessage(leaderPlayer, message);
+            } catch (Exception e) {
+                LogService.error("退款给会长时发生错误: ", e);
+            }
         });
     }
 
@@ -190,7 +395,7 @@ public class GuildService {
      */
     public boolean deleteGuild(int guildId, UUID requesterUuid) {
         try {
-            return deleteGuildAsync(guildId, requesterUuid).get();
+            return awaitSync("deleteGuild", deleteGuildAsync(guildId, requesterUuid));
         } catch (Exception e) {
             LogService.error("删除工会时发生异常: ", e);
             return false;
@@ -201,7 +406,7 @@ public class GuildService {
      * 更新工会信息 (异步)
      */
     public CompletableFuture<Boolean> updateGuildAsync(int guildId, String name, String tag, String description, UUID requesterUuid) {
-        return getGuildByIdAsync(guildId).thenCompose(guild -> {
+        return invalidateReadsOnComplete(getGuildByIdAsync(guildId).thenCompose(guild -> {
             if (guild == null) {
                 return CompletableFuture.completedFuture(false);
             }
@@ -230,33 +435,33 @@ public class GuildService {
                                 return CompletableFuture.completedFuture(false);
                             }
 
-                            return CompletableFuture.supplyAsync(() -> {
+                            return databaseManager.executeWriteAsync("updateGuild", conn -> {
                                 try {
                                     String sql = "UPDATE guilds SET name = COALESCE(?, name), tag = COALESCE(?, tag), description = COALESCE(?, description), updated_at = ? WHERE id = ?";
 
-                                    try (Connection conn = databaseManager.getConnection();
-                                         PreparedStatement stmt = conn.prepareStatement(sql)) {
+                                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                                         stmt.setString(1, name);
                                         stmt.setString(2, tag);
                                         stmt.setString(3, description);
-                                        stmt.setString(4, nowString());
+                                        stmt.setLong(4, nowMillis());
                                         stmt.setInt(5, guildId);
 
                                         int affectedRows = stmt.executeUpdate();
                                         if (affectedRows > 0) {
-                                            LogService.debug("工会信息更新成功: " + guild.getName() + " (ID: " + guildId + ")");
+                                            LogService.debug(DebugCategory.DB, "工会信息更新成功: {} (ID: {})", guild.getName(), guildId);
                                             return true;
                                         }
                                     }
                                 } catch (SQLException e) {
                                     LogService.error("更新工会信息时发生错误: ", e);
+                                    throw e;
                                 }
                                 return false;
-                            });
+                            }).exceptionally(throwable -> false);
                         });
             });
-        });
+        }));
     }
 
     /**
@@ -264,7 +469,7 @@ public class GuildService {
      */
     public boolean updateGuild(int guildId, String name, String tag, String description, UUID requesterUuid) {
         try {
-            return updateGuildAsync(guildId, name, tag, description, requesterUuid).get();
+            return awaitSync("updateGuild", updateGuildAsync(guildId, name, tag, description, requesterUuid));
         } catch (Exception e) {
             LogService.error("更新工会信息时发生异常: ", e);
             return false;
@@ -275,51 +480,69 @@ public class GuildService {
      * 添加工会成员 (异步)
      */
     public CompletableFuture<Boolean> addGuildMemberAsync(int guildId, UUID playerUuid, String playerName, GuildMember.Role role) {
-        return getPlayerGuildAsync(playerUuid).thenCompose(existingGuild -> {
+        return invalidateReadsOnComplete(getPlayerGuildAsync(playerUuid).thenCompose(existingGuild -> {
             if (existingGuild != null) {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return CompletableFuture.supplyAsync(() -> {
+            return databaseManager.executeWriteAsync("addGuildMember", conn -> {
                 try {
+                    return hasRoomFor(conn, guildId, playerName, role)
+                            && insertMember(conn, guildId, playerUuid, playerName, role);
+                } catch (SQLException e) {
+                    LogService.error("添加工会成员时发生错误: ", e);
+                    throw e;
+                }
+            }).exceptionally(throwable -> false);
+        }));
+    }
 
-                    String sql = "INSERT INTO guild_members (guild_id, player_uuid, player_name, role, joined_at) VALUES (?, ?, ?, ?, ?)";
+    /**
+     * 锁定工会行并检查是否还能容纳新成员，与批量处理申请共用工会行锁，并发入会不会超出人数上限
+     */
+    private boolean hasRoomFor(Connection conn, int guildId, String playerName, GuildMember.Role role) throws SQLException {
+        GuildCapacity capacity = lockGuildCapacity(conn, guildId);
+        if (capacity == null) {
+            return false;
+        }
+        if (role != GuildMember.Role.LEADER && countMembers(conn, guildId) >= capacity.maxMembers()) {
+            LogService.debug(DebugCategory.DB, "工会 {} 人数已满，玩家 {} 无法加入", guildId, playerName);
+            return false;
+        }
+        return true;
+    }
 
-                    try (Connection conn = databaseManager.getConnection();
-                         PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * 在当前写事务中插入成员并记录加入日志，事件与权限刷新在提交后执行
+     */
+    private boolean insertMember(Connection conn, int guildId, UUID playerUuid, String playerName, GuildMember.Role role) throws SQLException {
+        String sql = "INSERT INTO guild_members (guild_id, player_uuid, player_name, role, joined_at) VALUES (?, ?, ?, ?, ?)";
 
-                        stmt.setInt(1, guildId);
-                        stmt.setString(2, playerUuid.toString());
-                        stmt.setString(3, playerName);
-                        stmt.setString(4, role.name());
-                        stmt.setString(5, nowString());
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-                        int affectedRows = stmt.executeUpdate();
-                        if (affectedRows > 0) {
-                            LogService.debug("玩家 " + playerName + " 加入工会 (ID: " + guildId + ")");
-                            // 更新内置权限缓存
-                            try {
-                                plugin.getPermissionManager().updatePlayerPermissions(playerUuid);
-                            } catch (Exception ignored) {
-                            }
+            stmt.setInt(1, guildId);
+            stmt.setString(2, playerUuid.toString());
+            stmt.setString(3, playerName);
+            stmt.setString(4, role.name());
+            stmt.setLong(5, nowMillis());
 
-                            // 记录成员加入日志
-                            getGuildByIdAsync(guildId).thenAccept(guild -> {
-                                if (guild != null) {
-                                    logGuildActionAsync(guildId, guild.getName(), playerUuid.toString(), playerName,
-                                            GuildLog.LogType.MEMBER_JOINED, "成员加入", "玩家: " + playerName + ", 职位: " + role.getDisplayName());
-                                }
-                            });
-
-                            return true;
-                        }
-                    }
-                } catch (SQLException e) {
-                    LogService.error("添加工会成员时发生错误: ", e);
-                }
+            if (stmt.executeUpdate() == 0) {
                 return false;
-            });
-        });
+            }
+        }
+
+        LogService.debug(DebugCategory.DB, "玩家 {} 加入工会 (ID: {})", playerName, guildId);
+        publishEvent(new MemberJoinedEvent(guildId, playerUuid, playerName, role));
+        // 更新内置权限缓存
+        try {
+            databaseManager.afterCommit(() -> plugin.getPermissionManager().updatePlayerPermissions(playerUuid));
+        } catch (Exception ignored) {
+        }
+
+        // 记录成员加入日志
+        insertGuildLog(conn, guildId, playerUuid.toString(), playerName,
+                GuildLog.LogType.MEMBER_JOINED, "成员加入", "玩家: " + playerName + ", 职位: " + role.getDisplayName());
+        return true;
     }
 
     /**
@@ -327,7 +550,7 @@ public class GuildService {
      */
     public boolean addGuildMember(int guildId, UUID playerUuid, String playerName, GuildMember.Role role) {
         try {
-            return addGuildMemberAsync(guildId, playerUuid, playerName, role).get();
+            return awaitSync("addGuildMember", addGuildMemberAsync(guildId, playerUuid, playerName, role));
         } catch (Exception e) {
             LogService.error("添加工会成员时发生异常: ", e);
             return false;
@@ -338,7 +561,7 @@ public class GuildService {
      * 移除工会成员 (异步)
      */
     public CompletableFuture<Boolean> removeGuildMemberAsync(UUID playerUuid, UUID requesterUuid) {
-        return getGuildMemberAsync(playerUuid).thenCompose(member -> {
+        return invalidateReadsOnComplete(getGuildMemberAsync(playerUuid).thenCompose(member -> {
             if (member == null) {
                 return CompletableFuture.completedFuture(false);
             }
@@ -361,49 +584,44 @@ public class GuildService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                return CompletableFuture.supplyAsync(() -> {
+                return databaseManager.executeWriteAsync("removeGuildMember", conn -> {
                     try {
                         String sql = "DELETE FROM guild_members WHERE player_uuid = ?";
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                             stmt.setString(1, playerUuid.toString());
 
                             int affectedRows = stmt.executeUpdate();
                             if (affectedRows > 0) {
-                                LogService.debug("玩家 " + member.getPlayerName() + " 离开工会 (ID: " + member.getGuildId() + ")");
+                                LogService.debug(DebugCategory.DB, "玩家 {} 离开工会 (ID: {})", member.getPlayerName(), member.getGuildId());
+                                publishEvent(new MemberLeftEvent(member.getGuildId(), playerUuid, member.getPlayerName(), !playerUuid.equals(requesterUuid)));
                                 // 更新内置权限缓存
                                 try {
-                                    plugin.getPermissionManager().updatePlayerPermissions(playerUuid);
+                                    databaseManager.afterCommit(() -> plugin.getPermissionManager().updatePlayerPermissions(playerUuid));
                                 } catch (Exception ignored) {
                                 }
 
                                 // 记录成员离开日志
-                                getGuildByIdAsync(member.getGuildId()).thenAccept(guild -> {
-                                    if (guild != null) {
-                                        GuildLog.LogType logType = playerUuid.equals(requesterUuid) ?
-                                                GuildLog.LogType.MEMBER_LEFT : GuildLog.LogType.MEMBER_KICKED;
-                                        String description = playerUuid.equals(requesterUuid) ? "成员主动离开" : "成员被踢出";
-                                        String details = "玩家: " + member.getPlayerName() +
-                                                (playerUuid.equals(requesterUuid) ? "" : ", 操作者: " + requester.getPlayerName());
-
-                                        logGuildActionAsync(member.getGuildId(), guild.getName(),
-                                                requesterUuid.toString(), requester.getPlayerName(),
-                                                logType, description, details);
-                                    }
-                                });
+                                GuildLog.LogType logType = playerUuid.equals(requesterUuid) ?
+                                        GuildLog.LogType.MEMBER_LEFT : GuildLog.LogType.MEMBER_KICKED;
+                                String description = playerUuid.equals(requesterUuid) ? "成员主动离开" : "成员被踢出";
+                                String details = "玩家: " + member.getPlayerName() +
+                                        (playerUuid.equals(requesterUuid) ? "" : ", 操作者: " + requester.getPlayerName());
+                                insertGuildLog(conn, member.getGuildId(), requesterUuid.toString(), requester.getPlayerName(),
+                                        logType, description, details);
 
                                 return true;
                             }
                         }
                     } catch (SQLException e) {
                         LogService.error("移除工会成员时发生错误: ", e);
+                        throw e;
                     }
                     return false;
-                });
+                }).exceptionally(throwable -> false);
             });
-        });
+        }));
     }
 
     /**
@@ -411,7 +629,7 @@ public class GuildService {
      */
     public boolean removeGuildMember(UUID playerUuid, UUID requesterUuid) {
         try {
-            return removeGuildMemberAsync(playerUuid, requesterUuid).get();
+            return awaitSync("removeGuildMember", removeGuildMemberAsync(playerUuid, requesterUuid));
         } catch (Exception e) {
             LogService.error("移除工会成员时发生异常: ", e);
             return false;
@@ -422,7 +640,7 @@ public class GuildService {
      * 更新成员角色 (异步)
      */
     public CompletableFuture<Boolean> updateMemberRoleAsync(UUID playerUuid, GuildMember.Role newRole, UUID requesterUuid) {
-        return getGuildMemberAsync(playerUuid).thenCompose(member -> {
+        return invalidateReadsOnComplete(getGuildMemberAsync(playerUuid).thenCompose(member -> {
             if (member == null) {
                 return CompletableFuture.completedFuture(false);
             }
@@ -434,52 +652,47 @@ public class GuildService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                return CompletableFuture.supplyAsync(() -> {
+                return databaseManager.executeWriteAsync("updateMemberRole", conn -> {
                     try {
                         String sql = "UPDATE guild_members SET role = ? WHERE player_uuid = ?";
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                             stmt.setString(1, newRole.name());
                             stmt.setString(2, playerUuid.toString());
 
                             int affectedRows = stmt.executeUpdate();
                             if (affectedRows > 0) {
-                                LogService.debug("玩家 " + member.getPlayerName() + " 角色更新为: " + newRole.name());
-                                // 更新内置权限缓存
+                                LogService.debug(DebugCategory.DB, "玩家 {} 角色更新为: {}", member.getPlayerName(), newRole.name());
+                                publishEvent(new RoleChangedEvent(member.getGuildId(), playerUuid, member.getPlayerName(), member.getRole(), newRole));
+                                // 提交后就地重算内置权限缓存，新角色立即生效
                                 try {
-                                    plugin.getPermissionManager().updatePlayerPermissions(playerUuid);
+                                    databaseManager.afterCommit(() -> plugin.getPermissionManager().applyRoleChange(playerUuid, member.getGuildId(), newRole));
                                 } catch (Exception ignored) {
                                 }
 
                                 // 记录角色变更日志
-                                getGuildByIdAsync(member.getGuildId()).thenAccept(guild -> {
-                                    if (guild != null) {
-                                        GuildLog.LogType logType = newRole == GuildMember.Role.LEADER ?
-                                                GuildLog.LogType.LEADER_TRANSFERRED :
-                                                (newRole == GuildMember.Role.OFFICER ? GuildLog.LogType.MEMBER_PROMOTED : GuildLog.LogType.MEMBER_DEMOTED);
-                                        String description = newRole == GuildMember.Role.LEADER ? "会长转让" :
-                                                (newRole == GuildMember.Role.OFFICER ? "成员升职" : "成员降职");
-                                        String details = "玩家: " + member.getPlayerName() + ", 新职位: " + newRole.getDisplayName() +
-                                                ", 操作者: " + requester.getPlayerName();
-
-                                        logGuildActionAsync(member.getGuildId(), guild.getName(),
-                                                requesterUuid.toString(), requester.getPlayerName(),
-                                                logType, description, details);
-                                    }
-                                });
+                                GuildLog.LogType logType = newRole == GuildMember.Role.LEADER ?
+                                        GuildLog.LogType.LEADER_TRANSFERRED :
+                                        (newRole == GuildMember.Role.OFFICER ? GuildLog.LogType.MEMBER_PROMOTED : GuildLog.LogType.MEMBER_DEMOTED);
+                                String description = newRole == GuildMember.Role.LEADER ? "会长转让" :
+                                        (newRole == GuildMember.Role.OFFICER ? "成员升职" : "成员降职");
+                                String details = "玩家: " + member.getPlayerName() + ", 新职位: " + newRole.getDisplayName() +
+                                        ", 操作者: " + requester.getPlayerName();
+                                insertGuildLog(conn, member.getGuildId(), requesterUuid.toString(), requester.getPlayerName(),
+                                        logType, description, details);
 
                                 return true;
                             }
                         }
                     } catch (SQLException e) {
                         LogService.error("更新成员角色时发生错误: ", e);
+                        throw e;
                     }
                     return false;
-                });
+                }).exceptionally(throwable -> false);
             });
-        });
+        }));
     }
 
     /**
@@ -487,7 +700,7 @@ public class GuildService {
      */
     public boolean updateMemberRole(UUID playerUuid, GuildMember.Role newRole, UUID requesterUuid) {
         try {
-            return updateMemberRoleAsync(playerUuid, newRole, requesterUuid).get();
+            return awaitSync("updateMemberRole", updateMemberRoleAsync(playerUuid, newRole, requesterUuid));
         } catch (Exception e) {
             LogService.error("更新成员角色时发生异常: ", e);
             return false;
@@ -498,7 +711,7 @@ public class GuildService {
      * 获取玩家工会 (异步)
      */
     public CompletableFuture<Guild> getPlayerGuildAsync(UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getPlayerGuild:" + playerUuid, Guild::copy, () -> databaseManager.supplyAsync("getPlayerGuild", () -> {
             try {
                 String sql = "SELECT g.* FROM guilds g " +
                         "INNER JOIN guild_members gm ON g.id = gm.guild_id " +
@@ -511,7 +724,7 @@ public class GuildService {
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
-                            return createGuildFromResultSet(rs);
+                            return createGuildFromResultSet(sql, rs);
                         }
                     }
                 }
@@ -519,7 +732,7 @@ public class GuildService {
                 LogService.error("获取玩家工会时发生错误: ", e);
             }
             return null;
-        });
+        }));
     }
 
     /**
@@ -527,7 +740,7 @@ public class GuildService {
      */
     public Guild getPlayerGuild(UUID playerUuid) {
         try {
-            return getPlayerGuildAsync(playerUuid).get();
+            return awaitSync("getPlayerGuild", getPlayerGuildAsync(playerUuid));
         } catch (Exception e) {
             LogService.error("获取玩家工会时发生异常: ", e);
             return null;
@@ -538,7 +751,7 @@ public class GuildService {
      * 获取工会成员 (异步)
      */
     public CompletableFuture<GuildMember> getGuildMemberAsync(UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildMember:" + playerUuid, GuildMember::copy, () -> databaseManager.supplyAsync("getGuildMember", () -> {
             try {
                 String sql = "SELECT * FROM guild_members WHERE player_uuid = ?";
 
@@ -549,7 +762,7 @@ public class GuildService {
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
-                            return createGuildMemberFromResultSet(rs);
+                            return createGuildMemberFromResultSet(sql, rs);
                         }
                     }
                 }
@@ -557,7 +770,7 @@ public class GuildService {
                 LogService.error("获取工会成员时发生错误: ", e);
             }
             return null;
-        });
+        }));
     }
 
     /**
@@ -565,7 +778,7 @@ public class GuildService {
      */
     public GuildMember getGuildMember(UUID playerUuid) {
         try {
-            return getGuildMemberAsync(playerUuid).get();
+            return awaitSync("getGuildMember", getGuildMemberAsync(playerUuid));
         } catch (Exception e) {
             LogService.error("获取工会成员时发生异常: ", e);
             return null;
@@ -576,11 +789,11 @@ public class GuildService {
      * 获取工会成员数量 (异步)
      */
     public CompletableFuture<Integer> getGuildMemberCountAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildMemberCount:" + guildId, () -> databaseManager.supplyAsync("getGuildMemberCount", () -> {
             try {
                 String sql = "SELECT COUNT(*) FROM guild_members WHERE guild_id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
@@ -595,7 +808,7 @@ public class GuildService {
                 LogService.error("获取工会成员数量时发生错误: ", e);
             }
             return 0;
-        });
+        }));
     }
 
     /**
@@ -603,7 +816,7 @@ public class GuildService {
      */
     public int getGuildMemberCount(int guildId) {
         try {
-            return getGuildMemberCountAsync(guildId).get();
+            return awaitSync("getGuildMemberCount", getGuildMemberCountAsync(guildId));
         } catch (Exception e) {
             LogService.error("获取工会成员数量时发生异常: ", e);
             return 0;
@@ -614,27 +827,25 @@ public class GuildService {
      * 获取工会所有成员 (异步)
      */
     public CompletableFuture<List<GuildMember>> getGuildMembersAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildMembers:" + guildId, members -> copyAll(members, GuildMember::copy), () -> databaseManager.supplyAsync("getGuildMembers", () -> {
             List<GuildMember> members = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_members WHERE guild_id = ? ORDER BY role ASC, joined_at ASC";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
 
                     try (ResultSet rs = stmt.executeQuery()) {
-                        while (rs.next()) {
-                            members.add(createGuildMemberFromResultSet(rs));
-                        }
+                        members.addAll(MEMBER_MAPPER.mapAll(sql, rs));
                     }
                 }
             } catch (SQLException e) {
                 LogService.error("获取工会成员列表时发生错误: ", e);
             }
             return members;
-        });
+        })).thenApply(ArrayList::new);
     }
 
     /**
@@ -642,18 +853,43 @@ public class GuildService {
      */
     public List<GuildMember> getGuildMembers(int guildId) {
         try {
-            return getGuildMembersAsync(guildId).get();
+            return awaitSync("getGuildMembers", getGuildMembersAsync(guildId));
         } catch (Exception e) {
             LogService.error("获取工会成员列表时发生异常: ", e);
             return new ArrayList<>();
         }
     }
 
+    /**
+     * 获取工会所有成员的紧凑只读表示 (异步)，返回的列表不可修改
+     */
+    public CompletableFuture<List<CompactMember>> getGuildMembersCompactAsync(int guildId) {
+        return coalesce("getGuildMembersCompact:" + guildId, () -> databaseManager.supplyAsync("getGuildMembersCompact", () -> {
+            try {
+                String sql = "SELECT id, guild_id, player_uuid, player_name, role, rank_id, joined_at FROM guild_members "
+                        + "WHERE guild_id = ? ORDER BY role ASC, joined_at ASC";
+
+                try (Connection conn = databaseManager.getReadConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    stmt.setInt(1, guildId);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return List.copyOf(COMPACT_MEMBER_MAPPER.mapAll(sql, rs));
+                    }
+                }
+            } catch (SQLException e) {
+                LogService.error("获取工会成员列表时发生错误: ", e);
+            }
+            return List.<CompactMember>of();
+        }));
+    }
+
     /**
      * 根据ID获取工会 (异步)
      */
     public CompletableFuture<Guild> getGuildByIdAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildById:" + guildId, Guild::copy, () -> databaseManager.supplyAsync("getGuildById", () -> {
             try {
                 String sql = "SELECT * FROM guilds WHERE id = ?";
 
@@ -664,7 +900,7 @@ public class GuildService {
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
-                            return createGuildFromResultSet(rs);
+                            return createGuildFromResultSet(sql, rs);
                         }
                     }
                 }
@@ -672,7 +908,7 @@ public class GuildService {
                 LogService.error("根据ID获取工会时发生错误: ", e);
             }
             return null;
-        });
+        }));
     }
 
     /**
@@ -680,7 +916,7 @@ public class GuildService {
      */
     public Guild getGuildById(int guildId) {
         try {
-            return getGuildByIdAsync(guildId).get();
+            return awaitSync("getGuildById", getGuildByIdAsync(guildId));
         } catch (Exception e) {
             LogService.error("根据ID获取工会时发生异常: ", e);
             return null;
@@ -691,7 +927,7 @@ public class GuildService {
      * 根据名称获取工会 (异步)
      */
     public CompletableFuture<Guild> getGuildByNameAsync(String name) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildByName:" + name, Guild::copy, () -> databaseManager.supplyAsync("getGuildByName", () -> {
             try {
                 String sql = "SELECT * FROM guilds WHERE name = ?";
 
@@ -702,7 +938,7 @@ public class GuildService {
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
-                            return createGuildFromResultSet(rs);
+                            return createGuildFromResultSet(sql, rs);
                         }
                     }
                 }
@@ -710,7 +946,7 @@ public class GuildService {
                 LogService.error("根据名称获取工会时发生错误: ", e);
             }
             return null;
-        });
+        }));
     }
 
     /**
@@ -718,7 +954,7 @@ public class GuildService {
      */
     public Guild getGuildByName(String name) {
         try {
-            return getGuildByNameAsync(name).get();
+            return awaitSync("getGuildByName", getGuildByNameAsync(name));
         } catch (Exception e) {
             LogService.error("根据名称获取工会时发生异常: ", e);
             return null;
@@ -729,7 +965,7 @@ public class GuildService {
      * 根据标签获取工会 (异步)
      */
     public CompletableFuture<Guild> getGuildByTagAsync(String tag) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildByTag:" + tag, Guild::copy, () -> databaseManager.supplyAsync("getGuildByTag", () -> {
             try {
                 String sql = "SELECT * FROM guilds WHERE tag = ?";
 
@@ -740,7 +976,7 @@ public class GuildService {
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
-                            return createGuildFromResultSet(rs);
+                            return createGuildFromResultSet(sql, rs);
                         }
                     }
                 }
@@ -748,7 +984,7 @@ public class GuildService {
                 LogService.error("根据标签获取工会时发生错误: ", e);
             }
             return null;
-        });
+        }));
     }
 
     /**
@@ -756,7 +992,7 @@ public class GuildService {
      */
     public Guild getGuildByTag(String tag) {
         try {
-            return getGuildByTagAsync(tag).get();
+            return awaitSync("getGuildByTag", getGuildByTagAsync(tag));
         } catch (Exception e) {
             LogService.error("根据标签获取工会时发生异常: ", e);
             return null;
@@ -767,24 +1003,22 @@ public class GuildService {
      * 获取所有工会 (异步)
      */
     public CompletableFuture<List<Guild>> getAllGuildsAsync() {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getAllGuilds", guilds -> copyAll(guilds, Guild::copy), () -> databaseManager.supplyAsync("getAllGuilds", () -> {
             List<Guild> guilds = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guilds ORDER BY created_at DESC";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql);
                      ResultSet rs = stmt.executeQuery()) {
 
-                    while (rs.next()) {
-                        guilds.add(createGuildFromResultSet(rs));
-                    }
+                    guilds.addAll(GUILD_MAPPER.mapAll(sql, rs));
                 }
             } catch (SQLException e) {
                 LogService.error("获取所有工会时发生错误: ", e);
             }
             return guilds;
-        });
+        })).thenApply(ArrayList::new);
     }
 
     /**
@@ -792,13 +1026,34 @@ public class GuildService {
      */
     public List<Guild> getAllGuilds() {
         try {
-            return getAllGuildsAsync().get();
+            return awaitSync("getAllGuilds", getAllGuildsAsync());
         } catch (Exception e) {
             LogService.error("获取所有工会时发生异常: ", e);
             return new ArrayList<>();
         }
     }
 
+    /**
+     * 获取所有工会的紧凑只读表示 (异步)，不含家的位置，返回的列表不可修改
+     */
+    public CompletableFuture<List<CompactGuild>> getAllGuildsCompactAsync() {
+        return coalesce("getAllGuildsCompact", () -> databaseManager.supplyAsync("getAllGuildsCompact", () -> {
+            try {
+                String sql = "SELECT * FROM guilds ORDER BY created_at DESC";
+
+                try (Connection conn = databaseManager.getReadConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql);
+                     ResultSet rs = stmt.executeQuery()) {
+
+                    return List.copyOf(COMPACT_GUILD_MAPPER.mapAll(sql, rs));
+                }
+            } catch (SQLException e) {
+                LogService.error("获取所有工会时发生错误: ", e);
+            }
+            return List.<CompactGuild>of();
+        }));
+    }
+
     /**
      * 检查是否为工会会长
      */
@@ -834,103 +1089,155 @@ public class GuildService {
     /**
      * 从ResultSet创建Guild对象
      */
-    private Guild createGuildFromResultSet(ResultSet rs) throws SQLException {
-        Guild guild = new Guild();
-        guild.setId(rs.getInt("id"));
-        guild.setName(rs.getString("name"));
-        guild.setTag(rs.getString("tag"));
-        guild.setDescription(rs.getString("description"));
-        guild.setLeaderUuid(UUID.fromString(rs.getString("leader_uuid")));
-        guild.setLeaderName(rs.getString("leader_name"));
-
-        // 家的位置信息（安全处理空值）
-        String homeWorld = rs.getString("home_world");
-        guild.setHomeWorld(homeWorld);
-
-        if (homeWorld != null) {
-            guild.setHomeX(rs.getDouble("home_x"));
-            guild.setHomeY(rs.getDouble("home_y"));
-            guild.setHomeZ(rs.getDouble("home_z"));
-            guild.setHomeYaw(rs.getFloat("home_yaw"));
-            guild.setHomePitch(rs.getFloat("home_pitch"));
-        } else {
-            // 如果home_world为null，设置默认值
-            guild.setHomeX(0.0);
-            guild.setHomeY(0.0);
-            guild.setHomeZ(0.0);
-            guild.setHomeYaw(0.0f);
-            guild.setHomePitch(0.0f);
-        }
-
-        guild.setCreatedAt(parseTimestamp(rs, "created_at"));
-        guild.setUpdatedAt(parseTimestamp(rs, "updated_at"));
-
-        // 读取economy相关列（安全处理，如果列不存在则使用默认值）
-        try {
-            guild.setBalance(rs.getDouble("balance"));
-        } catch (SQLException e) {
-            guild.setBalance(0.0);
-        }
+    private Guild createGuildFromResultSet(String sql, ResultSet rs) throws SQLException {
+        return GUILD_MAPPER.mapRow(sql, rs);
+    }
+
+    /**
+     * 绑定工会行映射器（旧数据库尚未补齐的经济相关列使用默认值）
+     */
+    private static RowMapper<Guild> bindGuildMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int name = columns.indexOf("name");
+        int tag = columns.indexOf("tag");
+        int description = columns.indexOf("description");
+        int leaderUuid = columns.indexOf("leader_uuid");
+        int leaderName = columns.indexOf("leader_name");
+        int homeWorld = columns.indexOf("home_world");
+        int homeX = columns.indexOf("home_x");
+        int homeY = columns.indexOf("home_y");
+        int homeZ = columns.indexOf("home_z");
+        int homeYaw = columns.indexOf("home_yaw");
+        int homePitch = columns.indexOf("home_pitch");
+        int createdAt = columns.indexOf("created_at");
+        int updatedAt = columns.indexOf("updated_at");
+        int balance = columns.indexOf("balance");
+        int level = columns.indexOf("level");
+        int maxMembers = columns.indexOf("max_members");
+        int frozen = columns.indexOf("frozen");
+
+        return rs -> {
+            Guild guild = new Guild();
+            guild.setId(rs.getInt(id));
+            guild.setName(rs.getString(name));
+            guild.setTag(rs.getString(tag));
+            guild.setDescription(rs.getString(description));
+            guild.setLeaderUuid(UUID.fromString(rs.getString(leaderUuid)));
+            guild.setLeaderName(rs.getString(leaderName));
+
+            // 家的位置信息（安全处理空值）
+            String world = homeWorld > 0 ? rs.getString(homeWorld) : null;
+            guild.setHomeWorld(world);
+
+            if (world != null) {
+                guild.setHomeX(rs.getDouble(homeX));
+                guild.setHomeY(rs.getDouble(homeY));
+                guild.setHomeZ(rs.getDouble(homeZ));
+                guild.setHomeYaw(rs.getFloat(homeYaw));
+                guild.setHomePitch(rs.getFloat(homePitch));
+            } else {
+                // 如果home_world为null，设置默认值
+                guild.setHomeX(0.0);
+                guild.setHomeY(0.0);
+                guild.setHomeZ(0.0);
+                guild.setHomeYaw(0.0f);
+                guild.setHomePitch(0.0f);
+            }
 
-        try {
-            guild.setLevel(rs.getInt("level"));
-        } catch (SQLException e) {
-            guild.setLevel(1);
-        }
+            guild.setCreatedAtMillis(RowMapper.getMillis(rs, createdAt));
+            guild.setUpdatedAtMillis(RowMapper.getMillis(rs, updatedAt));
 
-        try {
-            guild.setMaxMembers(rs.getInt("max_members"));
-        } catch (SQLException e) {
-            guild.setMaxMembers(6);
-        }
+            guild.setBalance(balance > 0 ? rs.getDouble(balance) : 0.0);
+            guild.setLevel(level > 0 ? rs.getInt(level) : 1);
+            guild.setMaxMembers(maxMembers > 0 ? rs.getInt(maxMembers) : 6);
+            guild.setFrozen(frozen > 0 && rs.getBoolean(frozen));
+            return guild;
+        };
+    }
 
-        try {
-            guild.setFrozen(rs.getBoolean("frozen"));
-        } catch (SQLException e) {
-            guild.setFrozen(false);
-        }
+    /**
+     * 从ResultSet创建GuildMember对象
+     */
+    private GuildMember createGuildMemberFromResultSet(String sql, ResultSet rs) throws SQLException {
+        return MEMBER_MAPPER.mapRow(sql, rs);
+    }
+
+    /**
+     * 绑定成员行映射器（旧数据库尚未补齐 rank_id 列时视为未分配职级）
+     */
+    private static RowMapper<GuildMember> bindMemberMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int guildId = columns.indexOf("guild_id");
+        int playerUuid = columns.indexOf("player_uuid");
+        int playerName = columns.indexOf("player_name");
+        int role = columns.indexOf("role");
+        int rankId = columns.indexOf("rank_id");
+        int joinedAt = columns.indexOf("joined_at");
 
-        return guild;
+        return rs -> {
+            GuildMember member = new GuildMember();
+            member.setId(rs.getInt(id));
+            member.setGuildId(rs.getInt(guildId));
+            member.setPlayerUuid(UUID.fromString(rs.getString(playerUuid)));
+            member.setPlayerName(rs.getString(playerName));
+            member.setRole(GuildMember.Role.valueOf(rs.getString(role)));
+            member.setRankId(rankId > 0 ? rs.getInt(rankId) : 0);
+            member.setJoinedAtMillis(RowMapper.getMillis(rs, joinedAt));
+            return member;
+        };
     }
 
     /**
-     * 从ResultSet创建GuildMember对象
+     * 绑定紧凑工会行映射器（跳过家的位置列，旧数据库缺失的经济相关列使用默认值）
      */
-    private GuildMember createGuildMemberFromResultSet(ResultSet rs) throws SQLException {
-        GuildMember member = new GuildMember();
-        member.setId(rs.getInt("id"));
-        member.setGuildId(rs.getInt("guild_id"));
-        member.setPlayerUuid(UUID.fromString(rs.getString("player_uuid")));
-        member.setPlayerName(rs.getString("player_name"));
-        member.setRole(GuildMember.Role.valueOf(rs.getString("role")));
-        member.setJoinedAt(parseTimestamp(rs, "joined_at"));
-        return member;
+    private static RowMapper<CompactGuild> bindCompactGuildMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int name = columns.indexOf("name");
+        int tag = columns.indexOf("tag");
+        int description = columns.indexOf("description");
+        int leaderUuid = columns.indexOf("leader_uuid");
+        int leaderName = columns.indexOf("leader_name");
+        int createdAt = columns.indexOf("created_at");
+        int balance = columns.indexOf("balance");
+        int level = columns.indexOf("level");
+        int maxMembers = columns.indexOf("max_members");
+        int frozen = columns.indexOf("frozen");
+
+        return rs -> {
+            UUID leader = UUID.fromString(rs.getString(leaderUuid));
+            return new CompactGuild(rs.getInt(id), rs.getString(name), rs.getString(tag), rs.getString(description),
+                    leader.getMostSignificantBits(), leader.getLeastSignificantBits(), rs.getString(leaderName),
+                    level > 0 ? rs.getInt(level) : 1,
+                    balance > 0 ? rs.getDouble(balance) : 0.0,
+                    maxMembers > 0 ? rs.getInt(maxMembers) : 6,
+                    frozen > 0 && rs.getBoolean(frozen),
+                    RowMapper.getMillis(rs, createdAt));
+        };
     }
 
     /**
-     * 解析时间戳
+     * 绑定紧凑成员行映射器
      */
-    private java.time.LocalDateTime parseTimestamp(ResultSet rs, String columnName) throws SQLException {
-        // 优先以字符串按统一格式解析，避免驱动按时区转换导致偏差
-        String s = rs.getString(columnName);
-        if (s != null && !s.isEmpty()) {
-            try {
-                return LocalDateTime.parse(s, com.guild.core.time.TimeProvider.FULL_FORMATTER);
-            } catch (Exception ignore) {
-                try {
-                    return LocalDateTime.parse(s.replace(" ", "T"));
-                } catch (Exception ex) {
-                    LogService.error("无法解析时间戳: ", ex);
-                }
-            }
-        }
-        // 回退：使用驱动时间戳
-        try {
-            Timestamp ts = rs.getTimestamp(columnName);
-            if (ts != null) return ts.toLocalDateTime();
-        } catch (SQLException ignore) {
-        }
-        return LocalDateTime.now();
+    private static RowMapper<CompactMember> bindCompactMemberMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int guildId = columns.indexOf("guild_id");
+        int playerUuid = columns.indexOf("player_uuid");
+        int playerName = columns.indexOf("player_name");
+        int role = columns.indexOf("role");
+        int rankId = columns.indexOf("rank_id");
+        int joinedAt = columns.indexOf("joined_at");
+
+        return rs -> new CompactMember(rs.getInt(id), rs.getInt(guildId), UUID.fromString(rs.getString(playerUuid)),
+                rs.getString(playerName), GuildMember.Role.valueOf(rs.getString(role)),
+                rankId > 0 ? rs.getInt(rankId) : 0, RowMapper.getMillis(rs, joinedAt));
+    }
+
+    /**
+     * 读取毫秒时间戳列，NULL 返回 0（模型在显示时才转换为 LocalDateTime）
+     */
+    static long readMillis(ResultSet rs, String columnName) throws SQLException {
+        long millis = rs.getLong(columnName);
+        return rs.wasNull() ? 0 : millis;
     }
 
 
@@ -938,45 +1245,42 @@ public class GuildService {
      * 提交申请 (异步)
      */
     public CompletableFuture<Boolean> submitApplicationAsync(int guildId, UUID playerUuid, String playerName, String message) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.executeWriteAsync("submitApplication", conn -> {
             try {
-                // 检查是否已有待处理的申请
-                if (hasPendingApplication(playerUuid, guildId)) {
+                // 在写连接上检查是否已有待处理的申请（可见同批次中尚未提交的申请）
+                if (hasPendingApplication(conn, playerUuid, guildId)) {
                     return false;
                 }
 
                 String sql = "INSERT INTO guild_applications (guild_id, player_uuid, player_name, message, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
                     stmt.setString(2, playerUuid.toString());
                     stmt.setString(3, playerName);
                     stmt.setString(4, message);
                     stmt.setString(5, GuildApplication.ApplicationStatus.PENDING.name());
-                    stmt.setString(6, nowString());
+                    stmt.setLong(6, nowMillis());
 
                     int affectedRows = stmt.executeUpdate();
                     if (affectedRows > 0) {
-                        LogService.debug("玩家 " + playerName + " 提交了加入工会申请 (工会ID: " + guildId + ")");
+                        LogService.debug(DebugCategory.DB, "玩家 {} 提交了加入工会申请 (工会ID: {})", playerName, guildId);
+                        publishEvent(new ApplicationSubmittedEvent(guildId, playerUuid, playerName));
 
                         // 记录申请提交日志
-                        getGuildByIdAsync(guildId).thenAccept(guild -> {
-                            if (guild != null) {
-                                logGuildActionAsync(guildId, guild.getName(), playerUuid.toString(), playerName,
-                                        GuildLog.LogType.APPLICATION_SUBMITTED, "申请提交", "申请消息: " + message);
-                            }
-                        });
+                        insertGuildLog(conn, guildId, playerUuid.toString(), playerName,
+                                GuildLog.LogType.APPLICATION_SUBMITTED, "申请提交", "申请消息: " + message);
 
                         return true;
                     }
                 }
             } catch (SQLException e) {
                 LogService.error("提交申请时发生错误: ", e);
+                throw e;
             }
             return false;
-        });
+        }).exceptionally(throwable -> false);
     }
 
     /**
@@ -984,7 +1288,7 @@ public class GuildService {
      */
     public boolean submitApplication(int guildId, UUID playerUuid, String playerName, String message) {
         try {
-            return submitApplicationAsync(guildId, playerUuid, playerName, message).get();
+            return awaitSync("submitApplication", submitApplicationAsync(guildId, playerUuid, playerName, message));
         } catch (Exception e) {
             LogService.error("提交申请时发生异常: ", e);
             return false;
@@ -995,98 +1299,272 @@ public class GuildService {
      * 处理申请 (异步)
      */
     public CompletableFuture<Boolean> processApplicationAsync(int applicationId, GuildApplication.ApplicationStatus status, UUID processorUuid) {
-        return getApplicationByIdAsync(applicationId).thenCompose(application -> {
-            if (application == null) {
-                return CompletableFuture.completedFuture(false);
-            }
+        return processApplicationsAsync(List.of(applicationId), status, processorUuid).thenApply(result -> !result.isEmpty());
+    }
 
-            return getGuildMemberAsync(processorUuid).thenCompose(processor -> {
-                // 检查处理者权限
-                if (processor == null || processor.getGuildId() != application.getGuildId() ||
-                        (processor.getRole() != GuildMember.Role.LEADER && processor.getRole() != GuildMember.Role.OFFICER)) {
-                    return CompletableFuture.completedFuture(false);
+    /**
+     * 批量处理申请 (异步)
+     * 每 {@link #MAX_BATCH_SIZE} 个申请一个事务，依次处理：校验处理者、锁定工会行后读取仍待处理的申请、
+     * 按 max_members 一次性计算剩余名额，再以 JDBC 批处理更新申请状态、写入新成员与日志；
+     * 申请人已有工会的申请自动拒绝，名额不足的申请保持待处理
+     */
+    public CompletableFuture<ApplicationBatchResult> processApplicationsAsync(List<Integer> applicationIds,
+                                                                              GuildApplication.ApplicationStatus status,
+                                                                              UUID processorUuid) {
+        if (applicationIds.isEmpty() || status == GuildApplication.ApplicationStatus.PENDING) {
+            return CompletableFuture.completedFuture(ApplicationBatchResult.EMPTY);
+        }
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(applicationIds));
+        CompletableFuture<ApplicationBatchResult> result = CompletableFuture.completedFuture(ApplicationBatchResult.EMPTY);
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + MAX_BATCH_SIZE, ids.size()));
+            result = result.thenCompose(processed -> processApplicationChunkAsync(chunk, status, processorUuid)
+                    .thenApply(processed::merge));
+        }
+        return result;
+    }
+
+    private CompletableFuture<ApplicationBatchResult> processApplicationChunkAsync(List<Integer> batchIds,
+                                                                                   GuildApplication.ApplicationStatus status,
+                                                                                   UUID processorUuid) {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("processApplications", conn -> {
+            try {
+                GuildMember processor = findMemberByPlayer(conn, processorUuid);
+                // 检查处理者权限：只能处理本工会的申请
+                if (processor == null || !processor.getRole().canManageApplications()) {
+                    return new ApplicationBatchResult(List.of(), 0, batchIds.size());
                 }
+                int guildId = processor.getGuildId();
 
-                return CompletableFuture.supplyAsync(() -> {
-                    try {
-                        String sql = "UPDATE guild_applications SET status = ? WHERE id = ?";
+                GuildCapacity capacity = lockGuildCapacity(conn, guildId);
+                if (capacity == null) {
+                    return new ApplicationBatchResult(List.of(), 0, batchIds.size());
+                }
+
+                List<GuildApplication> pending = new ArrayList<>();
+                String selectSql = "SELECT * FROM guild_applications WHERE guild_id = ? AND status = 'PENDING' AND id IN ("
+                        + placeholders(batchIds.size()) + ") ORDER BY created_at";
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    stmt.setInt(1, guildId);
+                    for (int i = 0; i < batchIds.size(); i++) {
+                        stmt.setInt(i + 2, batchIds.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            pending.add(createGuildApplicationFromResultSet(rs));
+                        }
+                    }
+                }
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                boolean approve = status == GuildApplication.ApplicationStatus.APPROVED;
+                List<GuildApplication> closed = new ArrayList<>();
+                List<GuildApplication> processed = approve ? selectAdmissible(conn, guildId, capacity.maxMembers(), pending, closed) : pending;
+                int skipped = batchIds.size() - processed.size() - closed.size();
+                if (processed.isEmpty() && closed.isEmpty()) {
+                    return new ApplicationBatchResult(processed, 0, skipped);
+                }
 
-                            stmt.setString(1, status.name());
-                            stmt.setInt(2, applicationId);
+                long now = nowMillis();
+                try (PreparedStatement stmt = conn.prepareStatement("UPDATE guild_applications SET status = ? WHERE id = ?")) {
+                    for (GuildApplication application : processed) {
+                        stmt.setString(1, status.name());
+                        stmt.setInt(2, application.getId());
+                        stmt.addBatch();
+                    }
+                    // 申请人已加入其他工会，申请不可能再被接受
+                    for (GuildApplication application : closed) {
+                        stmt.setString(1, GuildApplication.ApplicationStatus.REJECTED.name());
+                        stmt.setInt(2, application.getId());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
 
-                            int affectedRows = stmt.executeUpdate();
-                            if (affectedRows > 0) {
-                                LogService.debug("申请处理完成: " + application.getPlayerName() + " -> " + status.name());
-
-                                // 记录申请处理日志
-                                getGuildByIdAsync(application.getGuildId()).thenAccept(guild -> {
-                                    if (guild != null) {
-                                        GuildLog.LogType logType = status == GuildApplication.ApplicationStatus.APPROVED ?
-                                                GuildLog.LogType.APPLICATION_ACCEPTED : GuildLog.LogType.APPLICATION_REJECTED;
-                                        String description = status == GuildApplication.ApplicationStatus.APPROVED ? "申请接受" : "申请拒绝";
-                                        String details = "申请人: " + application.getPlayerName() + ", 处理者: " + processor.getPlayerName();
-
-                                        logGuildActionAsync(application.getGuildId(), guild.getName(),
-                                                processorUuid.toString(), processor.getPlayerName(),
-                                                logType, description, details);
-                                    }
-                                });
+                if (approve && !processed.isEmpty()) {
+                    String insertSql = "INSERT INTO guild_members (guild_id, player_uuid, player_name, role, joined_at) VALUES (?, ?, ?, ?, ?)";
+                    try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                        for (GuildApplication application : processed) {
+                            stmt.setInt(1, guildId);
+                            stmt.setString(2, application.getPlayerUuid().toString());
+                            stmt.setString(3, application.getPlayerName());
+                            stmt.setString(4, GuildMember.Role.MEMBER.name());
+                            stmt.setLong(5, now);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
 
-                                return true;
-                            }
+                String guildName = capacity.name();
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_LOG_SQL)) {
+                    for (GuildApplication application : processed) {
+                        addLogBatch(stmt, guildId, guildName, processorUuid.toString(), processor.getPlayerName(),
+                                approve ? GuildLog.LogType.APPLICATION_ACCEPTED : GuildLog.LogType.APPLICATION_REJECTED,
+                                approve ? "申请接受" : "申请拒绝",
+                                "申请人: " + application.getPlayerName() + ", 处理者: " + processor.getPlayerName(), now);
+                        if (approve) {
+                            addLogBatch(stmt, guildId, guildName, application.getPlayerUuid().toString(), application.getPlayerName(),
+                                    GuildLog.LogType.MEMBER_JOINED, "成员加入",
+                                    "玩家: " + application.getPlayerName() + ", 职位: " + GuildMember.Role.MEMBER.getDisplayName(), now);
                         }
-                    } catch (SQLException e) {
-                        LogService.error("处理申请时发生错误: ", e);
                     }
-                    return false;
-                }).thenCompose(success -> {
-                    if (success && status == GuildApplication.ApplicationStatus.APPROVED) {
-                        // 如果申请被通过，自动添加成员
-                        return addGuildMemberAsync(application.getGuildId(), application.getPlayerUuid(),
-                                application.getPlayerName(), GuildMember.Role.MEMBER);
+                    for (GuildApplication application : closed) {
+                        addLogBatch(stmt, guildId, guildName, processorUuid.toString(), processor.getPlayerName(),
+                                GuildLog.LogType.APPLICATION_REJECTED, "申请拒绝",
+                                "申请人: " + application.getPlayerName() + " 已加入其他工会", now);
                     }
-                    return CompletableFuture.completedFuture(success);
-                });
-            });
-        });
+                    stmt.executeBatch();
+                }
+
+                LogService.debug(DebugCategory.DB, "批量处理申请完成: 工会 {} {} 个 -> {}，自动拒绝 {} 个，跳过 {} 个",
+                        guildId, processed.size(), status.name(), closed.size(), skipped);
+                for (GuildApplication application : processed) {
+                    publishEvent(new ApplicationProcessedEvent(guildId, application.getId(), application.getPlayerUuid(),
+                            application.getPlayerName(), status));
+                    if (approve) {
+                        UUID playerUuid = application.getPlayerUuid();
+                        publishEvent(new MemberJoinedEvent(guildId, playerUuid, application.getPlayerName(), GuildMember.Role.MEMBER));
+                        databaseManager.afterCommit(() -> plugin.getPermissionManager().updatePlayerPermissions(playerUuid));
+                    }
+                }
+                for (GuildApplication application : closed) {
+                    publishEvent(new ApplicationProcessedEvent(guildId, application.getId(), application.getPlayerUuid(),
+                            application.getPlayerName(), GuildApplication.ApplicationStatus.REJECTED));
+                }
+                return new ApplicationBatchResult(processed, closed.size(), skipped);
+            } catch (SQLException e) {
+                LogService.error("批量处理申请时发生错误: ", e);
+                // 抛出以回滚整批写入
+                throw e;
+            }
+        }).exceptionally(throwable -> new ApplicationBatchResult(List.of(), 0, batchIds.size())));
     }
 
     /**
-     * 处理申请 (同步包装器)
+     * 批量处理申请 (同步包装器)
      */
-    public boolean processApplication(int applicationId, GuildApplication.ApplicationStatus status, UUID processorUuid) {
+    public ApplicationBatchResult processApplications(List<Integer> applicationIds, GuildApplication.ApplicationStatus status, UUID processorUuid) {
         try {
-            return processApplicationAsync(applicationId, status, processorUuid).get();
+            return awaitSync("processApplications", processApplicationsAsync(applicationIds, status, processorUuid));
         } catch (Exception e) {
-            LogService.error("处理申请时发生异常: ", e);
-            return false;
+            LogService.error("批量处理申请时发生异常: ", e);
+            return ApplicationBatchResult.EMPTY;
         }
     }
 
     /**
-     * 检查是否有待处理的申请 (异步)
+     * 按申请时间先后筛选可以加入的申请，不超过工会剩余名额；申请人已有工会的申请放入 closed
      */
-    public CompletableFuture<Boolean> hasPendingApplicationAsync(UUID playerUuid, int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String sql = "SELECT COUNT(*) FROM guild_applications WHERE player_uuid = ? AND guild_id = ? AND status = ?";
+    private List<GuildApplication> selectAdmissible(Connection conn, int guildId, int maxMembers,
+                                                    List<GuildApplication> pending, List<GuildApplication> closed) throws SQLException {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        int memberCount = countMembers(conn, guildId);
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Set<String> alreadyInGuild = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT player_uuid FROM guild_members WHERE player_uuid IN (" + placeholders(pending.size()) + ")")) {
+            for (int i = 0; i < pending.size(); i++) {
+                stmt.setString(i + 1, pending.get(i).getPlayerUuid().toString());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    alreadyInGuild.add(rs.getString(1));
+                }
+            }
+        }
 
-                    stmt.setString(1, playerUuid.toString());
-                    stmt.setInt(2, guildId);
-                    stmt.setString(3, GuildApplication.ApplicationStatus.PENDING.name());
+        int remaining = maxMembers - memberCount;
+        List<GuildApplication> admissible = new ArrayList<>();
+        for (GuildApplication application : pending) {
+            String playerUuid = application.getPlayerUuid().toString();
+            // 同一玩家的多条申请只接受一条，其余随已有工会的申请一起关闭
+            if (alreadyInGuild.contains(playerUuid)) {
+                closed.add(application);
+            } else if (admissible.size() < remaining) {
+                alreadyInGuild.add(playerUuid);
+                admissible.add(application);
+            }
+        }
+        return admissible;
+    }
+
+    /**
+     * 在写事务中锁定工会行并读取名称与人数上限，工会不存在时返回 null。
+     * MySQL 与 H2 使用 SELECT ... FOR UPDATE，使同一工会的入会写入串行执行；SQLite 的写入本身已串行
+     */
+    private GuildCapacity lockGuildCapacity(Connection conn, int guildId) throws SQLException {
+        String sql = "SELECT name, max_members FROM guilds WHERE id = ?" + forUpdate();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, guildId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? new GuildCapacity(rs.getString(1), rs.getInt(2)) : null;
+            }
+        }
+    }
+
+    private static int countMembers(Connection conn, int guildId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM guild_members WHERE guild_id = ?")) {
+            stmt.setInt(1, guildId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private record GuildCapacity(String name, int maxMembers) {
+    }
+
+    private GuildMember findMemberByPlayer(Connection conn, UUID playerUuid) throws SQLException {
+        String sql = "SELECT * FROM guild_members WHERE player_uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? createGuildMemberFromResultSet(sql, rs) : null;
+            }
+        }
+    }
+
+    /**
+     * 向 {@link #INSERT_LOG_SQL} 语句添加一条批处理日志
+     */
+    static void addLogBatch(PreparedStatement stmt, int guildId, String guildName, String playerUuid, String playerName,
+                            GuildLog.LogType logType, String description, String details, long createdAt) throws SQLException {
+        stmt.setInt(1, guildId);
+        stmt.setString(2, guildName);
+        stmt.setString(3, playerUuid);
+        stmt.setString(4, playerName);
+        stmt.setString(5, logType.name());
+        stmt.setString(6, description);
+        stmt.setString(7, details);
+        stmt.setLong(8, createdAt);
+        stmt.addBatch();
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * 处理申请 (同步包装器)
+     */
+    public boolean processApplication(int applicationId, GuildApplication.ApplicationStatus status, UUID processorUuid) {
+        try {
+            return awaitSync("processApplication", processApplicationAsync(applicationId, status, processorUuid));
+        } catch (Exception e) {
+            LogService.error("处理申请时发生异常: ", e);
+            return false;
+        }
+    }
 
-                    try (ResultSet rs = stmt.executeQuery()) {
-                        if (rs.next()) {
-                            return rs.getInt(1) > 0;
-                        }
-                    }
-                }
+    /**
+     * 检查是否有待处理的申请 (异步)
+     */
+    public CompletableFuture<Boolean> hasPendingApplicationAsync(UUID playerUuid, int guildId) {
+        return databaseManager.supplyAsync("hasPendingApplication", () -> {
+            try (Connection conn = databaseManager.getConnection()) {
+                return hasPendingApplication(conn, playerUuid, guildId);
             } catch (SQLException e) {
                 LogService.error("检查待处理申请时发生错误: ", e);
             }
@@ -1094,12 +1572,24 @@ public class GuildService {
         });
     }
 
+    private static boolean hasPendingApplication(Connection conn, UUID playerUuid, int guildId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM guild_applications WHERE player_uuid = ? AND guild_id = ? AND status = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+            stmt.setInt(2, guildId);
+            stmt.setString(3, GuildApplication.ApplicationStatus.PENDING.name());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
     /**
      * 检查是否有待处理的申请 (同步包装器)
      */
     public boolean hasPendingApplication(UUID playerUuid, int guildId) {
         try {
-            return hasPendingApplicationAsync(playerUuid, guildId).get();
+            return awaitSync("hasPendingApplication", hasPendingApplicationAsync(playerUuid, guildId));
         } catch (Exception e) {
             LogService.error("检查待处理申请时发生异常: ", e);
             return false;
@@ -1110,7 +1600,7 @@ public class GuildService {
      * 获取工会申请列表 (异步)
      */
     public CompletableFuture<List<GuildApplication>> getGuildApplicationsAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getGuildApplications", () -> {
             List<GuildApplication> applications = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_applications WHERE guild_id = ? ORDER BY created_at DESC";
@@ -1138,7 +1628,7 @@ public class GuildService {
      */
     public List<GuildApplication> getGuildApplications(int guildId) {
         try {
-            return getGuildApplicationsAsync(guildId).get();
+            return awaitSync("getGuildApplications", getGuildApplicationsAsync(guildId));
         } catch (Exception e) {
             LogService.error("获取工会申请列表时发生异常: ", e);
             return new ArrayList<>();
@@ -1149,7 +1639,7 @@ public class GuildService {
      * 获取玩家申请列表 (异步)
      */
     public CompletableFuture<List<GuildApplication>> getPlayerApplicationsAsync(UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getPlayerApplications", () -> {
             List<GuildApplication> applications = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_applications WHERE player_uuid = ? ORDER BY created_at DESC";
@@ -1177,7 +1667,7 @@ public class GuildService {
      */
     public List<GuildApplication> getPlayerApplications(UUID playerUuid) {
         try {
-            return getPlayerApplicationsAsync(playerUuid).get();
+            return awaitSync("getPlayerApplications", getPlayerApplicationsAsync(playerUuid));
         } catch (Exception e) {
             LogService.error("获取玩家申请列表时发生异常: ", e);
             return new ArrayList<>();
@@ -1188,7 +1678,7 @@ public class GuildService {
      * 根据ID获取申请 (异步)
      */
     public CompletableFuture<GuildApplication> getApplicationByIdAsync(int applicationId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getApplicationById", () -> {
             try {
                 String sql = "SELECT * FROM guild_applications WHERE id = ?";
 
@@ -1215,7 +1705,7 @@ public class GuildService {
      */
     public GuildApplication getApplicationById(int applicationId) {
         try {
-            return getApplicationByIdAsync(applicationId).get();
+            return awaitSync("getApplicationById", getApplicationByIdAsync(applicationId));
         } catch (Exception e) {
             LogService.error("根据ID获取申请时发生异常: ", e);
             return null;
@@ -1233,7 +1723,7 @@ public class GuildService {
         application.setPlayerName(rs.getString("player_name"));
         application.setMessage(rs.getString("message"));
         application.setStatus(GuildApplication.ApplicationStatus.valueOf(rs.getString("status")));
-        application.setCreatedAt(parseTimestamp(rs, "created_at"));
+        application.setCreatedAtMillis(readMillis(rs, "created_at"));
 
         return application;
     }
@@ -1253,12 +1743,11 @@ public class GuildService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                return CompletableFuture.supplyAsync(() -> {
+                return databaseManager.executeWriteAsync("setGuildHome", conn -> {
                     try {
                         String sql = "UPDATE guilds SET home_world = ?, home_x = ?, home_y = ?, home_z = ?, home_yaw = ?, home_pitch = ?, updated_at = ? WHERE id = ?";
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                             stmt.setString(1, location.getWorld().getName());
                             stmt.setDouble(2, location.getX());
@@ -1266,20 +1755,21 @@ public class GuildService {
                             stmt.setDouble(4, location.getZ());
                             stmt.setFloat(5, location.getYaw());
                             stmt.setFloat(6, location.getPitch());
-                            stmt.setString(7, nowString());
+                            stmt.setLong(7, nowMillis());
                             stmt.setInt(8, guildId);
 
                             int affectedRows = stmt.executeUpdate();
                             if (affectedRows > 0) {
-                                LogService.debug("工会家设置成功: " + guild.getName() + " (ID: " + guildId + ")");
+                                LogService.debug(DebugCategory.DB, "工会家设置成功: {} (ID: {})", guild.getName(), guildId);
                                 return true;
                             }
                         }
                     } catch (SQLException e) {
                         LogService.error("设置工会家时发生错误: ", e);
+                        throw e;
                     }
                     return false;
-                });
+                }).exceptionally(throwable -> false);
             });
         });
     }
@@ -1289,7 +1779,7 @@ public class GuildService {
      */
     public boolean setGuildHome(int guildId, org.bukkit.Location location, UUID requesterUuid) {
         try {
-            return setGuildHomeAsync(guildId, location, requesterUuid).get();
+            return awaitSync("setGuildHome", setGuildHomeAsync(guildId, location, requesterUuid));
         } catch (Exception e) {
             LogService.error("设置工会家时发生异常: ", e);
             return false;
@@ -1320,7 +1810,7 @@ public class GuildService {
      */
     public org.bukkit.Location getGuildHome(int guildId) {
         try {
-            return getGuildHomeAsync(guildId).get();
+            return awaitSync("getGuildHome", getGuildHomeAsync(guildId));
         } catch (Exception e) {
             LogService.error("获取工会家时发生异常: ", e);
             return null;
@@ -1333,45 +1823,147 @@ public class GuildService {
      * 发送邀请 (异步)
      */
     public CompletableFuture<Boolean> sendInvitationAsync(int guildId, UUID inviterUuid, String inviterName, UUID targetUuid, String targetName) {
-        return getPlayerGuildAsync(targetUuid).thenCompose(existingGuild -> {
-            if (existingGuild != null) {
+        return getPendingInvitationAsync(targetUuid, guildId).thenCompose(existingInvitation -> {
+            if (existingInvitation != null) {
                 return CompletableFuture.completedFuture(false);
             }
+            return sendInvitationsAsync(guildId, inviterUuid, inviterName, Map.of(targetUuid, targetName))
+                    .thenApply(invitations -> !invitations.isEmpty());
+        });
+    }
 
-            return getPendingInvitationAsync(targetUuid, guildId).thenCompose(existingInvitation -> {
-                if (existingInvitation != null) {
-                    return CompletableFuture.completedFuture(false);
-                }
-
-                return CompletableFuture.supplyAsync(() -> {
-                    try {
-                        String sql = "INSERT INTO guild_invites (guild_id, player_uuid, player_name, inviter_uuid, inviter_name, status, expires_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    /**
+     * 批量发送邀请 (异步)
+     * 在一个事务中跳过已有工会的玩家，其余按 (guild_id, player_uuid) 唯一键 upsert：
+     * 已有邀请记录的玩家原地刷新为待处理并更新邀请者与过期时间，其余插入新邀请；返回本次发出（含刷新）的邀请。
+     * 一次最多 {@link #MAX_BATCH_SIZE} 名玩家，超出时整批拒绝
+     *
+     * @param targets 被邀请玩家 UUID -> 玩家名
+     */
+    public CompletableFuture<List<GuildInvitation>> sendInvitationsAsync(int guildId, UUID inviterUuid, String inviterName,
+                                                                         Map<UUID, String> targets) {
+        if (targets.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (targets.size() > MAX_BATCH_SIZE) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "一次最多邀请 " + MAX_BATCH_SIZE + " 名玩家，本次为 " + targets.size() + " 名"));
+        }
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return databaseManager.executeWriteAsync("sendInvitations", conn -> {
+            try {
+                // 已加入任意工会的玩家不能被邀请
+                Set<String> candidates = new LinkedHashSet<>();
+                targets.keySet().forEach(targetUuid -> candidates.add(targetUuid.toString()));
+                candidates.removeAll(selectExistingUuids(conn,
+                        "SELECT player_uuid FROM guild_members WHERE player_uuid IN (", null, candidates));
+                if (candidates.isEmpty()) {
+                    return List.<GuildInvitation>of();
+                }
 
-                            stmt.setInt(1, guildId);
-                            stmt.setString(2, targetUuid.toString());
-                            stmt.setString(3, targetName);
-                            stmt.setString(4, inviterUuid.toString());
-                            stmt.setString(5, inviterName);
-                            stmt.setString(6, "PENDING");
-                            stmt.setString(7, plusMinutesString(30));
-                            stmt.setString(8, nowString());
+                long now = nowMillis();
+                long expiresAt = plusMinutesMillis(30);
+                try (PreparedStatement stmt = conn.prepareStatement(upsertInvitationSql())) {
+                    for (String playerUuid : candidates) {
+                        stmt.setInt(1, guildId);
+                        stmt.setString(2, playerUuid);
+                        stmt.setString(3, targets.get(UUID.fromString(playerUuid)));
+                        stmt.setString(4, inviterUuid.toString());
+                        stmt.setString(5, inviterName);
+                        stmt.setLong(6, expiresAt);
+                        stmt.setLong(7, now);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
 
-                            int affectedRows = stmt.executeUpdate();
-                            if (affectedRows > 0) {
-                                LogService.debug("邀请发送成功: " + inviterName + " -> " + targetName + " (工会ID: " + guildId + ")");
-                                return true;
-                            }
+                // 批处理写入的自增ID在各驱动上返回方式不一，统一回查
+                List<GuildInvitation> invitations = new ArrayList<>();
+                String selectSql = "SELECT * FROM guild_invites WHERE guild_id = ? AND status = 'PENDING' AND player_uuid IN ("
+                        + placeholders(candidates.size()) + ") ORDER BY id";
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    stmt.setInt(1, guildId);
+                    int index = 2;
+                    for (String playerUuid : candidates) {
+                        stmt.setString(index++, playerUuid);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            invitations.add(createGuildInvitationFromResultSet(rs));
                         }
-                    } catch (SQLException e) {
-                        LogService.error("发送邀请时发生错误: ", e);
                     }
-                    return false;
-                });
-            });
-        });
+                }
+
+                for (GuildInvitation invitation : invitations) {
+                    scheduleExpiry(expiryService -> expiryService.scheduleInvitation(invitation.getId(), invitation.getExpiresAtMillis()));
+                }
+                updateInvitationCache(cache -> invitations.forEach(cache::put));
+                LogService.debug(DebugCategory.DB, "邀请发送成功: {} -> {} 名玩家 (工会ID: {})",
+                        inviterName, invitations.size(), guildId);
+                return List.copyOf(invitations);
+            } catch (SQLException e) {
+                LogService.error("发送邀请时发生错误: ", e);
+                // 抛出以回滚整批写入
+                throw e;
+            }
+        }).exceptionally(throwable -> List.of());
+    }
+
+    /**
+     * 邀请的 upsert 语句，冲突判定依赖 guild_invites (guild_id, player_uuid) 唯一索引。
+     * 参数依次为 guild_id, player_uuid, player_name, inviter_uuid, inviter_name, expires_at, created_at
+     */
+    private String upsertInvitationSql() {
+        String insert = "guild_invites (guild_id, player_uuid, player_name, inviter_uuid, inviter_name, status, expires_at, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, 'PENDING', ?, ?)";
+        return switch (databaseManager.getDatabaseType()) {
+            case SQLITE -> "INSERT INTO " + insert + " ON CONFLICT (guild_id, player_uuid) DO UPDATE SET "
+                    + "player_name = excluded.player_name, inviter_uuid = excluded.inviter_uuid, inviter_name = excluded.inviter_name, "
+                    + "status = 'PENDING', expires_at = excluded.expires_at, created_at = excluded.created_at";
+            case MYSQL -> "INSERT INTO " + insert + " ON DUPLICATE KEY UPDATE "
+                    + "player_name = VALUES(player_name), inviter_uuid = VALUES(inviter_uuid), inviter_name = VALUES(inviter_name), "
+                    + "status = 'PENDING', expires_at = VALUES(expires_at), created_at = VALUES(created_at)";
+            // H2 的 MERGE 按 KEY 列匹配，已有行更新其余列，否则插入
+            case H2 -> "MERGE INTO guild_invites (guild_id, player_uuid, player_name, inviter_uuid, inviter_name, status, expires_at, created_at) "
+                    + "KEY (guild_id, player_uuid) VALUES (?, ?, ?, ?, ?, 'PENDING', ?, ?)";
+        };
+    }
+
+    /**
+     * 批量发送邀请 (同步包装器)
+     */
+    public List<GuildInvitation> sendInvitations(int guildId, UUID inviterUuid, String inviterName, Map<UUID, String> targets) {
+        try {
+            return awaitSync("sendInvitations", sendInvitationsAsync(guildId, inviterUuid, inviterName, targets));
+        } catch (Exception e) {
+            LogService.error("发送邀请时发生异常: ", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * 查询给定玩家中已存在于结果集的 UUID
+     *
+     * @param sqlPrefix 以 "IN (" 结尾的查询，可在其前带一个工会ID参数
+     */
+    private Set<String> selectExistingUuids(Connection conn, String sqlPrefix, Integer guildId,
+                                            Set<String> playerUuids) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sqlPrefix + placeholders(playerUuids.size()) + ")")) {
+            int index = 1;
+            if (guildId != null) {
+                stmt.setInt(index++, guildId);
+            }
+            for (String playerUuid : playerUuids) {
+                stmt.setString(index++, playerUuid);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
+            }
+        }
+        return existing;
     }
 
     /**
@@ -1379,7 +1971,7 @@ public class GuildService {
      */
     public boolean sendInvitation(int guildId, UUID inviterUuid, String inviterName, UUID targetUuid, String targetName) {
         try {
-            return sendInvitationAsync(guildId, inviterUuid, inviterName, targetUuid, targetName).get();
+            return awaitSync("sendInvitation", sendInvitationAsync(guildId, inviterUuid, inviterName, targetUuid, targetName));
         } catch (Exception e) {
             LogService.error("发送邀请时发生异常: ", e);
             return false;
@@ -1390,42 +1982,47 @@ public class GuildService {
      * 处理邀请 (异步)
      */
     public CompletableFuture<Boolean> processInvitationAsync(UUID targetUuid, UUID inviterUuid, boolean accept) {
-        return getPendingInvitationAsync(targetUuid, inviterUuid).thenCompose(invitation -> {
+        return invalidateReadsOnComplete(getPendingInvitationAsync(targetUuid, inviterUuid).thenCompose(invitation -> {
             if (invitation == null) {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return CompletableFuture.supplyAsync(() -> {
+            // 邀请状态与成员写入在同一事务中完成，入会失败时邀请保持待处理，可以重新接受
+            return databaseManager.executeWriteAsync("processInvitation", conn -> {
                 try {
+                    if (accept && (findMemberByPlayer(conn, targetUuid) != null
+                            || !hasRoomFor(conn, invitation.getGuildId(), invitation.getTargetName(), GuildMember.Role.MEMBER))) {
+                        return false;
+                    }
+
                     String status = accept ? "ACCEPTED" : "DECLINED";
-                    String sql = "UPDATE guild_invites SET status = ? WHERE player_uuid = ? AND inviter_uuid = ? AND status = 'PENDING'";
+                    String sql = "UPDATE guild_invites SET status = ? WHERE guild_id = ? AND player_uuid = ? AND status = 'PENDING'";
 
-                    try (Connection conn = databaseManager.getConnection();
-                         PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                         stmt.setString(1, status);
-                        stmt.setString(2, targetUuid.toString());
-                        stmt.setString(3, inviterUuid.toString());
+                        stmt.setInt(2, invitation.getGuildId());
+                        stmt.setString(3, targetUuid.toString());
 
-                        int affectedRows = stmt.executeUpdate();
-                        if (affectedRows > 0) {
-                            LogService.debug("邀请处理成功: " + targetUuid + " -> " + status);
-                            return true;
+                        if (stmt.executeUpdate() == 0) {
+                            return false;
                         }
-                        return false;
                     }
+
+                    // 如果接受邀请，添加玩家到工会；插入失败会抛出异常并回滚邀请状态
+                    if (accept && !insertMember(conn, invitation.getGuildId(), targetUuid, invitation.getTargetName(), GuildMember.Role.MEMBER)) {
+                        throw new SQLException("接受邀请时未能写入成员记录: " + targetUuid);
+                    }
+
+                    LogService.debug(DebugCategory.DB, "邀请处理成功: {} -> {}", targetUuid, status);
+                    updateInvitationCache(cache -> cache.remove(targetUuid, invitation.getGuildId()));
+                    return true;
                 } catch (SQLException e) {
                     LogService.error("处理邀请时发生错误: ", e);
+                    throw e;
                 }
-                return false;
-            }).thenCompose(success -> {
-                if (success && accept) {
-                    // 如果接受邀请，添加玩家到工会
-                    return addGuildMemberAsync(invitation.getGuildId(), targetUuid, invitation.getTargetName(), GuildMember.Role.MEMBER);
-                }
-                return CompletableFuture.completedFuture(success);
-            });
-        });
+            }).exceptionally(throwable -> false);
+        }));
     }
 
     /**
@@ -1433,7 +2030,7 @@ public class GuildService {
      */
     public boolean processInvitation(UUID targetUuid, UUID inviterUuid, boolean accept) {
         try {
-            return processInvitationAsync(targetUuid, inviterUuid, accept).get();
+            return awaitSync("processInvitation", processInvitationAsync(targetUuid, inviterUuid, accept));
         } catch (Exception e) {
             LogService.error("处理邀请时发生异常: ", e);
             return false;
@@ -1444,7 +2041,11 @@ public class GuildService {
      * 获取待处理邀请 (异步)
      */
     public CompletableFuture<GuildInvitation> getPendingInvitationAsync(UUID targetUuid, UUID inviterUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        PendingInvitationCache invitationCache = plugin.getPendingInvitationCache();
+        if (invitationCache != null && invitationCache.isLoaded()) {
+            return CompletableFuture.completedFuture(invitationCache.find(targetUuid, inviterUuid));
+        }
+        return databaseManager.supplyAsync("getPendingInvitation", () -> {
             try {
                 String sql = "SELECT * FROM guild_invites WHERE player_uuid = ? AND inviter_uuid = ? AND status = 'PENDING' AND expires_at > ? ORDER BY created_at DESC LIMIT 1";
 
@@ -1453,7 +2054,7 @@ public class GuildService {
 
                     stmt.setString(1, targetUuid.toString());
                     stmt.setString(2, inviterUuid.toString());
-                    stmt.setString(3, nowString());
+                    stmt.setLong(3, nowMillis());
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
@@ -1473,7 +2074,7 @@ public class GuildService {
      */
     public GuildInvitation getPendingInvitation(UUID targetUuid, UUID inviterUuid) {
         try {
-            return getPendingInvitationAsync(targetUuid, inviterUuid).get();
+            return awaitSync("getPendingInvitation", getPendingInvitationAsync(targetUuid, inviterUuid));
         } catch (Exception e) {
             LogService.error("获取邀请时发生异常: ", e);
             return null;
@@ -1484,7 +2085,11 @@ public class GuildService {
      * 获取玩家的待处理邀请 (异步)
      */
     public CompletableFuture<GuildInvitation> getPendingInvitationAsync(UUID targetUuid, int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        PendingInvitationCache invitationCache = plugin.getPendingInvitationCache();
+        if (invitationCache != null && invitationCache.isLoaded()) {
+            return CompletableFuture.completedFuture(invitationCache.find(targetUuid, guildId));
+        }
+        return databaseManager.supplyAsync("getPendingInvitationForGuild", () -> {
             try {
                 String sql = "SELECT * FROM guild_invites WHERE player_uuid = ? AND guild_id = ? AND status = 'PENDING' AND expires_at > ? ORDER BY created_at DESC LIMIT 1";
 
@@ -1493,7 +2098,7 @@ public class GuildService {
 
                     stmt.setString(1, targetUuid.toString());
                     stmt.setInt(2, guildId);
-                    stmt.setString(3, nowString());
+                    stmt.setLong(3, nowMillis());
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
@@ -1513,7 +2118,7 @@ public class GuildService {
      */
     public GuildInvitation getPendingInvitation(UUID targetUuid, int guildId) {
         try {
-            return getPendingInvitationAsync(targetUuid, guildId).get();
+            return awaitSync("getPendingInvitation", getPendingInvitationAsync(targetUuid, guildId));
         } catch (Exception e) {
             LogService.error("获取邀请时发生异常: ", e);
             return null;
@@ -1523,7 +2128,7 @@ public class GuildService {
     /**
      * 从ResultSet创建GuildInvitation对象
      */
-    private GuildInvitation createGuildInvitationFromResultSet(ResultSet rs) throws SQLException {
+    static GuildInvitation createGuildInvitationFromResultSet(ResultSet rs) throws SQLException {
         GuildInvitation invitation = new GuildInvitation();
         invitation.setId(rs.getInt("id"));
         invitation.setGuildId(rs.getInt("guild_id"));
@@ -1532,8 +2137,8 @@ public class GuildService {
         invitation.setInviterUuid(UUID.fromString(rs.getString("inviter_uuid")));
         invitation.setInviterName(rs.getString("inviter_name"));
         invitation.setStatus(GuildInvitation.InvitationStatus.valueOf(rs.getString("status")));
-        invitation.setInvitedAt(parseTimestamp(rs, "created_at"));
-        invitation.setExpiresAt(parseTimestamp(rs, "expires_at"));
+        invitation.setInvitedAtMillis(readMillis(rs, "created_at"));
+        invitation.setExpiresAtMillis(readMillis(rs, "expires_at"));
         return invitation;
     }
 
@@ -1541,7 +2146,7 @@ public class GuildService {
      * 获取待处理申请 (异步)
      */
     public CompletableFuture<List<GuildApplication>> getPendingApplicationsAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getPendingApplications", () -> {
             List<GuildApplication> applications = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_applications WHERE guild_id = ? AND status = 'PENDING' ORDER BY created_at DESC";
@@ -1568,12 +2173,12 @@ public class GuildService {
      * 获取申请历史 (异步)
      */
     public CompletableFuture<List<GuildApplication>> getApplicationHistoryAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getApplicationHistory", () -> {
             List<GuildApplication> applications = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_applications WHERE guild_id = ? AND status != 'PENDING' ORDER BY created_at DESC";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
@@ -1595,7 +2200,7 @@ public class GuildService {
      * 获取工会成员 (异步) - 重载方法，接受guildId参数
      */
     public CompletableFuture<GuildMember> getGuildMemberAsync(int guildId, UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildMemberInGuild:" + guildId + ":" + playerUuid, GuildMember::copy, () -> databaseManager.supplyAsync("getGuildMemberInGuild", () -> {
             try {
                 String sql = "SELECT * FROM guild_members WHERE guild_id = ? AND player_uuid = ?";
 
@@ -1607,7 +2212,7 @@ public class GuildService {
 
                     try (ResultSet rs = stmt.executeQuery()) {
                         if (rs.next()) {
-                            return createGuildMemberFromResultSet(rs);
+                            return createGuildMemberFromResultSet(sql, rs);
                         }
                     }
                 }
@@ -1615,19 +2220,18 @@ public class GuildService {
                 LogService.error("获取工会成员时发生错误: ", e);
             }
             return null;
-        });
+        }));
     }
 
     /**
      * 更新工会描述 (异步)
      */
     public CompletableFuture<Boolean> updateGuildDescriptionAsync(int guildId, String description) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("updateGuildDescription", conn -> {
             try {
                 String sql = "UPDATE guilds SET description = ? WHERE id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setString(1, description);
                     stmt.setInt(2, guildId);
@@ -1637,9 +2241,9 @@ public class GuildService {
                 }
             } catch (SQLException e) {
                 LogService.error("更新工会描述时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false));
     }
 
     // ==================== 工会关系系统 ====================
@@ -1649,12 +2253,11 @@ public class GuildService {
      */
     public CompletableFuture<Boolean> createGuildRelationAsync(int guild1Id, int guild2Id, String guild1Name, String guild2Name,
                                                                GuildRelation.RelationType type, UUID initiatorUuid, String initiatorName) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("createGuildRelation", conn -> {
             try {
-                String sql = "INSERT INTO guild_relations (guild1_id, guild2_id, guild1_name, guild2_name, relation_type, initiator_uuid, initiator_name, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+                String sql = "INSERT INTO guild_relations (guild1_id, guild2_id, guild1_name, guild2_name, relation_type, initiator_uuid, initiator_name, expires_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
                     stmt.setInt(1, guild1Id);
                     stmt.setInt(2, guild2Id);
@@ -1663,48 +2266,79 @@ public class GuildService {
                     stmt.setString(5, type.name());
                     stmt.setString(6, initiatorUuid.toString());
                     stmt.setString(7, initiatorName);
-                    stmt.setString(8, plusDaysString(7));
+                    long expiresAt = plusDaysMillis(7);
+                    stmt.setLong(8, expiresAt);
+                    stmt.setLong(9, nowMillis());
+                    stmt.setLong(10, nowMillis());
 
                     int rowsAffected = stmt.executeUpdate();
-                    return rowsAffected > 0;
+                    if (rowsAffected > 0) {
+                        int relationId = 0;
+                        try (ResultSet rs = stmt.getGeneratedKeys()) {
+                            if (rs.next()) {
+                                relationId = rs.getInt(1);
+                            }
+                        }
+                        if (relationId > 0) {
+                            int scheduledId = relationId;
+                            scheduleExpiry(expiryService -> expiryService.scheduleRelation(scheduledId, expiresAt));
+                        }
+                        publishEvent(new RelationChangedEvent(guild1Id, guild2Id, relationId, type, GuildRelation.RelationStatus.PENDING, false));
+                        return true;
+                    }
+                    return false;
                 }
             } catch (SQLException e) {
                 LogService.error("创建工会关系时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false));
     }
 
     /**
      * 更新工会关系状态 (异步)
      */
     public CompletableFuture<Boolean> updateGuildRelationStatusAsync(int relationId, GuildRelation.RelationStatus status) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("updateGuildRelationStatus", conn -> {
             try {
-                String sql = "UPDATE guild_relations SET status = ?, updated_at = ? WHERE id = ?";
+                // 只有待处理的请求会过期，请求被接受或取消后清除过期时间
+                boolean pending = status == GuildRelation.RelationStatus.PENDING;
+                String sql = pending
+                        ? "UPDATE guild_relations SET status = ?, updated_at = ? WHERE id = ?"
+                        : "UPDATE guild_relations SET status = ?, updated_at = ?, expires_at = NULL WHERE id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setString(1, status.name());
-                    stmt.setString(2, nowString());
+                    stmt.setLong(2, nowMillis());
                     stmt.setInt(3, relationId);
 
                     int rowsAffected = stmt.executeUpdate();
-                    return rowsAffected > 0;
+                    if (rowsAffected > 0) {
+                        GuildRelation relation = findRelationById(conn, relationId);
+                        if (relation != null) {
+                            publishEvent(new RelationChangedEvent(relation.getGuild1Id(), relation.getGuild2Id(), relationId,
+                                    relation.getType(), status, false));
+                        }
+                        if (!pending) {
+                            scheduleExpiry(expiryService -> expiryService.cancelRelation(relationId));
+                        }
+                        return true;
+                    }
+                    return false;
                 }
             } catch (SQLException e) {
                 LogService.error("更新工会关系状态时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false));
     }
 
     /**
      * 获取工会关系 (异步)
      */
     public CompletableFuture<GuildRelation> getGuildRelationAsync(int guild1Id, int guild2Id) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getGuildRelation", () -> {
             try {
                 String sql = "SELECT * FROM guild_relations WHERE (guild1_id = ? AND guild2_id = ?) OR (guild1_id = ? AND guild2_id = ?)";
 
@@ -1733,7 +2367,7 @@ public class GuildService {
      * 获取工会的所有关系 (异步)
      */
     public CompletableFuture<List<GuildRelation>> getGuildRelationsAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return coalesce("getGuildRelations:" + guildId, relations -> copyAll(relations, GuildRelation::copy), () -> databaseManager.supplyAsync("getGuildRelations", () -> {
             List<GuildRelation> relations = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_relations WHERE guild1_id = ? OR guild2_id = ? ORDER BY created_at DESC";
@@ -1754,30 +2388,75 @@ public class GuildService {
                 LogService.error("获取工会关系列表时发生错误: ", e);
             }
             return relations;
-        });
+        })).thenApply(ArrayList::new);
+    }
+
+    /**
+     * 获取工会关系列表的紧凑只读表示 (异步)，返回的列表不可修改
+     */
+    public CompletableFuture<List<CompactRelation>> getGuildRelationsCompactAsync(int guildId) {
+        return coalesce("getGuildRelationsCompact:" + guildId, () -> databaseManager.supplyAsync("getGuildRelationsCompact", () -> {
+            try {
+                String sql = "SELECT * FROM guild_relations WHERE guild1_id = ? OR guild2_id = ? ORDER BY created_at DESC";
+
+                try (Connection conn = databaseManager.getReadConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    stmt.setInt(1, guildId);
+                    stmt.setInt(2, guildId);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return List.copyOf(COMPACT_RELATION_MAPPER.mapAll(sql, rs));
+                    }
+                }
+            } catch (SQLException e) {
+                LogService.error("获取工会关系列表时发生错误: ", e);
+            }
+            return List.<CompactRelation>of();
+        }));
     }
 
     /**
      * 删除工会关系 (异步)
      */
     public CompletableFuture<Boolean> deleteGuildRelationAsync(int relationId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("deleteGuildRelation", conn -> {
             try {
                 String sql = "DELETE FROM guild_relations WHERE id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+                    GuildRelation relation = findRelationById(conn, relationId);
                     stmt.setInt(1, relationId);
 
                     int rowsAffected = stmt.executeUpdate();
-                    return rowsAffected > 0;
+                    if (rowsAffected > 0) {
+                        if (relation != null) {
+                            publishEvent(new RelationChangedEvent(relation.getGuild1Id(), relation.getGuild2Id(), relationId,
+                                    relation.getType(), relation.getStatus(), true));
+                        }
+                        scheduleExpiry(expiryService -> expiryService.cancelRelation(relationId));
+                        return true;
+                    }
+                    return false;
                 }
             } catch (SQLException e) {
                 LogService.error("删除工会关系时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false));
+    }
+
+    /**
+     * 在已有连接上按ID查询工会关系（用于发布关系变更事件）
+     */
+    private GuildRelation findRelationById(Connection conn, int relationId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM guild_relations WHERE id = ?")) {
+            stmt.setInt(1, relationId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? createGuildRelationFromResultSet(rs) : null;
+            }
+        }
     }
 
     // ==================== 工会经济系统 ====================
@@ -1786,31 +2465,31 @@ public class GuildService {
      * 初始化工会经济 (异步)
      */
     public CompletableFuture<Boolean> initializeGuildEconomyAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.executeWriteAsync("initializeGuildEconomy", conn -> {
             try {
-                String sql = "INSERT INTO guild_economy (guild_id, balance, level, experience, max_experience, max_members) " +
-                        "VALUES (?, 0.0, 1, 0.0, 5000.0, 6)";
+                String sql = "INSERT INTO guild_economy (guild_id, balance, level, experience, max_experience, max_members, last_updated) " +
+                        "VALUES (?, 0.0, 1, 0.0, 5000.0, 6, ?)";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
+                    stmt.setLong(2, nowMillis());
 
                     int rowsAffected = stmt.executeUpdate();
                     return rowsAffected > 0;
                 }
             } catch (SQLException e) {
                 LogService.error("初始化工会经济时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false);
     }
 
     /**
      * 获取工会经济信息 (异步)
      */
     public CompletableFuture<GuildEconomy> getGuildEconomyAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getGuildEconomy", () -> {
             try {
                 String sql = "SELECT * FROM guild_economy WHERE guild_id = ?";
 
@@ -1836,19 +2515,18 @@ public class GuildService {
      * 更新工会经济 (异步)
      */
     public CompletableFuture<Boolean> updateGuildEconomyAsync(int guildId, double balance, int level, double experience, double maxExperience, int maxMembers) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.executeWriteAsync("updateGuildEconomy", conn -> {
             try {
                 String sql = "UPDATE guild_economy SET balance = ?, level = ?, experience = ?, max_experience = ?, max_members = ?, last_updated = ? WHERE guild_id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setDouble(1, balance);
                     stmt.setInt(2, level);
                     stmt.setDouble(3, experience);
                     stmt.setDouble(4, maxExperience);
                     stmt.setInt(5, maxMembers);
-                    stmt.setString(6, nowString());
+                    stmt.setLong(6, nowMillis());
                     stmt.setInt(7, guildId);
 
                     int rowsAffected = stmt.executeUpdate();
@@ -1856,9 +2534,9 @@ public class GuildService {
                 }
             } catch (SQLException e) {
                 LogService.error("更新工会经济时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false);
     }
 
     /**
@@ -1866,13 +2544,12 @@ public class GuildService {
      */
     public CompletableFuture<Boolean> addGuildContributionAsync(int guildId, UUID playerUuid, String playerName,
                                                                 double amount, GuildContribution.ContributionType type, String description) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.executeWriteAsync("addGuildContribution", conn -> {
             try {
-                String sql = "INSERT INTO guild_contributions (guild_id, player_uuid, player_name, amount, contribution_type, description) " +
-                        "VALUES (?, ?, ?, ?, ?, ?)";
+                String sql = "INSERT INTO guild_contributions (guild_id, player_uuid, player_name, amount, contribution_type, description, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
                     stmt.setString(2, playerUuid.toString());
@@ -1880,27 +2557,28 @@ public class GuildService {
                     stmt.setDouble(4, amount);
                     stmt.setString(5, type.name());
                     stmt.setString(6, description);
+                    stmt.setLong(7, nowMillis());
 
                     int rowsAffected = stmt.executeUpdate();
                     return rowsAffected > 0;
                 }
             } catch (SQLException e) {
                 LogService.error("添加工会贡献记录时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false);
     }
 
     /**
      * 获取工会贡献记录 (异步)
      */
     public CompletableFuture<List<GuildContribution>> getGuildContributionsAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getGuildContributions", () -> {
             List<GuildContribution> contributions = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_contributions WHERE guild_id = ? ORDER BY created_at DESC";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
@@ -1922,12 +2600,12 @@ public class GuildService {
      * 获取玩家贡献记录 (异步)
      */
     public CompletableFuture<List<GuildContribution>> getPlayerContributionsAsync(UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getPlayerContributions", () -> {
             List<GuildContribution> contributions = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_contributions WHERE player_uuid = ? ORDER BY created_at DESC";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setString(1, playerUuid.toString());
@@ -1958,17 +2636,41 @@ public class GuildService {
         relation.setStatus(GuildRelation.RelationStatus.valueOf(rs.getString("status")));
         relation.setInitiatorUuid(UUID.fromString(rs.getString("initiator_uuid")));
         relation.setInitiatorName(rs.getString("initiator_name"));
-        relation.setCreatedAt(parseTimestamp(rs, "created_at"));
-        relation.setUpdatedAt(parseTimestamp(rs, "updated_at"));
-
-        String expiresAt = rs.getString("expires_at");
-        if (expiresAt != null) {
-            relation.setExpiresAt(parseTimestamp(rs, "expires_at"));
-        }
+        relation.setCreatedAtMillis(readMillis(rs, "created_at"));
+        relation.setUpdatedAtMillis(readMillis(rs, "updated_at"));
+        relation.setExpiresAtMillis(readMillis(rs, "expires_at"));
 
         return relation;
     }
 
+    /**
+     * 绑定紧凑关系行映射器
+     */
+    private static RowMapper<CompactRelation> bindCompactRelationMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int guild1Id = columns.indexOf("guild1_id");
+        int guild2Id = columns.indexOf("guild2_id");
+        int guild1Name = columns.indexOf("guild1_name");
+        int guild2Name = columns.indexOf("guild2_name");
+        int relationType = columns.indexOf("relation_type");
+        int status = columns.indexOf("status");
+        int initiatorUuid = columns.indexOf("initiator_uuid");
+        int initiatorName = columns.indexOf("initiator_name");
+        int createdAt = columns.indexOf("created_at");
+        int updatedAt = columns.indexOf("updated_at");
+        int expiresAt = columns.indexOf("expires_at");
+
+        return rs -> {
+            UUID initiator = UUID.fromString(rs.getString(initiatorUuid));
+            return new CompactRelation(rs.getInt(id), rs.getInt(guild1Id), rs.getInt(guild2Id),
+                    rs.getString(guild1Name), rs.getString(guild2Name),
+                    GuildRelation.RelationType.valueOf(rs.getString(relationType)),
+                    GuildRelation.RelationStatus.valueOf(rs.getString(status)),
+                    initiator.getMostSignificantBits(), initiator.getLeastSignificantBits(), rs.getString(initiatorName),
+                    RowMapper.getMillis(rs, createdAt), RowMapper.getMillis(rs, updatedAt), RowMapper.getMillis(rs, expiresAt));
+        };
+    }
+
     private GuildEconomy createGuildEconomyFromResultSet(ResultSet rs) throws SQLException {
         GuildEconomy economy = new GuildEconomy();
         economy.setId(rs.getInt("id"));
@@ -1978,7 +2680,7 @@ public class GuildService {
         economy.setExperience(rs.getDouble("experience"));
         economy.setMaxExperience(rs.getDouble("max_experience"));
         economy.setMaxMembers(rs.getInt("max_members"));
-        economy.setLastUpdated(parseTimestamp(rs, "last_updated"));
+        economy.setLastUpdatedMillis(readMillis(rs, "last_updated"));
         return economy;
     }
 
@@ -1991,7 +2693,7 @@ public class GuildService {
         contribution.setAmount(rs.getDouble("amount"));
         contribution.setType(GuildContribution.ContributionType.valueOf(rs.getString("contribution_type")));
         contribution.setDescription(rs.getString("description"));
-        contribution.setCreatedAt(parseTimestamp(rs, "created_at"));
+        contribution.setCreatedAtMillis(readMillis(rs, "created_at"));
         return contribution;
     }
 
@@ -2001,30 +2703,28 @@ public class GuildService {
      * 更新工会余额 (异步)
      */
     public CompletableFuture<Boolean> updateGuildBalanceAsync(int guildId, double balance) {
-        return getGuildByIdAsync(guildId).thenCompose(guild -> {
+        return invalidateReadsOnComplete(getGuildByIdAsync(guildId).thenCompose(guild -> {
             if (guild == null) {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return CompletableFuture.supplyAsync(() -> {
+            return databaseManager.executeWriteAsync("updateGuildBalance", conn -> {
                 try {
                     String sql = "UPDATE guilds SET balance = ?, updated_at = ? WHERE id = ?";
 
-                    try (Connection conn = databaseManager.getConnection();
-                         PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                         stmt.setDouble(1, balance);
-                        stmt.setString(2, nowString());
+                        stmt.setLong(2, nowMillis());
                         stmt.setInt(3, guildId);
 
                         int affectedRows = stmt.executeUpdate();
                         if (affectedRows > 0) {
-                            LogService.debug("工会余额更新成功: " + guild.getName() + " (ID: " + guildId + ") 新余额: " + balance);
+                            LogService.debug(DebugCategory.ECONOMY, "工会余额更新成功: {} (ID: {}) 新余额: {}", guild.getName(), guildId, balance);
+                            publishEvent(new BalanceChangedEvent(guildId, guild.getBalance(), balance));
 
-                            // 异步检查是否需要自动升级，不阻塞当前操作
-                            CompletableFuture.runAsync(() -> {
-                                checkAndUpgradeGuildLevel(guildId, balance);
-                            });
+                            // 提交后异步检查是否需要自动升级，不阻塞当前操作
+                            databaseManager.afterCommit(() -> checkAndUpgradeGuildLevel(guildId, balance));
 
                             // 记录资金变更日志
                             double oldBalance = guild.getBalance();
@@ -2035,7 +2735,7 @@ public class GuildService {
                                 String details = "变更金额: " + (change > 0 ? "+" : "") + change + " 金币, 新余额: " + balance + " 金币";
 
                                 // 这里需要获取操作者信息，暂时使用系统记录
-                                logGuildActionAsync(guildId, guild.getName(), "SYSTEM", "系统",
+                                insertGuildLog(conn, guildId, guild.getName(), "SYSTEM", "系统",
                                         logType, description, details);
                             }
 
@@ -2044,22 +2744,22 @@ public class GuildService {
                     }
                 } catch (SQLException e) {
                     LogService.error("更新工会余额时发生错误: ", e);
+                    throw e;
                 }
                 return false;
-            });
-        });
+            }).exceptionally(throwable -> false);
+        }));
     }
 
     /**
      * 更新工会等级 (异步)
      */
     public CompletableFuture<Boolean> updateGuildLevelAsync(int guildId, int level) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("updateGuildLevel", conn -> {
             try {
                 String sql = "UPDATE guilds SET level = ? WHERE id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, level);
                     stmt.setInt(2, guildId);
@@ -2069,21 +2769,20 @@ public class GuildService {
                 }
             } catch (SQLException e) {
                 LogService.error("更新工会等级时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false));
     }
 
     /**
      * 更新工会最大成员数 (异步)
      */
     public CompletableFuture<Boolean> updateGuildMaxMembersAsync(int guildId, int maxMembers) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("updateGuildMaxMembers", conn -> {
             try {
                 String sql = "UPDATE guilds SET max_members = ? WHERE id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, maxMembers);
                     stmt.setInt(2, guildId);
@@ -2093,26 +2792,25 @@ public class GuildService {
                 }
             } catch (SQLException e) {
                 LogService.error("更新工会最大成员数时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false));
     }
 
     /**
      * 更新工会冻结状态 (异步)
      */
     public CompletableFuture<Boolean> updateGuildFrozenStatusAsync(int guildId, boolean frozen) {
-        return getGuildByIdAsync(guildId).thenCompose(guild -> {
+        return invalidateReadsOnComplete(getGuildByIdAsync(guildId).thenCompose(guild -> {
             if (guild == null) {
                 return CompletableFuture.completedFuture(false);
             }
 
-            return CompletableFuture.supplyAsync(() -> {
+            return databaseManager.executeWriteAsync("updateGuildFrozenStatus", conn -> {
                 try {
                     String sql = "UPDATE guilds SET frozen = ? WHERE id = ?";
 
-                    try (Connection conn = databaseManager.getConnection();
-                         PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                         stmt.setBoolean(1, frozen);
                         stmt.setInt(2, guildId);
@@ -2123,7 +2821,7 @@ public class GuildService {
                             GuildLog.LogType logType = frozen ? GuildLog.LogType.GUILD_FROZEN : GuildLog.LogType.GUILD_UNFROZEN;
                             String description = frozen ? "工会冻结" : "工会解冻";
 
-                            logGuildActionAsync(guildId, guild.getName(), "SYSTEM", "系统",
+                            insertGuildLog(conn, guildId, guild.getName(), "SYSTEM", "系统",
                                     logType, description, "操作: " + (frozen ? "冻结" : "解冻"));
 
                             return true;
@@ -2131,10 +2829,11 @@ public class GuildService {
                     }
                 } catch (SQLException e) {
                     LogService.error("更新工会冻结状态时发生错误: ", e);
+                    throw e;
                 }
                 return false;
-            });
-        });
+            }).exceptionally(throwable -> false);
+        }));
     }
 
     /**
@@ -2142,20 +2841,19 @@ public class GuildService {
      * 仅用于建会后插入会长，以避免额外读库造成的连接争用。
      */
     private CompletableFuture<Boolean> addGuildMemberDirectAsync(int guildId, UUID playerUuid, String playerName, GuildMember.Role role) {
-        return CompletableFuture.supplyAsync(() -> {
+        return invalidateReadsOnComplete(databaseManager.executeWriteAsync("addGuildMemberDirect", conn -> {
             try {
                 String sql = "INSERT INTO guild_members (guild_id, player_uuid, player_name, role, joined_at) VALUES (?, ?, ?, ?, ?)";
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                     stmt.setInt(1, guildId);
                     stmt.setString(2, playerUuid.toString());
                     stmt.setString(3, playerName);
                     stmt.setString(4, role.name());
-                    stmt.setString(5, nowString());
+                    stmt.setLong(5, nowMillis());
                     int affectedRows = stmt.executeUpdate();
                     if (affectedRows > 0) {
                         try {
-                            plugin.getPermissionManager().updatePlayerPermissions(playerUuid);
+                            databaseManager.afterCommit(() -> plugin.getPermissionManager().updatePlayerPermissions(playerUuid));
                         } catch (Exception ignored) {
                         }
                         return true;
@@ -2163,9 +2861,10 @@ public class GuildService {
                 }
             } catch (SQLException e) {
                 LogService.error("直接添加工会成员时发生错误: ", e);
+                throw e;
             }
             return false;
-        });
+        }).exceptionally(throwable -> false));
     }
 
     /**
@@ -2185,24 +2884,23 @@ public class GuildService {
                 int newLevel = currentLevel + 1;
                 int newMaxMembers = getMaxMembersForLevel(newLevel);
 
-                CompletableFuture.supplyAsync(() -> {
+                databaseManager.executeWriteAsync("checkAndUpgradeGuildLevel", conn -> {
                     try {
                         String sql = "UPDATE guilds SET level = ?, max_members = ?, updated_at = ? WHERE id = ?";
 
-                        try (Connection conn = databaseManager.getConnection();
-                             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                             stmt.setInt(1, newLevel);
                             stmt.setInt(2, newMaxMembers);
-                            stmt.setString(3, nowString());
+                            stmt.setLong(3, nowMillis());
                             stmt.setInt(4, guildId);
 
                             int affectedRows = stmt.executeUpdate();
                             if (affectedRows > 0) {
-                                LogService.debug("工会自动升级成功: " + guild.getName() + " (ID: " + guildId + ") 等级: " + currentLevel + " -> " + newLevel);
+                                LogService.debug(DebugCategory.ECONOMY, "工会自动升级成功: {} (ID: {}) 等级: {} -> {}", guild.getName(), guildId, currentLevel, newLevel);
 
                                 // 记录升级日志
-                                logGuildActionAsync(guildId, guild.getName(), "SYSTEM", "系统",
+                                insertGuildLog(conn, guildId, guild.getName(), "SYSTEM", "系统",
                                         GuildLog.LogType.GUILD_LEVEL_UP, "工会升级", "新等级: " + newLevel + ", 新最大成员数: " + newMaxMembers);
 
                                 return true;
@@ -2210,9 +2908,10 @@ public class GuildService {
                         }
                     } catch (SQLException e) {
                         LogService.error("自动升级工会时发生错误: ", e);
+                        throw e;
                     }
                     return false;
-                });
+                }).exceptionally(throwable -> false);
             }
         }).exceptionally(throwable -> {
             LogService.severe("检查工会升级时发生错误: " + throwable.getMessage());
@@ -2310,30 +3009,49 @@ public class GuildService {
     public CompletableFuture<Boolean> logGuildActionAsync(int guildId, String guildName, String playerUuid,
                                                           String playerName, GuildLog.LogType logType,
                                                           String description, String details) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.executeWriteAsync("logGuildAction", conn -> {
             try {
-                String sql = "INSERT INTO guild_logs (guild_id, guild_name, player_uuid, player_name, log_type, description, details, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-                    stmt.setInt(1, guildId);
-                    stmt.setString(2, guildName);
-                    stmt.setString(3, playerUuid);
-                    stmt.setString(4, playerName);
-                    stmt.setString(5, logType.name());
-                    stmt.setString(6, description);
-                    stmt.setString(7, details);
-                    stmt.setString(8, nowString());
-
-                    int affectedRows = stmt.executeUpdate();
-                    return affectedRows > 0;
-                }
+                return insertGuildLog(conn, guildId, guildName, playerUuid, playerName, logType, description, details);
             } catch (SQLException e) {
                 LogService.error("记录工会日志时发生错误: ", e);
-                return false;
+                throw e;
             }
-        });
+        }).exceptionally(throwable -> false);
+    }
+
+    /**
+     * 在当前写事务中记录工会日志，随事务一起提交或回滚
+     */
+    private boolean insertGuildLog(Connection conn, int guildId, String guildName, String playerUuid, String playerName,
+                                   GuildLog.LogType logType, String description, String details) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LOG_SQL)) {
+            stmt.setInt(1, guildId);
+            stmt.setString(2, guildName);
+            stmt.setString(3, playerUuid);
+            stmt.setString(4, playerName);
+            stmt.setString(5, logType.name());
+            stmt.setString(6, description);
+            stmt.setString(7, details);
+            stmt.setLong(8, nowMillis());
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * 在当前写事务中记录工会日志，工会名称在同一事务中读取
+     */
+    private boolean insertGuildLog(Connection conn, int guildId, String playerUuid, String playerName,
+                                   GuildLog.LogType logType, String description, String details) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LOG_FOR_GUILD_SQL)) {
+            stmt.setString(1, playerUuid);
+            stmt.setString(2, playerName);
+            stmt.setString(3, logType.name());
+            stmt.setString(4, description);
+            stmt.setString(5, details);
+            stmt.setLong(6, nowMillis());
+            stmt.setInt(7, guildId);
+            return stmt.executeUpdate() > 0;
+        }
     }
 
     /**
@@ -2342,7 +3060,7 @@ public class GuildService {
     public boolean logGuildAction(int guildId, String guildName, String playerUuid, String playerName,
                                   GuildLog.LogType logType, String description, String details) {
         try {
-            return logGuildActionAsync(guildId, guildName, playerUuid, playerName, logType, description, details).get();
+            return awaitSync("logGuildAction", logGuildActionAsync(guildId, guildName, playerUuid, playerName, logType, description, details));
         } catch (Exception e) {
             LogService.error("记录工会日志时发生异常: ", e);
             return false;
@@ -2353,12 +3071,12 @@ public class GuildService {
      * 获取工会日志列表 (异步)
      */
     public CompletableFuture<List<GuildLog>> getGuildLogsAsync(int guildId, int limit, int offset) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getGuildLogs", () -> {
             List<GuildLog> logs = new ArrayList<>();
             try {
                 String sql = "SELECT * FROM guild_logs WHERE guild_id = ? ORDER BY created_at DESC LIMIT ? OFFSET ?";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
@@ -2366,10 +3084,7 @@ public class GuildService {
                     stmt.setInt(3, offset);
 
                     try (ResultSet rs = stmt.executeQuery()) {
-                        while (rs.next()) {
-                            GuildLog log = createGuildLogFromResultSet(rs);
-                            logs.add(log);
-                        }
+                        logs.addAll(LOG_MAPPER.mapAll(sql, rs));
                     }
                 }
             } catch (SQLException e) {
@@ -2384,22 +3099,49 @@ public class GuildService {
      */
     public List<GuildLog> getGuildLogs(int guildId, int limit, int offset) {
         try {
-            return getGuildLogsAsync(guildId, limit, offset).get();
+            return awaitSync("getGuildLogs", getGuildLogsAsync(guildId, limit, offset));
         } catch (Exception e) {
             LogService.error("获取工会日志时发生异常: ", e);
             return new ArrayList<>();
         }
     }
 
+    /**
+     * 获取工会日志列表的紧凑只读表示 (异步)，不读取每行重复的工会名，返回的列表不可修改
+     */
+    public CompletableFuture<List<CompactLog>> getGuildLogsCompactAsync(int guildId, int limit, int offset) {
+        return databaseManager.supplyAsync("getGuildLogsCompact", () -> {
+            try {
+                String sql = "SELECT id, guild_id, player_uuid, player_name, log_type, description, details, created_at "
+                        + "FROM guild_logs WHERE guild_id = ? ORDER BY created_at DESC LIMIT ? OFFSET ?";
+
+                try (Connection conn = databaseManager.getReadConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    stmt.setInt(1, guildId);
+                    stmt.setInt(2, limit);
+                    stmt.setInt(3, offset);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return List.copyOf(COMPACT_LOG_MAPPER.mapAll(sql, rs));
+                    }
+                }
+            } catch (SQLException e) {
+                LogService.error("获取工会日志时发生错误: ", e);
+            }
+            return List.<CompactLog>of();
+        });
+    }
+
     /**
      * 获取工会日志总数 (异步)
      */
     public CompletableFuture<Integer> getGuildLogsCountAsync(int guildId) {
-        return CompletableFuture.supplyAsync(() -> {
+        return databaseManager.supplyAsync("getGuildLogsCount", () -> {
             try {
                 String sql = "SELECT COUNT(*) FROM guild_logs WHERE guild_id = ?";
 
-                try (Connection conn = databaseManager.getConnection();
+                try (Connection conn = databaseManager.getReadConnection();
                      PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                     stmt.setInt(1, guildId);
@@ -2422,7 +3164,7 @@ public class GuildService {
      */
     public int getGuildLogsCount(int guildId) {
         try {
-            return getGuildLogsCountAsync(guildId).get();
+            return awaitSync("getGuildLogsCount", getGuildLogsCountAsync(guildId));
         } catch (Exception e) {
             LogService.error("获取工会日志总数时发生异常: ", e);
             return 0;
@@ -2432,58 +3174,62 @@ public class GuildService {
     /**
      * 从ResultSet创建GuildLog对象
      */
-    private GuildLog createGuildLogFromResultSet(ResultSet rs) throws SQLException {
-        GuildLog log = new GuildLog();
-        log.setId(rs.getInt("id"));
-        log.setGuildId(rs.getInt("guild_id"));
-        log.setGuildName(rs.getString("guild_name"));
-        log.setPlayerUuid(rs.getString("player_uuid"));
-        log.setPlayerName(rs.getString("player_name"));
-        log.setLogType(GuildLog.LogType.valueOf(rs.getString("log_type")));
-        log.setDescription(rs.getString("description"));
-        log.setDetails(rs.getString("details"));
-
-        String createdAtStr = rs.getString("created_at");
-        if (createdAtStr != null) {
-            try {
-                if (plugin.getDatabaseManager().getDatabaseType() == DatabaseManager.DatabaseType.SQLITE) {
-                    log.setCreatedAt(LocalDateTime.parse(createdAtStr, com.guild.core.time.TimeProvider.FULL_FORMATTER));
-                } else {
-                    log.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                }
-            } catch (Exception e) {
-                LogService.error("解析日志创建时间时发生错误: ", e);
-            }
-        }
+    private GuildLog createGuildLogFromResultSet(String sql, ResultSet rs) throws SQLException {
+        return LOG_MAPPER.mapRow(sql, rs);
+    }
 
-        return log;
+    /**
+     * 绑定日志行映射器
+     */
+    private static RowMapper<GuildLog> bindLogMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int guildId = columns.indexOf("guild_id");
+        int guildName = columns.indexOf("guild_name");
+        int playerUuid = columns.indexOf("player_uuid");
+        int playerName = columns.indexOf("player_name");
+        int logType = columns.indexOf("log_type");
+        int description = columns.indexOf("description");
+        int details = columns.indexOf("details");
+        int createdAt = columns.indexOf("created_at");
+
+        return rs -> {
+            GuildLog log = new GuildLog();
+            log.setId(rs.getInt(id));
+            log.setGuildId(rs.getInt(guildId));
+            log.setGuildName(rs.getString(guildName));
+            log.setPlayerUuid(rs.getString(playerUuid));
+            log.setPlayerName(rs.getString(playerName));
+            log.setLogType(GuildLog.LogType.valueOf(rs.getString(logType)));
+            log.setDescription(rs.getString(description));
+            log.setDetails(rs.getString(details));
+            log.setCreatedAtMillis(RowMapper.getMillis(rs, createdAt));
+            return log;
+        };
     }
 
     /**
-     * 清理旧日志 (异步)
+     * 绑定紧凑日志行映射器
      */
-    public CompletableFuture<Integer> cleanOldLogsAsync(int daysToKeep) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // 统一使用参数绑定的阈值时间（字符串），避免数据库侧时区差异
-                String sql = "DELETE FROM guild_logs WHERE created_at < ?";
+    private static RowMapper<CompactLog> bindCompactLogMapper(ColumnLayout columns) {
+        int id = columns.indexOf("id");
+        int guildId = columns.indexOf("guild_id");
+        int playerUuid = columns.indexOf("player_uuid");
+        int playerName = columns.indexOf("player_name");
+        int logType = columns.indexOf("log_type");
+        int description = columns.indexOf("description");
+        int details = columns.indexOf("details");
+        int createdAt = columns.indexOf("created_at");
 
-                try (Connection conn = databaseManager.getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return rs -> CompactLog.of(rs.getInt(id), rs.getInt(guildId), rs.getString(playerUuid), rs.getString(playerName),
+                GuildLog.LogType.valueOf(rs.getString(logType)), rs.getString(description), rs.getString(details),
+                RowMapper.getMillis(rs, createdAt));
+    }
 
-                    // 计算阈值字符串：当前系统时间减去 daysToKeep 天，格式 yyyy-MM-dd HH:mm:ss
-                    String threshold = com.guild.core.time.TimeProvider.nowLocalDateTime().minusDays(daysToKeep)
-                            .format(com.guild.core.time.TimeProvider.FULL_FORMATTER);
-                    stmt.setString(1, threshold);
-                    int affectedRows = stmt.executeUpdate();
-                    LogService.debug("清理了 " + affectedRows + " 条旧日志记录");
-                    return affectedRows;
-                }
-            } catch (SQLException e) {
-                LogService.error("清理旧日志时发生错误: ", e);
-                return 0;
-            }
-        });
+    /**
+     * 清理旧日志，按日志保留配置分批删除并归档 (异步)
+     */
+    public CompletableFuture<Integer> cleanOldLogsAsync(int daysToKeep) {
+        return plugin.getGuildLogRetentionService().pruneAsync(daysToKeep);
     }
 
     /**
@@ -2491,7 +3237,7 @@ public class GuildService {
      */
     public int cleanOldLogs(int daysToKeep) {
         try {
-            return cleanOldLogsAsync(daysToKeep).get();
+            return awaitSync("cleanOldLogs", cleanOldLogsAsync(daysToKeep));
         } catch (Exception e) {
             LogService.error("清理旧日志时发生异常: ", e);
             return 0;
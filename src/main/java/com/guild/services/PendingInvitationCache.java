@@ -0,0 +1,165 @@
+package com.guild.services;
+
+import com.guild.GuildPlugin;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.events.EventBus;
+import com.guild.core.events.GuildDeletedEvent;
+import com.guild.core.time.TimeProvider;
+import com.guild.core.utils.CompatibleScheduler;
+import com.guild.models.GuildInvitation;
+import com.guild.util.LogService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 待处理邀请缓存 - 按被邀请玩家保存未过期的 PENDING 邀请（每个工会一条）
+ * <p>
+ * 启动时从数据库加载，之后由 {@link GuildService} 在邀请写入或处理的事务提交后更新；
+ * 条目过了 expires_at 即视为不存在，并由每分钟一次的清理任务移除。加载完成前查询回退到数据库。
+ */
+public class PendingInvitationCache {
+
+    private static final long SWEEP_INTERVAL_SECONDS = 60L;
+
+    private final GuildPlugin plugin;
+    private final DatabaseManager databaseManager;
+    // 被邀请玩家 -> (工会ID -> 邀请)，内层 Map 只整体替换
+    private final Map<UUID, Map<Integer, GuildInvitation>> invitations = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public PendingInvitationCache(GuildPlugin plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+
+        EventBus eventBus = plugin.getEventBus();
+        if (eventBus != null) {
+            eventBus.subscribe(GuildDeletedEvent.class, event -> removeGuild(event.guildId()));
+        }
+    }
+
+    /**
+     * 加载未过期的待处理邀请并启动清理任务
+     */
+    public void start() {
+        int count = reload();
+        CompatibleScheduler.runTaskTimerAsync(plugin, this::purgeExpired, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        LogService.info("待处理邀请缓存已加载，共 " + count + " 条");
+    }
+
+    /**
+     * 从数据库重新加载未过期的待处理邀请，返回加载的条数（启动或从备份恢复数据后调用）
+     */
+    public int reload() {
+        loaded = false;
+        invitations.clear();
+        int count = 0;
+        String sql = "SELECT * FROM guild_invites WHERE status = 'PENDING' AND expires_at > ?";
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, TimeProvider.nowMillis());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    put(GuildService.createGuildInvitationFromResultSet(rs));
+                    count++;
+                }
+            }
+            loaded = true;
+        } catch (SQLException e) {
+            LogService.error("加载待处理邀请时发生错误，邀请查询将直接访问数据库: ", e);
+        }
+        return count;
+    }
+
+    public void stop() {
+        loaded = false;
+        invitations.clear();
+    }
+
+    /**
+     * 缓存是否完整（未加载成功时调用方应查询数据库）
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 登记或替换邀请（同一玩家同一工会只保留一条）
+     */
+    public void put(GuildInvitation invitation) {
+        invitations.compute(invitation.getTargetUuid(), (target, current) -> {
+            Map<Integer, GuildInvitation> updated = current != null ? new HashMap<>(current) : new HashMap<>();
+            updated.put(invitation.getGuildId(), invitation);
+            return Map.copyOf(updated);
+        });
+    }
+
+    /**
+     * 按邀请者查找玩家的待处理邀请，过期或不存在时返回 null
+     */
+    public GuildInvitation find(UUID targetUuid, UUID inviterUuid) {
+        Map<Integer, GuildInvitation> byGuild = invitations.get(targetUuid);
+        if (byGuild == null) {
+            return null;
+        }
+        long now = TimeProvider.nowMillis();
+        GuildInvitation latest = null;
+        for (GuildInvitation invitation : byGuild.values()) {
+            if (invitation.getInviterUuid().equals(inviterUuid) && invitation.getExpiresAtMillis() > now
+                    && (latest == null || invitation.getInvitedAtMillis() > latest.getInvitedAtMillis())) {
+                latest = invitation;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * 查找玩家在指定工会的待处理邀请，过期或不存在时返回 null
+     */
+    public GuildInvitation find(UUID targetUuid, int guildId) {
+        Map<Integer, GuildInvitation> byGuild = invitations.get(targetUuid);
+        GuildInvitation invitation = byGuild != null ? byGuild.get(guildId) : null;
+        return invitation != null && invitation.getExpiresAtMillis() > TimeProvider.nowMillis() ? invitation : null;
+    }
+
+    /**
+     * 邀请被接受或拒绝后移除
+     */
+    public void remove(UUID targetUuid, int guildId) {
+        invitations.computeIfPresent(targetUuid, (target, current) -> {
+            if (!current.containsKey(guildId)) {
+                return current;
+            }
+            Map<Integer, GuildInvitation> updated = new HashMap<>(current);
+            updated.remove(guildId);
+            return updated.isEmpty() ? null : Map.copyOf(updated);
+        });
+    }
+
+    private void removeGuild(int guildId) {
+        for (UUID targetUuid : invitations.keySet()) {
+            remove(targetUuid, guildId);
+        }
+    }
+
+    private void purgeExpired() {
+        long now = TimeProvider.nowMillis();
+        for (UUID targetUuid : invitations.keySet()) {
+            invitations.computeIfPresent(targetUuid, (target, current) -> {
+                Map<Integer, GuildInvitation> updated = new HashMap<>(current);
+                updated.values().removeIf(invitation -> invitation.getExpiresAtMillis() <= now);
+                if (updated.size() == current.size()) {
+                    return current;
+                }
+                return updated.isEmpty() ? null : Map.copyOf(updated);
+            });
+        }
+    }
+}
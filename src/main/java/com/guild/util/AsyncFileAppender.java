@@ -0,0 +1,221 @@
+package com.guild.util;
+
+import com.guild.core.time.TimeProvider;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步文件日志 - 调用线程只把日志放入有界缓冲区，由单个后台线程批量写入文件
+ * <p>
+ * 缓冲区满时直接丢弃并计数，不阻塞调用线程；文件超过大小上限时轮转为 guild.log.1、guild.log.2 ...，
+ * 超出保留数量的旧文件被删除。
+ */
+public class AsyncFileAppender {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final int BATCH_SIZE = 256;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final ArrayBlockingQueue<Entry> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // 以下字段只由写线程访问
+    private FileChannel channel;
+    private long fileSize;
+    private long reportedDropped;
+
+    /**
+     * @param file     日志文件
+     * @param maxBytes 单个文件大小上限（字节），不大于 0 时不轮转
+     * @param maxFiles 保留的文件数量（含当前文件）
+     * @param capacity 缓冲区容量（条）
+     */
+    public AsyncFileAppender(Path file, long maxBytes, int maxFiles, int capacity) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        openChannel();
+
+        writer = new Thread(this::drainLoop, "Guild-Log-Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 追加一条日志（不阻塞，缓冲区满或已关闭时丢弃）
+     */
+    public void append(String level, String message, Throwable throwable) {
+        if (!running || !buffer.offer(new Entry(TimeProvider.nowMillis(), level, Thread.currentThread().getName(), message, throwable))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 因缓冲区满而丢弃的日志条数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 停止接收新日志，等待写线程写完缓冲区中的剩余日志并关闭文件
+     */
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (running || !buffer.isEmpty()) {
+                Entry first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+                try {
+                    for (Entry entry : batch) {
+                        write(format(entry));
+                    }
+                    reportDropped();
+                    flush();
+                } catch (IOException e) {
+                    // 写入失败时丢弃本批日志，下一批继续尝试
+                    writeBuffer.clear();
+                    System.err.println("[Guild] 写入日志文件失败: " + e.getMessage());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                flush();
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭阶段无法再记录
+            }
+        }
+    }
+
+    private void reportDropped() throws IOException {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            write(TIME_FORMAT.format(Instant.ofEpochMilli(TimeProvider.nowMillis())) + " [WARN] [Guild-Log-Writer] 日志缓冲区已满，丢弃了 "
+                    + (total - reportedDropped) + " 条日志" + System.lineSeparator());
+            reportedDropped = total;
+        }
+    }
+
+    private void write(String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        if (maxBytes > 0 && fileSize + writeBuffer.position() + bytes.length > maxBytes && fileSize + writeBuffer.position() > 0) {
+            rotate();
+        }
+        if (bytes.length > writeBuffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > writeBuffer.capacity()) {
+            ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining()) {
+                fileSize += channel.write(large);
+            }
+            return;
+        }
+        writeBuffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            fileSize += channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * guild.log.(n-1) 被删除，其余依次后移一位，当前文件改名为 guild.log.1
+     */
+    private void rotate() throws IOException {
+        flush();
+        channel.close();
+        if (maxFiles > 1) {
+            Files.deleteIfExists(archive(maxFiles - 1));
+        }
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            Path source = archive(i);
+            if (Files.exists(source)) {
+                Files.move(source, archive(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 1) {
+            Files.move(file, archive(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        openChannel();
+    }
+
+    private Path archive(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private static String format(Entry entry) {
+        String message = String.valueOf(entry.message);
+        StringBuilder line = new StringBuilder(64 + message.length())
+                .append(TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestamp)))
+                .append(" [").append(entry.level).append("] [").append(entry.thread).append("] ")
+                .append(message)
+                .append(System.lineSeparator());
+        if (entry.throwable != null) {
+            StringWriter stackTrace = new StringWriter();
+            entry.throwable.printStackTrace(new PrintWriter(stackTrace));
+            line.append(stackTrace);
+        }
+        return line.toString();
+    }
+
+    private record Entry(long timestamp, String level, String thread, String message, Throwable throwable) {
+    }
+}
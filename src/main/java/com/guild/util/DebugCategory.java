@@ -0,0 +1,25 @@
+package com.guild.util;
+
+/**
+ * 调试日志分类 - 对应 config.yml 中 logging.debug-categories 下的开关
+ */
+public enum DebugCategory {
+    /** 数据库读写与后台数据任务 */
+    DB("db"),
+    /** GUI 打开、点击与输入模式 */
+    GUI("gui"),
+    /** 工会资金与升级 */
+    ECONOMY("economy"),
+    /** PlaceholderAPI 占位符解析 */
+    PLACEHOLDER("placeholder");
+
+    private final String configKey;
+
+    DebugCategory(String configKey) {
+        this.configKey = configKey;
+    }
+
+    public String getConfigKey() {
+        return configKey;
+    }
+}
@@ -30,6 +30,21 @@ public final class InviteMessageUtils {
         return ColorUtils.colorize(template.replace("{player}", playerName));
     }
 
+    public static String formatBulkInviteSent(GuildPlugin plugin, int count) {
+        String template = plugin.getConfigManager().getMessagesConfig().getString("invite.bulk-sent", "&a已向 {count} 名玩家发送工会邀请！");
+        return ColorUtils.colorize(template.replace("{count}", String.valueOf(count)));
+    }
+
+    public static String formatBulkInviteSkipped(GuildPlugin plugin, int count) {
+        String template = plugin.getConfigManager().getMessagesConfig().getString("invite.bulk-skipped", "&e{count} 名玩家已加入其他工会，未发送邀请");
+        return ColorUtils.colorize(template.replace("{count}", String.valueOf(count)));
+    }
+
+    public static String formatBulkInviteTooMany(GuildPlugin plugin, int max, int count) {
+        String template = plugin.getConfigManager().getMessagesConfig().getString("invite.bulk-too-many", "&c一次最多邀请 {max} 名玩家，当前为 {count} 名");
+        return ColorUtils.colorize(template.replace("{max}", String.valueOf(max)).replace("{count}", String.valueOf(count)));
+    }
+
     public static String formatInviteTitle(GuildPlugin plugin) {
         return ColorUtils.colorize(plugin.getConfigManager().getMessagesConfig().getString("invite.title", "&6=== 工会邀请 ==="));
     }
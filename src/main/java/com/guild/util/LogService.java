@@ -1,12 +1,35 @@
 package com.guild.util;
 
 import com.guild.GuildPlugin;
+import com.guild.core.performance.OperationTimer;
+import org.bukkit.configuration.file.FileConfiguration;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class LogService {
+    private static final String[] FILE_LEVELS = {"DEBUG", "INFO", "WARN", "ERROR"};
+    private static final int DEBUG = 0;
+    private static final int INFO = 1;
+    private static final int WARN = 2;
+    private static final int ERROR = 3;
+    // 限流记录的错误种类上限，超出时清空重新计数
+    private static final int MAX_TRACKED_ERRORS = 1024;
+
     private static GuildPlugin plugin;
     private static boolean debugEnabled = false;
+    private static volatile AsyncFileAppender fileAppender;
+    private static volatile int fileLevel = INFO;
+    private static volatile Set<DebugCategory> debugCategories = EnumSet.allOf(DebugCategory.class);
+    private static volatile long errorWindowMillis = 60_000;
+    private static final Map<String, ErrorWindow> errorWindows = new ConcurrentHashMap<>();
 
     public static void init(GuildPlugin pluginInstance) {
         if (pluginInstance == null) {
@@ -15,6 +38,73 @@ public class LogService {
         plugin = pluginInstance;
     }
 
+    /**
+     * 按 logging 配置启用（或重新打开）异步文件日志，重载配置时可重复调用
+     */
+    public static synchronized void configure(FileConfiguration config) {
+        Set<DebugCategory> categories = EnumSet.noneOf(DebugCategory.class);
+        for (DebugCategory category : DebugCategory.values()) {
+            if (config.getBoolean("logging.debug-categories." + category.getConfigKey(), true)) {
+                categories.add(category);
+            }
+        }
+        debugCategories = categories;
+        errorWindowMillis = Math.max(0, config.getLong("logging.error-rate-limit-seconds", 60)) * 1000;
+        errorWindows.clear();
+
+        closeFileAppender();
+        if (!config.getBoolean("logging.enabled", true) || !config.getBoolean("logging.file-logging", true)) {
+            return;
+        }
+
+        String level = config.getString("logging.level", "INFO").toUpperCase(Locale.ROOT);
+        fileLevel = INFO;
+        for (int i = 0; i < FILE_LEVELS.length; i++) {
+            if (FILE_LEVELS[i].equals(level)) {
+                fileLevel = i;
+            }
+        }
+
+        Path logFile = plugin.getDataFolder().toPath().resolve(config.getString("logging.log-file", "logs/guild.log"));
+        long maxBytes = config.getLong("logging.max-file-size", 10) * 1024 * 1024;
+        try {
+            fileAppender = new AsyncFileAppender(logFile, maxBytes, config.getInt("logging.max-files", 5),
+                    config.getInt("logging.buffer-size", 8192));
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "无法打开日志文件 " + logFile + "，文件日志已禁用", e);
+        }
+    }
+
+    /**
+     * 写完缓冲区中的文件日志并关闭文件（插件关闭时调用）
+     */
+    public static synchronized void shutdown() {
+        closeFileAppender();
+    }
+
+    /**
+     * 文件日志因缓冲区满而丢弃的条数
+     */
+    public static long getDroppedCount() {
+        AsyncFileAppender appender = fileAppender;
+        return appender != null ? appender.getDroppedCount() : 0;
+    }
+
+    private static void closeFileAppender() {
+        AsyncFileAppender appender = fileAppender;
+        fileAppender = null;
+        if (appender != null) {
+            appender.close();
+        }
+    }
+
+    private static void toFile(int level, String message, Throwable throwable) {
+        AsyncFileAppender appender = fileAppender;
+        if (appender != null && level >= fileLevel) {
+            appender.append(FILE_LEVELS[level], message, throwable);
+        }
+    }
+
     /**
      * 检查调试模式是否启用
      */
@@ -34,6 +124,7 @@ public class LogService {
      */
     public static void info(String message) {
         plugin.getLogger().info(message);
+        toFile(INFO, message, null);
     }
 
     /**
@@ -41,6 +132,18 @@ public class LogService {
      */
     public static void warning(String message) {
         plugin.getLogger().warning(message);
+        toFile(WARN, message, null);
+    }
+
+    /**
+     * 输出带调用栈的警告级别日志（相同警告按 logging.error-rate-limit-seconds 限流）
+     */
+    public static void warning(String message, Throwable throwable) {
+        String limited = rateLimit(message, throwable);
+        if (limited != null) {
+            plugin.getLogger().log(Level.WARNING, limited, throwable);
+            toFile(WARN, limited, throwable);
+        }
     }
 
     /**
@@ -48,6 +151,14 @@ public class LogService {
      */
     public static void severe(String message) {
         plugin.getLogger().severe(message);
+        toFile(ERROR, message, null);
+    }
+
+    /**
+     * 指定分类的调试日志是否会输出，用于包住开销较大的调试代码
+     */
+    public static boolean isDebugEnabled(DebugCategory category) {
+        return debugEnabled && debugCategories.contains(category);
     }
 
     /**
@@ -55,14 +166,131 @@ public class LogService {
      */
     public static void debug(String message) {
         if (debugEnabled) {
-            plugin.getLogger().info("[DEBUG] " + message);
+            writeDebug(message);
+        }
+    }
+
+    /**
+     * 输出调试日志，调试模式关闭时不调用 supplier
+     */
+    public static void debug(Supplier<String> message) {
+        if (debugEnabled) {
+            writeDebug(message.get());
         }
     }
 
     /**
-     * 记录异常信息
+     * 输出参数化调试日志，模板中的 {} 依次替换为参数，调试模式关闭时不拼接字符串
+     */
+    public static void debug(String pattern, Object... args) {
+        if (debugEnabled) {
+            writeDebug(format(pattern, args));
+        }
+    }
+
+    /**
+     * 输出指定分类的调试日志（调试模式与该分类开关均启用时输出）
+     */
+    public static void debug(DebugCategory category, String message) {
+        if (isDebugEnabled(category)) {
+            writeDebug(message);
+        }
+    }
+
+    public static void debug(DebugCategory category, Supplier<String> message) {
+        if (isDebugEnabled(category)) {
+            writeDebug(message.get());
+        }
+    }
+
+    // 固定参数个数的重载避免在调试关闭时为可变参数分配数组
+    public static void debug(DebugCategory category, String pattern, Object arg) {
+        if (isDebugEnabled(category)) {
+            writeDebug(format(pattern, arg));
+        }
+    }
+
+    public static void debug(DebugCategory category, String pattern, Object arg1, Object arg2) {
+        if (isDebugEnabled(category)) {
+            writeDebug(format(pattern, arg1, arg2));
+        }
+    }
+
+    public static void debug(DebugCategory category, String pattern, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled(category)) {
+            writeDebug(format(pattern, arg1, arg2, arg3));
+        }
+    }
+
+    public static void debug(DebugCategory category, String pattern, Object... args) {
+        if (isDebugEnabled(category)) {
+            writeDebug(format(pattern, args));
+        }
+    }
+
+    private static void writeDebug(String message) {
+        plugin.getLogger().info("[DEBUG] " + message);
+        toFile(DEBUG, message, null);
+    }
+
+    private static String format(String pattern, Object... args) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        int from = 0;
+        for (Object arg : args) {
+            int at = pattern.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            builder.append(pattern, from, at).append(arg);
+            from = at + 2;
+        }
+        return builder.append(pattern, from, pattern.length()).toString();
+    }
+
+    /**
+     * 记录异常信息（相同错误按 logging.error-rate-limit-seconds 限流）
      */
     public static void error(String message, Throwable throwable) {
-        plugin.getLogger().log(Level.SEVERE, message, throwable);
+        // 操作内部捕获后记录的异常同样计入该操作的错误次数，限流只影响输出
+        OperationTimer.markFailed();
+        String limited = rateLimit(message, throwable);
+        if (limited != null) {
+            plugin.getLogger().log(Level.SEVERE, limited, throwable);
+            toFile(ERROR, limited, throwable);
+        }
+    }
+
+    /**
+     * 以消息与异常类型区分同一种错误：窗口内首次出现时照常输出，之后只计数；
+     * 窗口过后再次出现时输出并附上期间省略的次数。返回 null 表示本次不输出。
+     */
+    private static String rateLimit(String message, Throwable throwable) {
+        long window = errorWindowMillis;
+        if (window <= 0) {
+            return message;
+        }
+        if (errorWindows.size() > MAX_TRACKED_ERRORS) {
+            errorWindows.clear();
+        }
+
+        String key = throwable != null ? message + '|' + throwable.getClass().getName() : String.valueOf(message);
+        ErrorWindow errorWindow = errorWindows.computeIfAbsent(key, k -> new ErrorWindow());
+        long now = System.currentTimeMillis();
+        long suppressed;
+        synchronized (errorWindow) {
+            if (errorWindow.startedAt != 0 && now - errorWindow.startedAt < window) {
+                errorWindow.suppressed++;
+                return null;
+            }
+            suppressed = errorWindow.suppressed;
+            errorWindow.suppressed = 0;
+            errorWindow.startedAt = now;
+        }
+        return suppressed > 0 ? message + "（上次输出后相同错误又出现 " + suppressed + " 次，已省略）" : message;
+    }
+
+    private static final class ErrorWindow {
+        private long startedAt;
+        private long suppressed;
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.guild.core.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 时间轮的调度、取消与重复调度
+ */
+class TimingWheelTest {
+
+    @Test
+    void cancelledEntriesNeverExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000L, 0L);
+        wheel.schedule("invite", 5_000L);
+        wheel.schedule("relation", 5_000L);
+
+        assertTrue(wheel.cancel("relation"));
+        assertFalse(wheel.cancel("relation"));
+        assertEquals(1, wheel.size());
+
+        assertEquals(List.of("invite"), wheel.advance(10_000L));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void reschedulingReplacesEarlierEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000L, 0L);
+        wheel.schedule("invite", 5_000L);
+        wheel.schedule("invite", 500_000L);
+        assertEquals(1, wheel.size());
+
+        assertEquals(List.of(), wheel.advance(10_000L));
+        assertEquals(List.of("invite"), wheel.advance(600_000L));
+    }
+}
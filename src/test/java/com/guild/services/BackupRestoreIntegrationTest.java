@@ -0,0 +1,127 @@
+package com.guild.services;
+
+import com.guild.core.permissions.GuildPermission;
+import com.guild.core.time.TimeProvider;
+import com.guild.models.Guild;
+import com.guild.models.GuildMember;
+import com.guild.models.GuildRank;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 备份恢复测试：恢复后数据与各缓存回到备份时的状态，旧版本备份中的文本时间被换算或拒绝
+ */
+class BackupRestoreIntegrationTest {
+
+    private static final UUID LEADER = new UUID(2, 1);
+    private static final UUID MEMBER = new UUID(2, 2);
+    private static final UUID INVITEE = new UUID(2, 3);
+    private static final UUID APPLICANT = new UUID(2, 4);
+    private static final UUID LATE_MEMBER = new UUID(2, 5);
+    private static final UUID LATE_INVITEE = new UUID(2, 6);
+    private static final UUID LATE_APPLICANT = new UUID(2, 7);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void restoreReloadsCaches(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Gamma", "GA", null, LEADER, "Leader").join());
+            Guild guild = guildService.getGuildByNameAsync("Gamma").join();
+            int guildId = guild.getId();
+            assertTrue(guildService.addGuildMemberAsync(guildId, MEMBER, "Member", GuildMember.Role.MEMBER).join());
+            long mask = GuildPermission.maskOf(GuildPermission.INVITE);
+            assertNotNull(env.rankService.createRankAsync(guildId, "Veteran", 5, mask).join());
+            assertTrue(guildService.sendInvitationAsync(guildId, LEADER, "Leader", INVITEE, "Invitee").join());
+            assertTrue(guildService.submitApplicationAsync(guildId, APPLICANT, "Applicant", "hi").join());
+            File backup = env.backupManager.backupAsync().join();
+
+            // 备份之后的改动在恢复后应从数据与缓存中消失
+            assertTrue(guildService.addGuildMemberAsync(guildId, LATE_MEMBER, "Late", GuildMember.Role.MEMBER).join());
+            assertNotNull(env.rankService.createRankAsync(guildId, "Recruit", 1, mask).join());
+            assertTrue(guildService.sendInvitationAsync(guildId, LEADER, "Leader", LATE_INVITEE, "LateInvitee").join());
+            assertTrue(guildService.submitApplicationAsync(guildId, LATE_APPLICANT, "LateApplicant", "hi").join());
+            env.inboxService.reload();
+            assertEquals(2, env.inboxService.getPendingCount(guildId));
+            assertNotNull(env.invitationCache.find(LATE_INVITEE, guildId));
+
+            int restored = env.backupManager.restoreAsync(backup.getName()).join();
+            assertTrue(restored > 0);
+
+            Guild restoredGuild = guildService.getGuildByNameAsync("Gamma").join();
+            assertNotNull(restoredGuild);
+            assertEquals(guildId, restoredGuild.getId());
+            assertEquals(guild.getCreatedAtMillis(), restoredGuild.getCreatedAtMillis());
+            assertEquals(guildId, guildService.getPlayerGuildAsync(MEMBER).join().getId());
+            assertNull(guildService.getPlayerGuildAsync(LATE_MEMBER).join());
+            List<GuildRank> ranks = env.rankService.getGuildRanksAsync(guildId).join();
+            assertTrue(ranks.stream().anyMatch(rank -> rank.getName().equals("Veteran")));
+            assertFalse(ranks.stream().anyMatch(rank -> rank.getName().equals("Recruit")));
+            assertNotNull(env.invitationCache.find(INVITEE, guildId));
+            assertNull(env.invitationCache.find(LATE_INVITEE, guildId));
+            assertEquals(1, env.inboxService.getPendingCount(guildId));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void legacyTextTimestampsAreConverted(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            writeDump(env, "guild-legacy.ndjson.gz", "2024-01-01 12:00:00");
+
+            assertEquals(2, env.backupManager.restoreAsync("guild-legacy.ndjson.gz").join());
+
+            Guild guild = env.guildService.getGuildByNameAsync("Legacy").join();
+            assertNotNull(guild);
+            assertEquals(TimeProvider.toEpochMillis(LocalDateTime.of(2024, 1, 1, 12, 0)), guild.getCreatedAtMillis());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void unreadableTimestampRejectsBackup(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            assertTrue(env.guildService.createGuildAsync("Delta", "DE", null, LEADER, "Leader").join());
+            writeDump(env, "guild-broken.ndjson.gz", "yesterday");
+
+            assertThrows(CompletionException.class, () -> env.backupManager.restoreAsync("guild-broken.ndjson.gz").join());
+
+            // 换算在清空数据表之前进行，当前数据保持不变
+            assertNotNull(env.guildService.getGuildByNameAsync("Delta").join());
+            assertNull(env.guildService.getGuildByNameAsync("Legacy").join());
+        }
+    }
+
+    /**
+     * 写入一个时间列为文本的旧版本导出文件（一个工会及其会长）
+     */
+    private static void writeDump(ServiceTestEnvironment env, String fileName, String createdAt) throws Exception {
+        Files.createDirectories(env.backupDirectory());
+        String leader = LEADER.toString();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(
+                Files.newOutputStream(env.backupDirectory().resolve(fileName))), StandardCharsets.UTF_8)) {
+            writer.write("{\"table\":\"guilds\",\"row\":{\"id\":7,\"name\":\"Legacy\",\"tag\":\"LG\",\"leader_uuid\":\"" + leader
+                    + "\",\"leader_name\":\"Leader\",\"created_at\":\"" + createdAt + "\",\"updated_at\":\"" + createdAt + "\"}}\n");
+            writer.write("{\"table\":\"guild_members\",\"row\":{\"id\":1,\"guild_id\":7,\"player_uuid\":\"" + leader
+                    + "\",\"player_name\":\"Leader\",\"role\":\"LEADER\",\"joined_at\":\"" + createdAt + "\"}}\n");
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.guild.services;
+
+import com.guild.core.permissions.GuildPermission;
+import com.guild.models.ApplicationBatchResult;
+import com.guild.models.Guild;
+import com.guild.models.GuildApplication;
+import com.guild.models.GuildInvitation;
+import com.guild.models.GuildMember;
+import com.guild.models.GuildRank;
+import com.guild.models.GuildRelation;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * GuildService 与 GuildRankService 在 H2 与 SQLite 上的正确性测试
+ */
+class GuildServiceIntegrationTest {
+
+    private static final UUID LEADER = new UUID(1, 1);
+    private static final UUID MEMBER = new UUID(1, 2);
+    private static final UUID OTHER_LEADER = new UUID(1, 3);
+    private static final UUID APPLICANT = new UUID(1, 4);
+    private static final UUID SECOND_APPLICANT = new UUID(1, 5);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void createJoinAndDeleteGuild(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+
+            assertTrue(guildService.createGuildAsync("Alpha", "AL", "测试工会", LEADER, "Leader").join());
+            // 名称或标签重复时创建失败
+            assertFalse(guildService.createGuildAsync("Alpha", "AX", null, MEMBER, "Member").join());
+
+            Guild guild = guildService.getGuildByNameAsync("Alpha").join();
+            assertNotNull(guild);
+            assertEquals(LEADER, guild.getLeaderUuid());
+            GuildMember leader = guildService.getGuildMemberAsync(LEADER).join();
+            assertNotNull(leader);
+            assertEquals(GuildMember.Role.LEADER, leader.getRole());
+
+            assertTrue(guildService.addGuildMemberAsync(guild.getId(), MEMBER, "Member", GuildMember.Role.MEMBER).join());
+            // 已在工会中的玩家不能再次加入
+            assertFalse(guildService.addGuildMemberAsync(guild.getId(), MEMBER, "Member", GuildMember.Role.MEMBER).join());
+            assertEquals(2, guildService.getGuildMemberCountAsync(guild.getId()).join());
+            assertEquals(guild.getId(), guildService.getPlayerGuildAsync(MEMBER).join().getId());
+
+            // 只有会长可以解散工会
+            assertFalse(guildService.deleteGuildAsync(guild.getId(), MEMBER).join());
+            assertTrue(guildService.deleteGuildAsync(guild.getId(), LEADER).join());
+
+            assertNull(guildService.getGuildByIdAsync(guild.getId()).join());
+            assertNull(guildService.getPlayerGuildAsync(MEMBER).join());
+            assertNull(guildService.getGuildMemberAsync(LEADER).join());
+            assertEquals(0, env.countRows("guild_members", "guild_id", guild.getId()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void rankChangeUpdatesMemberAndPermissions(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Beta", "BE", null, LEADER, "Leader").join());
+            Guild guild = guildService.getGuildByNameAsync("Beta").join();
+            assertTrue(guildService.addGuildMemberAsync(guild.getId(), MEMBER, "Member", GuildMember.Role.MEMBER).join());
+
+            // 角色调整只能由会长执行
+            assertFalse(guildService.updateMemberRoleAsync(LEADER, GuildMember.Role.MEMBER, MEMBER).join());
+            assertTrue(guildService.updateMemberRoleAsync(MEMBER, GuildMember.Role.OFFICER, LEADER).join());
+            assertEquals(GuildMember.Role.OFFICER, guildService.getGuildMemberAsync(MEMBER).join().getRole());
+
+            long mask = GuildPermission.maskOf(GuildPermission.INVITE, GuildPermission.KICK, GuildPermission.PROMOTE);
+            GuildRank rank = env.rankService.createRankAsync(guild.getId(), "Captain", 10, mask).join();
+            assertNotNull(rank);
+            assertTrue(env.rankService.setMemberRankAsync(guild.getId(), MEMBER, rank.getId()).join());
+            assertEquals(rank.getId(), guildService.getGuildMemberAsync(MEMBER).join().getRankId());
+            assertEquals(mask, awaitPermissionMask(env, MEMBER, mask));
+
+            // 取消职级后回退为角色权限
+            assertTrue(env.rankService.setMemberRankAsync(guild.getId(), MEMBER, 0).join());
+            assertEquals(0, guildService.getGuildMemberAsync(MEMBER).join().getRankId());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void promotedOfficerCanInviteImmediately(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Teal", "TE", null, LEADER, "Leader").join());
+            Guild guild = guildService.getGuildByNameAsync("Teal").join();
+            assertTrue(guildService.addGuildMemberAsync(guild.getId(), MEMBER, "Member", GuildMember.Role.MEMBER).join());
+            long memberMask = GuildPermission.maskOf(GuildPermission.CREATE);
+            assertEquals(memberMask, awaitPermissionMask(env, MEMBER, memberMask));
+
+            Player player = mock(Player.class);
+            when(player.getUniqueId()).thenReturn(MEMBER);
+            assertFalse(env.permissionManager.canInviteMembers(player));
+
+            // 提交后权限索引就地更新，不会在重新加载期间拒绝权限
+            assertTrue(guildService.updateMemberRoleAsync(MEMBER, GuildMember.Role.OFFICER, LEADER).join());
+            assertTrue(env.permissionManager.canInviteMembers(player));
+            assertTrue(guildService.updateMemberRoleAsync(MEMBER, GuildMember.Role.MEMBER, LEADER).join());
+            assertFalse(env.permissionManager.canInviteMembers(player));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void acceptedRelationDoesNotExpire(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Red", "RD", null, LEADER, "Leader").join());
+            assertTrue(guildService.createGuildAsync("Blue", "BL", null, OTHER_LEADER, "Other").join());
+            Guild red = guildService.getGuildByNameAsync("Red").join();
+            Guild blue = guildService.getGuildByNameAsync("Blue").join();
+
+            assertTrue(guildService.createGuildRelationAsync(red.getId(), blue.getId(), "Red", "Blue",
+                    GuildRelation.RelationType.WAR, LEADER, "Leader").join());
+            GuildRelation relation = guildService.getGuildRelationAsync(red.getId(), blue.getId()).join();
+            // 待处理的请求带有过期时间
+            assertTrue(relation.getExpiresAtMillis() > 0);
+
+            assertTrue(guildService.updateGuildRelationStatusAsync(relation.getId(), GuildRelation.RelationStatus.ACTIVE).join());
+            GuildRelation active = guildService.getGuildRelationAsync(red.getId(), blue.getId()).join();
+            assertEquals(GuildRelation.RelationStatus.ACTIVE, active.getStatus());
+            assertEquals(0L, active.getExpiresAtMillis());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void batchApprovalRespectsCapacityAndClosesStaleApplications(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Green", "GR", null, LEADER, "Leader").join());
+            assertTrue(guildService.createGuildAsync("Gold", "GO", null, OTHER_LEADER, "Other").join());
+            Guild green = guildService.getGuildByNameAsync("Green").join();
+            Guild gold = guildService.getGuildByNameAsync("Gold").join();
+            assertTrue(guildService.updateGuildMaxMembersAsync(green.getId(), 2).join());
+
+            assertTrue(guildService.submitApplicationAsync(green.getId(), APPLICANT, "Applicant", "hi").join());
+            assertTrue(guildService.submitApplicationAsync(green.getId(), SECOND_APPLICANT, "Second", "hi").join());
+            assertTrue(guildService.submitApplicationAsync(green.getId(), MEMBER, "Member", "hi").join());
+            // 申请人在处理前加入了其他工会
+            assertTrue(guildService.addGuildMemberAsync(gold.getId(), MEMBER, "Member", GuildMember.Role.MEMBER).join());
+
+            List<Integer> ids = guildService.getPendingApplicationsAsync(green.getId()).join().stream()
+                    .map(GuildApplication::getId).toList();
+            assertEquals(3, ids.size());
+            ApplicationBatchResult result = guildService.processApplicationsAsync(ids, GuildApplication.ApplicationStatus.APPROVED, LEADER).join();
+
+            // 会长占一个名额，只能再接受一人；已加入其他工会的申请被自动拒绝
+            assertEquals(1, result.processed().size());
+            assertEquals(1, result.closed());
+            assertEquals(1, result.skipped());
+            assertEquals(2, guildService.getGuildMemberCountAsync(green.getId()).join());
+            assertEquals(1, guildService.getPendingApplicationsAsync(green.getId()).join().size());
+            // 人数已满时直接加入同样被拒绝
+            assertFalse(guildService.addGuildMemberAsync(green.getId(), new UUID(1, 6), "Late", GuildMember.Role.MEMBER).join());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void reinvitingReusesTheInvitationRow(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Iris", "IR", null, LEADER, "Leader").join());
+            Guild guild = guildService.getGuildByNameAsync("Iris").join();
+            Map<UUID, String> targets = Map.of(APPLICANT, "Applicant", SECOND_APPLICANT, "Second");
+
+            List<GuildInvitation> first = guildService.sendInvitationsAsync(guild.getId(), LEADER, "Leader", targets).join();
+            assertEquals(2, first.size());
+            // 重复邀请刷新原有的待处理邀请，不产生新行
+            List<GuildInvitation> again = guildService.sendInvitationsAsync(guild.getId(), LEADER, "Leader", targets).join();
+            assertEquals(2, again.size());
+            assertEquals(2, env.countRows("guild_invites", "guild_id", guild.getId()));
+
+            // 拒绝后再次邀请，同一行恢复为待处理
+            assertTrue(guildService.processInvitationAsync(APPLICANT, LEADER, false).join());
+            assertNull(env.invitationCache.find(APPLICANT, guild.getId()));
+            assertEquals(1, guildService.sendInvitationsAsync(guild.getId(), LEADER, "Leader", Map.of(APPLICANT, "Applicant")).join().size());
+            assertEquals(2, env.countRows("guild_invites", "guild_id", guild.getId()));
+            GuildInvitation refreshed = env.invitationCache.find(APPLICANT, guild.getId());
+            assertNotNull(refreshed);
+            assertEquals(GuildInvitation.InvitationStatus.PENDING, refreshed.getStatus());
+
+            // 超出单批上限的请求整体拒绝
+            Map<UUID, String> oversized = new HashMap<>();
+            for (int i = 0; i <= GuildService.MAX_BATCH_SIZE; i++) {
+                oversized.put(new UUID(9, i), "Player" + i);
+            }
+            assertThrows(CompletionException.class,
+                    () -> guildService.sendInvitationsAsync(guild.getId(), LEADER, "Leader", oversized).join());
+            assertEquals(2, env.countRows("guild_invites", "guild_id", guild.getId()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void bulkDeleteRemovesDependentRows(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Small", "SM", null, LEADER, "Leader").join());
+            assertTrue(guildService.createGuildAsync("Large", "LA", null, OTHER_LEADER, "Other").join());
+            Guild small = guildService.getGuildByNameAsync("Small").join();
+            Guild large = guildService.getGuildByNameAsync("Large").join();
+            assertTrue(guildService.addGuildMemberAsync(large.getId(), MEMBER, "Member", GuildMember.Role.MEMBER).join());
+            assertTrue(guildService.createGuildRelationAsync(small.getId(), large.getId(), "Small", "Large",
+                    GuildRelation.RelationType.ALLY, LEADER, "Leader").join());
+            assertTrue(guildService.submitApplicationAsync(small.getId(), APPLICANT, "Applicant", "hi").join());
+            assertTrue(guildService.sendInvitationAsync(small.getId(), LEADER, "Leader", SECOND_APPLICANT, "Second").join());
+            assertNotNull(env.rankService.createRankAsync(small.getId(), "Scout", 1, GuildPermission.maskOf(GuildPermission.INVITE)).join());
+
+            GuildBulkOperationService bulkService = new GuildBulkOperationService(env.plugin);
+            GuildBulkOperationService.BulkProgress progress = bulkService.runAsync("delete",
+                    GuildBulkOperationService.membersAtMost(1), bulkService.delete(), ignored -> { }).join();
+
+            // 只删除仍满足条件的工会，关联数据显式删除，不依赖外键级联
+            assertEquals(1, progress.applied());
+            assertNull(guildService.getGuildByIdAsync(small.getId()).join());
+            assertNotNull(guildService.getGuildByIdAsync(large.getId()).join());
+            assertEquals(0, env.countRows("guild_members", "guild_id", small.getId()));
+            assertEquals(0, env.countRows("guild_applications", "guild_id", small.getId()));
+            assertEquals(0, env.countRows("guild_invites", "guild_id", small.getId()));
+            assertEquals(0, env.countRows("guild_ranks", "guild_id", small.getId()));
+            assertEquals(0, env.countRows("guild_relations", "guild2_id", large.getId()));
+            assertEquals(2, guildService.getGuildMemberCountAsync(large.getId()).join());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void acceptingInviteIntoFullGuildKeepsItPending(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Jade", "JD", null, LEADER, "Leader").join());
+            Guild guild = guildService.getGuildByNameAsync("Jade").join();
+            assertTrue(guildService.sendInvitationAsync(guild.getId(), LEADER, "Leader", APPLICANT, "Applicant").join());
+            assertTrue(guildService.updateGuildMaxMembersAsync(guild.getId(), 1).join());
+
+            // 工会已满时接受失败，邀请不被消耗
+            assertFalse(guildService.processInvitationAsync(APPLICANT, LEADER, true).join());
+            assertNull(guildService.getGuildMemberAsync(APPLICANT).join());
+            GuildInvitation pending = env.invitationCache.find(APPLICANT, guild.getId());
+            assertNotNull(pending);
+            assertEquals(GuildInvitation.InvitationStatus.PENDING, pending.getStatus());
+
+            // 扩容后同一邀请可以再次接受，状态与成员记录同时写入
+            assertTrue(guildService.updateGuildMaxMembersAsync(guild.getId(), 2).join());
+            assertTrue(guildService.processInvitationAsync(APPLICANT, LEADER, true).join());
+            assertNotNull(guildService.getGuildMemberAsync(APPLICANT).join());
+            assertNull(env.invitationCache.find(APPLICANT, guild.getId()));
+            assertEquals(2, guildService.getGuildMemberCountAsync(guild.getId()).join());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"h2", "sqlite"})
+    void coalescedReadsReturnIndependentCopies(String backend) throws Exception {
+        try (ServiceTestEnvironment env = new ServiceTestEnvironment(backend)) {
+            GuildService guildService = env.guildService;
+            assertTrue(guildService.createGuildAsync("Kite", "KT", null, LEADER, "Leader").join());
+            int guildId = guildService.getGuildByNameAsync("Kite").join().getId();
+
+            // 并发的相同查询被合并，但每个调用方拿到的是各自的实例
+            CompletableFuture<Guild> first = guildService.getGuildByIdAsync(guildId);
+            CompletableFuture<Guild> second = guildService.getGuildByIdAsync(guildId);
+            Guild mutated = first.join();
+            mutated.setName("Changed");
+            mutated.setFrozen(true);
+            assertNotSame(mutated, second.join());
+            assertEquals("Kite", second.join().getName());
+            assertFalse(second.join().isFrozen());
+
+            CompletableFuture<List<GuildMember>> members = guildService.getGuildMembersAsync(guildId);
+            CompletableFuture<List<GuildMember>> again = guildService.getGuildMembersAsync(guildId);
+            members.join().get(0).setRole(GuildMember.Role.MEMBER);
+            assertEquals(GuildMember.Role.LEADER, again.join().get(0).getRole());
+        }
+    }
+
+    /**
+     * 权限索引在后台预热，等待其解析出期望的掩码（超时返回最后一次读取的值）
+     */
+    private static long awaitPermissionMask(ServiceTestEnvironment env, UUID playerUuid, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        long mask = env.permissionManager.getPermissionMask(playerUuid);
+        while (mask != expected && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            mask = env.permissionManager.getPermissionMask(playerUuid);
+        }
+        return mask;
+    }
+}
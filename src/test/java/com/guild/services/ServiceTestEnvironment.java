@@ -0,0 +1,209 @@
+package com.guild.services;
+
+import com.guild.GuildPlugin;
+import com.guild.core.config.ConfigManager;
+import com.guild.core.database.BackupManager;
+import com.guild.core.database.DatabaseManager;
+import com.guild.core.performance.BlockingCallMonitor;
+import com.guild.core.performance.MetricsRegistry;
+import com.guild.core.permissions.PermissionManager;
+import com.guild.util.LogService;
+import io.papermc.paper.threadedregions.scheduler.AsyncScheduler;
+import io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 集成测试环境 - 用模拟的插件对象在临时目录中启动真实的 DatabaseManager 与服务（SQLite 文件或 H2 内存库）
+ */
+final class ServiceTestEnvironment implements AutoCloseable {
+
+    // 模拟服务器的异步调度器使用的线程池
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "guild-test-async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Server SERVER = installServer();
+
+    final GuildPlugin plugin;
+    final DatabaseManager databaseManager;
+    final GuildService guildService;
+    final GuildRankService rankService;
+    final PermissionManager permissionManager;
+    final PendingInvitationCache invitationCache;
+    final ApplicationInboxService inboxService;
+    final GuildExpiryService expiryService;
+    final BackupManager backupManager;
+    private final Path dataFolder;
+
+    ServiceTestEnvironment(String backend) throws IOException {
+        this.dataFolder = Files.createTempDirectory("guild-test");
+
+        Logger logger = Logger.getLogger("GuildTest");
+        logger.setLevel(Level.WARNING);
+        YamlConfiguration mainConfig = new YamlConfiguration();
+        mainConfig.set("performance.blocking-calls.enabled", false);
+        mainConfig.set("performance.metrics.dump.enabled", false);
+
+        plugin = mock(GuildPlugin.class);
+        ConfigManager configManager = mock(ConfigManager.class);
+        when(configManager.getMainConfig()).thenReturn(mainConfig);
+        when(plugin.getConfigManager()).thenReturn(configManager);
+        when(plugin.getLogger()).thenReturn(logger);
+        when(plugin.getDataFolder()).thenReturn(dataFolder.toFile());
+        when(plugin.getServer()).thenReturn(SERVER);
+        LogService.init(plugin);
+
+        BlockingCallMonitor blockingCallMonitor = new BlockingCallMonitor(plugin);
+        blockingCallMonitor.reloadFromConfig();
+        when(plugin.getBlockingCallMonitor()).thenReturn(blockingCallMonitor);
+        MetricsRegistry metricsRegistry = new MetricsRegistry(plugin);
+        metricsRegistry.reloadFromConfig();
+        when(plugin.getMetricsRegistry()).thenReturn(metricsRegistry);
+
+        YamlConfiguration databaseConfig = new YamlConfiguration();
+        databaseConfig.set("type", backend);
+        databaseConfig.set("sqlite.file", "test.db");
+        // 每个测试使用独立的内存库
+        databaseConfig.set("h2.mode", "memory");
+        databaseConfig.set("h2.name", "guild-test-" + UUID.randomUUID());
+        databaseConfig.set("slow-query.enabled", false);
+        databaseConfig.set("backup.path", "backups/");
+        when(configManager.getDatabaseConfig()).thenReturn(databaseConfig);
+        databaseManager = new DatabaseManager(plugin);
+        databaseManager.initialize(databaseConfig);
+        when(plugin.getDatabaseManager()).thenReturn(databaseManager);
+
+        guildService = new GuildService(plugin);
+        when(plugin.getGuildService()).thenReturn(guildService);
+        rankService = new GuildRankService(plugin);
+        when(plugin.getGuildRankService()).thenReturn(rankService);
+        permissionManager = new PermissionManager(plugin);
+        when(plugin.getPermissionManager()).thenReturn(permissionManager);
+
+        awaitSchema();
+
+        // 没有事件总线，缓存只在写入提交后或重新加载时更新
+        invitationCache = new PendingInvitationCache(plugin);
+        invitationCache.start();
+        when(plugin.getPendingInvitationCache()).thenReturn(invitationCache);
+        inboxService = new ApplicationInboxService(plugin);
+        inboxService.start();
+        when(plugin.getApplicationInboxService()).thenReturn(inboxService);
+        expiryService = new GuildExpiryService(plugin);
+        expiryService.start();
+        when(plugin.getGuildExpiryService()).thenReturn(expiryService);
+        backupManager = new BackupManager(plugin, databaseManager);
+        backupManager.reloadFromConfig();
+        when(plugin.getBackupManager()).thenReturn(backupManager);
+    }
+
+    /**
+     * 安装模拟的服务器：异步任务在线程池中执行，全局区域任务直接执行，定时任务不调度
+     */
+    private static Server installServer() {
+        AsyncScheduler asyncScheduler = mock(AsyncScheduler.class);
+        when(asyncScheduler.runNow(any(), any())).thenAnswer(invocation -> {
+            Consumer<ScheduledTask> task = invocation.getArgument(1);
+            ASYNC_EXECUTOR.execute(() -> task.accept(null));
+            return null;
+        });
+        GlobalRegionScheduler globalScheduler = mock(GlobalRegionScheduler.class);
+        when(globalScheduler.run(any(), any())).thenAnswer(invocation -> {
+            Consumer<ScheduledTask> task = invocation.getArgument(1);
+            task.accept(null);
+            return null;
+        });
+
+        Server server = mock(Server.class);
+        when(server.getAsyncScheduler()).thenReturn(asyncScheduler);
+        when(server.getGlobalRegionScheduler()).thenReturn(globalScheduler);
+        try {
+            // Bukkit.setServer 会读取构建信息，测试中直接设置静态字段
+            Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        return server;
+    }
+
+    /**
+     * SQLite 下经济等列由启动后的异步补列任务添加，等待其完成后再开始测试
+     */
+    private void awaitSchema() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try (Connection conn = databaseManager.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT balance, level, max_members, frozen FROM guilds LIMIT 1").close();
+                return;
+            } catch (SQLException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("等待数据表补列超时", e);
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        }
+    }
+
+    /**
+     * 统计表中属于指定工会的行数（直接查询数据库，不经过服务层）
+     */
+    int countRows(String table, String guildColumn, int guildId) throws SQLException {
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM " + table + " WHERE " + guildColumn + " = ?")) {
+            stmt.setInt(1, guildId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * 备份目录
+     */
+    Path backupDirectory() {
+        return dataFolder.resolve("backups");
+    }
+
+    @Override
+    public void close() throws IOException {
+        expiryService.stop();
+        databaseManager.close();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}